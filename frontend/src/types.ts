@@ -52,6 +52,14 @@ export interface EnemySpawn {
   droppedItems?: string[]; // New field for items dropped by this enemy type
 }
 
+// Aggregate of off-route spawns of one enemy type (compact planner responses)
+export interface EnemySpawnSummary {
+  type: string; // Enemy type (e.g., "sentinel")
+  count: number;
+  clusters: { lat: number; lng: number; count: number }[]; // Cluster centroids, largest first
+  droppedItems?: string[];
+}
+
 // Represents a targetable container type (e.g., "Red Locker")
 export interface ContainerType {
   id: number;
@@ -151,6 +159,7 @@ export interface PlannerRequest {
   hasRaiderKey: boolean;
   routingProfile: RoutingProfile;
   ongoingItemNames?: string[];
+  compactEnemySpawns?: boolean; // Only on-route spawns in full, off-route spawns aggregated
 }
 
 export interface PlannerResponse {
@@ -162,6 +171,7 @@ export interface PlannerResponse {
   extractionLat?: number;  // Calibrated Y coordinate of extraction point
   extractionLng?: number;  // Calibrated X coordinate of extraction point
   nearbyEnemySpawns: EnemySpawn[]; // All spawns of selected enemy types with proximity info
+  offRouteEnemySummary?: EnemySpawnSummary[]; // Compact mode only
 }
 
 // Session state management types
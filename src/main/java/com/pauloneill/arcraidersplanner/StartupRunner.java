@@ -1,31 +1,65 @@
 package com.pauloneill.arcraidersplanner;
 
 import com.pauloneill.arcraidersplanner.service.MetaforgeSyncService;
+import com.pauloneill.arcraidersplanner.service.SyncStatusService;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs the Metaforge sync in the background once the application is ready.
+ * WHY: A blocking startup sync made every deploy wait on Metaforge; the data already in the database
+ * is served meanwhile, and progress is reported through {@link SyncStatusService}.
+ */
 @Slf4j
 @Component
 @ConditionalOnProperty(name = "app.sync-on-startup", havingValue = "true")
-public class StartupRunner implements CommandLineRunner {
+public class StartupRunner {
 
     private final MetaforgeSyncService syncService;
+    private final SyncStatusService syncStatusService;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "metaforge-sync");
+        thread.setDaemon(true);
+        return thread;
+    });
 
-    public StartupRunner(MetaforgeSyncService syncService) {
+    public StartupRunner(MetaforgeSyncService syncService, SyncStatusService syncStatusService) {
         this.syncService = syncService;
+        this.syncStatusService = syncStatusService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        log.info("Application ready; starting data sync in the background");
+        executor.execute(this::runSync);
     }
 
-    @Override
-    public void run(String... args) throws Exception {
+    void runSync() {
+        if (!syncStatusService.tryStart()) {
+            log.info("Data sync already running; skipping");
+            return;
+        }
         log.info("--- STARTING DATA SYNC ---");
         try {
             syncService.syncItems(); // Syncs both items AND recipes (includeComponents=true)
             syncService.syncMarkers();
+            syncStatusService.succeeded();
         } catch (Exception e) {
             log.error("Sync failed : ", e);
+            syncStatusService.failed(e);
         }
         log.info("--- SYNC COMPLETE ---");
     }
-}
\ No newline at end of file
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
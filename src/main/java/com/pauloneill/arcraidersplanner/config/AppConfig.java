@@ -1,5 +1,6 @@
 package com.pauloneill.arcraidersplanner.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.client.RestClient;
@@ -8,9 +9,9 @@ import org.springframework.web.client.RestClient;
 public class AppConfig {
 
     @Bean
-    public RestClient restClient(RestClient.Builder builder) {
+    public RestClient restClient(RestClient.Builder builder, @Value("${metaforge.api.url}") String metaforgeApiUrl) {
         return builder
-                .baseUrl("https://metaforge.app/api/")
+                .baseUrl(metaforgeApiUrl)
                 .build();
     }
 }
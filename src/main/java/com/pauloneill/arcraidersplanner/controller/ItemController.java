@@ -1,11 +1,19 @@
 package com.pauloneill.arcraidersplanner.controller;
 
+import com.pauloneill.arcraidersplanner.dto.AcquisitionPlanDto;
+import com.pauloneill.arcraidersplanner.dto.ItemBrowseDto;
 import com.pauloneill.arcraidersplanner.dto.ItemDto;
+import com.pauloneill.arcraidersplanner.dto.ItemSuggestionDto;
 import com.pauloneill.arcraidersplanner.dto.PlannerRequestDto;
 import com.pauloneill.arcraidersplanner.dto.PlannerResponseDto;
 import com.pauloneill.arcraidersplanner.model.Item;
+import com.pauloneill.arcraidersplanner.service.AcquisitionPlannerService;
 import com.pauloneill.arcraidersplanner.service.DtoMapper;
+import com.pauloneill.arcraidersplanner.service.ItemBrowseIndex;
+import com.pauloneill.arcraidersplanner.service.ItemRecommendationTable;
+import com.pauloneill.arcraidersplanner.service.ItemSearchIndex;
 import com.pauloneill.arcraidersplanner.service.ItemService;
+import com.pauloneill.arcraidersplanner.service.PlannerBulkhead;
 import com.pauloneill.arcraidersplanner.service.PlannerService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -14,9 +22,15 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 /**
@@ -32,11 +46,30 @@ public class ItemController {
     private final PlannerService plannerService;
     private final ItemService itemService;
     private final DtoMapper dtoMapper;
+    private final ItemSearchIndex itemSearchIndex;
+    private final ItemBrowseIndex itemBrowseIndex;
+    private final AcquisitionPlannerService acquisitionPlannerService;
+    private final ItemRecommendationTable itemRecommendationTable;
+    private final PlannerBulkhead plannerBulkhead;
 
-    public ItemController(PlannerService plannerService, ItemService itemService, DtoMapper dtoMapper) {
+    private static final int MAX_SUGGESTIONS = 50;
+    private static final int MAX_BROWSE_PAGE = 100;
+    private static final int MAX_ACQUISITION_QUANTITY = 10_000;
+    private static final String DATA_VERSION_HEADER = "X-Data-Version";
+    private static final String DATA_STALE_HEADER = "X-Data-Stale";
+
+    public ItemController(PlannerService plannerService, ItemService itemService, DtoMapper dtoMapper,
+                          ItemSearchIndex itemSearchIndex, ItemBrowseIndex itemBrowseIndex,
+                          AcquisitionPlannerService acquisitionPlannerService,
+                          ItemRecommendationTable itemRecommendationTable, PlannerBulkhead plannerBulkhead) {
         this.plannerService = plannerService;
         this.itemService = itemService;
         this.dtoMapper = dtoMapper;
+        this.itemSearchIndex = itemSearchIndex;
+        this.itemBrowseIndex = itemBrowseIndex;
+        this.acquisitionPlannerService = acquisitionPlannerService;
+        this.itemRecommendationTable = itemRecommendationTable;
+        this.plannerBulkhead = plannerBulkhead;
     }
 
     /**
@@ -81,6 +114,88 @@ public class ItemController {
         return dtos;
     }
 
+    /**
+     * Autocomplete item names.
+     * WHY: Called on every keystroke, so it is served from the in-memory search index
+     * instead of a database LIKE scan, and tolerates typos.
+     *
+     * @param q     Partial item name
+     * @param limit Maximum number of suggestions (1-50)
+     * @return Suggestions ranked by match quality, then popularity and rarity
+     */
+    @Operation(
+            summary = "Suggest items",
+            description = "Typo-tolerant autocomplete over item names. Name prefix matches rank first, then matches on "
+                    + "the start of any word, then fuzzy (trigram) matches; ties are broken by how many recipes use the item and rarity"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Suggestions retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = ItemSuggestionDto.class))
+            ),
+            @ApiResponse(responseCode = "400", description = "Invalid limit")
+    })
+    @GetMapping("/suggest")
+    public List<ItemSuggestionDto> suggestItems(
+            @Parameter(description = "Partial item name", required = true)
+            @RequestParam String q,
+            @Parameter(description = "Maximum number of suggestions (1-50)")
+            @RequestParam(defaultValue = "10") int limit) {
+        if (limit < 1 || limit > MAX_SUGGESTIONS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be between 1 and " + MAX_SUGGESTIONS);
+        }
+        return itemSearchIndex.suggest(q, limit);
+    }
+
+    /**
+     * Browse the item catalogue with facet filters.
+     * WHY: Players can explore items by rarity, type, loot type, drop source and craftability
+     * instead of only by name, with counts for every filter value.
+     *
+     * @param rarity    Accepted rarities (any of)
+     * @param itemType  Accepted item types (any of)
+     * @param lootType  Accepted loot types (any of)
+     * @param droppedBy Accepted enemy drop sources (any of)
+     * @param hasRecipe Only craftable (true) or non-craftable (false) items
+     * @param cursor    Cursor from the previous page
+     * @param limit     Page size (1-100)
+     * @return Page of items in name order, facet counts and the next cursor
+     */
+    @Operation(
+            summary = "Browse items with facets",
+            description = "Filters items by rarity, item type, loot type, enemy drop source and craftability. "
+                    + "Values within a filter are OR-ed and filters are AND-ed. Returns per-value facet counts and a keyset cursor for the next page"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Items retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = ItemBrowseDto.class))
+            ),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or limit")
+    })
+    @GetMapping("/browse")
+    public ItemBrowseDto browseItems(
+            @RequestParam(required = false) List<String> rarity,
+            @RequestParam(required = false) List<String> itemType,
+            @RequestParam(required = false) List<String> lootType,
+            @RequestParam(required = false) List<String> droppedBy,
+            @RequestParam(required = false) Boolean hasRecipe,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        if (limit < 1 || limit > MAX_BROWSE_PAGE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be between 1 and " + MAX_BROWSE_PAGE);
+        }
+        Map<String, List<String>> filters = new HashMap<>();
+        filters.put(ItemBrowseIndex.RARITY, rarity);
+        filters.put(ItemBrowseIndex.ITEM_TYPE, itemType);
+        filters.put(ItemBrowseIndex.LOOT_TYPE, lootType);
+        filters.put(ItemBrowseIndex.DROPPED_BY, droppedBy);
+        filters.put(ItemBrowseIndex.HAS_RECIPE, hasRecipe != null ? List.of(hasRecipe.toString()) : null);
+        return itemBrowseIndex.browse(filters, cursor, limit);
+    }
+
     /**
      * Get detailed item information with crafting context.
      * WHY: Provides comprehensive item data for the tactical planner center panel,
@@ -114,7 +229,9 @@ public class ItemController {
 
     /**
      * Backward-compatible endpoint for legacy UI.
-     * WHY: Maintains compatibility with older frontend versions that use simple single-item queries
+     * WHY: Maintains compatibility with older frontend versions that use simple single-item queries.
+     * Served from the precomputed recommendation table; X-Data-Version names the data version the answer
+     * reflects and X-Data-Stale is set while the table is being rebuilt for newer data.
      *
      * @param itemName Name of the target item
      * @return Map recommendations sorted by relevance, using PURE_SCAVENGER routing
@@ -133,22 +250,25 @@ public class ItemController {
             @ApiResponse(
                     responseCode = "400",
                     description = "Invalid item name provided"
+            ),
+            @ApiResponse(
+                    responseCode = "503",
+                    description = "Live planning needed and planner at capacity; retry after the Retry-After delay"
             )
     })
     @GetMapping("/recommendation")
-    public List<PlannerResponseDto> getRecommendation(
+    public CompletableFuture<ResponseEntity<List<PlannerResponseDto>>> getRecommendation(
             @Parameter(description = "Name of the target item (case-insensitive)", required = true)
             @RequestParam String itemName) {
-        PlannerRequestDto request = new PlannerRequestDto(
-                List.of(itemName),
-                null,
-                java.util.Collections.emptyList(), // targetRecipeIds
-                java.util.Collections.emptyList(), // targetContainerTypes
-                false,
-                PlannerRequestDto.RoutingProfile.PURE_SCAVENGER,
-                java.util.Collections.emptyList() // ongoingItemNames
-        );
-        return plannerService.generateRoute(request);
+        return itemRecommendationTable.getRecommendation(itemName)
+                .thenApply(recommendation -> {
+                    ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                            .header(DATA_VERSION_HEADER, String.valueOf(recommendation.dataVersion()));
+                    if (recommendation.stale()) {
+                        response.header(DATA_STALE_HEADER, "true");
+                    }
+                    return response.body(recommendation.maps());
+                });
     }
 
     /**
@@ -182,16 +302,21 @@ public class ItemController {
             @ApiResponse(
                     responseCode = "400",
                     description = "Invalid request parameters"
+            ),
+            @ApiResponse(
+                    responseCode = "503",
+                    description = "Planner is at capacity; retry after the number of seconds in the Retry-After header"
             )
     })
     @PostMapping("/plan")
-    public List<PlannerResponseDto> planRoute(
+    public CompletableFuture<ResponseEntity<List<PlannerResponseDto>>> planRoute(
             @io.swagger.v3.oas.annotations.parameters.RequestBody(
                     description = "Route planning request with target items, enemies, and routing profile",
                     required = true
             )
             @RequestBody PlannerRequestDto request) {
-        return plannerService.generateRoute(request);
+        return plannerBulkhead.submit(() -> plannerService.generateRoute(request))
+                .thenApply(ResponseEntity::ok);
     }
 
     @Operation(
@@ -202,4 +327,35 @@ public class ItemController {
     public com.pauloneill.arcraidersplanner.dto.RecipeChainDto getRecipeChain(@PathVariable Long id) {
         return itemService.getRecipeChain(id);
     }
-}
\ No newline at end of file
+
+    /**
+     * Cheapest acquisition plan for an item.
+     * WHY: Tells players whether to loot an item directly or craft it, recursively choosing the
+     * cheapest route for every component.
+     *
+     * @param id       Item ID
+     * @param quantity Units wanted
+     * @return Plan tree with per-unit and total costs
+     */
+    @Operation(
+            summary = "Get cheapest acquisition plan for an item",
+            description = "Compares each item's value against the cost of crafting it from the cheapest components, recursively."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Plan computed"),
+            @ApiResponse(responseCode = "400", description = "Quantity out of range"),
+            @ApiResponse(responseCode = "404", description = "Item not found")
+    })
+    @GetMapping("/{id}/acquisition")
+    public AcquisitionPlanDto getAcquisitionPlan(
+            @Parameter(description = "Item ID", required = true)
+            @PathVariable Long id,
+            @Parameter(description = "Units wanted (1-10000)")
+            @RequestParam(defaultValue = "1") int quantity) {
+        if (quantity < 1 || quantity > MAX_ACQUISITION_QUANTITY) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "quantity must be between 1 and " + MAX_ACQUISITION_QUANTITY);
+        }
+        return acquisitionPlannerService.getPlan(id, quantity);
+    }
+}
@@ -0,0 +1,81 @@
+package com.pauloneill.arcraidersplanner.controller;
+
+import com.pauloneill.arcraidersplanner.dto.LoadoutPlanDto;
+import com.pauloneill.arcraidersplanner.dto.SavedLoadoutDto;
+import com.pauloneill.arcraidersplanner.dto.SavedLoadoutRequestDto;
+import com.pauloneill.arcraidersplanner.service.SavedLoadoutService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST API endpoints for saved loadouts.
+ * WHY: Lets players store a planner request once and read its precomputed plan before every raid
+ */
+@RestController
+@RequestMapping("/api/loadouts")
+@Tag(name = "Loadouts", description = "Saved planner requests with materialised plans")
+public class LoadoutController {
+
+    private final SavedLoadoutService savedLoadoutService;
+
+    public LoadoutController(SavedLoadoutService savedLoadoutService) {
+        this.savedLoadoutService = savedLoadoutService;
+    }
+
+    @GetMapping
+    @Operation(summary = "List saved loadouts")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Saved loadouts in name order")
+    })
+    public List<SavedLoadoutDto> getLoadouts() {
+        return savedLoadoutService.getLoadouts();
+    }
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    @Operation(summary = "Save a loadout; its plan is computed in the background")
+    @ApiResponses({
+            @ApiResponse(responseCode = "201", description = "Loadout saved with plan status PENDING"),
+            @ApiResponse(responseCode = "400", description = "Missing name or planner request")
+    })
+    public SavedLoadoutDto createLoadout(@RequestBody SavedLoadoutRequestDto request) {
+        return savedLoadoutService.createLoadout(request);
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get a saved loadout")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Loadout found"),
+            @ApiResponse(responseCode = "404", description = "Loadout not found")
+    })
+    public SavedLoadoutDto getLoadout(@PathVariable Long id) {
+        return savedLoadoutService.getLoadout(id);
+    }
+
+    @GetMapping("/{id}/plan")
+    @Operation(summary = "Get the stored plan of a saved loadout")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Stored plan with its status and computation time"),
+            @ApiResponse(responseCode = "404", description = "Loadout not found")
+    })
+    public LoadoutPlanDto getPlan(@PathVariable Long id) {
+        return savedLoadoutService.getPlan(id);
+    }
+
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @Operation(summary = "Delete a saved loadout")
+    @ApiResponses({
+            @ApiResponse(responseCode = "204", description = "Loadout deleted"),
+            @ApiResponse(responseCode = "404", description = "Loadout not found")
+    })
+    public void deleteLoadout(@PathVariable Long id) {
+        savedLoadoutService.deleteLoadout(id);
+    }
+}
@@ -2,6 +2,9 @@ package com.pauloneill.arcraidersplanner.controller;
 
 import com.pauloneill.arcraidersplanner.dto.AreaDto;
 import com.pauloneill.arcraidersplanner.dto.GameMapDto;
+import com.pauloneill.arcraidersplanner.dto.HeatmapDto;
+import com.pauloneill.arcraidersplanner.dto.PlanningModelDto;
+import com.pauloneill.arcraidersplanner.dto.QuickRankDto;
 import com.pauloneill.arcraidersplanner.model.Area;
 import com.pauloneill.arcraidersplanner.model.GameMap;
 import com.pauloneill.arcraidersplanner.model.LootType;
@@ -9,6 +12,9 @@ import com.pauloneill.arcraidersplanner.model.MapMarker;
 import com.pauloneill.arcraidersplanner.repository.GameMapRepository;
 import com.pauloneill.arcraidersplanner.repository.MapMarkerRepository;
 import com.pauloneill.arcraidersplanner.service.DtoMapper;
+import com.pauloneill.arcraidersplanner.service.EnemyDensityIndex;
+import com.pauloneill.arcraidersplanner.service.MapQuickRankService;
+import com.pauloneill.arcraidersplanner.service.PlanningModelService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -16,8 +22,11 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
 import java.util.Optional;
@@ -37,11 +46,19 @@ public class MapController {
         private final GameMapRepository mapRepository;
         private final MapMarkerRepository mapMarkerRepository;
         private final DtoMapper dtoMapper;
+        private final EnemyDensityIndex enemyDensityIndex;
+        private final PlanningModelService planningModelService;
+        private final MapQuickRankService mapQuickRankService;
 
-        public MapController(GameMapRepository mapRepository, MapMarkerRepository mapMarkerRepository, DtoMapper dtoMapper) {
+        public MapController(GameMapRepository mapRepository, MapMarkerRepository mapMarkerRepository, DtoMapper dtoMapper,
+                        EnemyDensityIndex enemyDensityIndex, PlanningModelService planningModelService,
+                        MapQuickRankService mapQuickRankService) {
                 this.mapRepository = mapRepository;
                 this.mapMarkerRepository = mapMarkerRepository;
                 this.dtoMapper = dtoMapper;
+                this.enemyDensityIndex = enemyDensityIndex;
+                this.planningModelService = planningModelService;
+                this.mapQuickRankService = mapQuickRankService;
         }
 
         /**
@@ -83,6 +100,86 @@ public class MapController {
                 return mapRepository.findAll();
         }
 
+        /**
+         * Rank every map for a target list without solving routes.
+         * WHY: Live UI previews need an instant "best map" answer while the user is still picking targets.
+         *
+         * @return Maps scored by how many targets they offer and how densely
+         */
+        @Operation(summary = "Quick-rank maps for targets", description = "Scores every map for a list of items, recipes, "
+                        +
+                        "enemy types and container types from precomputed coverage vectors; no routes are solved")
+        @ApiResponses({
+                        @ApiResponse(responseCode = "200", description = "Maps ranked", content = @Content(schema = @Schema(implementation = QuickRankDto.class))),
+                        @ApiResponse(responseCode = "400", description = "No targets supplied")
+        })
+        @GetMapping("/quick-rank")
+        public QuickRankDto quickRank(
+                        @Parameter(description = "Item names") @RequestParam(required = false) List<String> items,
+                        @Parameter(description = "Recipe Metaforge IDs") @RequestParam(required = false) List<String> recipes,
+                        @Parameter(description = "ARC enemy types (e.g., 'sentinel')") @RequestParam(required = false) List<String> enemyTypes,
+                        @Parameter(description = "Container subcategories (e.g., 'red-locker')") @RequestParam(required = false) List<String> containerTypes) {
+                if (isEmpty(items) && isEmpty(recipes) && isEmpty(enemyTypes) && isEmpty(containerTypes)) {
+                        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At least one target is required");
+                }
+                return mapQuickRankService.rank(items, recipes, enemyTypes, containerTypes);
+        }
+
+        /**
+         * Get the enemy spawn density raster for a map.
+         * WHY: Frontend renders it as a heat overlay showing where ARC enemies concentrate.
+         *
+         * @param id        Database ID of the map
+         * @param enemyType Optional enemy type (e.g., "sentinel"); all ARC types combined when omitted
+         * @return Density grid with its placement in calibrated map coordinates
+         */
+        @Operation(summary = "Get enemy density heatmap", description = "Retrieves the precomputed spawn density grid for a map, "
+                        +
+                        "either for one enemy type or for all ARC enemies combined")
+        @ApiResponses({
+                        @ApiResponse(responseCode = "200", description = "Heatmap retrieved successfully", content = @Content(schema = @Schema(implementation = HeatmapDto.class))),
+                        @ApiResponse(responseCode = "404", description = "No spawns of that type on this map")
+        })
+        @GetMapping("/{id}/heatmap")
+        public ResponseEntity<HeatmapDto> getHeatmap(
+                        @Parameter(description = "Database ID of the map", required = true) @PathVariable Long id,
+                        @Parameter(description = "Enemy type (e.g., 'sentinel')") @RequestParam(required = false) String enemyType) {
+                return enemyDensityIndex.getGrid(id, enemyType)
+                                .map(grid -> new HeatmapDto(id, enemyType, grid.originX(), grid.originY(), grid.cellSize(),
+                                                grid.width(), grid.height(), grid.maxValue(), grid.values()))
+                                .map(ResponseEntity::ok)
+                                .orElse(ResponseEntity.notFound().build());
+        }
+
+        /**
+         * Get the compiled planning model for a map.
+         * WHY: Clients cache the model and re-order or re-score routes locally; the ETag
+         * changes with the data version, so revalidation returns 304 until the next sync.
+         *
+         * @param id Database ID of the map
+         * @return Point ids, float coordinates, quantised distance matrix, loot masks and danger flags
+         */
+        @Operation(summary = "Get compiled planning model", description = "Retrieves a compact per-map model for client-side re-planning: "
+                        +
+                        "point ids, coordinates, a uint16-quantised distance matrix, loot type bitmasks and danger flags. "
+                        +
+                        "Supports If-None-Match revalidation against the data version")
+        @ApiResponses({
+                        @ApiResponse(responseCode = "200", description = "Planning model retrieved successfully", content = @Content(schema = @Schema(implementation = PlanningModelDto.class))),
+                        @ApiResponse(responseCode = "304", description = "Client copy is current"),
+                        @ApiResponse(responseCode = "404", description = "Map not found")
+        })
+        @GetMapping("/{id}/planning-model")
+        public ResponseEntity<PlanningModelDto> getPlanningModel(
+                        @Parameter(description = "Database ID of the map", required = true) @PathVariable Long id) {
+                return planningModelService.getModel(id)
+                                .map(model -> ResponseEntity.ok()
+                                                .eTag(planningModelService.entityTag(model))
+                                                .cacheControl(CacheControl.noCache())
+                                                .body(model))
+                                .orElse(ResponseEntity.notFound().build());
+        }
+
         // /**
         // * Get all markers for a specific map.
         // * WHY: Frontend needs marker locations (ARC enemies, Raider Hatches) to
@@ -153,4 +250,8 @@ public class MapController {
                         Double scaleX, Double scaleY,
                         Double offsetX, Double offsetY) {
         }
-}
\ No newline at end of file
+
+        private static boolean isEmpty(List<String> values) {
+                return values == null || values.isEmpty();
+        }
+}
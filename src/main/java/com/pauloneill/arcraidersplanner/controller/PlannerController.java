@@ -2,17 +2,27 @@ package com.pauloneill.arcraidersplanner.controller;
 
 import com.pauloneill.arcraidersplanner.dto.PlannerRequestDto;
 import com.pauloneill.arcraidersplanner.dto.PlannerResponseDto;
+import com.pauloneill.arcraidersplanner.dto.SessionPlanDto;
+import com.pauloneill.arcraidersplanner.dto.SessionPlanRequestDto;
+import com.pauloneill.arcraidersplanner.dto.SquadPlanResponseDto;
+import com.pauloneill.arcraidersplanner.dto.YieldSimulationDto;
+import com.pauloneill.arcraidersplanner.service.PlannerBulkhead;
 import com.pauloneill.arcraidersplanner.service.PlannerService;
+import com.pauloneill.arcraidersplanner.service.SessionPlannerService;
+import com.pauloneill.arcraidersplanner.service.YieldSimulationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * REST controller for raid route planning and optimization.
@@ -26,10 +36,20 @@ import java.util.List;
 @Tag(name = "Planner", description = "Raid route planning and optimization with multiple routing profiles")
 public class PlannerController {
 
+    private static final int MAX_SQUAD_SIZE = 4;
+
     private final PlannerService plannerService;
+    private final PlannerBulkhead plannerBulkhead;
+    private final YieldSimulationService yieldSimulationService;
+    private final SessionPlannerService sessionPlannerService;
 
-    public PlannerController(PlannerService plannerService) {
+    public PlannerController(PlannerService plannerService, PlannerBulkhead plannerBulkhead,
+                             YieldSimulationService yieldSimulationService,
+                             SessionPlannerService sessionPlannerService) {
         this.plannerService = plannerService;
+        this.plannerBulkhead = plannerBulkhead;
+        this.yieldSimulationService = yieldSimulationService;
+        this.sessionPlannerService = sessionPlannerService;
     }
 
     /**
@@ -38,7 +58,7 @@ public class PlannerController {
      * (pure loot, PvP avoidance, efficient exfil).
      *
      * @param request Contains target items, raider key status, routing profile
-     * @return Sorted list of maps with route details (score, path, exfil point)
+     * @return Sorted list of maps with route details (score, path, exfil point), computed off the request thread
      */
     @Operation(
             summary = "Generate optimized raid route",
@@ -67,16 +87,126 @@ public class PlannerController {
             @ApiResponse(
                     responseCode = "400",
                     description = "Invalid request parameters (e.g., no target items specified)"
+            ),
+            @ApiResponse(
+                    responseCode = "503",
+                    description = "Planner is at capacity; retry after the number of seconds in the Retry-After header"
             )
     })
     @PostMapping
-    public ResponseEntity<List<PlannerResponseDto>> generateRoute(
+    public CompletableFuture<ResponseEntity<List<PlannerResponseDto>>> generateRoute(
             @io.swagger.v3.oas.annotations.parameters.RequestBody(
                     description = "Route planning request with target items, enemies, raider key status, and routing profile",
                     required = true
             )
             @RequestBody PlannerRequestDto request) {
-        List<PlannerResponseDto> results = plannerService.generateRoute(request);
-        return ResponseEntity.ok(results);
+        return plannerBulkhead.submit(() -> plannerService.generateRoute(request))
+                .thenApply(ResponseEntity::ok);
+    }
+
+    /**
+     * Splits a shared target list across a squad.
+     * WHY: Squads run as a group; each player gets a balanced share of the route and all
+     * routes end at the same extraction.
+     *
+     * @param request Shared targets and routing profile for the squad
+     * @param players Number of players in the squad
+     * @return Per-map squad plans with one path per player
+     */
+    @Operation(
+            summary = "Generate squad routes",
+            description = "Plans routes like POST /api/planner, then splits each map's route into one sub-route per player, "
+                    + "minimising the longest sub-route, with all sub-routes ending at a common extraction"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Squad routes generated successfully",
+                    content = @Content(schema = @Schema(implementation = SquadPlanResponseDto.class))
+            ),
+            @ApiResponse(responseCode = "400", description = "Invalid squad size"),
+            @ApiResponse(
+                    responseCode = "503",
+                    description = "Planner is at capacity; retry after the number of seconds in the Retry-After header"
+            )
+    })
+    @PostMapping("/squad")
+    public CompletableFuture<ResponseEntity<List<SquadPlanResponseDto>>> generateSquadRoute(
+            @RequestBody PlannerRequestDto request,
+            @RequestParam(defaultValue = "3") int players) {
+        if (players < 1 || players > MAX_SQUAD_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "players must be between 1 and " + MAX_SQUAD_SIZE);
+        }
+        return plannerBulkhead.submit(() -> plannerService.generateSquadRoute(request, players))
+                .thenApply(ResponseEntity::ok);
+    }
+
+    /**
+     * Ranks maps by the simulated number of target items a raid along the planned route yields.
+     * WHY: The route score is a heuristic; a Monte Carlo estimate accounts for item rarity and
+     * how many containers actually get looted.
+     *
+     * @param request       Same request body as the planner endpoint
+     * @param maxIterations Upper bound on simulated raids per map (stops earlier once the estimate converges)
+     * @param seed          Random seed, for reproducible results
+     * @return Maps ranked by expected target items per raid
+     */
+    @Operation(
+            summary = "Simulate expected route yield",
+            description = "Plans routes like POST /api/planner, then runs a Monte Carlo simulation of randomised raids "
+                    + "per map and ranks maps by the expected number of target items found"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Simulation completed successfully",
+                    content = @Content(schema = @Schema(implementation = YieldSimulationDto.class))
+            ),
+            @ApiResponse(responseCode = "400", description = "Invalid iteration count"),
+            @ApiResponse(
+                    responseCode = "503",
+                    description = "Planner is at capacity; retry after the number of seconds in the Retry-After header"
+            )
+    })
+    @PostMapping("/simulate")
+    public CompletableFuture<ResponseEntity<List<YieldSimulationDto>>> simulateYield(
+            @RequestBody PlannerRequestDto request,
+            @RequestParam(defaultValue = "200000") long maxIterations,
+            @RequestParam(defaultValue = "42") long seed) {
+        if (maxIterations <= 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "maxIterations must be positive");
+        }
+        return plannerBulkhead.submit(() -> yieldSimulationService.simulate(request, maxIterations, seed))
+                .thenApply(ResponseEntity::ok);
+    }
+
+    /**
+     * Plans the fewest raids needed to collect every ingredient of the target recipes.
+     * WHY: Upgrade goals often need loot from several maps; players want a raid-by-raid plan
+     * rather than a single best map.
+     *
+     * @param request Target recipes and extra items
+     * @return Ordered raids and any items no map provides
+     */
+    @Operation(
+            summary = "Plan a multi-raid session",
+            description = "Chooses the smallest set of maps whose loot areas and enemy drops together cover every goal item, "
+                    + "ordered so each raid collects as many new items as possible"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Session planned successfully",
+                    content = @Content(schema = @Schema(implementation = SessionPlanDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "503",
+                    description = "Planner is at capacity; retry after the number of seconds in the Retry-After header"
+            )
+    })
+    @PostMapping("/session")
+    public CompletableFuture<ResponseEntity<SessionPlanDto>> planSession(@RequestBody SessionPlanRequestDto request) {
+        return plannerBulkhead.submit(() -> sessionPlannerService.planSession(request))
+                .thenApply(ResponseEntity::ok);
     }
 }
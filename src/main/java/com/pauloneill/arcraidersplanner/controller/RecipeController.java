@@ -1,5 +1,8 @@
 package com.pauloneill.arcraidersplanner.controller;
 
+import com.pauloneill.arcraidersplanner.dto.BillOfMaterialsDto;
+import com.pauloneill.arcraidersplanner.dto.CraftableRecipeDto;
+import com.pauloneill.arcraidersplanner.dto.CraftableRequestDto;
 import com.pauloneill.arcraidersplanner.dto.RecipeDto;
 import com.pauloneill.arcraidersplanner.dto.RecipeIngredientDto;
 import com.pauloneill.arcraidersplanner.model.Item;
@@ -7,7 +10,9 @@ import com.pauloneill.arcraidersplanner.model.Recipe;
 import com.pauloneill.arcraidersplanner.model.RecipeIngredient;
 import com.pauloneill.arcraidersplanner.repository.ItemRepository;
 import com.pauloneill.arcraidersplanner.repository.RecipeRepository;
+import com.pauloneill.arcraidersplanner.service.DataVersionService;
 import com.pauloneill.arcraidersplanner.service.DtoMapper;
+import com.pauloneill.arcraidersplanner.service.RecipeGraph;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -29,11 +34,16 @@ public class RecipeController {
     private final RecipeRepository recipeRepository;
     private final ItemRepository itemRepository;
     private final DtoMapper dtoMapper;
+    private final DataVersionService dataVersionService;
+    private final RecipeGraph recipeGraph;
 
-    public RecipeController(RecipeRepository recipeRepository, ItemRepository itemRepository, DtoMapper dtoMapper) {
+    public RecipeController(RecipeRepository recipeRepository, ItemRepository itemRepository, DtoMapper dtoMapper,
+                            DataVersionService dataVersionService, RecipeGraph recipeGraph) {
         this.recipeRepository = recipeRepository;
         this.itemRepository = itemRepository;
         this.dtoMapper = dtoMapper;
+        this.dataVersionService = dataVersionService;
+        this.recipeGraph = recipeGraph;
     }
 
     @GetMapping
@@ -46,6 +56,41 @@ public class RecipeController {
         return dtoMapper.toRecipeDtos(recipeRepository.findAll());
     }
 
+    @GetMapping("/bom")
+    @Operation(summary = "Get the fully expanded bill of materials for a set of recipes",
+            description = "Accepts synced and API-created recipe IDs; unknown IDs are listed in unknownRecipeIds")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Aggregated raw materials and intermediates"),
+            @ApiResponse(responseCode = "400", description = "No recipe IDs supplied")
+    })
+    public BillOfMaterialsDto getBillOfMaterials(@RequestParam(required = false) List<Long> recipeIds) {
+        if (recipeIds == null || recipeIds.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At least one recipe ID is required");
+        }
+        return recipeGraph.billOfMaterials(recipeIds);
+    }
+
+    @PostMapping("/craftable")
+    @Operation(summary = "Find recipes an inventory can complete or nearly complete")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Recipes ranked by missing ingredient quantity"),
+            @ApiResponse(responseCode = "400", description = "Missing inventory or out-of-range maxMissing/limit")
+    })
+    public List<CraftableRecipeDto> getCraftableRecipes(@RequestBody CraftableRequestDto request) {
+        if (request.inventory() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Inventory is required");
+        }
+        int maxMissing = request.maxMissing() != null ? request.maxMissing() : 5;
+        int limit = request.limit() != null ? request.limit() : 50;
+        if (maxMissing < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "maxMissing must not be negative");
+        }
+        if (limit < 1 || limit > 100) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be between 1 and 100");
+        }
+        return recipeGraph.craftable(request.inventory(), maxMissing, limit);
+    }
+
     @PostMapping
     @Transactional
     @Operation(summary = "Create a new recipe")
@@ -75,6 +120,7 @@ public class RecipeController {
         }
 
         Recipe savedRecipe = recipeRepository.save(recipe);
+        dataVersionService.markChanged("recipe created");
         return new ResponseEntity<>(dtoMapper.toDto(savedRecipe), HttpStatus.CREATED);
     }
     
@@ -89,6 +135,7 @@ public class RecipeController {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Recipe not found");
         }
         recipeRepository.deleteById(id);
+        dataVersionService.markChanged("recipe deleted");
         return ResponseEntity.noContent().build();
     }
 }
@@ -0,0 +1,33 @@
+package com.pauloneill.arcraidersplanner.dto;
+
+import java.util.List;
+
+/**
+ * Cheapest way to obtain a quantity of an item, expanded recursively through crafted components.
+ * Costs are in item value units and are null when no priced route exists.
+ *
+ * @param lootValue  Value of one unit obtained directly, or null if the item has no value
+ * @param craftCost  Cheapest cost of crafting one unit, or null if it cannot be crafted from priced parts
+ * @param unitCost   Cost of one unit under the chosen decision
+ * @param totalCost  unitCost × quantity
+ * @param recipeId   Recipe used when the decision is CRAFT
+ * @param components Ingredient plans when the decision is CRAFT, in item name order
+ */
+public record AcquisitionPlanDto(
+        Long itemId,
+        String itemName,
+        Decision decision,
+        long quantity,
+        Long lootValue,
+        Long craftCost,
+        Long unitCost,
+        Long totalCost,
+        Long recipeId,
+        List<AcquisitionPlanDto> components
+) {
+    public enum Decision {
+        LOOT,        // Looting/buying directly is no more expensive than crafting
+        CRAFT,       // Crafting from the cheapest components beats the item's own value
+        UNAVAILABLE  // No value and no craftable route from priced parts
+    }
+}
@@ -0,0 +1,26 @@
+package com.pauloneill.arcraidersplanner.dto;
+
+import java.util.List;
+
+/**
+ * Fully expanded bill of materials for a set of target recipes.
+ * WHY: Players plan around the raw materials they must loot, not the intermediate components
+ * a recipe lists, so every craftable ingredient is expanded down to non-craftable leaves.
+ *
+ * @param recipeIds        Target recipe IDs that were expanded (duplicates count as extra crafts)
+ * @param rawMaterials     Aggregated non-craftable materials, in item name order
+ * @param intermediates    Craftable components that must be made along the way, in item name order
+ * @param unknownRecipeIds Requested recipe IDs that do not exist
+ * @param cyclicRecipeIds  Recipes on a crafting cycle that were reached; ingredients that would re-enter
+ *                         the cycle are counted as raw materials instead of being expanded
+ */
+public record BillOfMaterialsDto(
+        List<Long> recipeIds,
+        List<BomLineDto> rawMaterials,
+        List<BomLineDto> intermediates,
+        List<Long> unknownRecipeIds,
+        List<Long> cyclicRecipeIds
+) {
+    public record BomLineDto(Long itemId, String itemName, long quantity) {
+    }
+}
@@ -0,0 +1,26 @@
+package com.pauloneill.arcraidersplanner.dto;
+
+import com.pauloneill.arcraidersplanner.model.RecipeType;
+
+import java.util.List;
+
+/**
+ * A recipe the player can complete, or nearly complete, from their inventory.
+ *
+ * @param missingQuantity  Sum of missing ingredient quantities (0 when completable)
+ * @param requiredQuantity Sum of all ingredient quantities
+ * @param missing          Ingredients still short, in item name order
+ */
+public record CraftableRecipeDto(
+        Long recipeId,
+        String metaforgeItemId,
+        String name,
+        RecipeType type,
+        boolean completable,
+        long missingQuantity,
+        long requiredQuantity,
+        List<MissingIngredientDto> missing
+) {
+    public record MissingIngredientDto(Long itemId, String itemName, long missing) {
+    }
+}
@@ -0,0 +1,10 @@
+package com.pauloneill.arcraidersplanner.dto;
+
+import java.util.Map;
+
+public record CraftableRequestDto(
+        Map<Long, Integer> inventory,  // Item ID → quantity held
+        Integer maxMissing,            // Largest total missing quantity still reported as near-complete (default 5)
+        Integer limit                  // Maximum recipes returned (default 50)
+) {
+}
@@ -11,6 +11,6 @@ public record EnemyDto(
         String mapName,      // Which map it spawns on
         Double lat,          // Latitude coordinates
         Double lng,          // Longitude coordinates
-        Integer threatLevel  // FUTURE: high/medium/low classification
+        Integer threatLevel  // 1 (low) to 3 (high), from local spawn density; null if unknown
 ) {
 }
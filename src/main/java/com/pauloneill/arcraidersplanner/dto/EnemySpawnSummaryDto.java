@@ -0,0 +1,25 @@
+package com.pauloneill.arcraidersplanner.dto;
+
+import java.util.List;
+
+/**
+ * Compact aggregate of off-route spawns of one enemy type on a map.
+ * WHY: Returning every far-away spawn in full bloats planner responses; the UI only needs
+ * to know how many there are and roughly where they cluster.
+ */
+public record EnemySpawnSummaryDto(
+        String type,                     // Enemy type (e.g., "sentinel")
+        int count,                       // Number of off-route spawns of this type
+        List<SpawnClusterDto> clusters,  // Spatial cluster centroids, largest first
+        List<String> droppedItems        // List of item names dropped by this enemy type
+) {
+    /**
+     * Centroid of nearby off-route spawns.
+     */
+    public record SpawnClusterDto(
+            Double lat,   // Centroid latitude (calibrated Y)
+            Double lng,   // Centroid longitude (calibrated X)
+            int count     // Spawns in this cluster
+    ) {
+    }
+}
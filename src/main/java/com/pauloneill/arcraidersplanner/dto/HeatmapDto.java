@@ -0,0 +1,18 @@
+package com.pauloneill.arcraidersplanner.dto;
+
+/**
+ * Enemy spawn density raster for rendering a heat overlay.
+ * WHY: The frontend draws the grid directly instead of recomputing density from raw spawns.
+ */
+public record HeatmapDto(
+        Long mapId,
+        String enemyType,  // Enemy type, or null for all ARC types combined
+        double originX,    // Calibrated X (lng) of the grid's lower-left corner
+        double originY,    // Calibrated Y (lat) of the grid's lower-left corner
+        double cellSize,   // Cell edge length in map units
+        int width,         // Columns
+        int height,        // Rows
+        float maxValue,    // Highest cell value, for colour scaling
+        float[] values     // Row-major cell values: values[row * width + col]
+) {
+}
@@ -0,0 +1,16 @@
+package com.pauloneill.arcraidersplanner.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One page of faceted item browsing.
+ * WHY: Lets the catalogue UI show filter chips with live counts alongside the matching items.
+ */
+public record ItemBrowseDto(
+        int total,                                  // Items matching all filters
+        List<ItemDto> items,                        // This page, in name order
+        Map<String, Map<String, Integer>> facets,   // Dimension → value → count (ignoring that dimension's own filter)
+        String nextCursor                           // Pass as ?cursor= for the next page; null on the last page
+) {
+}
@@ -0,0 +1,20 @@
+package com.pauloneill.arcraidersplanner.dto;
+
+/**
+ * One autocomplete suggestion.
+ * WHY: Suggestions only need enough to render a dropdown row; full details come from /api/items/{id}/details.
+ */
+public record ItemSuggestionDto(
+        Long id,
+        String name,
+        String rarity,
+        String itemType,
+        String lootType,
+        MatchType matchType
+) {
+    public enum MatchType {
+        PREFIX,       // Name starts with the query
+        WORD_PREFIX,  // Every query word starts a word in the name
+        FUZZY         // Shares enough character trigrams with the query (typo tolerance)
+    }
+}
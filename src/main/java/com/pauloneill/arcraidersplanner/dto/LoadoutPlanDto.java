@@ -0,0 +1,21 @@
+package com.pauloneill.arcraidersplanner.dto;
+
+import com.pauloneill.arcraidersplanner.model.SavedLoadout.PlanStatus;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * The stored plan of a saved loadout.
+ * WHY: While a recomputation is pending the previous plan is still returned, flagged by status,
+ * so clients always get an answer from a single read.
+ *
+ * @param routes Planner results as last computed, or null if the plan has never been computed
+ */
+public record LoadoutPlanDto(
+        Long loadoutId,
+        PlanStatus planStatus,
+        Instant planComputedAt,
+        List<PlannerResponseDto> routes
+) {
+}
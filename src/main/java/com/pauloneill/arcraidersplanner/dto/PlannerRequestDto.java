@@ -9,12 +9,24 @@ public record PlannerRequestDto(
         List<String> targetContainerTypes, // NEW: List of container type subcategories
         boolean hasRaiderKey,
         RoutingProfile routingProfile,
-        List<String> ongoingItemNames // New field for items tracked as "ongoing"
+        List<String> ongoingItemNames, // New field for items tracked as "ongoing"
+        Boolean compactEnemySpawns // Return only on-route spawns in full plus a per-type summary of the rest
 ) {
+    public PlannerRequestDto(List<String> targetItemNames, List<String> targetEnemyTypes, List<String> targetRecipeIds,
+                             List<String> targetContainerTypes, boolean hasRaiderKey, RoutingProfile routingProfile,
+                             List<String> ongoingItemNames) {
+        this(targetItemNames, targetEnemyTypes, targetRecipeIds, targetContainerTypes, hasRaiderKey, routingProfile,
+                ongoingItemNames, null);
+    }
+
+    public boolean isCompactEnemySpawns() {
+        return Boolean.TRUE.equals(compactEnemySpawns);
+    }
+
     public enum RoutingProfile {
         PURE_SCAVENGER, // Rank by pure count of matching areas
         EASY_EXFIL,     // Prioritize proximity to Raider Hatches
         AVOID_PVP,      // Prioritize map edges, penalize High Tier zone intersections
         SAFE_EXFIL      // Combined: Edge priority + High Tier avoidance + Raider Hatch proximity
     }
-}
\ No newline at end of file
+}
@@ -1,5 +1,6 @@
 package com.pauloneill.arcraidersplanner.dto;
 
+import java.util.Collections;
 import java.util.List;
 
 public record PlannerResponseDto(
@@ -10,6 +11,12 @@ public record PlannerResponseDto(
         String extractionPoint,
         Double extractionLat,  // Calibrated Y coordinate of extraction point
         Double extractionLng,  // Calibrated X coordinate of extraction point
-        List<EnemySpawnDto> nearbyEnemySpawns  // All spawns of selected enemy types on this map, with onRoute status
+        List<EnemySpawnDto> nearbyEnemySpawns,  // All spawns of selected enemy types on this map, with onRoute status (only on-route spawns in compact mode)
+        List<EnemySpawnSummaryDto> offRouteEnemySummary  // Compact mode only: per-type aggregate of off-route spawns
 ) {
-}
\ No newline at end of file
+    public PlannerResponseDto(Long mapId, String mapName, double score, List<WaypointDto> path, String extractionPoint,
+                              Double extractionLat, Double extractionLng, List<EnemySpawnDto> nearbyEnemySpawns) {
+        this(mapId, mapName, score, path, extractionPoint, extractionLat, extractionLng, nearbyEnemySpawns,
+                Collections.emptyList());
+    }
+}
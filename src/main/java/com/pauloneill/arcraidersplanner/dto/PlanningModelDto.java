@@ -0,0 +1,30 @@
+package com.pauloneill.arcraidersplanner.dto;
+
+import java.util.List;
+
+/**
+ * Compact, compiled planning model for one map.
+ * WHY: Lets the frontend (or a desktop companion) re-order and re-score routes locally
+ * instead of round-tripping every small tweak to the planner.
+ * <p>
+ * All per-point arrays are indexed by point position (0..n-1).
+ */
+public record PlanningModelDto(
+        long dataVersion,
+        Long mapId,
+        String mapName,
+        List<String> pointIds,      // "area:<id>", "extraction:<id>" or "hatch:<id>"
+        List<String> pointNames,
+        float[] xs,                 // Calibrated X (lng) per point
+        float[] ys,                 // Calibrated Y (lat) per point
+        List<String> lootTypes,     // Loot type name per bit position
+        int lootMaskWords,          // 32-bit words per point in lootTypeMasks
+        int[] lootTypeMasks,        // Row-major: bit b of word w for point i is lootTypeMasks[i * lootMaskWords + w]
+        int[] flags,                // Bit flags per point, see FLAG_* constants
+        double distanceScale,       // Map units per distance step
+        byte[] distances            // Base64 n*n row-major little-endian uint16; distance = value * distanceScale
+) {
+    public static final int FLAG_DANGER = 1;        // High tier area (PvP hot zone)
+    public static final int FLAG_EXTRACTION = 2;    // Regular extraction point
+    public static final int FLAG_RAIDER_HATCH = 4;  // Raider Hatch (needs a key)
+}
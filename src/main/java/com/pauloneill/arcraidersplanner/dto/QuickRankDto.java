@@ -0,0 +1,32 @@
+package com.pauloneill.arcraidersplanner.dto;
+
+import java.util.List;
+
+/**
+ * Maps scored for a target list without solving any routes.
+ * WHY: Live UI previews need "which map is best for these items" on every keystroke; the full
+ * planner answers a richer question far too slowly for that.
+ *
+ * @param totalTargets      Number of resolved targets each map was scored against
+ * @param maps              Maps by descending score
+ * @param unresolvedTargets Requested items, recipes or types that matched nothing
+ */
+public record QuickRankDto(
+        int totalTargets,
+        List<MapRankDto> maps,
+        List<String> unresolvedTargets
+) {
+    /**
+     * @param score          Sum over covered targets of 1 + density relative to the best map for that target (0-1]
+     * @param coveredTargets Targets obtainable on this map
+     * @param missingTargets Targets not obtainable on this map
+     */
+    public record MapRankDto(
+            Long mapId,
+            String mapName,
+            double score,
+            int coveredTargets,
+            List<String> missingTargets
+    ) {
+    }
+}
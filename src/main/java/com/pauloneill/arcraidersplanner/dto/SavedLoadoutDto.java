@@ -0,0 +1,14 @@
+package com.pauloneill.arcraidersplanner.dto;
+
+import com.pauloneill.arcraidersplanner.model.SavedLoadout.PlanStatus;
+
+import java.time.Instant;
+
+public record SavedLoadoutDto(
+        Long id,
+        String name,
+        PlannerRequestDto request,
+        PlanStatus planStatus,     // PENDING while queued for (re)computation
+        Instant planComputedAt     // When the stored plan was last computed; null if never
+) {
+}
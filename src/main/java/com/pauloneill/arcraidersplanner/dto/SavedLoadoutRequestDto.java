@@ -0,0 +1,7 @@
+package com.pauloneill.arcraidersplanner.dto;
+
+public record SavedLoadoutRequestDto(
+        String name,                // Display name chosen by the player
+        PlannerRequestDto request   // Planner request to materialise
+) {
+}
@@ -0,0 +1,24 @@
+package com.pauloneill.arcraidersplanner.dto;
+
+import java.util.List;
+
+/**
+ * Sequence of raids that together cover every goal item.
+ * WHY: Players with large upgrade goals want to know which maps to run, and in what order,
+ * to finish in the fewest raids.
+ */
+public record SessionPlanDto(
+        int raidCount,
+        List<SessionRaidDto> raids,         // In suggested order, largest new coverage first
+        List<String> uncoverableItems,      // Goal items no map can provide (e.g. vendor-only)
+        boolean optimal,                    // False if the search hit its node budget before proving optimality
+        long nodesExplored
+) {
+    public record SessionRaidDto(
+            int raid,              // 1-based raid number
+            Long mapId,
+            String mapName,
+            List<String> newItems  // Goal items first covered by this raid
+    ) {
+    }
+}
@@ -0,0 +1,9 @@
+package com.pauloneill.arcraidersplanner.dto;
+
+import java.util.List;
+
+public record SessionPlanRequestDto(
+        List<String> targetRecipeIds,  // Recipe IDs whose ingredients must all be collected (e.g. workbench upgrades)
+        List<String> targetItemNames   // Additional individual items to collect
+) {
+}
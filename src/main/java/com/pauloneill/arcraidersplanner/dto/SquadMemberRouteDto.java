@@ -0,0 +1,13 @@
+package com.pauloneill.arcraidersplanner.dto;
+
+import java.util.List;
+
+/**
+ * One player's share of a squad plan.
+ */
+public record SquadMemberRouteDto(
+        int player,               // 1-based player number
+        List<WaypointDto> path,   // Visiting order; ends next to the squad's common extraction
+        double distance           // Path length including the final leg to extraction
+) {
+}
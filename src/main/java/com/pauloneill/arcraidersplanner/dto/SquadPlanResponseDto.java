@@ -0,0 +1,21 @@
+package com.pauloneill.arcraidersplanner.dto;
+
+import java.util.List;
+
+/**
+ * Squad plan for one map: the shared targets split into one balanced route per player.
+ * WHY: Squads split up to cover more loot and regroup at a common extraction.
+ */
+public record SquadPlanResponseDto(
+        Long mapId,
+        String mapName,
+        double score,                   // Same heuristic score as the single-player planner
+        String extractionPoint,         // Common extraction for all players
+        Double extractionLat,           // Calibrated Y coordinate of extraction point
+        Double extractionLng,           // Calibrated X coordinate of extraction point
+        double longestTourDistance,     // Distance of the longest player route (the squad's bottleneck)
+        List<SquadMemberRouteDto> players,
+        List<EnemySpawnDto> nearbyEnemySpawns,
+        List<EnemySpawnSummaryDto> offRouteEnemySummary
+) {
+}
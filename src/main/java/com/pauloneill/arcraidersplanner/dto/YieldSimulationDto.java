@@ -0,0 +1,22 @@
+package com.pauloneill.arcraidersplanner.dto;
+
+import java.util.Map;
+
+/**
+ * Monte Carlo estimate of what a planned route actually yields.
+ * WHY: The planner score is a heuristic; players care about how many target items they can expect to find.
+ */
+public record YieldSimulationDto(
+        Long mapId,
+        String mapName,
+        double plannerScore,              // Deterministic planner score, for comparison
+        double expectedItems,             // Mean target items found per raid
+        double variance,                  // Variance of target items found per raid
+        double ci95Low,                   // 95% confidence interval of the mean
+        double ci95High,
+        double expectedContainersLooted,  // Mean targeted-container markers looted per raid
+        Map<String, Double> expectedPerItem, // Mean count per target item name
+        long iterations,                  // Simulated raids
+        boolean converged                 // Whether the CI converged before the iteration cap
+) {
+}
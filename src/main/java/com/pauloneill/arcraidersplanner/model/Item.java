@@ -1,5 +1,6 @@
 package com.pauloneill.arcraidersplanner.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Data;
 
@@ -8,11 +9,13 @@ import java.util.Set;
 
 @Data
 @Entity
-@Table(name = "items")
+@Table(name = "items", indexes = @Index(name = "idx_items_name", columnList = "name"))
 public class Item {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled sequence (V015) instead of IDENTITY so sync inserts can be JDBC-batched
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "items_id_seq")
+    @SequenceGenerator(name = "items_id_seq", sequenceName = "items_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -47,4 +50,9 @@ public class Item {
     @CollectionTable(name = "item_dropped_by", joinColumns = @JoinColumn(name = "item_id"))
     @Column(name = "enemy_id")
     private Set<String> droppedBy = new HashSet<>();
+
+    // SHA-256 of the synced Metaforge fields (V016); a re-sync skips the row while it matches
+    @JsonIgnore
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
 }
\ No newline at end of file
@@ -1,12 +1,14 @@
 package com.pauloneill.arcraidersplanner.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
-import lombok.Data;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
 
 @Data
 @Entity
 @Table(name = "map_markers")
-public class MapMarker implements RoutablePoint {
+public class MapMarker implements RoutablePoint, Persistable<String> {
 
     @Id
     @Column(unique = true)
@@ -36,6 +38,32 @@ public class MapMarker implements RoutablePoint {
 
     private String standaloneReason; // "isolated", "unique_poi", "extraction_point"
 
+    // SHA-256 of the synced Metaforge fields (V016); a re-sync skips the row while it matches
+    @JsonIgnore
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    // IDs come from the API, so Spring Data cannot tell new markers from stored ones by ID alone;
+    // without this, saveAll() merges (one SELECT per marker) instead of batch-inserting
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private boolean persisted;
+
+    @Override
+    @JsonIgnore
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        this.persisted = true;
+    }
+
     @Override
     public double getX() {
         return this.lng;
@@ -9,7 +9,9 @@ import lombok.Data;
 public class RecipeIngredient {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled sequence (V015) instead of IDENTITY so sync inserts can be JDBC-batched
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "recipe_ingredients_id_seq")
+    @SequenceGenerator(name = "recipe_ingredients_id_seq", sequenceName = "recipe_ingredients_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
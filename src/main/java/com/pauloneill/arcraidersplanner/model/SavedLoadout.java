@@ -0,0 +1,48 @@
+package com.pauloneill.arcraidersplanner.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.Instant;
+
+/**
+ * A player's saved planner request together with its materialised plan.
+ * WHY: Power users re-run the same loadout before every raid. Storing the computed plan means loading it
+ * is one row read; it is recomputed in the background only when a sync touches data the loadout uses.
+ */
+@Data
+@Entity
+@Table(name = "saved_loadouts")
+public class SavedLoadout {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String name;
+
+    // Serialised PlannerRequestDto
+    @Column(name = "request_json", nullable = false, columnDefinition = "TEXT")
+    private String requestJson;
+
+    // Serialised List<PlannerResponseDto>; null until first computed
+    @Column(name = "plan_json", columnDefinition = "TEXT")
+    private String planJson;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "plan_status", nullable = false)
+    private PlanStatus planStatus = PlanStatus.PENDING;
+
+    @Column(name = "plan_computed_at")
+    private Instant planComputedAt;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt = Instant.now();
+
+    public enum PlanStatus {
+        PENDING, // Queued for (re)computation; planJson holds the previous plan, if any
+        READY,   // planJson is current
+        FAILED   // Last computation threw; planJson holds the previous plan, if any
+    }
+}
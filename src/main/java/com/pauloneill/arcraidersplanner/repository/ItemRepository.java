@@ -2,7 +2,9 @@ package com.pauloneill.arcraidersplanner.repository;
 
 import com.pauloneill.arcraidersplanner.model.Item;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,4 +16,13 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
     Optional<Item> findByMetaforgeId(String metaforgeId);
 
     List<Item> findTop50ByOrderByNameAsc();
+
+    List<Item> findByNameIn(Collection<String> names);
+
+    /**
+     * Loads every item with its loot type and enemy drop sources in one query.
+     * WHY: Feeds the in-memory ItemCatalogueIndex without per-item lazy loads.
+     */
+    @Query("SELECT DISTINCT i FROM Item i LEFT JOIN FETCH i.lootType LEFT JOIN FETCH i.droppedBy")
+    List<Item> findAllWithLootTypeAndDroppedBy();
 }
\ No newline at end of file
@@ -2,9 +2,11 @@ package com.pauloneill.arcraidersplanner.repository;
 
 import com.pauloneill.arcraidersplanner.model.MapMarker;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface MapMarkerRepository extends JpaRepository<MapMarker, String> {
@@ -26,4 +28,10 @@ public interface MapMarkerRepository extends JpaRepository<MapMarker, String> {
 
     // Get specific markers by IDs (for planning)
     List<MapMarker> findByIdIn(List<String> ids);
+
+    // Delete markers that vanished upstream in one statement; clears the persistence context so the
+    // deleted markers are not served from it afterwards
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM MapMarker m WHERE m.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<String> ids);
 }
\ No newline at end of file
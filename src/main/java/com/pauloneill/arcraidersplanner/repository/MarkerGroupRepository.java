@@ -3,6 +3,7 @@ package com.pauloneill.arcraidersplanner.repository;
 import com.pauloneill.arcraidersplanner.model.ContainerType;
 import com.pauloneill.arcraidersplanner.model.MarkerGroup;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -11,4 +12,13 @@ import java.util.List;
 public interface MarkerGroupRepository extends JpaRepository<MarkerGroup, Long> {
     List<MarkerGroup> findByGameMapId(Long mapId);
     List<MarkerGroup> findByGameMapIdAndContainerType(Long mapId, ContainerType containerType);
+
+    /**
+     * Loads every marker group with its map and container type in a single query.
+     * WHY: Used to build the in-memory container group index without N+1 lookups
+     *
+     * @return All marker groups across all maps
+     */
+    @Query("SELECT g FROM MarkerGroup g JOIN FETCH g.gameMap JOIN FETCH g.containerType")
+    List<MarkerGroup> findAllWithMapAndContainerType();
 }
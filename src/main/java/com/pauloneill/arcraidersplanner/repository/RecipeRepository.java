@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -32,6 +33,15 @@ public interface RecipeRepository extends JpaRepository<Recipe, Long> {
      */
     List<Recipe> findByType(RecipeType type);
 
+    /**
+     * Finds recipes of a type that came from Metaforge sync.
+     * WHY: Sync may only delete what it created; API-created recipes have no Metaforge ID
+     *
+     * @param type The recipe type
+     * @return Synced recipes of that type
+     */
+    List<Recipe> findByTypeAndMetaforgeItemIdIsNotNull(RecipeType type);
+
     /**
      * Finds all recipes that use a specific item as an ingredient.
      * WHY: Required for "Used In Recipes" section of item detail view in tactical planner UI
@@ -42,6 +52,21 @@ public interface RecipeRepository extends JpaRepository<Recipe, Long> {
     @Query("SELECT DISTINCT r FROM Recipe r JOIN r.ingredients i WHERE i.item.id = :itemId")
     List<Recipe> findRecipesUsingItem(@Param("itemId") Long itemId);
 
+    /**
+     * Loads the recipes with the given Metaforge IDs, with their ingredients and items.
+     * WHY: Lets the sync update a whole chunk of recipes from one query.
+     */
+    @Query("SELECT DISTINCT r FROM Recipe r LEFT JOIN FETCH r.ingredients ing LEFT JOIN FETCH ing.item "
+            + "WHERE r.metaforgeItemId IN :metaforgeItemIds")
+    List<Recipe> findAllWithIngredientsByMetaforgeItemIdIn(@Param("metaforgeItemIds") Collection<String> metaforgeItemIds);
+
     @Query("SELECT r.metaforgeItemId FROM Recipe r")
     List<String> findAllMetaforgeItemIdsWithRecipes();
+
+    /**
+     * Loads every recipe with its ingredients and their items in one query.
+     * WHY: Feeds the in-memory ItemCatalogueIndex without per-recipe lazy loads.
+     */
+    @Query("SELECT DISTINCT r FROM Recipe r LEFT JOIN FETCH r.ingredients ing LEFT JOIN FETCH ing.item")
+    List<Recipe> findAllWithIngredients();
 }
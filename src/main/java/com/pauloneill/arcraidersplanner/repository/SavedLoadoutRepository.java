@@ -0,0 +1,53 @@
+package com.pauloneill.arcraidersplanner.repository;
+
+import com.pauloneill.arcraidersplanner.model.SavedLoadout;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface SavedLoadoutRepository extends JpaRepository<SavedLoadout, Long> {
+
+    List<SavedLoadout> findAllByOrderByNameAsc();
+
+    /**
+     * Flags loadouts as awaiting recomputation without loading their plans.
+     *
+     * @param ids Loadouts to flag
+     * @return Number of rows updated
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE SavedLoadout l SET l.planStatus = com.pauloneill.arcraidersplanner.model.SavedLoadout.PlanStatus.PENDING WHERE l.id IN :ids")
+    int markPending(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Stores a freshly computed plan, touching only the plan columns.
+     * WHY: Recomputation runs in the background; writing the whole entity back would resurrect a loadout
+     * deleted meanwhile and overwrite columns changed since it was read.
+     *
+     * @return Number of rows updated; 0 if the loadout no longer exists
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE SavedLoadout l SET l.planJson = :planJson, l.planComputedAt = :computedAt, "
+            + "l.planStatus = com.pauloneill.arcraidersplanner.model.SavedLoadout.PlanStatus.READY WHERE l.id = :id")
+    int storePlan(@Param("id") Long id, @Param("planJson") String planJson, @Param("computedAt") Instant computedAt);
+
+    /**
+     * Flags a loadout's recomputation as failed, keeping its previous plan.
+     *
+     * @return Number of rows updated; 0 if the loadout no longer exists
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE SavedLoadout l SET l.planStatus = com.pauloneill.arcraidersplanner.model.SavedLoadout.PlanStatus.FAILED WHERE l.id = :id")
+    int markFailed(@Param("id") Long id);
+}
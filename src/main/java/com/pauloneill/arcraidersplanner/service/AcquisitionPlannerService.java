@@ -0,0 +1,180 @@
+package com.pauloneill.arcraidersplanner.service;
+
+import com.pauloneill.arcraidersplanner.dto.AcquisitionPlanDto;
+import com.pauloneill.arcraidersplanner.dto.AcquisitionPlanDto.Decision;
+import com.pauloneill.arcraidersplanner.service.DataVersionService.DataVersionChangedEvent;
+import com.pauloneill.arcraidersplanner.service.ItemCatalogueIndex.CatalogueItem;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+
+/**
+ * Minimum-cost acquisition solver: for every item, loot it directly or craft it from the cheapest
+ * mix of looted and crafted parts.
+ * WHY: Players otherwise compare item values against recipe trees by hand. The recipe graph is a DAG
+ * once cycles are cut, so cost(item) = min(value, Σ qty × cost(ingredient)) is a single bottom-up pass.
+ * The whole catalogue is solved once per data version, one dependency layer at a time, with the
+ * recipes of each layer evaluated in parallel.
+ */
+@Slf4j
+@Service
+public class AcquisitionPlannerService {
+
+    private static final long UNPRICED = Long.MAX_VALUE;
+
+    private final RecipeGraph recipeGraph;
+    private final ItemCatalogueIndex itemCatalogueIndex;
+    private final VersionedSnapshot<CostTable> snapshot;
+
+    public AcquisitionPlannerService(RecipeGraph recipeGraph, ItemCatalogueIndex itemCatalogueIndex,
+                                     DataVersionService dataVersionService) {
+        this.recipeGraph = recipeGraph;
+        this.itemCatalogueIndex = itemCatalogueIndex;
+        this.snapshot = new VersionedSnapshot<>(dataVersionService, this::solve);
+    }
+
+    /**
+     * Per-item unit costs; UNPRICED marks "no route".
+     */
+    private record CostTable(RecipeGraph.Compiled graph, long[] lootCost, long[] craftCost) {
+    }
+
+    /**
+     * Builds the cheapest acquisition plan for a quantity of an item.
+     *
+     * @param itemId   Item database ID
+     * @param quantity Units wanted
+     * @return Plan tree, expanded through every component that is cheaper to craft
+     */
+    public AcquisitionPlanDto getPlan(Long itemId, long quantity) {
+        CostTable costs = snapshot.get();
+        Integer item = itemId != null ? costs.graph().itemIndexById().get(itemId) : null;
+        if (item == null) {
+            throw new ResponseStatusException(NOT_FOUND, "Item not found with ID: " + itemId);
+        }
+        return plan(costs, item, quantity);
+    }
+
+    @EventListener
+    public void onDataVersionChanged(DataVersionChangedEvent event) {
+        snapshot.get();
+    }
+
+    private AcquisitionPlanDto plan(CostTable costs, int item, long quantity) {
+        RecipeGraph.Compiled graph = costs.graph();
+        long loot = costs.lootCost()[item];
+        long craft = costs.craftCost()[item];
+        Decision decision = craft < loot ? Decision.CRAFT : loot != UNPRICED ? Decision.LOOT : Decision.UNAVAILABLE;
+        long unit = Math.min(loot, craft);
+
+        Long recipeId = null;
+        List<AcquisitionPlanDto> components = List.of();
+        if (decision == Decision.CRAFT) {
+            int recipe = graph.itemRecipe()[item];
+            recipeId = graph.recipeIds()[recipe];
+            components = new ArrayList<>();
+            for (int e = graph.ingredientStart()[recipe]; e < graph.ingredientStart()[recipe + 1]; e++) {
+                components.add(plan(costs, graph.ingredientItem()[e], quantity * graph.ingredientQuantity()[e]));
+            }
+            components.sort(Comparator.comparing(AcquisitionPlanDto::itemName, Comparator.nullsLast(Comparator.naturalOrder())));
+        }
+
+        return new AcquisitionPlanDto(graph.itemIds()[item], graph.itemNames()[item], decision, quantity,
+                priced(loot), priced(craft), priced(unit), unit != UNPRICED ? saturatedMultiply(unit, quantity) : null,
+                recipeId, components);
+    }
+
+    private CostTable solve() {
+        RecipeGraph.Compiled graph = recipeGraph.compiled();
+        int itemCount = graph.itemIds().length;
+        int recipeCount = graph.recipeIds().length;
+
+        long[] lootCost = new long[itemCount];
+        Arrays.fill(lootCost, UNPRICED);
+        for (CatalogueItem catalogueItem : itemCatalogueIndex.getItems()) {
+            Integer item = graph.itemIndexById().get(catalogueItem.id());
+            if (item != null && catalogueItem.value() != null) {
+                lootCost[item] = Math.max(0, catalogueItem.value());
+            }
+        }
+        long[] craftCost = new long[itemCount];
+        Arrays.fill(craftCost, UNPRICED);
+
+        // Layer = longest chain of craftable ingredients below a recipe; cyclic recipes are never crafted
+        int[] recipeOutput = new int[recipeCount];
+        Arrays.fill(recipeOutput, -1);
+        for (int item = 0; item < itemCount; item++) {
+            if (graph.itemRecipe()[item] >= 0) {
+                recipeOutput[graph.itemRecipe()[item]] = item;
+            }
+        }
+        int[] layer = new int[recipeCount];
+        int layerCount = 0;
+        for (int recipe : graph.buildOrder()) {
+            if (graph.cyclic()[recipe] || recipeOutput[recipe] < 0) {
+                layer[recipe] = -1;
+                continue;
+            }
+            int depth = 0;
+            for (int e = graph.ingredientStart()[recipe]; e < graph.ingredientStart()[recipe + 1]; e++) {
+                int sub = graph.itemRecipe()[graph.ingredientItem()[e]];
+                if (sub >= 0 && layer[sub] >= 0) {
+                    depth = Math.max(depth, layer[sub] + 1);
+                }
+            }
+            layer[recipe] = depth;
+            layerCount = Math.max(layerCount, depth + 1);
+        }
+        List<List<Integer>> layers = new ArrayList<>(layerCount);
+        for (int d = 0; d < layerCount; d++) {
+            layers.add(new ArrayList<>());
+        }
+        for (int recipe = 0; recipe < recipeCount; recipe++) {
+            if (layer[recipe] >= 0) {
+                layers.get(layer[recipe]).add(recipe);
+            }
+        }
+
+        // Every recipe in a layer only reads costs settled by earlier layers and writes its own output item
+        for (List<Integer> recipes : layers) {
+            int[] batch = recipes.stream().mapToInt(Integer::intValue).toArray();
+            IntStream.of(batch).parallel().forEach(recipe -> {
+                long cost = 0;
+                for (int e = graph.ingredientStart()[recipe]; e < graph.ingredientStart()[recipe + 1]; e++) {
+                    int ingredient = graph.ingredientItem()[e];
+                    long unit = Math.min(lootCost[ingredient], craftCost[ingredient]);
+                    if (unit == UNPRICED) {
+                        cost = UNPRICED;
+                        break;
+                    }
+                    cost = saturatedAdd(cost, saturatedMultiply(unit, graph.ingredientQuantity()[e]));
+                }
+                craftCost[recipeOutput[recipe]] = cost;
+            });
+        }
+
+        long crafted = IntStream.range(0, itemCount).filter(item -> craftCost[item] < lootCost[item]).count();
+        log.info("Solved acquisition costs: {} items over {} layers, {} cheaper to craft than to loot",
+                itemCount, layerCount, crafted);
+        return new CostTable(graph, lootCost, craftCost);
+    }
+
+    private static Long priced(long cost) {
+        return cost != UNPRICED ? cost : null;
+    }
+
+    private static long saturatedAdd(long a, long b) {
+        long sum = a + b;
+        return sum < 0 || a == UNPRICED || b == UNPRICED ? UNPRICED : sum;
+    }
+
+    private static long saturatedMultiply(long a, long b) {
+        return a != 0 && b > UNPRICED / a ? UNPRICED : a * b;
+    }
+}
@@ -0,0 +1,71 @@
+package com.pauloneill.arcraidersplanner.service;
+
+import com.pauloneill.arcraidersplanner.model.MarkerGroup;
+import com.pauloneill.arcraidersplanner.repository.MarkerGroupRepository;
+import com.pauloneill.arcraidersplanner.service.DataVersionService.DataVersionChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * In-memory index of (mapId, containerType subcategory) → MarkerGroups.
+ * WHY: Container targeting needs the groups for every map on every planner request.
+ * Loading them once per data version removes one repository query per subcategory per map.
+ */
+@Slf4j
+@Component
+public class ContainerGroupIndex {
+
+    private final MarkerGroupRepository markerGroupRepository;
+    private final VersionedSnapshot<Map<Long, Map<String, List<MarkerGroup>>>> snapshot;
+
+    public ContainerGroupIndex(MarkerGroupRepository markerGroupRepository, DataVersionService dataVersionService) {
+        this.markerGroupRepository = markerGroupRepository;
+        this.snapshot = new VersionedSnapshot<>(dataVersionService, this::load);
+    }
+
+    /**
+     * Gets the marker groups of one container type on one map.
+     *
+     * @param mapId       The map ID
+     * @param subcategory Container type subcategory (e.g. "red-locker")
+     * @return Matching groups, or an empty list
+     */
+    public List<MarkerGroup> getGroups(Long mapId, String subcategory) {
+        if (mapId == null || subcategory == null) {
+            return Collections.emptyList();
+        }
+        return snapshot.get()
+                .getOrDefault(mapId, Collections.emptyMap())
+                .getOrDefault(subcategory, Collections.emptyList());
+    }
+
+    @EventListener
+    public void onDataVersionChanged(DataVersionChangedEvent event) {
+        snapshot.get();
+    }
+
+    private Map<Long, Map<String, List<MarkerGroup>>> load() {
+        List<MarkerGroup> groups = markerGroupRepository.findAllWithMapAndContainerType();
+
+        Map<Long, Map<String, List<MarkerGroup>>> byMap = new HashMap<>();
+        for (MarkerGroup group : groups) {
+            byMap.computeIfAbsent(group.getGameMap().getId(), k -> new HashMap<>())
+                    .computeIfAbsent(group.getContainerType().getSubcategory(), k -> new ArrayList<>())
+                    .add(group);
+        }
+
+        // Freeze so the snapshot can be shared across request threads
+        Map<Long, Map<String, List<MarkerGroup>>> frozen = new HashMap<>();
+        byMap.forEach((mapId, bySubcategory) -> {
+            Map<String, List<MarkerGroup>> inner = new HashMap<>();
+            bySubcategory.forEach((subcategory, list) -> inner.put(subcategory, List.copyOf(list)));
+            frozen.put(mapId, Map.copyOf(inner));
+        });
+
+        log.info("Loaded container group index: {} groups across {} maps", groups.size(), frozen.size());
+        return Map.copyOf(frozen);
+    }
+}
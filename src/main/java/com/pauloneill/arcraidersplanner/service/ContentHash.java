@@ -0,0 +1,45 @@
+package com.pauloneill.arcraidersplanner.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * SHA-256 hashes of synced row content.
+ * WHY: Stored alongside each synced row so a re-sync can tell unchanged upstream records from changed
+ * ones with one string comparison, and skip writing them.
+ */
+final class ContentHash {
+
+    private static final byte FIELD_SEPARATOR = 0x1f; // Keeps ("ab", "c") distinct from ("a", "bc")
+    private static final byte NULL_FIELD = 0x00;      // Keeps null distinct from the string "null"
+
+    private ContentHash() {
+    }
+
+    /**
+     * @param fields Field values in a fixed order; collections must already be in a canonical order
+     * @return Lowercase hex SHA-256 of the fields
+     */
+    static String of(Object... fields) {
+        MessageDigest digest = sha256();
+        for (Object field : fields) {
+            if (field == null) {
+                digest.update(NULL_FIELD);
+            } else {
+                digest.update(field.toString().getBytes(StandardCharsets.UTF_8));
+            }
+            digest.update(FIELD_SEPARATOR);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is required by the Java platform", e);
+        }
+    }
+}
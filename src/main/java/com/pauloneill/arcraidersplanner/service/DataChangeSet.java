@@ -0,0 +1,46 @@
+package com.pauloneill.arcraidersplanner.service;
+
+import java.util.Set;
+
+/**
+ * What a data version change touched.
+ * WHY: Indexes simply rebuild on every version, but expensive derived state (saved loadout plans) should
+ * only be recomputed when the data it was built from actually changed.
+ *
+ * @param global    True when the scope of the change is unknown; consumers must treat everything as changed
+ * @param itemNames Items whose plan-relevant fields (loot type, drops) changed, or which are new
+ * @param recipeIds Metaforge IDs of recipes whose ingredients changed, or which are new
+ * @param mapIds    Maps whose markers changed
+ */
+public record DataChangeSet(boolean global, Set<String> itemNames, Set<String> recipeIds, Set<Long> mapIds) {
+
+    private static final DataChangeSet EVERYTHING = new DataChangeSet(true, Set.of(), Set.of(), Set.of());
+
+    public DataChangeSet {
+        itemNames = Set.copyOf(itemNames);
+        recipeIds = Set.copyOf(recipeIds);
+        mapIds = Set.copyOf(mapIds);
+    }
+
+    /**
+     * @return A change set of unknown scope
+     */
+    public static DataChangeSet everything() {
+        return EVERYTHING;
+    }
+
+    public static DataChangeSet items(Set<String> itemNames, Set<String> recipeIds) {
+        return new DataChangeSet(false, itemNames, recipeIds, Set.of());
+    }
+
+    public static DataChangeSet maps(Set<Long> mapIds) {
+        return new DataChangeSet(false, Set.of(), Set.of(), mapIds);
+    }
+
+    /**
+     * @return True if nothing is known to have changed
+     */
+    public boolean isEmpty() {
+        return !global && itemNames.isEmpty() && recipeIds.isEmpty() && mapIds.isEmpty();
+    }
+}
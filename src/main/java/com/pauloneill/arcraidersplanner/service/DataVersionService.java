@@ -0,0 +1,80 @@
+package com.pauloneill.arcraidersplanner.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks a monotonically increasing version of the synced game data.
+ * WHY: In-memory indexes (container groups, catalogue, etc.) are rebuilt once per data version
+ * instead of querying the database on every planner request.
+ */
+@Slf4j
+@Service
+public class DataVersionService {
+
+    private final AtomicLong version = new AtomicLong(1);
+    private final ApplicationEventPublisher eventPublisher;
+
+    public DataVersionService(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * @return The current data version
+     */
+    public long currentVersion() {
+        return version.get();
+    }
+
+    /**
+     * Marks the underlying data as changed.
+     * WHY: If called inside a transaction, the bump is deferred until commit so that
+     * indexes never cache a snapshot of uncommitted (or rolled back) data under the new version.
+     *
+     * @param reason Short description for logging (e.g. "item sync")
+     */
+    public void markChanged(String reason) {
+        markChanged(reason, DataChangeSet.everything());
+    }
+
+    /**
+     * Marks the underlying data as changed, describing what changed.
+     *
+     * @param reason  Short description for logging (e.g. "item sync")
+     * @param changes What the change touched, passed on to listeners
+     */
+    public void markChanged(String reason, DataChangeSet changes) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bump(reason, changes);
+                }
+            });
+        } else {
+            bump(reason, changes);
+        }
+    }
+
+    private void bump(String reason, DataChangeSet changes) {
+        long newVersion = version.incrementAndGet();
+        log.info("Data version bumped to {} ({})", newVersion, reason);
+        eventPublisher.publishEvent(new DataVersionChangedEvent(newVersion, reason, changes));
+    }
+
+    /**
+     * Published after the data version changes.
+     * WHY: Lets indexes warm up eagerly after a sync instead of on the first request.
+     */
+    public record DataVersionChangedEvent(long version, String reason, DataChangeSet changes) {
+
+        public DataVersionChangedEvent(long version, String reason) {
+            this(version, reason, DataChangeSet.everything());
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.pauloneill.arcraidersplanner.service;
+
+import com.pauloneill.arcraidersplanner.model.RoutablePoint;
+
+import java.util.List;
+
+/**
+ * Immutable raster of enemy spawn density over one map.
+ * WHY: A flat float array gives O(1) lookups, so route exposure can be integrated along a path
+ * in time proportional to its length instead of its length times the number of spawns.
+ * <p>
+ * Cells are row-major: {@code values[row * width + col]}, X = calibrated lng, Y = calibrated lat.
+ */
+public final class DensityGrid {
+
+    private final double originX;
+    private final double originY;
+    private final double cellSize;
+    private final int width;
+    private final int height;
+    private final float[] values;
+    private final float maxValue;
+
+    DensityGrid(double originX, double originY, double cellSize, int width, int height, float[] values) {
+        this.originX = originX;
+        this.originY = originY;
+        this.cellSize = cellSize;
+        this.width = width;
+        this.height = height;
+        this.values = values;
+
+        float max = 0f;
+        for (float value : values) {
+            max = Math.max(max, value);
+        }
+        this.maxValue = max;
+    }
+
+    /**
+     * @return Density at a point, or 0 outside the grid
+     */
+    public float valueAt(double x, double y) {
+        int col = (int) Math.floor((x - originX) / cellSize);
+        int row = (int) Math.floor((y - originY) / cellSize);
+        if (col < 0 || row < 0 || col >= width || row >= height) {
+            return 0f;
+        }
+        return values[row * width + col];
+    }
+
+    /**
+     * Line integral of density along a route, sampled at half-cell steps.
+     *
+     * @param path Route waypoints
+     * @return Sum of density x distance travelled (0 for paths with fewer than two points)
+     */
+    public double integrateAlongPath(List<? extends RoutablePoint> path) {
+
+        double total = 0;
+        double maxStep = cellSize / 2.0;
+        for (int i = 0; i < path.size() - 1; i++) {
+            RoutablePoint start = path.get(i);
+            RoutablePoint end = path.get(i + 1);
+            double dx = end.getX() - start.getX();
+            double dy = end.getY() - start.getY();
+            double length = Math.sqrt(dx * dx + dy * dy);
+            int steps = Math.max(1, (int) Math.ceil(length / maxStep));
+            double stepLength = length / steps;
+
+            // Midpoint rule
+            for (int s = 0; s < steps; s++) {
+                double t = (s + 0.5) / steps;
+                total += valueAt(start.getX() + dx * t, start.getY() + dy * t) * stepLength;
+            }
+        }
+        return total;
+    }
+
+    public double originX() {
+        return originX;
+    }
+
+    public double originY() {
+        return originY;
+    }
+
+    public double cellSize() {
+        return cellSize;
+    }
+
+    public int width() {
+        return width;
+    }
+
+    public int height() {
+        return height;
+    }
+
+    public float maxValue() {
+        return maxValue;
+    }
+
+    /**
+     * @return Copy of the raw cell values (row-major)
+     */
+    public float[] values() {
+        return values.clone();
+    }
+}
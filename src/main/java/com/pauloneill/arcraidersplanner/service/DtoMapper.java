@@ -6,6 +6,7 @@ import org.springframework.stereotype.Service;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -42,6 +43,28 @@ public class DtoMapper {
         return dto;
     }
 
+    /**
+     * Converts an in-memory catalogue item to ItemDto.
+     * WHY: Index-backed endpoints return the same shape as entity-backed ones without touching the database
+     */
+    public ItemDto toDto(ItemCatalogueIndex.CatalogueItem item) {
+        if (item == null) return null;
+
+        ItemDto dto = new ItemDto();
+        dto.setId(item.id());
+        dto.setMetaforgeId(item.metaforgeId());
+        dto.setName(item.name());
+        dto.setRarity(item.rarity());
+        dto.setItemType(item.itemType());
+        dto.setLootType(item.lootTypeName());
+        dto.setIconUrl(item.iconUrl());
+        dto.setValue(item.value());
+        dto.setWeight(item.weight());
+        dto.setStackSize(item.stackSize());
+        dto.setDroppedBy(item.droppedBy());
+        return dto;
+    }
+
     /**
      * Converts Recipe entity to RecipeDto.
      * WHY: Provides frontend with recipe details and ingredient requirements
@@ -119,6 +142,15 @@ public class DtoMapper {
      * WHY: Transforms ARC enemy markers into frontend-friendly format
      */
     public EnemyDto toEnemyDto(MapMarker marker) {
+        return toEnemyDto(marker, null);
+    }
+
+    /**
+     * Converts MapMarker (ARC enemy) to EnemyDto with a precomputed threat level.
+     *
+     * @param threatLevel 1 (low) to 3 (high), or null if unknown
+     */
+    public EnemyDto toEnemyDto(MapMarker marker, Integer threatLevel) {
         if (marker == null) return null;
 
         return new EnemyDto(
@@ -128,7 +160,7 @@ public class DtoMapper {
                 marker.getGameMap().getName(),
                 marker.getLat(),
                 marker.getLng(),
-                null // FUTURE: Calculate threat level based on enemy type
+                threatLevel
         );
     }
 
@@ -204,4 +236,16 @@ public class DtoMapper {
                 .map(this::toEnemyDto)
                 .collect(Collectors.toList());
     }
+
+    /**
+     * Batch converts MapMarkers to EnemyDtos, resolving each threat level.
+     * WHY: Threat comes from the density index, which the mapper itself does not depend on
+     */
+    public List<EnemyDto> toEnemyDtos(List<MapMarker> markers, Function<MapMarker, Integer> threatLevel) {
+        if (markers == null) return Collections.emptyList();
+
+        return markers.stream()
+                .map(marker -> toEnemyDto(marker, threatLevel.apply(marker)))
+                .collect(Collectors.toList());
+    }
 }
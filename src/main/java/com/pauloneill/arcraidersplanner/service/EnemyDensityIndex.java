@@ -0,0 +1,185 @@
+package com.pauloneill.arcraidersplanner.service;
+
+import com.pauloneill.arcraidersplanner.model.MapMarker;
+import com.pauloneill.arcraidersplanner.model.RoutablePoint;
+import com.pauloneill.arcraidersplanner.repository.MapMarkerRepository;
+import com.pauloneill.arcraidersplanner.service.DataVersionService.DataVersionChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * Per-map, per-enemy-type spawn density rasters, rebuilt once per data version.
+ * WHY: Threat levels, route exposure scoring and heat overlays all need "how many enemies are near here".
+ * Precomputing a kernel density grid after each sync turns that into an array lookup.
+ * <p>
+ * The kernel is a cone of radius {@link #KERNEL_RADIUS}: a spawn at distance d contributes
+ * {@code max(0, R - d)}, the same falloff the planner uses for enemy proximity scoring.
+ */
+@Slf4j
+@Component
+public class EnemyDensityIndex {
+
+    static final double KERNEL_RADIUS = 400.0; // Matches the planner's on-route threshold
+    private static final double MIN_CELL_SIZE = 25.0;
+    private static final int MAX_CELLS_PER_AXIS = 256;
+    private static final String ARC_CATEGORY = "arc";
+
+    private final MapMarkerRepository mapMarkerRepository;
+    private final VersionedSnapshot<Map<Long, MapDensity>> snapshot;
+
+    public EnemyDensityIndex(MapMarkerRepository mapMarkerRepository, DataVersionService dataVersionService) {
+        this.mapMarkerRepository = mapMarkerRepository;
+        this.snapshot = new VersionedSnapshot<>(dataVersionService, this::load);
+    }
+
+    private record MapDensity(DensityGrid combined, Map<String, DensityGrid> byType) {
+    }
+
+    /**
+     * Gets the density grid for one enemy type on a map.
+     *
+     * @param mapId     The map ID
+     * @param enemyType Enemy subcategory (case-insensitive), or null for all ARC types combined
+     * @return The grid, or empty if the map has no matching spawns
+     */
+    public Optional<DensityGrid> getGrid(Long mapId, String enemyType) {
+        MapDensity density = mapId != null ? snapshot.get().get(mapId) : null;
+        if (density == null) {
+            return Optional.empty();
+        }
+        if (enemyType == null || enemyType.isBlank()) {
+            return Optional.of(density.combined());
+        }
+        return Optional.ofNullable(density.byType().get(enemyType.toLowerCase()));
+    }
+
+    /**
+     * Scores how strongly a route is exposed to the given enemy types by integrating their density along it.
+     * WHY: Replaces a per-spawn distance scan with O(path length) grid lookups. The integral is divided by
+     * the kernel radius so a spawn sitting on a long straight route scores about R, as in the exact method.
+     *
+     * @param mapId      The map ID
+     * @param enemyTypes Enemy subcategories to include
+     * @param path       Route waypoints
+     * @return Exposure score, or empty if any requested type has no grid (caller should fall back to exact scoring)
+     */
+    public OptionalDouble scoreRouteExposure(Long mapId, Collection<String> enemyTypes, List<? extends RoutablePoint> path) {
+        MapDensity density = mapId != null ? snapshot.get().get(mapId) : null;
+        if (density == null) {
+            return OptionalDouble.empty();
+        }
+
+        double score = 0;
+        for (String type : enemyTypes) {
+            DensityGrid grid = type != null ? density.byType().get(type.toLowerCase()) : null;
+            if (grid == null) {
+                return OptionalDouble.empty();
+            }
+            if (path.size() == 1) {
+                // A single stop is a point sample, which is already the exact proximity sum
+                score += grid.valueAt(path.get(0).getX(), path.get(0).getY());
+            } else {
+                score += grid.integrateAlongPath(path) / KERNEL_RADIUS;
+            }
+        }
+        return OptionalDouble.of(score);
+    }
+
+    /**
+     * Classifies a spawn's threat by the combined ARC density at its location.
+     *
+     * @param marker An ARC spawn marker
+     * @return 1 (low), 2 (medium) or 3 (high), or null if the map has no density grid
+     */
+    public Integer getThreatLevel(MapMarker marker) {
+        if (marker == null || marker.getGameMap() == null) {
+            return null;
+        }
+        return getGrid(marker.getGameMap().getId(), null)
+                .filter(grid -> grid.maxValue() > 0)
+                .map(grid -> {
+                    double ratio = grid.valueAt(marker.getX(), marker.getY()) / grid.maxValue();
+                    if (ratio >= 2.0 / 3.0) return 3;
+                    if (ratio >= 1.0 / 3.0) return 2;
+                    return 1;
+                })
+                .orElse(null);
+    }
+
+    @EventListener
+    public void onDataVersionChanged(DataVersionChangedEvent event) {
+        snapshot.get();
+    }
+
+    private Map<Long, MapDensity> load() {
+        List<MapMarker> spawns = mapMarkerRepository.findByCategoryIgnoreCase(ARC_CATEGORY);
+
+        Map<Long, List<MapMarker>> byMap = new HashMap<>();
+        for (MapMarker spawn : spawns) {
+            if (spawn.getGameMap() != null && spawn.getLat() != null && spawn.getLng() != null) {
+                byMap.computeIfAbsent(spawn.getGameMap().getId(), k -> new ArrayList<>()).add(spawn);
+            }
+        }
+
+        Map<Long, MapDensity> result = new HashMap<>();
+        byMap.forEach((mapId, mapSpawns) -> result.put(mapId, buildMapDensity(mapSpawns)));
+
+        log.info("Built enemy density grids for {} maps from {} spawns", result.size(), spawns.size());
+        return Map.copyOf(result);
+    }
+
+    /**
+     * Rasterises one map's spawns. All type grids share the same extent so they can be summed cell by cell.
+     */
+    private MapDensity buildMapDensity(List<MapMarker> spawns) {
+        double minX = Double.POSITIVE_INFINITY, maxX = Double.NEGATIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+        for (MapMarker spawn : spawns) {
+            minX = Math.min(minX, spawn.getX());
+            maxX = Math.max(maxX, spawn.getX());
+            minY = Math.min(minY, spawn.getY());
+            maxY = Math.max(maxY, spawn.getY());
+        }
+        // Pad by the kernel radius so every non-zero cell is inside the grid
+        double originX = minX - KERNEL_RADIUS;
+        double originY = minY - KERNEL_RADIUS;
+        double extent = Math.max(maxX - minX, maxY - minY) + 2 * KERNEL_RADIUS;
+        double cellSize = Math.max(MIN_CELL_SIZE, extent / MAX_CELLS_PER_AXIS);
+        int width = (int) Math.ceil((maxX - minX + 2 * KERNEL_RADIUS) / cellSize) + 1;
+        int height = (int) Math.ceil((maxY - minY + 2 * KERNEL_RADIUS) / cellSize) + 1;
+
+        Map<String, float[]> rasters = new HashMap<>();
+        float[] combined = new float[width * height];
+        int reach = (int) Math.ceil(KERNEL_RADIUS / cellSize);
+
+        for (MapMarker spawn : spawns) {
+            float[] raster = spawn.getSubcategory() != null
+                    ? rasters.computeIfAbsent(spawn.getSubcategory().toLowerCase(), k -> new float[width * height])
+                    : null;
+
+            int centerCol = (int) Math.floor((spawn.getX() - originX) / cellSize);
+            int centerRow = (int) Math.floor((spawn.getY() - originY) / cellSize);
+            for (int row = Math.max(0, centerRow - reach); row <= Math.min(height - 1, centerRow + reach); row++) {
+                double cellY = originY + (row + 0.5) * cellSize;
+                for (int col = Math.max(0, centerCol - reach); col <= Math.min(width - 1, centerCol + reach); col++) {
+                    double cellX = originX + (col + 0.5) * cellSize;
+                    double d = Math.hypot(cellX - spawn.getX(), cellY - spawn.getY());
+                    if (d < KERNEL_RADIUS) {
+                        float contribution = (float) (KERNEL_RADIUS - d);
+                        combined[row * width + col] += contribution;
+                        if (raster != null) {
+                            raster[row * width + col] += contribution;
+                        }
+                    }
+                }
+            }
+        }
+
+        Map<String, DensityGrid> byType = new HashMap<>();
+        rasters.forEach((type, raster) -> byType.put(type, new DensityGrid(originX, originY, cellSize, width, height, raster)));
+        return new MapDensity(new DensityGrid(originX, originY, cellSize, width, height, combined), Map.copyOf(byType));
+    }
+}
@@ -36,10 +36,12 @@ public class EnemyService {
 
     private final MapMarkerRepository mapMarkerRepository;
     private final DtoMapper dtoMapper;
+    private final EnemyDensityIndex enemyDensityIndex;
 
-    public EnemyService(MapMarkerRepository mapMarkerRepository, DtoMapper dtoMapper) {
+    public EnemyService(MapMarkerRepository mapMarkerRepository, DtoMapper dtoMapper, EnemyDensityIndex enemyDensityIndex) {
         this.mapMarkerRepository = mapMarkerRepository;
         this.dtoMapper = dtoMapper;
+        this.enemyDensityIndex = enemyDensityIndex;
     }
 
     /**
@@ -50,7 +52,7 @@ public class EnemyService {
      */
     public List<EnemyDto> getAllArcEnemies() {
         List<MapMarker> markers = mapMarkerRepository.findByCategoryIgnoreCase(ARC_CATEGORY);
-        return dtoMapper.toEnemyDtos(markers);
+        return dtoMapper.toEnemyDtos(markers, enemyDensityIndex::getThreatLevel);
     }
 
     /**
@@ -66,7 +68,7 @@ public class EnemyService {
         }
 
         List<MapMarker> markers = mapMarkerRepository.findArcEnemiesByName(query);
-        return dtoMapper.toEnemyDtos(markers);
+        return dtoMapper.toEnemyDtos(markers, enemyDensityIndex::getThreatLevel);
     }
 
     /**
@@ -85,7 +87,7 @@ public class EnemyService {
         List<MapMarker> arcMarkers = markers.stream()
                 .filter(m -> ARC_CATEGORY.equalsIgnoreCase(m.getCategory()))
                 .toList();
-        return dtoMapper.toEnemyDtos(arcMarkers);
+        return dtoMapper.toEnemyDtos(arcMarkers, enemyDensityIndex::getThreatLevel);
     }
 
     /**
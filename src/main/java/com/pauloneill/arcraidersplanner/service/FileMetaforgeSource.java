@@ -0,0 +1,52 @@
+package com.pauloneill.arcraidersplanner.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+
+/**
+ * Replays Metaforge responses recorded on disk, with no network access.
+ * WHY: Lets restarts, CI and sync benchmarks ingest the full dataset in seconds and reproducibly.
+ * The directory uses the {@link MetaforgeSource#recordingPath} layout; a live response cache directory
+ * can be replayed as-is.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.ingestion.source", havingValue = "file")
+public class FileMetaforgeSource implements MetaforgeSource {
+
+    private final Path recordingDir;
+
+    public FileMetaforgeSource(@Value("${app.ingestion.recording-dir:${app.ingestion.cache-dir:}}") String recordingDir) {
+        if (recordingDir == null || recordingDir.isBlank()) {
+            throw new IllegalStateException(
+                    "app.ingestion.source=file needs app.ingestion.recording-dir (or app.ingestion.cache-dir)");
+        }
+        this.recordingDir = Path.of(recordingDir);
+        log.info("Replaying recorded Metaforge responses from {}", this.recordingDir.toAbsolutePath());
+    }
+
+    @Override
+    public <T> T read(String request, BodyReader<T> reader) throws IOException {
+        Path file = MetaforgeSource.recordingPath(recordingDir, request);
+        if (!Files.isRegularFile(file)) {
+            throw new NoSuchFileException(file.toString(), null, "no recorded response for " + request);
+        }
+        try (InputStream body = new BufferedInputStream(Files.newInputStream(file))) {
+            return reader.read(body);
+        }
+    }
+
+    @Override
+    public boolean isRemote() {
+        return false;
+    }
+}
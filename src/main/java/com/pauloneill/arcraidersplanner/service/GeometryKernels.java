@@ -0,0 +1,135 @@
+package com.pauloneill.arcraidersplanner.service;
+
+/**
+ * Batch geometry kernels over structure-of-arrays coordinates ({@code double[] xs, ys}).
+ * WHY: Proximity and nearest-neighbour loops evaluate one point against hundreds of others.
+ * Laying coordinates out in flat arrays lets the JDK Vector API process several points per
+ * instruction; when the {@code jdk.incubator.vector} module is not on the module path
+ * (the JVM was started without {@code --add-modules jdk.incubator.vector}) the scalar loops are used.
+ * <p>
+ * Both paths perform the same floating-point operations in the same order, so results are identical.
+ */
+public final class GeometryKernels {
+
+    private static final boolean VECTORISED = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    private GeometryKernels() {
+    }
+
+    /**
+     * @return true if the kernels run on the Vector API
+     */
+    public static boolean isVectorised() {
+        return VECTORISED;
+    }
+
+    /**
+     * One-to-many Euclidean distance.
+     *
+     * @param x   Origin X
+     * @param y   Origin Y
+     * @param xs  Point X coordinates
+     * @param ys  Point Y coordinates
+     * @param n   Number of points to evaluate (prefix of the arrays)
+     * @param out Receives the distance of point i at index i
+     */
+    public static void distancesFrom(double x, double y, double[] xs, double[] ys, int n, double[] out) {
+        if (VECTORISED) {
+            VectorGeometryKernels.distancesFrom(x, y, xs, ys, n, out);
+        } else {
+            scalarDistancesFrom(x, y, xs, ys, n, out);
+        }
+    }
+
+    /**
+     * Minimum distance from each point to a polyline.
+     * A single-vertex polyline is treated as a point; an empty one yields infinity.
+     *
+     * @param xs     Point X coordinates
+     * @param ys     Point Y coordinates
+     * @param n      Number of points to evaluate
+     * @param pathXs Polyline vertex X coordinates
+     * @param pathYs Polyline vertex Y coordinates
+     * @param m      Number of polyline vertices
+     * @param out    Receives the minimum distance of point i at index i
+     */
+    public static void minDistancesToPolyline(double[] xs, double[] ys, int n,
+                                              double[] pathXs, double[] pathYs, int m, double[] out) {
+        if (VECTORISED) {
+            VectorGeometryKernels.minDistancesToPolyline(xs, ys, n, pathXs, pathYs, m, out);
+        } else {
+            scalarMinDistancesToPolyline(xs, ys, n, pathXs, pathYs, m, out);
+        }
+    }
+
+    /**
+     * Index of the point closest to (x, y), comparing squared distances.
+     *
+     * @return Lowest index among the closest points, or -1 if {@code n == 0}
+     */
+    public static int argminSquaredDistance(double x, double y, double[] xs, double[] ys, int n) {
+        return VECTORISED
+                ? VectorGeometryKernels.argminSquaredDistance(x, y, xs, ys, n)
+                : scalarArgminSquaredDistance(x, y, xs, ys, n);
+    }
+
+    // --- Scalar implementations (fallback, vector tails and benchmark baseline) ---
+
+    static void scalarDistancesFrom(double x, double y, double[] xs, double[] ys, int n, double[] out) {
+        scalarDistancesFrom(x, y, xs, ys, 0, n, out);
+    }
+
+    static void scalarDistancesFrom(double x, double y, double[] xs, double[] ys, int from, int to, double[] out) {
+        for (int i = from; i < to; i++) {
+            double dx = xs[i] - x;
+            double dy = ys[i] - y;
+            out[i] = Math.sqrt(dx * dx + dy * dy);
+        }
+    }
+
+    static void scalarMinDistancesToPolyline(double[] xs, double[] ys, int n,
+                                             double[] pathXs, double[] pathYs, int m, double[] out) {
+        scalarMinDistancesToPolyline(xs, ys, 0, n, pathXs, pathYs, m, out);
+    }
+
+    static void scalarMinDistancesToPolyline(double[] xs, double[] ys, int from, int to,
+                                             double[] pathXs, double[] pathYs, int m, double[] out) {
+        for (int i = from; i < to; i++) {
+            double px = xs[i];
+            double py = ys[i];
+            double best = Double.POSITIVE_INFINITY;
+            if (m == 1) {
+                best = squaredDistanceToSegment(px, py, pathXs[0], pathYs[0], pathXs[0], pathYs[0]);
+            }
+            for (int s = 0; s < m - 1; s++) {
+                best = Math.min(best, squaredDistanceToSegment(px, py, pathXs[s], pathYs[s], pathXs[s + 1], pathYs[s + 1]));
+            }
+            out[i] = Math.sqrt(best);
+        }
+    }
+
+    static int scalarArgminSquaredDistance(double x, double y, double[] xs, double[] ys, int n) {
+        int best = -1;
+        double bestDistance = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < n; i++) {
+            double dx = xs[i] - x;
+            double dy = ys[i] - y;
+            double d2 = dx * dx + dy * dy;
+            if (d2 < bestDistance) {
+                bestDistance = d2;
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    static double squaredDistanceToSegment(double px, double py, double ax, double ay, double bx, double by) {
+        double ex = bx - ax;
+        double ey = by - ay;
+        double l2 = ex * ex + ey * ey;
+        double t = l2 == 0 ? 0 : Math.max(0, Math.min(1, ((px - ax) * ex + (py - ay) * ey) / l2));
+        double dx = px - (ax + t * ex);
+        double dy = py - (ay + t * ey);
+        return dx * dx + dy * dy;
+    }
+}
@@ -27,14 +27,16 @@ public class GeometryService {
      * Calculates the Euclidean distance between two RoutablePoints.
      */
     public double distance(RoutablePoint p1, RoutablePoint p2) {
-        return Math.sqrt(Math.pow(p1.getX() - p2.getX(), 2) + Math.pow(p1.getY() - p2.getY(), 2));
+        return pointToPointDistance(p1.getX(), p1.getY(), p2.getX(), p2.getY());
     }
 
     /**
      * Calculates Euclidean distance between two coordinates.
      */
     public double pointToPointDistance(double x1, double y1, double x2, double y2) {
-        return Math.sqrt(Math.pow(x1 - x2, 2) + Math.pow(y1 - y2, 2));
+        double dx = x1 - x2;
+        double dy = y1 - y2;
+        return Math.sqrt(dx * dx + dy * dy);
     }
 
     /**
@@ -49,17 +51,7 @@ public class GeometryService {
      * @return Minimum distance
      */
     public double pointToSegmentDistance(double px, double py, double ax, double ay, double bx, double by) {
-        double l2 = Math.pow(bx - ax, 2) + Math.pow(by - ay, 2);
-        if (l2 == 0)
-            return Math.sqrt(Math.pow(px - ax, 2) + Math.pow(py - ay, 2));
-
-        double t = ((px - ax) * (bx - ax) + (py - ay) * (by - ay)) / l2;
-        t = Math.max(0, Math.min(1, t));
-
-        double projX = ax + t * (bx - ax);
-        double projY = ay + t * (by - ay);
-
-        return Math.sqrt(Math.pow(px - projX, 2) + Math.pow(py - projY, 2));
+        return Math.sqrt(GeometryKernels.squaredDistanceToSegment(px, py, ax, ay, bx, by));
     }
 
     /**
@@ -0,0 +1,145 @@
+package com.pauloneill.arcraidersplanner.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+
+/**
+ * Live Metaforge API source, with an optional on-disk response cache.
+ * WHY: With {@code app.ingestion.cache-dir} set, every response is stored on disk along with its ETag and
+ * Last-Modified validators. Later requests are sent conditionally and an unchanged page (304) is read
+ * from disk instead of downloaded again. Without a cache directory, responses are parsed as they stream in.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.ingestion.source", havingValue = "live", matchIfMissing = true)
+public class HttpMetaforgeSource implements MetaforgeSource {
+
+    private static final String ETAG = "etag";
+    private static final String LAST_MODIFIED = "lastModified";
+
+    private final RestClient restClient;
+    private final String metaforgeApiUrl;
+    private final Path cacheDir; // Null when caching is disabled
+
+    public HttpMetaforgeSource(RestClient restClient, @Value("${metaforge.api.url}") String metaforgeApiUrl,
+                               @Value("${app.ingestion.cache-dir:}") String cacheDir) {
+        this.restClient = restClient;
+        this.metaforgeApiUrl = metaforgeApiUrl;
+        this.cacheDir = cacheDir == null || cacheDir.isBlank() ? null : Path.of(cacheDir);
+        if (this.cacheDir != null) {
+            log.info("Caching Metaforge responses in {}", this.cacheDir.toAbsolutePath());
+        }
+    }
+
+    @Override
+    public <T> T read(String request, BodyReader<T> reader) throws IOException {
+        String uri = metaforgeApiUrl + request;
+        log.debug("Fetching {}", uri);
+        if (cacheDir == null) {
+            return restClient.get()
+                    .uri(uri)
+                    .exchange((req, response) -> {
+                        if (response.getStatusCode().isError()) {
+                            throw new IOException("HTTP " + response.getStatusCode().value() + " for " + request);
+                        }
+                        try (InputStream body = response.getBody()) {
+                            return reader.read(body);
+                        }
+                    });
+        }
+
+        Path file = MetaforgeSource.recordingPath(cacheDir, request);
+        Path metaFile = metaFile(file);
+        Properties validators = Files.exists(file) ? readValidators(metaFile) : new Properties();
+
+        boolean revalidated = Boolean.TRUE.equals(restClient.get()
+                .uri(uri)
+                .headers(headers -> {
+                    if (validators.getProperty(ETAG) != null) {
+                        headers.set(HttpHeaders.IF_NONE_MATCH, validators.getProperty(ETAG));
+                    }
+                    if (validators.getProperty(LAST_MODIFIED) != null) {
+                        headers.set(HttpHeaders.IF_MODIFIED_SINCE, validators.getProperty(LAST_MODIFIED));
+                    }
+                })
+                .exchange((req, response) -> {
+                    if (response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+                        if (!Files.exists(file)) {
+                            throw new IOException("HTTP 304 for " + request + " but no cached response at " + file);
+                        }
+                        return true;
+                    }
+                    if (response.getStatusCode().isError()) {
+                        throw new IOException("HTTP " + response.getStatusCode().value() + " for " + request);
+                    }
+                    try (InputStream body = response.getBody()) {
+                        store(file, body);
+                    }
+                    // Written after the body: a crash in between leaves stale validators, which just miss
+                    writeValidators(metaFile, response.getHeaders());
+                    return false;
+                }));
+        log.debug("{} {}", revalidated ? "Revalidated cached" : "Downloaded", request);
+
+        try (InputStream body = Files.newInputStream(file)) {
+            return reader.read(body);
+        }
+    }
+
+    /**
+     * Streams the body to a temporary file next to the target, then moves it into place.
+     * WHY: A failed or concurrent download never leaves a truncated page behind for the next run.
+     */
+    private static void store(Path file, InputStream body) throws IOException {
+        Files.createDirectories(file.getParent());
+        Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+        try {
+            Files.copy(body, temp, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static Path metaFile(Path file) {
+        return file.resolveSibling(file.getFileName() + ".meta");
+    }
+
+    private static Properties readValidators(Path metaFile) throws IOException {
+        Properties validators = new Properties();
+        if (Files.exists(metaFile)) {
+            try (Reader in = Files.newBufferedReader(metaFile, StandardCharsets.UTF_8)) {
+                validators.load(in);
+            }
+        }
+        return validators;
+    }
+
+    private static void writeValidators(Path metaFile, HttpHeaders headers) throws IOException {
+        Properties validators = new Properties();
+        if (headers.getETag() != null) {
+            validators.setProperty(ETAG, headers.getETag());
+        }
+        if (headers.getFirst(HttpHeaders.LAST_MODIFIED) != null) {
+            validators.setProperty(LAST_MODIFIED, headers.getFirst(HttpHeaders.LAST_MODIFIED));
+        }
+        try (Writer out = Files.newBufferedWriter(metaFile, StandardCharsets.UTF_8)) {
+            validators.store(out, null);
+        }
+    }
+}
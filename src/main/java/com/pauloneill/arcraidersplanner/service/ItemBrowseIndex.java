@@ -0,0 +1,204 @@
+package com.pauloneill.arcraidersplanner.service;
+
+import com.pauloneill.arcraidersplanner.dto.ItemBrowseDto;
+import com.pauloneill.arcraidersplanner.dto.ItemDto;
+import com.pauloneill.arcraidersplanner.service.DataVersionService.DataVersionChangedEvent;
+import com.pauloneill.arcraidersplanner.service.ItemCatalogueIndex.CatalogueItem;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Faceted item browsing over per-facet-value bitsets.
+ * WHY: Any filter combination is a handful of AND/popcount operations over a dense item numbering,
+ * instead of a dynamic SQL query per request. Rebuilt from the item catalogue once per data version.
+ * <p>
+ * Values within a dimension are OR-ed, dimensions are AND-ed. Each dimension's facet counts ignore
+ * its own filter, so the UI can show how many items selecting another value would add.
+ */
+@Slf4j
+@Component
+public class ItemBrowseIndex {
+
+    public static final String RARITY = "rarity";
+    public static final String ITEM_TYPE = "itemType";
+    public static final String LOOT_TYPE = "lootType";
+    public static final String DROPPED_BY = "droppedBy";
+    public static final String HAS_RECIPE = "hasRecipe";
+
+    private static final List<String> DIMENSIONS = List.of(RARITY, ITEM_TYPE, LOOT_TYPE, DROPPED_BY, HAS_RECIPE);
+
+    private final ItemCatalogueIndex itemCatalogueIndex;
+    private final DtoMapper dtoMapper;
+    private final VersionedSnapshot<Index> snapshot;
+
+    public ItemBrowseIndex(ItemCatalogueIndex itemCatalogueIndex, DtoMapper dtoMapper, DataVersionService dataVersionService) {
+        this.itemCatalogueIndex = itemCatalogueIndex;
+        this.dtoMapper = dtoMapper;
+        this.snapshot = new VersionedSnapshot<>(dataVersionService, this::load);
+    }
+
+    /**
+     * @param items       Catalogue items in (name, id) order; bit i refers to items.get(i)
+     * @param hasRecipe   Per item, whether it can be crafted
+     * @param facetValues Dimension → value → items having it
+     */
+    private record Index(List<CatalogueItem> items, boolean[] hasRecipe, Map<String, SortedMap<String, BitSet>> facetValues) {
+    }
+
+    /**
+     * Browses items.
+     *
+     * @param filters Dimension → accepted values; dimensions that are absent or empty do not filter
+     * @param cursor  Cursor from the previous page, or null for the first page
+     * @param limit   Page size
+     * @return Page of items, facet counts and the next cursor
+     * @throws ResponseStatusException 400 if the cursor is malformed or a dimension is unknown
+     */
+    public ItemBrowseDto browse(Map<String, ? extends Collection<String>> filters, String cursor, int limit) {
+        Index index = snapshot.get();
+        int n = index.items().size();
+
+        // Selection per dimension (OR over selected values); null means "no filter"
+        Map<String, BitSet> selections = new HashMap<>();
+        filters.forEach((dimension, values) -> {
+            if (!DIMENSIONS.contains(dimension)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown facet: " + dimension);
+            }
+            if (values != null && !values.isEmpty()) {
+                BitSet selection = new BitSet(n);
+                for (String value : values) {
+                    BitSet bits = index.facetValues().get(dimension).get(value);
+                    if (bits != null) {
+                        selection.or(bits);
+                    }
+                }
+                selections.put(dimension, selection);
+            }
+        });
+
+        BitSet matching = allOf(n);
+        selections.values().forEach(matching::and);
+
+        Map<String, Map<String, Integer>> facets = new LinkedHashMap<>();
+        for (String dimension : DIMENSIONS) {
+            BitSet base = allOf(n);
+            selections.forEach((other, selection) -> {
+                if (!other.equals(dimension)) {
+                    base.and(selection);
+                }
+            });
+            Map<String, Integer> counts = new LinkedHashMap<>();
+            index.facetValues().get(dimension).forEach((value, bits) -> {
+                BitSet intersection = (BitSet) bits.clone();
+                intersection.and(base);
+                counts.put(value, intersection.cardinality());
+            });
+            facets.put(dimension, counts);
+        }
+
+        List<ItemDto> page = new ArrayList<>(limit);
+        int position = matching.nextSetBit(startPosition(index, cursor));
+        int last = -1;
+        while (position >= 0 && page.size() < limit) {
+            ItemDto dto = dtoMapper.toDto(index.items().get(position));
+            dto.setHasRecipe(index.hasRecipe()[position]);
+            page.add(dto);
+            last = position;
+            position = matching.nextSetBit(position + 1);
+        }
+        String nextCursor = position >= 0 ? encodeCursor(index.items().get(last)) : null;
+
+        return new ItemBrowseDto(matching.cardinality(), page, facets, nextCursor);
+    }
+
+    @EventListener
+    public void onDataVersionChanged(DataVersionChangedEvent event) {
+        snapshot.get();
+    }
+
+    /**
+     * First position strictly after the cursor's (name, id) key. Keyset cursors stay valid across
+     * data versions because they name an item rather than a position.
+     */
+    private int startPosition(Index index, String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0;
+        }
+        String name;
+        long id;
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.lastIndexOf('\n');
+            name = decoded.substring(0, separator);
+            id = Long.parseLong(decoded.substring(separator + 1));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+
+        int low = 0;
+        int high = index.items().size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            CatalogueItem item = index.items().get(mid);
+            int cmp = item.name().compareTo(name);
+            if (cmp == 0) {
+                cmp = Long.compare(item.id() != null ? item.id() : 0L, id);
+            }
+            if (cmp <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static String encodeCursor(CatalogueItem item) {
+        String key = item.name() + "\n" + (item.id() != null ? item.id() : 0L);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static BitSet allOf(int n) {
+        BitSet all = new BitSet(n);
+        all.set(0, n);
+        return all;
+    }
+
+    private Index load() {
+        List<CatalogueItem> items = new ArrayList<>(itemCatalogueIndex.getItems());
+        items.sort(Comparator.comparing(CatalogueItem::name)
+                .thenComparing(item -> item.id() != null ? item.id() : 0L));
+
+        boolean[] hasRecipe = new boolean[items.size()];
+        Map<String, SortedMap<String, BitSet>> facetValues = new HashMap<>();
+        DIMENSIONS.forEach(dimension -> facetValues.put(dimension, new TreeMap<>()));
+        for (int i = 0; i < items.size(); i++) {
+            CatalogueItem item = items.get(i);
+            hasRecipe[i] = item.metaforgeId() != null && itemCatalogueIndex.findRecipe(item.metaforgeId()).isPresent();
+            set(facetValues, RARITY, item.rarity(), i);
+            set(facetValues, ITEM_TYPE, item.itemType(), i);
+            set(facetValues, LOOT_TYPE, item.lootTypeName(), i);
+            for (String enemy : item.droppedBy()) {
+                set(facetValues, DROPPED_BY, enemy, i);
+            }
+            set(facetValues, HAS_RECIPE, Boolean.toString(hasRecipe[i]), i);
+        }
+
+        log.info("Built item browse index: {} items, {} facet values", items.size(),
+                facetValues.values().stream().mapToInt(Map::size).sum());
+        facetValues.replaceAll((dimension, values) -> Collections.unmodifiableSortedMap(values));
+        return new Index(List.copyOf(items), hasRecipe, Map.copyOf(facetValues));
+    }
+
+    private static void set(Map<String, SortedMap<String, BitSet>> facetValues, String dimension, String value, int item) {
+        if (value != null && !value.isBlank()) {
+            facetValues.get(dimension).computeIfAbsent(value, k -> new BitSet()).set(item);
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.pauloneill.arcraidersplanner.service;
+
+import com.pauloneill.arcraidersplanner.model.Item;
+import com.pauloneill.arcraidersplanner.model.Recipe;
+import com.pauloneill.arcraidersplanner.model.RecipeIngredient;
+import com.pauloneill.arcraidersplanner.model.RecipeType;
+import com.pauloneill.arcraidersplanner.repository.ItemRepository;
+import com.pauloneill.arcraidersplanner.repository.RecipeRepository;
+import com.pauloneill.arcraidersplanner.service.DataVersionService.DataVersionChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * Immutable in-memory catalogue of items and recipes, rebuilt once per data version.
+ * WHY: Target resolution looked items up by name one query at a time and lazily loaded recipe
+ * ingredients, so a single planner call could issue dozens of queries. Two fetch-join queries per
+ * sync replace all of them.
+ */
+@Slf4j
+@Component
+public class ItemCatalogueIndex {
+
+    private final ItemRepository itemRepository;
+    private final RecipeRepository recipeRepository;
+    private final VersionedSnapshot<Catalogue> snapshot;
+
+    public ItemCatalogueIndex(ItemRepository itemRepository, RecipeRepository recipeRepository,
+                              DataVersionService dataVersionService) {
+        this.itemRepository = itemRepository;
+        this.recipeRepository = recipeRepository;
+        this.snapshot = new VersionedSnapshot<>(dataVersionService, this::load);
+    }
+
+    /**
+     * Detached, immutable view of an item's attributes.
+     *
+     * @param lootTypeName Loot type name, or null if the item is not found in loot areas
+     * @param droppedBy    Enemy types that drop the item
+     */
+    public record CatalogueItem(Long id, String name, String metaforgeId, String rarity, String itemType,
+                                Long lootTypeId, String lootTypeName, Set<String> droppedBy,
+                                Integer value, Double weight, Integer stackSize, String iconUrl) {
+
+        public boolean hasLootType() {
+            return lootTypeName != null;
+        }
+    }
+
+    /**
+     * Detached, immutable view of a recipe.
+     *
+     * @param ingredients Ingredients in item name order
+     */
+    public record CatalogueRecipe(Long id, String metaforgeItemId, String name, RecipeType type,
+                                  List<CatalogueIngredient> ingredients) {
+
+        public Set<String> ingredientNames() {
+            Set<String> names = new LinkedHashSet<>();
+            ingredients.forEach(ingredient -> names.add(ingredient.itemName()));
+            return names;
+        }
+    }
+
+    public record CatalogueIngredient(Long itemId, String itemName, int quantity) {
+    }
+
+    private record Catalogue(Map<String, CatalogueItem> itemsByName,
+                             Map<Long, CatalogueItem> itemsById,
+                             Map<String, CatalogueRecipe> recipesByMetaforgeId,
+                             List<CatalogueRecipe> recipes,
+                             Map<String, List<String>> itemNamesByEnemy) {
+    }
+
+    /**
+     * @param name Exact item name
+     * @return The item, or empty if unknown
+     */
+    public Optional<CatalogueItem> findItem(String name) {
+        return name != null ? Optional.ofNullable(snapshot.get().itemsByName().get(name)) : Optional.empty();
+    }
+
+    /**
+     * @param id Item database ID
+     * @return The item, or empty if unknown
+     */
+    public Optional<CatalogueItem> findItemById(Long id) {
+        return id != null ? Optional.ofNullable(snapshot.get().itemsById().get(id)) : Optional.empty();
+    }
+
+    /**
+     * @param metaforgeItemId Recipe Metaforge ID
+     * @return The recipe, or empty if unknown
+     */
+    public Optional<CatalogueRecipe> findRecipe(String metaforgeItemId) {
+        return metaforgeItemId != null
+                ? Optional.ofNullable(snapshot.get().recipesByMetaforgeId().get(metaforgeItemId))
+                : Optional.empty();
+    }
+
+    /**
+     * @return Every item, in name order
+     */
+    public Collection<CatalogueItem> getItems() {
+        return snapshot.get().itemsByName().values();
+    }
+
+    /**
+     * Includes recipes created through the API, which have no Metaforge ID and so cannot be found
+     * with {@link #findRecipe(String)}.
+     *
+     * @return Every recipe: synced ones in Metaforge ID order, then API-created ones in ID order
+     */
+    public Collection<CatalogueRecipe> getRecipes() {
+        return snapshot.get().recipes();
+    }
+
+    /**
+     * @param enemyType Enemy type as stored in the item's drop list (e.g. "Sentinel")
+     * @return Names of items that enemy drops, in name order
+     */
+    public List<String> itemsDroppedBy(String enemyType) {
+        return enemyType != null
+                ? snapshot.get().itemNamesByEnemy().getOrDefault(enemyType, Collections.emptyList())
+                : Collections.emptyList();
+    }
+
+    @EventListener
+    public void onDataVersionChanged(DataVersionChangedEvent event) {
+        snapshot.get();
+    }
+
+    private Catalogue load() {
+        // Sorted maps keep iteration order deterministic for callers that list the catalogue
+        SortedMap<String, CatalogueItem> itemsByName = new TreeMap<>();
+        Map<Long, CatalogueItem> itemsById = new HashMap<>();
+        SortedMap<String, List<String>> itemNamesByEnemy = new TreeMap<>();
+        for (Item item : itemRepository.findAllWithLootTypeAndDroppedBy()) {
+            CatalogueItem entry = new CatalogueItem(
+                    item.getId(),
+                    item.getName(),
+                    item.getMetaforgeId(),
+                    item.getRarity(),
+                    item.getItemType(),
+                    item.getLootType() != null ? item.getLootType().getId() : null,
+                    item.getLootType() != null ? item.getLootType().getName() : null,
+                    item.getDroppedBy() != null ? Set.copyOf(item.getDroppedBy()) : Set.of(),
+                    item.getValue(),
+                    item.getWeight(),
+                    item.getStackSize(),
+                    item.getIconUrl());
+            if (itemsByName.putIfAbsent(item.getName(), entry) != null) {
+                log.warn("Duplicate item name in catalogue, keeping first: {}", item.getName());
+                continue;
+            }
+            if (item.getId() != null) {
+                itemsById.put(item.getId(), entry);
+            }
+            entry.droppedBy().forEach(enemy -> itemNamesByEnemy.computeIfAbsent(enemy, k -> new ArrayList<>()).add(entry.name()));
+        }
+        itemNamesByEnemy.values().forEach(Collections::sort);
+
+        SortedMap<String, CatalogueRecipe> recipesByMetaforgeId = new TreeMap<>();
+        SortedMap<Long, CatalogueRecipe> apiRecipesById = new TreeMap<>();
+        for (Recipe recipe : recipeRepository.findAllWithIngredients()) {
+            List<CatalogueIngredient> ingredients = new ArrayList<>();
+            for (RecipeIngredient ingredient : recipe.getIngredients()) {
+                ingredients.add(new CatalogueIngredient(ingredient.getItem().getId(), ingredient.getItem().getName(),
+                        ingredient.getQuantity() != null ? ingredient.getQuantity() : 1));
+            }
+            ingredients.sort(Comparator.comparing(CatalogueIngredient::itemName));
+            CatalogueRecipe entry = new CatalogueRecipe(recipe.getId(), recipe.getMetaforgeItemId(), recipe.getName(),
+                    recipe.getType(), List.copyOf(ingredients));
+            if (recipe.getMetaforgeItemId() != null) {
+                recipesByMetaforgeId.put(recipe.getMetaforgeItemId(), entry);
+            } else {
+                apiRecipesById.put(recipe.getId(), entry);
+            }
+        }
+        List<CatalogueRecipe> recipes = new ArrayList<>(recipesByMetaforgeId.values());
+        recipes.addAll(apiRecipesById.values());
+
+        log.info("Loaded item catalogue: {} items, {} recipes, {} enemy drop sources",
+                itemsByName.size(), recipes.size(), itemNamesByEnemy.size());
+        itemNamesByEnemy.replaceAll((enemy, names) -> List.copyOf(names));
+        return new Catalogue(Collections.unmodifiableSortedMap(itemsByName), Map.copyOf(itemsById),
+                Collections.unmodifiableSortedMap(recipesByMetaforgeId), List.copyOf(recipes),
+                Collections.unmodifiableSortedMap(itemNamesByEnemy));
+    }
+}
@@ -0,0 +1,201 @@
+package com.pauloneill.arcraidersplanner.service;
+
+import com.pauloneill.arcraidersplanner.dto.PlannerRequestDto;
+import com.pauloneill.arcraidersplanner.dto.PlannerResponseDto;
+import com.pauloneill.arcraidersplanner.service.DataVersionService.DataVersionChangedEvent;
+import com.pauloneill.arcraidersplanner.service.ItemCatalogueIndex.CatalogueItem;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Precomputed single-item PURE_SCAVENGER recommendations for every catalogue item, rebuilt in the
+ * background after each data version change.
+ * WHY: The legacy recommendation endpoint is the highest-volume call (third-party embeds) and ran a full
+ * route plan per request, although its answer only changes when the data does. Serving it from a table
+ * keyed by item name makes it a map lookup. While a rebuild runs, the previous table keeps serving and
+ * answers are flagged stale with the version they reflect. Names the table does not know are answered
+ * as unknown without planning; only requests before the first build (or for items whose precompute
+ * failed) plan live, and then on the planner bulkhead.
+ */
+@Slf4j
+@Component
+public class ItemRecommendationTable {
+
+    private final PlannerService plannerService;
+    private final PlannerBulkhead plannerBulkhead;
+    private final ItemCatalogueIndex itemCatalogueIndex;
+    private final DataVersionService dataVersionService;
+    private final boolean precompute;
+    private final ExecutorService coordinator;
+    private final ExecutorService workers;
+    private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+    private volatile Table table; // Null until the first build completes
+
+    public ItemRecommendationTable(PlannerService plannerService, PlannerBulkhead plannerBulkhead,
+                                   ItemCatalogueIndex itemCatalogueIndex,
+                                   DataVersionService dataVersionService,
+                                   @Value("${app.recommendations.precompute:true}") boolean precompute,
+                                   @Value("${app.recommendations.parallelism:0}") int parallelism) {
+        this.plannerService = plannerService;
+        this.plannerBulkhead = plannerBulkhead;
+        this.itemCatalogueIndex = itemCatalogueIndex;
+        this.dataVersionService = dataVersionService;
+        this.precompute = precompute;
+        int threads = parallelism > 0 ? parallelism : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.coordinator = Executors.newSingleThreadExecutor(daemonThreads("recommendations-build"));
+        this.workers = Executors.newFixedThreadPool(threads, daemonThreads("recommendations-worker"));
+    }
+
+    /**
+     * @param failed Items whose precompute failed; these are planned live rather than answered as unknown
+     */
+    private record Table(long version, Map<String, List<PlannerResponseDto>> byItemName, Set<String> failed) {
+    }
+
+    /**
+     * Recommendations for one item.
+     *
+     * @param maps        Map recommendations sorted by score
+     * @param dataVersion Data version the recommendations were computed at
+     * @param stale       True if the data has changed since and a rebuild is pending or running
+     */
+    public record Recommendation(List<PlannerResponseDto> maps, long dataVersion, boolean stale) {
+    }
+
+    /**
+     * Builds the planner request the legacy endpoint has always used for a single item.
+     *
+     * @param itemName Target item name
+     * @return PURE_SCAVENGER request for just that item
+     */
+    public static PlannerRequestDto legacyRequest(String itemName) {
+        return new PlannerRequestDto(
+                List.of(itemName),
+                null,
+                Collections.emptyList(), // targetRecipeIds
+                Collections.emptyList(), // targetContainerTypes
+                false,
+                PlannerRequestDto.RoutingProfile.PURE_SCAVENGER,
+                Collections.emptyList() // ongoingItemNames
+        );
+    }
+
+    /**
+     * Gets recommendations for one item from the table, or plans them live on the planner bulkhead when
+     * the table cannot answer.
+     *
+     * @param itemName Target item name
+     * @return Future completed with the recommendations
+     * @throws PlannerOverloadedException if live planning is needed and the bulkhead is full
+     */
+    public CompletableFuture<Recommendation> getRecommendation(String itemName) {
+        Optional<Recommendation> precomputed = lookup(itemName);
+        if (precomputed.isPresent()) {
+            return CompletableFuture.completedFuture(precomputed.get());
+        }
+        long version = dataVersionService.currentVersion();
+        return plannerBulkhead.submit(() ->
+                new Recommendation(plannerService.generateRoute(legacyRequest(itemName)), version, false));
+    }
+
+    /**
+     * @param itemName Target item name
+     * @return Recommendations from the latest table, possibly stale; an empty list for names it does not
+     * know; empty if no table is built yet or the item's precompute failed
+     */
+    public Optional<Recommendation> lookup(String itemName) {
+        Table current = table;
+        if (itemName == null || current == null) {
+            return Optional.empty();
+        }
+        List<PlannerResponseDto> maps = current.byItemName().get(itemName);
+        if (maps == null) {
+            if (current.failed().contains(itemName)) {
+                return Optional.empty();
+            }
+            maps = List.of(); // Not in the catalogue at that version, so the planner has nothing to route to
+        }
+        return Optional.of(new Recommendation(maps, current.version(),
+                current.version() != dataVersionService.currentVersion()));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        scheduleRebuild();
+    }
+
+    @EventListener
+    public void onDataVersionChanged(DataVersionChangedEvent event) {
+        scheduleRebuild();
+    }
+
+    private void scheduleRebuild() {
+        if (!precompute) {
+            return;
+        }
+        // Coalesce bursts: one queued rebuild always reads the latest version when it starts
+        if (rebuildQueued.compareAndSet(false, true)) {
+            coordinator.execute(() -> {
+                rebuildQueued.set(false);
+                rebuild();
+            });
+        }
+    }
+
+    /**
+     * Recomputes every item's recommendations on the worker pool and swaps the table in. All items are
+     * planned against one shared load of the maps and their markers.
+     */
+    void rebuild() {
+        long version = dataVersionService.currentVersion();
+        long startedAt = System.nanoTime();
+        List<String> names = itemCatalogueIndex.getItems().stream().map(CatalogueItem::name).toList();
+
+        PlannerService.SharedMapData mapData = plannerService.newSharedMapData();
+        Map<String, CompletableFuture<List<PlannerResponseDto>>> futures = new LinkedHashMap<>();
+        for (String name : names) {
+            futures.put(name, CompletableFuture.supplyAsync(
+                    () -> plannerService.generateRoute(legacyRequest(name), mapData), workers));
+        }
+
+        Map<String, List<PlannerResponseDto>> byItemName = new HashMap<>();
+        Set<String> failed = new HashSet<>();
+        for (Map.Entry<String, CompletableFuture<List<PlannerResponseDto>>> entry : futures.entrySet()) {
+            try {
+                byItemName.put(entry.getKey(), List.copyOf(entry.getValue().join()));
+            } catch (CompletionException e) {
+                // Failed entries fall back to live planning, which surfaces the error to the caller
+                failed.add(entry.getKey());
+                log.warn("Could not precompute recommendations for {}: {}", entry.getKey(), e.getCause().getMessage());
+            }
+        }
+
+        table = new Table(version, Map.copyOf(byItemName), Set.copyOf(failed));
+        log.info("Precomputed recommendations for {} items at data version {} in {} ms ({} failed)",
+                byItemName.size(), version, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt), failed.size());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        coordinator.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
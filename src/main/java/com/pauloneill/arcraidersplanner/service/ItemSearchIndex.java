@@ -0,0 +1,252 @@
+package com.pauloneill.arcraidersplanner.service;
+
+import com.pauloneill.arcraidersplanner.dto.ItemSuggestionDto;
+import com.pauloneill.arcraidersplanner.dto.ItemSuggestionDto.MatchType;
+import com.pauloneill.arcraidersplanner.service.DataVersionService.DataVersionChangedEvent;
+import com.pauloneill.arcraidersplanner.service.ItemCatalogueIndex.CatalogueIngredient;
+import com.pauloneill.arcraidersplanner.service.ItemCatalogueIndex.CatalogueItem;
+import com.pauloneill.arcraidersplanner.service.ItemCatalogueIndex.CatalogueRecipe;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * In-memory autocomplete over item names: a prefix trie plus trigram postings for typo tolerance.
+ * WHY: The name search endpoint runs a leading-wildcard LIKE scan per keystroke. This index answers
+ * in microseconds and is rebuilt atomically with the item catalogue after every sync.
+ * <p>
+ * Items are numbered by static rank (recipe usage, then rarity, then shorter name), so every posting
+ * list is already in rank order and the first N hits of a prefix are its top N.
+ */
+@Slf4j
+@Component
+public class ItemSearchIndex {
+
+    private static final double MIN_FUZZY_SIMILARITY = 0.3;
+    private static final Map<String, Integer> RARITY_RANK = Map.of(
+            "common", 0,
+            "uncommon", 1,
+            "rare", 2,
+            "epic", 3,
+            "legendary", 4);
+
+    private final ItemCatalogueIndex itemCatalogueIndex;
+    private final VersionedSnapshot<Index> snapshot;
+
+    public ItemSearchIndex(ItemCatalogueIndex itemCatalogueIndex, DataVersionService dataVersionService) {
+        this.itemCatalogueIndex = itemCatalogueIndex;
+        this.snapshot = new VersionedSnapshot<>(dataVersionService, this::load);
+    }
+
+    /**
+     * Trie node; {@code items} holds every item (in rank order) with a name or word starting with this node's prefix.
+     */
+    private static final class Node {
+        private final Map<Character, Node> children = new HashMap<>();
+        private int[] items = new int[0];
+        private List<Integer> building = new ArrayList<>();
+
+        private void freeze() {
+            items = building.stream().distinct().mapToInt(Integer::intValue).toArray();
+            building = null;
+            children.values().forEach(Node::freeze);
+        }
+    }
+
+    private record Index(List<CatalogueItem> items, Node namePrefixes, Node wordPrefixes,
+                         Map<String, int[]> trigramPostings, int[] trigramCounts) {
+    }
+
+    /**
+     * Suggests items for a partial name.
+     *
+     * @param query Partial item name, as typed
+     * @param limit Maximum suggestions
+     * @return Prefix matches first, then word-prefix matches, then fuzzy matches; each tier in rank order
+     */
+    public List<ItemSuggestionDto> suggest(String query, int limit) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+        Index index = snapshot.get();
+        List<ItemSuggestionDto> results = new ArrayList<>(limit);
+        Set<Integer> seen = new HashSet<>();
+
+        collect(index, lookup(index.namePrefixes(), normalized), MatchType.PREFIX, limit, results, seen);
+        if (results.size() < limit) {
+            collect(index, wordPrefixMatches(index, normalized), MatchType.WORD_PREFIX, limit, results, seen);
+        }
+        if (results.size() < limit) {
+            collect(index, fuzzyMatches(index, normalized), MatchType.FUZZY, limit, results, seen);
+        }
+        return results;
+    }
+
+    @EventListener
+    public void onDataVersionChanged(DataVersionChangedEvent event) {
+        snapshot.get();
+    }
+
+    private void collect(Index index, int[] matches, MatchType matchType, int limit,
+                         List<ItemSuggestionDto> results, Set<Integer> seen) {
+        for (int i = 0; i < matches.length && results.size() < limit; i++) {
+            if (seen.add(matches[i])) {
+                CatalogueItem item = index.items().get(matches[i]);
+                results.add(new ItemSuggestionDto(item.id(), item.name(), item.rarity(), item.itemType(),
+                        item.lootTypeName(), matchType));
+            }
+        }
+    }
+
+    /**
+     * Items where every query word is a prefix of some word of the name (sorted-list intersection).
+     */
+    private int[] wordPrefixMatches(Index index, String normalized) {
+        int[] result = null;
+        for (String word : normalized.split(" ")) {
+            int[] postings = lookup(index.wordPrefixes(), word);
+            result = result == null ? postings : intersect(result, postings);
+            if (result.length == 0) {
+                break;
+            }
+        }
+        return result != null ? result : new int[0];
+    }
+
+    /**
+     * Items whose trigram Jaccard similarity with the query is at least {@link #MIN_FUZZY_SIMILARITY},
+     * best first.
+     */
+    private int[] fuzzyMatches(Index index, String normalized) {
+        Set<String> queryTrigrams = trigrams(normalized);
+        Map<Integer, Integer> shared = new HashMap<>();
+        for (String trigram : queryTrigrams) {
+            for (int item : index.trigramPostings().getOrDefault(trigram, new int[0])) {
+                shared.merge(item, 1, Integer::sum);
+            }
+        }
+
+        List<double[]> scored = new ArrayList<>();
+        shared.forEach((item, count) -> {
+            double similarity = count / (double) (queryTrigrams.size() + index.trigramCounts()[item] - count);
+            if (similarity >= MIN_FUZZY_SIMILARITY) {
+                scored.add(new double[]{item, similarity});
+            }
+        });
+        scored.sort(Comparator.<double[]>comparingDouble(s -> -s[1]).thenComparingDouble(s -> s[0]));
+        return scored.stream().mapToInt(s -> (int) s[0]).toArray();
+    }
+
+    private static int[] lookup(Node root, String prefix) {
+        Node node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.children.get(prefix.charAt(i));
+        }
+        return node != null ? node.items : new int[0];
+    }
+
+    private static int[] intersect(int[] a, int[] b) {
+        int[] out = new int[Math.min(a.length, b.length)];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                out[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    private Index load() {
+        // Popularity: how many recipes need the item
+        Map<String, Integer> usage = new HashMap<>();
+        for (CatalogueRecipe recipe : itemCatalogueIndex.getRecipes()) {
+            for (CatalogueIngredient ingredient : recipe.ingredients()) {
+                usage.merge(ingredient.itemName(), 1, Integer::sum);
+            }
+        }
+
+        List<CatalogueItem> items = new ArrayList<>(itemCatalogueIndex.getItems());
+        items.sort(Comparator.<CatalogueItem>comparingInt(item -> -usage.getOrDefault(item.name(), 0))
+                .thenComparingInt(item -> -rarityRank(item))
+                .thenComparingInt(item -> item.name().length())
+                .thenComparing(CatalogueItem::name));
+
+        Node namePrefixes = new Node();
+        Node wordPrefixes = new Node();
+        Map<String, List<Integer>> postings = new HashMap<>();
+        int[] trigramCounts = new int[items.size()];
+        for (int i = 0; i < items.size(); i++) {
+            String name = normalize(items.get(i).name());
+            insert(namePrefixes, name, i);
+            for (String word : name.split(" ")) {
+                insert(wordPrefixes, word, i);
+            }
+            Set<String> trigrams = trigrams(name);
+            trigramCounts[i] = trigrams.size();
+            for (String trigram : trigrams) {
+                postings.computeIfAbsent(trigram, k -> new ArrayList<>()).add(i);
+            }
+        }
+        namePrefixes.freeze();
+        wordPrefixes.freeze();
+        Map<String, int[]> trigramPostings = new HashMap<>();
+        postings.forEach((trigram, list) -> trigramPostings.put(trigram, list.stream().mapToInt(Integer::intValue).toArray()));
+
+        log.info("Built item search index: {} items, {} trigrams", items.size(), trigramPostings.size());
+        return new Index(List.copyOf(items), namePrefixes, wordPrefixes, Map.copyOf(trigramPostings), trigramCounts);
+    }
+
+    private static void insert(Node root, String key, int item) {
+        Node node = root;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.children.computeIfAbsent(key.charAt(i), c -> new Node());
+            node.building.add(item);
+        }
+    }
+
+    private static int rarityRank(CatalogueItem item) {
+        return item.rarity() != null ? RARITY_RANK.getOrDefault(item.rarity().toLowerCase(), 0) : 0;
+    }
+
+    /**
+     * Lower-cases and collapses everything except letters and digits into single spaces.
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(text.length());
+        boolean space = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            if (Character.isLetterOrDigit(c)) {
+                if (space && !sb.isEmpty()) {
+                    sb.append(' ');
+                }
+                sb.append(c);
+                space = false;
+            } else {
+                space = true;
+            }
+        }
+        return sb.toString();
+    }
+
+    private static Set<String> trigrams(String normalized) {
+        String padded = "  " + normalized + " ";
+        Set<String> trigrams = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(padded.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+}
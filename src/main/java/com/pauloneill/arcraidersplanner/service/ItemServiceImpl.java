@@ -1,10 +1,13 @@
 package com.pauloneill.arcraidersplanner.service;
 
 import com.pauloneill.arcraidersplanner.dto.ItemDto;
+import com.pauloneill.arcraidersplanner.dto.RecipeChainDto;
 import com.pauloneill.arcraidersplanner.model.Item;
 import com.pauloneill.arcraidersplanner.model.Recipe;
 import com.pauloneill.arcraidersplanner.repository.ItemRepository;
 import com.pauloneill.arcraidersplanner.repository.RecipeRepository;
+import com.pauloneill.arcraidersplanner.service.ItemCatalogueIndex.CatalogueItem;
+import com.pauloneill.arcraidersplanner.service.ItemCatalogueIndex.CatalogueRecipe;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
@@ -20,11 +23,14 @@ public class ItemServiceImpl implements ItemService {
     private final ItemRepository itemRepository;
     private final RecipeRepository recipeRepository;
     private final DtoMapper dtoMapper;
+    private final ItemCatalogueIndex itemCatalogueIndex;
 
-    public ItemServiceImpl(ItemRepository itemRepository, RecipeRepository recipeRepository, DtoMapper dtoMapper) {
+    public ItemServiceImpl(ItemRepository itemRepository, RecipeRepository recipeRepository, DtoMapper dtoMapper,
+                           ItemCatalogueIndex itemCatalogueIndex) {
         this.itemRepository = itemRepository;
         this.recipeRepository = recipeRepository;
         this.dtoMapper = dtoMapper;
+        this.itemCatalogueIndex = itemCatalogueIndex;
     }
 
     @Override
@@ -69,47 +75,50 @@ public class ItemServiceImpl implements ItemService {
     public List<String> getCraftableMetaforgeIds() {
         return recipeRepository.findAllMetaforgeItemIdsWithRecipes();
     }
+    /**
+     * One-level recipe breakdown with prerequisite detection.
+     * WHY: Served from the in-memory catalogue, so checking whether each ingredient has its own
+     * recipe no longer costs a query per ingredient. Full recursive expansion lives in {@link RecipeGraph}.
+     */
     @Override
-    public com.pauloneill.arcraidersplanner.dto.RecipeChainDto getRecipeChain(Long itemId) {
-        Item item = itemRepository.findById(itemId)
+    public RecipeChainDto getRecipeChain(Long itemId) {
+        CatalogueItem item = itemCatalogueIndex.findItemById(itemId)
                 .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Item not found"));
 
-        if (item.getMetaforgeId() == null) return null;
+        if (item.metaforgeId() == null) return null;
 
-        Recipe recipe = recipeRepository.findByMetaforgeItemId(item.getMetaforgeId()).orElse(null);
+        CatalogueRecipe recipe = itemCatalogueIndex.findRecipe(item.metaforgeId()).orElse(null);
         if (recipe == null) return null;
 
-        List<com.pauloneill.arcraidersplanner.dto.RecipeChainDto.RecipeIngredientChainDto> ingredientDtos = recipe.getIngredients().stream()
+        List<RecipeChainDto.RecipeIngredientChainDto> ingredientDtos = recipe.ingredients().stream()
                 .map(ing -> {
-                    Item ingItem = ing.getItem();
+                    CatalogueItem ingItem = itemCatalogueIndex.findItemById(ing.itemId()).orElse(null);
                     // Check if this ingredient has a recipe
-                    Long ingRecipeId = null;
-                    if (ingItem.getMetaforgeId() != null) {
-                        ingRecipeId = recipeRepository.findByMetaforgeItemId(ingItem.getMetaforgeId())
-                                .map(Recipe::getId)
-                                .orElse(null);
-                    }
+                    Long ingRecipeId = ingItem != null
+                            ? itemCatalogueIndex.findRecipe(ingItem.metaforgeId()).map(CatalogueRecipe::id).orElse(null)
+                            : null;
 
                     // Prerequisite logic: Same ItemType AND has a recipe
                     // E.g. Anvil IV (Upgrade) uses Anvil III (Upgrade) + Materials
-                    boolean isPrerequisite = ingItem.getItemType() != null
-                            && ingItem.getItemType().equals(item.getItemType())
+                    boolean isPrerequisite = ingItem != null
+                            && ingItem.itemType() != null
+                            && ingItem.itemType().equals(item.itemType())
                             && ingRecipeId != null;
 
-                    return new com.pauloneill.arcraidersplanner.dto.RecipeChainDto.RecipeIngredientChainDto(
-                            ingItem.getId(),
-                            ingItem.getName(),
-                            ing.getQuantity(),
+                    return new RecipeChainDto.RecipeIngredientChainDto(
+                            ing.itemId(),
+                            ing.itemName(),
+                            ing.quantity(),
                             isPrerequisite,
                             ingRecipeId
                     );
                 })
-                .collect(java.util.stream.Collectors.toList());
+                .toList();
 
-        return new com.pauloneill.arcraidersplanner.dto.RecipeChainDto(
-                item.getId(),
-                item.getName(),
-                recipe.getId(),
+        return new RecipeChainDto(
+                item.id(),
+                item.name(),
+                recipe.id(),
                 ingredientDtos
         );
     }
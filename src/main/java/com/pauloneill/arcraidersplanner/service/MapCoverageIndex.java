@@ -0,0 +1,187 @@
+package com.pauloneill.arcraidersplanner.service;
+
+import com.pauloneill.arcraidersplanner.model.Area;
+import com.pauloneill.arcraidersplanner.model.GameMap;
+import com.pauloneill.arcraidersplanner.model.LootType;
+import com.pauloneill.arcraidersplanner.model.MapMarker;
+import com.pauloneill.arcraidersplanner.model.MarkerGroup;
+import com.pauloneill.arcraidersplanner.repository.GameMapRepository;
+import com.pauloneill.arcraidersplanner.repository.MapMarkerRepository;
+import com.pauloneill.arcraidersplanner.repository.MarkerGroupRepository;
+import com.pauloneill.arcraidersplanner.service.DataVersionService.DataVersionChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * Per-map loot coverage: which loot types (as bit positions) and enemy types each map offers, plus
+ * count vectors (areas per loot type, spawns per enemy type, groups per container type).
+ * WHY: Session and ranking searches test "does map M cover X" thousands of times per request.
+ * Precomputing coverage from area-loot-type data once per data version turns that into a bit test.
+ */
+@Slf4j
+@Component
+public class MapCoverageIndex {
+
+    private static final String ARC_CATEGORY = "arc";
+
+    private final GameMapRepository gameMapRepository;
+    private final MapMarkerRepository mapMarkerRepository;
+    private final MarkerGroupRepository markerGroupRepository;
+    private final VersionedSnapshot<Snapshot> snapshot;
+
+    public MapCoverageIndex(GameMapRepository gameMapRepository, MapMarkerRepository mapMarkerRepository,
+                            MarkerGroupRepository markerGroupRepository, DataVersionService dataVersionService) {
+        this.gameMapRepository = gameMapRepository;
+        this.mapMarkerRepository = mapMarkerRepository;
+        this.markerGroupRepository = markerGroupRepository;
+        this.snapshot = new VersionedSnapshot<>(dataVersionService, this::load);
+    }
+
+    /**
+     * Coverage of a single map.
+     *
+     * @param lootTypeMask   Bit i set if some area on the map has loot type i
+     * @param areaCounts     Number of areas per loot type bit
+     * @param enemyTypes     Lower-case ARC enemy types that spawn on the map
+     * @param spawnCounts    Number of spawns per enemy type index
+     * @param groupCounts    Number of marker groups per container type index
+     */
+    public record MapCoverage(Long mapId, String mapName, long[] lootTypeMask, int[] areaCounts, Set<String> enemyTypes,
+                              int[] spawnCounts, int[] groupCounts) {
+
+        public boolean hasLootType(int bit) {
+            return bit >= 0 && (lootTypeMask[bit >>> 6] & (1L << bit)) != 0;
+        }
+
+        public int areaCount(int bit) {
+            return bit >= 0 ? areaCounts[bit] : 0;
+        }
+
+        public boolean hasEnemyType(String enemyType) {
+            return enemyType != null && enemyTypes.contains(enemyType.toLowerCase());
+        }
+
+        public int spawnCount(int enemyTypeIndex) {
+            return enemyTypeIndex >= 0 && enemyTypeIndex < spawnCounts.length ? spawnCounts[enemyTypeIndex] : 0;
+        }
+
+        public int groupCount(int containerTypeIndex) {
+            return containerTypeIndex >= 0 && containerTypeIndex < groupCounts.length ? groupCounts[containerTypeIndex] : 0;
+        }
+    }
+
+    private record Snapshot(Map<String, Integer> lootTypeBits, Map<String, Integer> enemyTypeIndexes,
+                            Map<String, Integer> containerTypeIndexes, List<MapCoverage> maps) {
+    }
+
+    /**
+     * @return Coverage of every map, in map ID order
+     */
+    public List<MapCoverage> getMaps() {
+        return snapshot.get().maps();
+    }
+
+    /**
+     * @param lootTypeName Loot type name (e.g. "Industrial")
+     * @return The loot type's bit position, or -1 if no area has it
+     */
+    public int lootTypeBit(String lootTypeName) {
+        return lootTypeName != null ? snapshot.get().lootTypeBits().getOrDefault(lootTypeName, -1) : -1;
+    }
+
+    /**
+     * @param enemyType ARC enemy type (case-insensitive)
+     * @return Index into {@link MapCoverage#spawnCounts()}, or -1 if no map has that enemy
+     */
+    public int enemyTypeIndex(String enemyType) {
+        return enemyType != null ? snapshot.get().enemyTypeIndexes().getOrDefault(enemyType.toLowerCase(), -1) : -1;
+    }
+
+    /**
+     * @param subcategory Container type subcategory (e.g. "red-locker")
+     * @return Index into {@link MapCoverage#groupCounts()}, or -1 if no map has groups of that type
+     */
+    public int containerTypeIndex(String subcategory) {
+        return subcategory != null ? snapshot.get().containerTypeIndexes().getOrDefault(subcategory, -1) : -1;
+    }
+
+    @EventListener
+    public void onDataVersionChanged(DataVersionChangedEvent event) {
+        snapshot.get();
+    }
+
+    private Snapshot load() {
+        List<GameMap> maps = new ArrayList<>(gameMapRepository.findAllWithAreas());
+        maps.sort(Comparator.comparing(GameMap::getId));
+
+        // Assign bit positions in name order so they are stable across reloads with the same data
+        SortedSet<String> lootTypeNames = new TreeSet<>();
+        for (GameMap map : maps) {
+            for (Area area : map.getAreas()) {
+                area.getLootTypes().forEach(lootType -> lootTypeNames.add(lootType.getName()));
+            }
+        }
+        Map<String, Integer> lootTypeBits = new HashMap<>();
+        for (String name : lootTypeNames) {
+            lootTypeBits.put(name, lootTypeBits.size());
+        }
+        int words = Math.max(1, (lootTypeBits.size() + 63) / 64);
+
+        List<MapMarker> spawns = mapMarkerRepository.findByCategoryIgnoreCase(ARC_CATEGORY);
+        Map<String, Integer> enemyTypeIndexes = new HashMap<>();
+        Map<Long, Set<String>> enemyTypesByMap = new HashMap<>();
+        for (MapMarker spawn : spawns) {
+            if (spawn.getGameMap() != null && spawn.getSubcategory() != null) {
+                String enemyType = spawn.getSubcategory().toLowerCase();
+                enemyTypeIndexes.putIfAbsent(enemyType, enemyTypeIndexes.size());
+                enemyTypesByMap.computeIfAbsent(spawn.getGameMap().getId(), k -> new HashSet<>()).add(enemyType);
+            }
+        }
+        Map<Long, int[]> spawnCountsByMap = new HashMap<>();
+        for (MapMarker spawn : spawns) {
+            if (spawn.getGameMap() != null && spawn.getSubcategory() != null) {
+                spawnCountsByMap.computeIfAbsent(spawn.getGameMap().getId(), k -> new int[enemyTypeIndexes.size()])
+                        [enemyTypeIndexes.get(spawn.getSubcategory().toLowerCase())]++;
+            }
+        }
+
+        List<MarkerGroup> groups = markerGroupRepository.findAllWithMapAndContainerType().stream()
+                .filter(group -> group.getGameMap() != null && group.getContainerType() != null
+                        && group.getContainerType().getSubcategory() != null)
+                .toList();
+        Map<String, Integer> containerTypeIndexes = new HashMap<>();
+        for (MarkerGroup group : groups) {
+            containerTypeIndexes.putIfAbsent(group.getContainerType().getSubcategory(), containerTypeIndexes.size());
+        }
+        Map<Long, int[]> groupCountsByMap = new HashMap<>();
+        for (MarkerGroup group : groups) {
+            groupCountsByMap.computeIfAbsent(group.getGameMap().getId(), k -> new int[containerTypeIndexes.size()])
+                    [containerTypeIndexes.get(group.getContainerType().getSubcategory())]++;
+        }
+
+        List<MapCoverage> coverage = new ArrayList<>();
+        for (GameMap map : maps) {
+            long[] mask = new long[words];
+            int[] areaCounts = new int[lootTypeBits.size()];
+            for (Area area : map.getAreas()) {
+                for (LootType lootType : area.getLootTypes()) {
+                    int bit = lootTypeBits.get(lootType.getName());
+                    mask[bit >>> 6] |= 1L << bit;
+                    areaCounts[bit]++;
+                }
+            }
+            coverage.add(new MapCoverage(map.getId(), map.getName(), mask, areaCounts,
+                    Set.copyOf(enemyTypesByMap.getOrDefault(map.getId(), Collections.emptySet())),
+                    spawnCountsByMap.getOrDefault(map.getId(), new int[enemyTypeIndexes.size()]),
+                    groupCountsByMap.getOrDefault(map.getId(), new int[containerTypeIndexes.size()])));
+        }
+
+        log.info("Built map coverage index: {} maps, {} loot types, {} enemy types, {} container types",
+                coverage.size(), lootTypeBits.size(), enemyTypeIndexes.size(), containerTypeIndexes.size());
+        return new Snapshot(Map.copyOf(lootTypeBits), Map.copyOf(enemyTypeIndexes), Map.copyOf(containerTypeIndexes),
+                List.copyOf(coverage));
+    }
+}
@@ -55,8 +55,8 @@ public class MapMarkerService {
                 continue;
             }
 
-            // 3. Save Marker
-            MapMarker marker = new MapMarker();
+            // 3. Save Marker (update in place if already stored; new instances are always inserted)
+            MapMarker marker = mapMarkerRepository.findById(dto.id()).orElseGet(MapMarker::new);
             marker.setId(dto.id());
             marker.setLat(dto.lat());
             marker.setLng(dto.lng());
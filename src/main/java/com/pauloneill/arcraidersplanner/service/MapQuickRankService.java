@@ -0,0 +1,133 @@
+package com.pauloneill.arcraidersplanner.service;
+
+import com.pauloneill.arcraidersplanner.dto.QuickRankDto;
+import com.pauloneill.arcraidersplanner.dto.QuickRankDto.MapRankDto;
+import com.pauloneill.arcraidersplanner.service.ItemCatalogueIndex.CatalogueIngredient;
+import com.pauloneill.arcraidersplanner.service.ItemCatalogueIndex.CatalogueItem;
+import com.pauloneill.arcraidersplanner.service.ItemCatalogueIndex.CatalogueRecipe;
+import com.pauloneill.arcraidersplanner.service.MapCoverageIndex.MapCoverage;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * Scores every map for a list of items, recipes, enemy types and container types using only the
+ * precomputed coverage vectors.
+ * WHY: {@code GameMapRepository.findMapsByLootTypeCount} handles a single loot type per query and the
+ * full planner solves routes; a quick preview needs neither, just a few array reads per map.
+ */
+@Service
+public class MapQuickRankService {
+
+    private final MapCoverageIndex mapCoverageIndex;
+    private final ItemCatalogueIndex itemCatalogueIndex;
+
+    public MapQuickRankService(MapCoverageIndex mapCoverageIndex, ItemCatalogueIndex itemCatalogueIndex) {
+        this.mapCoverageIndex = mapCoverageIndex;
+        this.itemCatalogueIndex = itemCatalogueIndex;
+    }
+
+    /**
+     * A target reduced to coverage vector coordinates; a map's density for it is the sum of the
+     * referenced counts.
+     */
+    private record Target(String label, int lootTypeBit, int[] enemyTypeIndexes, int containerTypeIndex) {
+
+        int density(MapCoverage map) {
+            int density = map.areaCount(lootTypeBit) + map.groupCount(containerTypeIndex);
+            for (int enemy : enemyTypeIndexes) {
+                density += map.spawnCount(enemy);
+            }
+            return density;
+        }
+    }
+
+    /**
+     * Ranks maps for the given targets. Recipes contribute each of their ingredients as an item target.
+     *
+     * @param itemNames       Exact item names
+     * @param recipeIds       Recipe Metaforge IDs
+     * @param enemyTypes      ARC enemy types (case-insensitive)
+     * @param containerTypes  Container type subcategories (e.g. "red-locker")
+     * @return Maps ordered by descending score, then name
+     */
+    public QuickRankDto rank(List<String> itemNames, List<String> recipeIds,
+                             List<String> enemyTypes, List<String> containerTypes) {
+        Map<String, Target> targets = new LinkedHashMap<>();
+        List<String> unresolved = new ArrayList<>();
+
+        Set<String> allItemNames = new LinkedHashSet<>(orEmpty(itemNames));
+        for (String recipeId : orEmpty(recipeIds)) {
+            Optional<CatalogueRecipe> recipe = itemCatalogueIndex.findRecipe(recipeId);
+            if (recipe.isEmpty()) {
+                unresolved.add(recipeId);
+                continue;
+            }
+            recipe.get().ingredients().stream().map(CatalogueIngredient::itemName).forEach(allItemNames::add);
+        }
+        for (String name : allItemNames) {
+            Optional<CatalogueItem> item = itemCatalogueIndex.findItem(name);
+            if (item.isEmpty()) {
+                unresolved.add(name);
+                continue;
+            }
+            int[] droppers = item.get().droppedBy().stream()
+                    .mapToInt(mapCoverageIndex::enemyTypeIndex)
+                    .filter(index -> index >= 0)
+                    .toArray();
+            targets.put(name, new Target(name, mapCoverageIndex.lootTypeBit(item.get().lootTypeName()), droppers, -1));
+        }
+        for (String enemyType : orEmpty(enemyTypes)) {
+            int index = mapCoverageIndex.enemyTypeIndex(enemyType);
+            if (index < 0) {
+                unresolved.add(enemyType);
+            } else {
+                targets.putIfAbsent(enemyType, new Target(enemyType, -1, new int[]{index}, -1));
+            }
+        }
+        for (String containerType : orEmpty(containerTypes)) {
+            int index = mapCoverageIndex.containerTypeIndex(containerType);
+            if (index < 0) {
+                unresolved.add(containerType);
+            } else {
+                targets.putIfAbsent(containerType, new Target(containerType, -1, new int[0], index));
+            }
+        }
+
+        List<MapCoverage> maps = mapCoverageIndex.getMaps();
+        List<Target> targetList = List.copyOf(targets.values());
+        int[][] densities = new int[maps.size()][targetList.size()];
+        int[] maxDensity = new int[targetList.size()];
+        for (int m = 0; m < maps.size(); m++) {
+            for (int t = 0; t < targetList.size(); t++) {
+                densities[m][t] = targetList.get(t).density(maps.get(m));
+                maxDensity[t] = Math.max(maxDensity[t], densities[m][t]);
+            }
+        }
+
+        // Presence dominates; density relative to the best map for that target breaks ties
+        List<MapRankDto> ranked = new ArrayList<>(maps.size());
+        for (int m = 0; m < maps.size(); m++) {
+            double score = 0;
+            int covered = 0;
+            List<String> missing = new ArrayList<>();
+            for (int t = 0; t < targetList.size(); t++) {
+                if (densities[m][t] > 0) {
+                    covered++;
+                    score += 1.0 + (double) densities[m][t] / maxDensity[t];
+                } else {
+                    missing.add(targetList.get(t).label());
+                }
+            }
+            ranked.add(new MapRankDto(maps.get(m).mapId(), maps.get(m).mapName(), score, covered, missing));
+        }
+        ranked.sort(Comparator.comparingDouble(MapRankDto::score).reversed()
+                .thenComparing(MapRankDto::mapName, Comparator.nullsLast(Comparator.naturalOrder())));
+
+        return new QuickRankDto(targetList.size(), ranked, unresolved);
+    }
+
+    private static List<String> orEmpty(List<String> values) {
+        return values != null ? values : Collections.emptyList();
+    }
+}
@@ -0,0 +1,364 @@
+package com.pauloneill.arcraidersplanner.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pauloneill.arcraidersplanner.dto.MetaforgeItemDataResponse.Pagination;
+import com.pauloneill.arcraidersplanner.dto.MetaforgeItemDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Staged, concurrent ingestion of Metaforge data: fetch → streaming parse → bounded queue → batched writer.
+ * WHY: Pages used to be fetched strictly one after another, each fully buffered and bound before any row
+ * was written. Fetching on virtual threads (bounded in-flight, rate limited) overlaps network latency,
+ * streaming parsing hands items on as they arrive, and the bounded queue makes a slow writer throttle
+ * the fetchers instead of letting parsed pages pile up in memory.
+ * <p>
+ * The writer stage always runs on the calling thread, so writes join the caller's transaction.
+ * Responses come from the configured {@link MetaforgeSource}; recorded sources skip the rate limit.
+ */
+@Slf4j
+@Component
+public class MetaforgeIngestionPipeline {
+
+    private static final Object END = new Object();
+
+    private final MetaforgeSource source;
+    private final ObjectMapper objectMapper;
+    private final int maxInFlight;
+    private final int queueCapacity;
+    private final Semaphore inFlight;
+    private final IntervalRateLimiter rateLimiter;
+    private final Counter pages;
+    private final Counter rows;
+    private volatile IngestionStats lastRun = new IngestionStats(0, 0, 0);
+
+    public MetaforgeIngestionPipeline(MetaforgeSource source, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                                      @Value("${app.ingestion.max-in-flight:4}") int maxInFlight,
+                                      @Value("${app.ingestion.requests-per-second:8}") double requestsPerSecond,
+                                      @Value("${app.ingestion.queue-capacity:500}") int queueCapacity) {
+        this.source = source;
+        this.objectMapper = objectMapper;
+        this.maxInFlight = Math.max(1, maxInFlight);
+        this.queueCapacity = Math.max(1, queueCapacity);
+        this.inFlight = new Semaphore(this.maxInFlight);
+        this.rateLimiter = new IntervalRateLimiter(requestsPerSecond);
+
+        this.pages = Counter.builder("metaforge.ingestion.pages")
+                .description("Metaforge responses fetched and parsed")
+                .register(meterRegistry);
+        this.rows = Counter.builder("metaforge.ingestion.rows")
+                .description("Metaforge records handed to the writer")
+                .register(meterRegistry);
+        Gauge.builder("metaforge.ingestion.pages.per.second", this, p -> p.lastRun.pagesPerSecond())
+                .description("Page throughput of the last ingestion run")
+                .register(meterRegistry);
+        Gauge.builder("metaforge.ingestion.rows.per.second", this, p -> p.lastRun.rowsPerSecond())
+                .description("Row throughput of the last ingestion run")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Throughput of one ingestion run.
+     *
+     * @param pages        Responses fetched
+     * @param rows         Records handed to the writer
+     * @param elapsedNanos Wall time from first request to last write
+     */
+    public record IngestionStats(long pages, long rows, long elapsedNanos) {
+
+        public double pagesPerSecond() {
+            return elapsedNanos > 0 ? pages * 1e9 / elapsedNanos : 0;
+        }
+
+        public double rowsPerSecond() {
+            return elapsedNanos > 0 ? rows * 1e9 / elapsedNanos : 0;
+        }
+    }
+
+    /**
+     * @return Throughput of the most recent run
+     */
+    public IngestionStats lastRun() {
+        return lastRun;
+    }
+
+    /**
+     * Streams every item page and hands items to the writer in batches.
+     * WHY: Page 1 is fetched first to learn the page count; the remaining pages are then fetched
+     * concurrently. Items arrive in no particular page order.
+     *
+     * @param batchSize Items per writer call
+     * @param writer    Called on the calling thread with each batch
+     * @return Throughput of the run
+     */
+    public IngestionStats streamItems(int batchSize, Consumer<List<MetaforgeItemDto>> writer) {
+        return run(batchSize, writer, run -> {
+            int totalPages = fetchItemPage(1, run);
+            List<Future<Integer>> remaining = new ArrayList<>();
+            for (int page = 2; page <= totalPages; page++) {
+                int pageNumber = page;
+                remaining.add(run.executor().submit(() -> fetchItemPage(pageNumber, run)));
+            }
+            for (Future<Integer> future : remaining) {
+                future.get();
+            }
+        });
+    }
+
+    /**
+     * Fetches one response per source concurrently and hands each result to the writer as it arrives.
+     * WHY: Per-source failures are delivered to the writer rather than aborting the run, so one bad
+     * source (e.g. one map) does not stop the others.
+     *
+     * @param sources Independent request sources, e.g. maps
+     * @param fetch   Fetches and binds the response for one source
+     * @param writer  Called on the calling thread with each source and its result, or its failure
+     * @return Throughput of the run, counting one row per source
+     */
+    public <S, R> IngestionStats fetchEach(Collection<S> sources, Function<S, R> fetch,
+                                           BiConsumer<S, Fetched<R>> writer) {
+        return run(1, (List<SourceResult<S, R>> batch) -> batch.forEach(r -> writer.accept(r.source(), r.fetched())),
+                run -> {
+                    List<Future<?>> futures = new ArrayList<>();
+                    for (S source : sources) {
+                        futures.add(run.executor().submit(() -> {
+                            Fetched<R> fetched;
+                            try {
+                                fetched = new Fetched<>(throttled(() -> fetch.apply(source)), null);
+                            } catch (RuntimeException e) {
+                                fetched = new Fetched<>(null, e);
+                            }
+                            run.pageFetched();
+                            run.put(new SourceResult<>(source, fetched));
+                            return null;
+                        }));
+                    }
+                    for (Future<?> future : futures) {
+                        future.get();
+                    }
+                });
+    }
+
+    /**
+     * Result of fetching one source.
+     *
+     * @param value Bound response, or null on failure
+     * @param error Failure, or null on success
+     */
+    public record Fetched<R>(R value, RuntimeException error) {
+    }
+
+    private record SourceResult<S, R>(S source, Fetched<R> fetched) {
+    }
+
+    private record Failure(Throwable cause) {
+    }
+
+    @FunctionalInterface
+    private interface Producer {
+        void produce(Run run) throws Exception;
+    }
+
+    /**
+     * State shared by the producers of one run.
+     */
+    private final class Run {
+
+        private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        private final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(queueCapacity);
+        private final AtomicLong pageCount = new AtomicLong();
+
+        ExecutorService executor() {
+            return executor;
+        }
+
+        void put(Object value) throws InterruptedException {
+            queue.put(value);
+        }
+
+        void pageFetched() {
+            pageCount.incrementAndGet();
+            pages.increment();
+        }
+    }
+
+    /**
+     * Runs producers on virtual threads and drains the bounded queue into batches on the calling thread.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> IngestionStats run(int batchSize, Consumer<List<T>> writer, Producer producer) {
+        long startedAt = System.nanoTime();
+        long rowsWritten = 0;
+        Run run = new Run();
+        try {
+            run.executor().execute(() -> {
+                Object last = END;
+                try {
+                    producer.produce(run);
+                } catch (ExecutionException e) {
+                    last = new Failure(e.getCause());
+                } catch (Exception e) {
+                    last = new Failure(e);
+                }
+                try {
+                    run.put(last);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+
+            List<T> batch = new ArrayList<>(batchSize);
+            while (true) {
+                Object next = run.queue.take();
+                if (next == END) {
+                    break;
+                }
+                if (next instanceof Failure failure) {
+                    throw new IllegalStateException("Metaforge ingestion failed: " + failure.cause().getMessage(),
+                            failure.cause());
+                }
+                batch.add((T) next);
+                if (batch.size() >= batchSize) {
+                    writer.accept(batch);
+                    rowsWritten += batch.size();
+                    rows.increment(batch.size());
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                writer.accept(batch);
+                rowsWritten += batch.size();
+                rows.increment(batch.size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Metaforge ingestion interrupted", e);
+        } finally {
+            // Unblocks producers stuck on a full queue if the writer failed
+            run.executor().shutdownNow();
+        }
+
+        IngestionStats stats = new IngestionStats(run.pageCount.get(), rowsWritten,
+                System.nanoTime() - startedAt);
+        lastRun = stats;
+        log.info("Ingested {} rows from {} pages in {} ms ({} rows/s)", stats.rows(), stats.pages(),
+                TimeUnit.NANOSECONDS.toMillis(stats.elapsedNanos()), Math.round(stats.rowsPerSecond()));
+        return stats;
+    }
+
+    /**
+     * Fetches one item page and streams its items into the sink.
+     *
+     * @return Total page count reported by the page
+     */
+    private int fetchItemPage(int page, Run run) {
+        String request = "/arc-raiders/items?includeComponents=true&page=" + page;
+        log.debug("Fetching items and recipes: {}", request);
+        Integer totalPages = throttled(() -> {
+            try {
+                return source.read(request, body -> parseItemPage(body, run));
+            } catch (IOException | RuntimeException e) {
+                throw new IllegalStateException("Could not fetch item page " + page + ": " + e.getMessage(), e);
+            }
+        });
+        run.pageFetched();
+        return totalPages != null ? totalPages : 1;
+    }
+
+    /**
+     * Reads {"data": [...], "pagination": {...}} token by token, handing each item on as soon as it is bound.
+     */
+    private int parseItemPage(InputStream body, Run run) throws IOException {
+        int totalPages = 1;
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected a JSON object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("data".equals(field) && value == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() != JsonToken.END_ARRAY) {
+                        run.put(objectMapper.readValue(parser, MetaforgeItemDto.class));
+                    }
+                } else if ("pagination".equals(field) && value == JsonToken.START_OBJECT) {
+                    totalPages = objectMapper.readValue(parser, Pagination.class).totalPages();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while queueing parsed items", e);
+        }
+        return totalPages;
+    }
+
+    /**
+     * Runs a request within the in-flight limit and, for remote sources, the request rate limit.
+     */
+    private <R> R throttled(Callable<R> request) {
+        try {
+            inFlight.acquire();
+            try {
+                if (source.isRemote()) {
+                    rateLimiter.acquire();
+                }
+                return request.call();
+            } finally {
+                inFlight.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to fetch", e);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Spaces request starts at least 1/rate apart.
+     */
+    static final class IntervalRateLimiter {
+
+        private final long intervalNanos;
+        private long nextSlot = System.nanoTime();
+
+        IntervalRateLimiter(double requestsPerSecond) {
+            this.intervalNanos = requestsPerSecond > 0 ? (long) (1e9 / requestsPerSecond) : 0;
+        }
+
+        void acquire() throws InterruptedException {
+            if (intervalNanos == 0) {
+                return;
+            }
+            long waitNanos;
+            synchronized (this) {
+                long now = System.nanoTime();
+                long slot = Math.max(now, nextSlot);
+                nextSlot = slot + intervalNanos;
+                waitNanos = slot - now;
+            }
+            if (waitNanos > 0) {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.pauloneill.arcraidersplanner.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+
+/**
+ * Where raw Metaforge responses come from, selected by {@code app.ingestion.source}.
+ * WHY: Sync used to be tied to the live API. Behind this interface it can also replay responses
+ * recorded on disk, so restarts, CI and benchmarks can ingest the full dataset without the network.
+ * <p>
+ * Live and recorded responses share one file layout ({@link #recordingPath}): a live response cache
+ * directory can be replayed as-is in file mode.
+ */
+public interface MetaforgeSource {
+
+    /**
+     * Reads the response to one API request.
+     *
+     * @param request API path and query, e.g. {@code /arc-raiders/items?includeComponents=true&page=1}
+     * @param reader  Consumes the response body; the stream is closed once it returns
+     * @return What the reader returned
+     * @throws IOException If the response cannot be fetched or read
+     */
+    <T> T read(String request, BodyReader<T> reader) throws IOException;
+
+    /**
+     * @return True if requests go over the network and must respect the ingestion rate limit
+     */
+    default boolean isRemote() {
+        return true;
+    }
+
+    @FunctionalInterface
+    interface BodyReader<T> {
+        T read(InputStream body) throws IOException;
+    }
+
+    /**
+     * File a response is recorded under, e.g. {@code arc-raiders/items/includeComponents=true&page=1.json}.
+     * WHY: Readable names make recordings easy to inspect and edit by hand. Path segments are sanitised,
+     * so a request can never resolve outside the root.
+     *
+     * @param root    Recording or cache directory
+     * @param request API path and query
+     */
+    static Path recordingPath(Path root, String request) {
+        int queryStart = request.indexOf('?');
+        String path = queryStart >= 0 ? request.substring(0, queryStart) : request;
+        String query = queryStart >= 0 ? request.substring(queryStart + 1) : "";
+
+        Path file = root;
+        for (String segment : path.split("/")) {
+            if (!segment.isBlank() && !segment.equals(".") && !segment.equals("..")) {
+                file = file.resolve(sanitise(segment));
+            }
+        }
+        return file.resolve((query.isEmpty() ? "index" : sanitise(query)) + ".json");
+    }
+
+    private static String sanitise(String part) {
+        return part.replaceAll("[^A-Za-z0-9._=&-]", "_");
+    }
+}
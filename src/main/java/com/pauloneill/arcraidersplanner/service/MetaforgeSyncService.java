@@ -2,7 +2,6 @@ package com.pauloneill.arcraidersplanner.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.pauloneill.arcraidersplanner.dto.HideoutUpgradeDto;
-import com.pauloneill.arcraidersplanner.dto.MetaforgeItemDataResponse;
 import com.pauloneill.arcraidersplanner.dto.MetaforgeItemDto;
 import com.pauloneill.arcraidersplanner.dto.MetaforgeMapDataResponse;
 import com.pauloneill.arcraidersplanner.dto.MetaforgeMarkerDto;
@@ -13,30 +12,43 @@ import com.pauloneill.arcraidersplanner.repository.LootAreaRepository;
 import com.pauloneill.arcraidersplanner.repository.MapMarkerRepository;
 import com.pauloneill.arcraidersplanner.repository.RecipeRepository;
 import com.pauloneill.arcraidersplanner.repository.RecipeIngredientRepository;
+import com.pauloneill.arcraidersplanner.service.MetaforgeIngestionPipeline.IngestionStats;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 import org.springframework.core.io.support.ResourcePatternResolver;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.RestClient;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set; // NEW
+import java.util.TreeMap;
+import java.util.TreeSet;
 import java.util.HashSet; // NEW
+import java.util.LinkedHashMap;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 public class MetaforgeSyncService {
 
-    private final RestClient restClient;
+    // Items per writer batch: one name lookup, one saveAll and one commit each
+    private static final int ITEM_BATCH_SIZE = 100;
+    // Recipes per commit: one recipe lookup and one ingredient item lookup each
+    private static final int RECIPE_BATCH_SIZE = 100;
+    // Marker IDs per DELETE ... WHERE id IN (...) statement, well below the driver's bind parameter limit
+    private static final int MARKER_DELETE_BATCH_SIZE = 1000;
+
+    private final MetaforgeSource metaforgeSource;
     private final ItemRepository itemRepository;
     private final LootAreaRepository lootAreaRepository;
     private final MapMarkerRepository markerRepository;
@@ -46,17 +58,19 @@ public class MetaforgeSyncService {
     private final CoordinateCalibrationService calibrationService;
     private final ObjectMapper objectMapper;
     private final MarkerGroupingService markerGroupingService; // NEW
+    private final DataVersionService dataVersionService;
+    private final MetaforgeIngestionPipeline ingestionPipeline;
+    private final TransactionTemplate transactionTemplate;
 
-    @Value("${metaforge.api.url}")
-    private String metaforgeApiUrl;
-
-    public MetaforgeSyncService(RestClient restClient, ItemRepository itemRepository,
+    public MetaforgeSyncService(MetaforgeSource metaforgeSource, ItemRepository itemRepository,
             LootAreaRepository lootAreaRepository, MapMarkerRepository markerRepository,
             GameMapRepository gameMapRepository, RecipeRepository recipeRepository,
             RecipeIngredientRepository recipeIngredientRepository,
             CoordinateCalibrationService calibrationService, ObjectMapper objectMapper,
-            MarkerGroupingService markerGroupingService) { // NEW
-        this.restClient = restClient;
+            MarkerGroupingService markerGroupingService, // NEW
+            DataVersionService dataVersionService, MetaforgeIngestionPipeline ingestionPipeline,
+            TransactionTemplate transactionTemplate) {
+        this.metaforgeSource = metaforgeSource;
         this.itemRepository = itemRepository;
         this.lootAreaRepository = lootAreaRepository;
         this.markerRepository = markerRepository;
@@ -66,85 +80,250 @@ public class MetaforgeSyncService {
         this.calibrationService = calibrationService;
         this.objectMapper = objectMapper;
         this.markerGroupingService = markerGroupingService; // NEW
+        this.dataVersionService = dataVersionService;
+        this.ingestionPipeline = ingestionPipeline;
+        this.transactionTemplate = transactionTemplate;
     }
 
     /**
      * Syncs items AND recipes from Metaforge API in a single pass.
-     * WHY: Efficient - hits API once with includeComponents=true to get both item and recipe data
+     * WHY: Efficient - hits API once with includeComponents=true to get both item and recipe data.
+     * Pages are fetched concurrently by the ingestion pipeline and items written in batches; recipes
+     * are synced once every item is written, so ingredients from later pages resolve.
+     * <p>
+     * Each batch commits in its own transaction, so the persistence context never holds more than one
+     * batch and inserts are flushed as JDBC batches. A failed sync keeps the batches already committed.
+     * <p>
+     * Rows whose content hash matches the incoming record are not written, and crafting recipes no longer
+     * offered upstream are deleted. The data version is only bumped if a row was written or deleted.
      */
-    @Transactional
     public void syncItems() {
-        int currentPage = 1;
-        int totalPages = 1;
-        int totalItemsSynced = 0;
+        SyncChanges changes = new SyncChanges();
+        try {
+            syncItemsAndRecipes(changes);
+        } catch (RuntimeException e) {
+            // Batches committed before the failure are live; indexes must still pick them up
+            markChanged("item sync (failed)", changes, DataChangeSet.items(changes.itemNames, changes.recipeIds));
+            throw e;
+        }
+        log.info("Item sync wrote {} rows, deleted {}, skipped {} unchanged; {} items and {} recipes changed for planning",
+                changes.rowsWritten, changes.rowsDeleted, changes.rowsUnchanged,
+                changes.itemNames.size(), changes.recipeIds.size());
+        markChanged("item sync", changes, DataChangeSet.items(changes.itemNames, changes.recipeIds));
+    }
+
+    private void syncItemsAndRecipes(SyncChanges changes) {
         int recipesCreated = 0;
         int recipesUpdated = 0;
+        int recipesUnchanged = 0;
         int recipesSkipped = 0;
+        List<MetaforgeItemDto> craftable = new ArrayList<>();
+        Set<String> seenItemIds = new HashSet<>();
 
         // Cache existing LootTypes to avoid repeated DB lookups in loop
         Map<String, LootType> lootTypeCache = new HashMap<>();
         lootAreaRepository.findAll().forEach(lt -> lootTypeCache.put(lt.getName(), lt));
 
-        do {
-            // Add includeComponents=true to get recipe data in same response
-            String uri = "/arc-raiders/items?includeComponents=true&page=" + currentPage;
-            log.info("Fetching items and recipes from URI: {}{}", metaforgeApiUrl, uri);
+        IngestionStats stats = ingestionPipeline.streamItems(ITEM_BATCH_SIZE, batch -> {
+            // Changes are recorded only once the batch has committed
+            SyncChanges batchChanges = new SyncChanges();
+            transactionTemplate.executeWithoutResult(status -> writeItemBatch(batch, lootTypeCache, batchChanges));
+            changes.add(batchChanges);
+            batch.forEach(dto -> seenItemIds.add(dto.id()));
+            // Also process recipe data if components exist (same API call)
+            batch.stream()
+                    .filter(dto -> dto.components() != null && !dto.components().isEmpty())
+                    .forEach(craftable::add);
+        });
+
+        for (int from = 0; from < craftable.size(); from += RECIPE_BATCH_SIZE) {
+            List<MetaforgeItemDto> chunk = craftable.subList(from, Math.min(from + RECIPE_BATCH_SIZE, craftable.size()));
+            SyncChanges chunkChanges = new SyncChanges();
+            List<SyncResult> results = transactionTemplate.execute(status -> syncRecipeChunk(chunk, chunkChanges));
+            changes.add(chunkChanges);
+            for (SyncResult result : results) {
+                switch (result) {
+                    case CREATED -> recipesCreated++;
+                    case UPDATED -> recipesUpdated++;
+                    case UNCHANGED -> recipesUnchanged++;
+                    case SKIPPED -> recipesSkipped++;
+                }
+            }
+        }
 
-            var response = restClient.get()
-                    .uri(metaforgeApiUrl + uri)
-                    .retrieve()
-                    .body(new ParameterizedTypeReference<MetaforgeItemDataResponse<MetaforgeItemDto>>() {
-                    });
+        log.info("Successfully synced {} items across {} pages.", stats.rows(), stats.pages());
+        log.info("Recipe sync complete: {} created, {} updated, {} unchanged, {} skipped",
+                recipesCreated, recipesUpdated, recipesUnchanged, recipesSkipped);
+
+        // An empty stream is more likely an upstream fault than an empty catalogue; delete nothing
+        if (stats.rows() > 0) {
+            Set<String> offeredRecipeIds = craftable.stream().map(MetaforgeItemDto::id).collect(Collectors.toSet());
+            SyncChanges deletions = new SyncChanges();
+            transactionTemplate.executeWithoutResult(status -> deleteVanishedRecipes(offeredRecipeIds, deletions));
+            changes.add(deletions);
+            logVanishedItems(seenItemIds);
+        }
 
-            if (response == null || response.data() == null) {
-                log.error("API returned null response for page {}", currentPage);
-                break;
-            }
+        // Sync Workbench Upgrades from local JSONs
+        SyncChanges upgradeChanges = new SyncChanges();
+        transactionTemplate.executeWithoutResult(status -> syncWorkbenchUpgrades(upgradeChanges));
+        changes.add(upgradeChanges);
+    }
 
-            totalPages = response.pagination().totalPages();
-            List<MetaforgeItemDto> externalItems = response.data();
+    /**
+     * Deletes synced crafting recipes whose item no longer has components upstream.
+     * WHY: Otherwise the planner keeps routing for recipes the game no longer has. Recipes created through
+     * the API have no Metaforge ID and are never touched by sync.
+     */
+    private void deleteVanishedRecipes(Set<String> offeredRecipeIds, SyncChanges changes) {
+        List<Recipe> vanished = recipeRepository.findByTypeAndMetaforgeItemIdIsNotNull(RecipeType.CRAFTING).stream()
+                .filter(recipe -> !offeredRecipeIds.contains(recipe.getMetaforgeItemId()))
+                .toList();
+        if (vanished.isEmpty()) {
+            return;
+        }
+        log.info("Deleting {} crafting recipes no longer offered by Metaforge", vanished.size());
+        recipeRepository.deleteAll(vanished);
+        vanished.forEach(recipe -> changes.recipeIds.add(recipe.getMetaforgeItemId()));
+        changes.rowsDeleted += vanished.size();
+    }
 
-            // PROCESS
-            for (MetaforgeItemDto dto : externalItems) {
-                String areaName = dto.lootAreaName();
-                LootType lootType = null;
+    /**
+     * Reports stored items that Metaforge no longer lists. They are kept: recipes and saved loadouts
+     * reference items, so removing them is left to a deliberate cleanup.
+     */
+    private void logVanishedItems(Set<String> seenItemIds) {
+        long vanished = itemRepository.findAll().stream()
+                .filter(item -> item.getMetaforgeId() != null && !seenItemIds.contains(item.getMetaforgeId()))
+                .count();
+        if (vanished > 0) {
+            log.warn("{} stored items are no longer listed by Metaforge; keeping them", vanished);
+        }
+    }
 
-                if (areaName != null && !areaName.isBlank()) {
-                    lootType = lootTypeCache.computeIfAbsent(areaName, name -> {
-                        LootType newArea = new LootType();
-                        newArea.setName(name);
-                        return lootAreaRepository.save(newArea);
-                    });
-                }
+    /**
+     * Bumps the data version only if the sync wrote or deleted rows.
+     * WHY: Re-syncing an unchanged upstream must not invalidate indexes, caches and saved plans.
+     */
+    private void markChanged(String reason, SyncChanges changes, DataChangeSet changeSet) {
+        if (changes.rowsWritten == 0 && changes.rowsDeleted == 0) {
+            log.info("{}: no rows changed, data version kept", reason);
+            return;
+        }
+        dataVersionService.markChanged(reason, changeSet);
+    }
 
-                // Create/Update the Item Entity
-                Optional<Item> existingItem = itemRepository.findByName(dto.name());
-                Item itemToSave = getItemToSave(dto, existingItem, lootType);
+    /**
+     * Syncs one chunk of crafting recipes from a single recipe lookup and a single ingredient lookup.
+     */
+    private List<SyncResult> syncRecipeChunk(List<MetaforgeItemDto> chunk, SyncChanges changes) {
+        Map<String, Recipe> existingById = new HashMap<>();
+        recipeRepository.findAllWithIngredientsByMetaforgeItemIdIn(chunk.stream().map(MetaforgeItemDto::id).toList())
+                .forEach(recipe -> existingById.put(recipe.getMetaforgeItemId(), recipe));
+
+        Set<String> ingredientNames = new HashSet<>();
+        chunk.forEach(dto -> dto.components().forEach(c -> ingredientNames.add(c.component().name())));
+        Map<String, Item> itemsByName = new HashMap<>();
+        itemRepository.findByNameIn(ingredientNames).forEach(item -> itemsByName.put(item.getName(), item));
+
+        List<SyncResult> results = new ArrayList<>(chunk.size());
+        for (MetaforgeItemDto dto : chunk) {
+            results.add(syncCraftingRecipe(dto, Optional.ofNullable(existingById.get(dto.id())), itemsByName, changes));
+        }
+        return results;
+    }
 
-                itemRepository.save(itemToSave);
-                totalItemsSynced++;
+    /**
+     * Upserts one batch of items with a single lookup and a single saveAll. Items whose stored content
+     * hash matches the incoming record are left untouched.
+     *
+     * @param changes Collects rows written, and names of items that are new or whose plan-relevant fields changed
+     */
+    private void writeItemBatch(List<MetaforgeItemDto> batch, Map<String, LootType> lootTypeCache,
+                                SyncChanges changes) {
+        Map<String, Item> existingByName = new HashMap<>();
+        itemRepository.findByNameIn(batch.stream().map(MetaforgeItemDto::name).toList())
+                .forEach(item -> existingByName.put(item.getName(), item));
+
+        // Keyed by name so an item repeated within a batch is written once, last value wins
+        Map<String, Item> toSave = new LinkedHashMap<>();
+        for (MetaforgeItemDto dto : batch) {
+            Optional<Item> existingItem = Optional.ofNullable(existingByName.get(dto.name()));
+            String contentHash = itemHash(dto);
+            if (existingItem.isPresent() && contentHash.equals(existingItem.get().getContentHash())) {
+                changes.rowsUnchanged++;
+                continue;
+            }
 
-                // Also process recipe data if components exist (same API call)
-                if (dto.components() != null && !dto.components().isEmpty()) {
-                    SyncResult result = syncCraftingRecipe(dto);
-                    switch (result) {
-                        case CREATED -> recipesCreated++;
-                        case UPDATED -> recipesUpdated++;
-                        case SKIPPED -> recipesSkipped++;
-                    }
-                }
+            String areaName = dto.lootAreaName();
+            LootType lootType = null;
+
+            if (areaName != null && !areaName.isBlank()) {
+                lootType = lootTypeCache.computeIfAbsent(areaName, name -> {
+                    LootType newArea = new LootType();
+                    newArea.setName(name);
+                    return lootAreaRepository.save(newArea);
+                });
             }
 
-            currentPage++;
+            // Create/Update the Item Entity
+            String planSignatureBefore = existingItem.map(this::planSignature).orElse(null);
+            Item itemToSave = getItemToSave(dto, existingItem, lootType);
+            itemToSave.setContentHash(contentHash);
+            if (!planSignature(itemToSave).equals(planSignatureBefore)) {
+                changes.itemNames.add(itemToSave.getName());
+            }
+            existingByName.put(itemToSave.getName(), itemToSave);
+            toSave.put(itemToSave.getName(), itemToSave);
+        }
+        itemRepository.saveAll(toSave.values());
+        changes.rowsWritten += toSave.size();
+    }
 
-        } while (currentPage <= totalPages);
+    /**
+     * Hash of every field {@link #getItemToSave} copies from the DTO.
+     */
+    private String itemHash(MetaforgeItemDto dto) {
+        Set<String> droppedBy = new TreeSet<>();
+        if (dto.droppedBy() != null) {
+            dto.droppedBy().forEach(d -> droppedBy.add(d.arc().id()));
+        }
+        return ContentHash.of(dto.id(), dto.name(), dto.description(), dto.rarity(), dto.itemType(), dto.icon(),
+                dto.value(), dto.lootAreaName(),
+                dto.stats() != null ? dto.stats().weight() : null,
+                dto.stats() != null ? dto.stats().stackSize() : null,
+                droppedBy);
+    }
 
-        log.info("Successfully synced {} items across {} pages.", totalItemsSynced, totalPages);
-        log.info("Recipe sync complete: {} created, {} updated, {} skipped",
-                recipesCreated, recipesUpdated, recipesSkipped);
-                
-        // Sync Workbench Upgrades from local JSONs
-        syncWorkbenchUpgrades();
+    /**
+     * Hash of a recipe's synced fields and its resolved ingredients.
+     *
+     * @param ingredients Ingredient item name → quantity, as they will be stored
+     */
+    private String recipeHash(String name, String description, RecipeType type, Map<String, Integer> ingredients) {
+        return ContentHash.of(name, description, type, new TreeMap<>(ingredients));
+    }
+
+    /**
+     * The item fields route planning depends on, as a comparable string.
+     * WHY: Lets the sync report only items whose planning-relevant data changed, so saved
+     * loadout plans that do not use them are left alone.
+     */
+    private String planSignature(Item item) {
+        return item.getMetaforgeId() + "|" + (item.getLootType() != null ? item.getLootType().getName() : "")
+                + "|" + (item.getDroppedBy() != null ? new TreeSet<>(item.getDroppedBy()) : "");
+    }
+
+    /**
+     * @return Ingredient item name → quantity, for detecting recipe changes across a re-sync
+     */
+    private Map<String, Integer> ingredientSignature(Recipe recipe) {
+        Map<String, Integer> signature = new HashMap<>();
+        for (RecipeIngredient ingredient : recipe.getIngredients()) {
+            signature.merge(ingredient.getItem().getName(),
+                    ingredient.getQuantity() != null ? ingredient.getQuantity() : 0, Integer::sum);
+        }
+        return signature;
     }
 
     private Item getItemToSave(MetaforgeItemDto dto, Optional<Item> existingItem, LootType lootType) {
@@ -180,8 +359,13 @@ public class MetaforgeSyncService {
         return itemToSave;
     }
 
-    @Transactional
-    public void syncWorkbenchUpgrades() {
+    /**
+     * Syncs workbench upgrade recipes from the bundled hideout definitions.
+     *
+     * @param changes Collects rows written, and Metaforge IDs of upgrade recipes that were created or
+     *                whose requirements changed
+     */
+    private void syncWorkbenchUpgrades(SyncChanges changes) {
         log.info("--- STARTING WORKBENCH UPGRADE SYNC ---");
         ResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
         try {
@@ -204,7 +388,7 @@ public class MetaforgeSyncService {
                         continue;
                     }
 
-                    processHideoutUpgrade(dto);
+                    processHideoutUpgrade(dto, changes);
                 } catch (Exception e) {
                     log.error("Failed to parse hideout file: {}", resource.getFilename(), e);
                 }
@@ -220,18 +404,47 @@ public class MetaforgeSyncService {
                 .allMatch(level -> level.requirementItemIds() == null || level.requirementItemIds().isEmpty());
     }
 
-    private void processHideoutUpgrade(HideoutUpgradeDto dto) {
+    private void processHideoutUpgrade(HideoutUpgradeDto dto, SyncChanges changes) {
         String benchName = dto.name().getOrDefault("en", "Unknown Bench");
         
         for (HideoutUpgradeDto.UpgradeLevel level : dto.levels()) {
             String metaforgeId = "hideout_" + dto.id() + "_lvl" + level.level();
             String recipeName = benchName + " Level " + level.level();
-            
+            String description = "Upgrade " + benchName + " to Level " + level.level();
+
+            // Use a map to aggregate quantities for duplicate items in requirements
+            Map<Item, Integer> aggregatedRequirements = new HashMap<>();
+            for (HideoutUpgradeDto.Requirement req : level.requirementItemIds()) {
+                Optional<Item> itemOpt = itemRepository.findByMetaforgeId(req.itemId());
+                
+                if (itemOpt.isPresent()) {
+                    Item ingredientItem = itemOpt.get();
+                    aggregatedRequirements.merge(ingredientItem, req.quantity(), Integer::sum);
+                } else {
+                    log.warn("Missing ingredient for upgrade '{}': {} (Metaforge ID)", recipeName, req.itemId());
+                }
+            }
+
+            // Only save if there are any ingredients (either new or updated existing ones)
+            if (aggregatedRequirements.isEmpty()) {
+                continue;
+            }
+
+            Map<String, Integer> requirementsByName = new HashMap<>();
+            aggregatedRequirements.forEach((item, quantity) -> requirementsByName.merge(item.getName(), quantity, Integer::sum));
+            String contentHash = recipeHash(recipeName, description, RecipeType.WORKBENCH_UPGRADE, requirementsByName);
+
             Optional<Recipe> existingRecipe = recipeRepository.findByMetaforgeItemId(metaforgeId);
-            
+            if (existingRecipe.isPresent() && contentHash.equals(existingRecipe.get().getContentHash())) {
+                changes.rowsUnchanged++;
+                continue;
+            }
+
             Recipe recipe;
+            Map<String, Integer> ingredientsBefore = null;
             if (existingRecipe.isPresent()) {
                 recipe = existingRecipe.get();
+                ingredientsBefore = ingredientSignature(recipe);
                 // Clear existing ingredients to ensure orphanRemoval triggers deletion
                 recipe.getIngredients().clear(); 
             } else {
@@ -240,22 +453,10 @@ public class MetaforgeSyncService {
             }
             
             recipe.setName(recipeName);
-            recipe.setDescription("Upgrade " + benchName + " to Level " + level.level());
+            recipe.setDescription(description);
             recipe.setType(RecipeType.WORKBENCH_UPGRADE);
             recipe.setIsRecyclable(false);
-            
-            // Use a map to aggregate quantities for duplicate items in requirements
-            Map<Item, Integer> aggregatedRequirements = new HashMap<>();
-            for (HideoutUpgradeDto.Requirement req : level.requirementItemIds()) {
-                Optional<Item> itemOpt = itemRepository.findByMetaforgeId(req.itemId());
-                
-                if (itemOpt.isPresent()) {
-                    Item ingredientItem = itemOpt.get();
-                    aggregatedRequirements.merge(ingredientItem, req.quantity(), Integer::sum);
-                } else {
-                    log.warn("Missing ingredient for upgrade '{}': {} (Metaforge ID)", recipeName, req.itemId());
-                }
-            }
+            recipe.setContentHash(contentHash);
 
             // Create RecipeIngredient objects from aggregated requirements and add to the recipe's managed collection
             for (Map.Entry<Item, Integer> entry : aggregatedRequirements.entrySet()) {
@@ -265,92 +466,213 @@ public class MetaforgeSyncService {
                 recipe.addIngredient(ingredient); 
             }
             
-            // Save the recipe if there are any ingredients (either new or updated existing ones)
-            if (!aggregatedRequirements.isEmpty()) {
-                recipeRepository.save(recipe);
+            recipeRepository.save(recipe);
+            changes.rowsWritten++;
+            if (!ingredientSignature(recipe).equals(ingredientsBefore)) {
+                changes.recipeIds.add(metaforgeId);
             }
         }
     }
 
-    @Transactional
-    public void syncMarkers() {
+    /**
+     * Syncs markers for every map.
+     * WHY: Maps are fetched concurrently by the ingestion pipeline; each map's markers are written
+     * as its response arrives, on the calling thread, and committed per map. Only maps whose markers
+     * changed are regrouped.
+     *
+     * @return Marker diff per synced map ID; maps whose fetch or write failed are absent
+     */
+    public Map<Long, MarkerDiff> syncMarkers() {
         log.info("--- STARTING MARKER SYNC ---");
 
         List<GameMap> maps = gameMapRepository.findAll();
+        SyncChanges changes = new SyncChanges();
+        Map<Long, MarkerDiff> diffs = new LinkedHashMap<>();
 
-        for (GameMap map : maps) {
-            String mapApiCode = map.getDescription(); // e.g. "dam"
-            log.info("Fetching markers for map: {}...", map.getName());
-
+        ingestionPipeline.fetchEach(maps, this::fetchMarkers, (map, fetched) -> {
+            if (fetched.error() != null) {
+                log.error("Failed to sync markers for {}: {}", map.getName(), fetched.error().getMessage());
+                return;
+            }
+            MarkerReconciliation reconciliation;
             try {
-                var response = restClient.get()
-                        .uri(uriBuilder -> uriBuilder
-                                .path("/game-map-data")
-                                .queryParam("tableID", "arc_map_data")
-                                .queryParam("mapID", mapApiCode)
-                                .build())
-                        .retrieve()
-                        .body(MetaforgeMapDataResponse.class);
-
-                // CHANGE 2: Extract from .allData()
-                if (response == null || response.allData() == null || response.allData().isEmpty()) {
-                    System.out.println("No markers found for " + map.getName());
-                    continue;
-                }
+                reconciliation = transactionTemplate.execute(status -> reconcileMarkers(map, fetched.value()));
+            } catch (Exception e) {
+                log.error("Failed to sync markers for {}: {}", map.getName(), e.getMessage());
+                return;
+            }
+            MarkerDiff diff = reconciliation.diff();
+            // Changes are recorded only once the map has committed
+            diffs.put(map.getId(), diff);
+            changes.rowsWritten += diff.inserted() + diff.updated();
+            changes.rowsDeleted += diff.deleted();
+            changes.rowsUnchanged += diff.unchanged();
+            if (diff.hasChanges()) {
+                changes.mapIds.add(map.getId());
+                // Groups are derived from marker positions, so only a changed map needs regrouping
+                markerGroupingService.groupMarkersByContainer(map.getId());
+            }
+            // Markers that moved here left their old maps, which may already have been reconciled this run
+            for (Long vacatedMapId : reconciliation.vacatedMapIds()) {
+                changes.mapIds.add(vacatedMapId);
+                markerGroupingService.groupMarkersByContainer(vacatedMapId);
+            }
+        });
+
+        MarkerDiff total = diffs.values().stream().reduce(new MarkerDiff(0, 0, 0, 0), MarkerDiff::plus);
+        log.info("--- MARKER SYNC COMPLETE ({} of {} maps changed: {}) ---", changes.mapIds.size(), maps.size(), total);
+        markChanged("marker sync", changes, DataChangeSet.maps(changes.mapIds));
+        return diffs;
+    }
 
-                List<MetaforgeMarkerDto> dtos = response.allData();
+    private MetaforgeMapDataResponse fetchMarkers(GameMap map) {
+        String mapApiCode = map.getDescription(); // e.g. "dam"
+        log.info("Fetching markers for map: {}...", map.getName());
+        String request = "/game-map-data?tableID=arc_map_data&mapID=" + URLEncoder.encode(mapApiCode, StandardCharsets.UTF_8);
+        try {
+            return metaforgeSource.read(request, body -> objectMapper.readValue(body, MetaforgeMapDataResponse.class));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not fetch markers for " + map.getName(), e);
+        }
+    }
 
-                System.out.println("Found " + dtos.size() + " markers for " + map.getName());
+    /**
+     * Reconciles the stored markers of one map with the incoming set.
+     * WHY: The map's stored markers are loaded in one query and diffed in memory; new markers are
+     * inserted, markers whose content hash changed are updated (both in one batched saveAll), and
+     * markers no longer listed are deleted in one statement.
+     */
+    private MarkerReconciliation reconcileMarkers(GameMap map, MetaforgeMapDataResponse response) {
+        // CHANGE 2: Extract from .allData()
+        if (response == null || response.allData() == null || response.allData().isEmpty()) {
+            // An empty response is more likely an upstream fault than an emptied map; delete nothing
+            log.info("No markers found for {}", map.getName());
+            return new MarkerReconciliation(new MarkerDiff(0, 0, 0, 0), Set.of());
+        }
 
-                for (MetaforgeMarkerDto dto : dtos) {
-                    if (markerRepository.existsById(dto.id())) {
-                        continue;
-                    }
+        List<MetaforgeMarkerDto> dtos = response.allData();
+        log.info("Found {} markers for {}", dtos.size(), map.getName());
 
-                    // Calibrate coordinates before storing
-                    double[] calibrated = calibrationService.calibrateCoordinates(
-                        dto.lat(),
-                        dto.lng(),
-                        map
-                    );
-
-                    MapMarker marker = new MapMarker();
-                    marker.setId(dto.id());
-                    marker.setLat(calibrated[0]);  // Store calibrated Y
-                    marker.setLng(calibrated[1]);  // Store calibrated X
-                    marker.setCategory(dto.category());
-                    marker.setSubcategory(dto.subcategory());
-                    marker.setName(dto.name());
-                    marker.setGameMap(map);
-
-                    markerRepository.save(marker);
+        Map<String, MapMarker> storedById = new HashMap<>();
+        markerRepository.findByGameMapId(map.getId()).forEach(marker -> storedById.put(marker.getId(), marker));
+
+        // Markers may move between maps; IDs stored under another map are updated, not re-inserted
+        List<String> unknownIds = dtos.stream().map(MetaforgeMarkerDto::id).filter(id -> !storedById.containsKey(id)).toList();
+        Map<String, MapMarker> movedById = new HashMap<>();
+        if (!unknownIds.isEmpty()) {
+            markerRepository.findAllById(unknownIds).forEach(marker -> movedById.put(marker.getId(), marker));
+        }
+
+        int inserted = 0;
+        int updated = 0;
+        int unchanged = 0;
+        // Keyed by ID so a marker repeated in the response is reconciled once, first value wins
+        Map<String, MapMarker> toSave = new LinkedHashMap<>();
+        Set<String> incomingIds = new HashSet<>();
+        Set<Long> vacatedMapIds = new HashSet<>();
+        for (MetaforgeMarkerDto dto : dtos) {
+            if (!incomingIds.add(dto.id())) {
+                continue;
+            }
+
+            // Calibrate coordinates before storing
+            double[] calibrated = calibrationService.calibrateCoordinates(
+                dto.lat(),
+                dto.lng(),
+                map
+            );
+            String contentHash = ContentHash.of(map.getId(), calibrated[0], calibrated[1],
+                    dto.category(), dto.subcategory(), dto.name());
+
+            MapMarker marker = storedById.getOrDefault(dto.id(), movedById.get(dto.id()));
+            if (marker != null && contentHash.equals(marker.getContentHash())) {
+                unchanged++;
+                continue;
+            }
+            if (marker == null) {
+                marker = new MapMarker();
+                marker.setId(dto.id());
+                inserted++;
+            } else {
+                updated++;
+                if (marker.getGameMap() != null && !map.getId().equals(marker.getGameMap().getId())) {
+                    vacatedMapIds.add(marker.getGameMap().getId());
                 }
-            } catch (Exception e) {
-                log.error("Failed to sync markers for {}: {}", map.getName(), e.getMessage());
             }
-            // After all markers for a map are synced, group them
-            markerGroupingService.groupMarkersByContainer(map.getId()); // NEW
+            marker.setLat(calibrated[0]);  // Store calibrated Y
+            marker.setLng(calibrated[1]);  // Store calibrated X
+            marker.setCategory(dto.category());
+            marker.setSubcategory(dto.subcategory());
+            marker.setName(dto.name());
+            marker.setGameMap(map);
+            marker.setContentHash(contentHash);
+            toSave.put(dto.id(), marker);
+        }
+        markerRepository.saveAll(toSave.values());
+
+        List<String> vanishedIds = storedById.keySet().stream().filter(id -> !incomingIds.contains(id)).toList();
+        for (int from = 0; from < vanishedIds.size(); from += MARKER_DELETE_BATCH_SIZE) {
+            markerRepository.deleteByIdIn(
+                    vanishedIds.subList(from, Math.min(from + MARKER_DELETE_BATCH_SIZE, vanishedIds.size())));
         }
-        log.info("--- MARKER SYNC COMPLETE ---");
+
+        MarkerDiff diff = new MarkerDiff(inserted, updated, vanishedIds.size(), unchanged);
+        log.info("Markers for {}: {}", map.getName(), diff);
+        return new MarkerReconciliation(diff, vacatedMapIds);
     }
 
     /**
      * Syncs a single crafting recipe from Metaforge item data.
      * WHY: Separates recipe sync logic for clarity and testability
      *
-     * @param dto The Metaforge item DTO containing recipe data
-     * @return SyncResult indicating whether recipe was created, updated, or skipped
+     * @param dto            The Metaforge item DTO containing recipe data
+     * @param existingRecipe The stored recipe with this Metaforge ID, if any (idempotent sync)
+     * @param itemsByName    Stored items that may be ingredients, by name
+     * @param changes        Collects rows written, and the recipe's Metaforge ID if it is new or its ingredients changed
+     * @return SyncResult indicating whether recipe was created, updated, unchanged or skipped
      */
-    private SyncResult syncCraftingRecipe(MetaforgeItemDto dto) {
-        // Check if recipe already exists (idempotent sync)
-        Optional<Recipe> existingRecipe = recipeRepository.findByMetaforgeItemId(dto.id());
+    private SyncResult syncCraftingRecipe(MetaforgeItemDto dto, Optional<Recipe> existingRecipe,
+                                          Map<String, Item> itemsByName, SyncChanges changes) {
+        // Resolve ingredients first, so a skipped or unchanged recipe is left untouched
+        List<RecipeIngredient> ingredients = new ArrayList<>();
+        Map<String, Integer> quantitiesByName = new HashMap<>();
+        for (var component : dto.components()) {
+            String ingredientName = component.component().name();
+            Optional<Item> ingredientItem = Optional.ofNullable(itemsByName.get(ingredientName));
+
+            if (ingredientItem.isEmpty()) {
+                log.warn("Ingredient '{}' not found for recipe '{}' - skipping ingredient",
+                        ingredientName, dto.name());
+                continue;
+            }
+
+            RecipeIngredient ingredient = new RecipeIngredient();
+            ingredient.setItem(ingredientItem.get());
+            ingredient.setQuantity(component.quantity());
+            ingredients.add(ingredient);
+            quantitiesByName.merge(ingredientName, component.quantity() != null ? component.quantity() : 0, Integer::sum);
+        }
+
+        // Only save if we have valid ingredients
+        if (ingredients.isEmpty()) {
+            log.warn("Recipe '{}' has no valid ingredients - skipping", dto.name());
+            return SyncResult.SKIPPED;
+        }
+
+        String contentHash = recipeHash(dto.name(), dto.description(), RecipeType.CRAFTING, quantitiesByName);
+        if (existingRecipe.isPresent() && contentHash.equals(existingRecipe.get().getContentHash())) {
+            changes.rowsUnchanged++;
+            return SyncResult.UNCHANGED;
+        }
 
         Recipe recipe;
         SyncResult result;
+        Map<String, Integer> ingredientsBefore = null;
 
         if (existingRecipe.isPresent()) {
             recipe = existingRecipe.get();
             result = SyncResult.UPDATED;
+            ingredientsBefore = ingredientSignature(recipe);
             // Clear old ingredients for fresh update
             recipe.getIngredients().clear();
         } else {
@@ -364,33 +686,14 @@ public class MetaforgeSyncService {
         recipe.setType(RecipeType.CRAFTING);
         recipe.setMetaforgeItemId(dto.id());
         recipe.setIsRecyclable(false); // Phase 1: Only crafting recipes
-
-        // Add ingredients by resolving component names to Item entities
-        int ingredientsAdded = 0;
-        for (var component : dto.components()) {
-            String ingredientName = component.component().name();
-            Optional<Item> ingredientItem = itemRepository.findByName(ingredientName);
-
-            if (ingredientItem.isEmpty()) {
-                log.warn("Ingredient '{}' not found for recipe '{}' - skipping ingredient",
-                        ingredientName, dto.name());
-                continue;
-            }
-
-            RecipeIngredient ingredient = new RecipeIngredient();
-            ingredient.setItem(ingredientItem.get());
-            ingredient.setQuantity(component.quantity());
-            recipe.addIngredient(ingredient);
-            ingredientsAdded++;
-        }
-
-        // Only save if we have valid ingredients
-        if (ingredientsAdded == 0) {
-            log.warn("Recipe '{}' has no valid ingredients - skipping", dto.name());
-            return SyncResult.SKIPPED;
-        }
+        recipe.setContentHash(contentHash);
+        ingredients.forEach(recipe::addIngredient);
 
         recipeRepository.save(recipe);
+        changes.rowsWritten++;
+        if (!ingredientSignature(recipe).equals(ingredientsBefore)) {
+            changes.recipeIds.add(dto.id());
+        }
         return result;
     }
 
@@ -399,8 +702,53 @@ public class MetaforgeSyncService {
      * WHY: Provides clear sync operation outcome for logging and metrics
      */
     private enum SyncResult {
-        CREATED,  // New recipe created
-        UPDATED,  // Existing recipe updated
-        SKIPPED   // Recipe had no valid ingredients
+        CREATED,    // New recipe created
+        UPDATED,    // Existing recipe updated
+        UNCHANGED,  // Stored recipe already matches its content hash
+        SKIPPED     // Recipe had no valid ingredients
+    }
+
+    /**
+     * @param vacatedMapIds Other maps that markers were moved away from
+     */
+    private record MarkerReconciliation(MarkerDiff diff, Set<Long> vacatedMapIds) {
+    }
+
+    /**
+     * How one map's stored markers were reconciled with Metaforge.
+     */
+    public record MarkerDiff(int inserted, int updated, int deleted, int unchanged) {
+
+        public boolean hasChanges() {
+            return inserted + updated + deleted > 0;
+        }
+
+        MarkerDiff plus(MarkerDiff other) {
+            return new MarkerDiff(inserted + other.inserted, updated + other.updated,
+                    deleted + other.deleted, unchanged + other.unchanged);
+        }
+    }
+
+    /**
+     * What one sync, batch or chunk wrote.
+     * WHY: Batches commit separately, so each collects its own changes and they are merged into the
+     * run's totals only once it has committed.
+     */
+    private static final class SyncChanges {
+        private final Set<String> itemNames = new HashSet<>(); // Items new or changed for planning
+        private final Set<String> recipeIds = new HashSet<>(); // Recipes new, deleted or with changed ingredients
+        private final Set<Long> mapIds = new HashSet<>();      // Maps with written or deleted markers
+        private int rowsWritten;
+        private int rowsDeleted;
+        private int rowsUnchanged;
+
+        private void add(SyncChanges other) {
+            itemNames.addAll(other.itemNames);
+            recipeIds.addAll(other.recipeIds);
+            mapIds.addAll(other.mapIds);
+            rowsWritten += other.rowsWritten;
+            rowsDeleted += other.rowsDeleted;
+            rowsUnchanged += other.rowsUnchanged;
+        }
     }
-}
\ No newline at end of file
+}
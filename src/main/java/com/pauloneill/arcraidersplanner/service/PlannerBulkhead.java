@@ -0,0 +1,102 @@
+package com.pauloneill.arcraidersplanner.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Dedicated, bounded executor for planner work.
+ * WHY: Route planning is CPU-heavy. Running it on Tomcat request threads lets a burst of planner calls
+ * starve cheap catalogue endpoints. A fixed pool with a bounded queue isolates that load and rejects
+ * excess work immediately instead of letting latency grow without limit.
+ */
+@Slf4j
+@Component
+public class PlannerBulkhead {
+
+    private final ThreadPoolExecutor executor;
+    private final long retryAfterSeconds;
+    private final Counter rejections;
+    private final Timer queueWait;
+    private final Timer execution;
+
+    public PlannerBulkhead(MeterRegistry meterRegistry,
+                           @Value("${app.planner.pool-size:0}") int poolSize,
+                           @Value("${app.planner.queue-capacity:16}") int queueCapacity,
+                           @Value("${app.planner.retry-after-seconds:2}") long retryAfterSeconds) {
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "planner-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+        this.retryAfterSeconds = retryAfterSeconds;
+
+        Gauge.builder("planner.queue.depth", executor, e -> e.getQueue().size())
+                .description("Planner requests waiting for a worker")
+                .register(meterRegistry);
+        Gauge.builder("planner.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Planner requests currently executing")
+                .register(meterRegistry);
+        this.rejections = Counter.builder("planner.rejections")
+                .description("Planner requests rejected because the executor was full")
+                .register(meterRegistry);
+        this.queueWait = Timer.builder("planner.queue.wait")
+                .description("Time planner requests spent queued before execution")
+                .register(meterRegistry);
+        this.execution = Timer.builder("planner.execution")
+                .description("Planner execution time on the worker pool")
+                .register(meterRegistry);
+
+        log.info("Planner bulkhead: {} workers, queue capacity {}", threads, Math.max(1, queueCapacity));
+    }
+
+    /**
+     * Submits planner work to the bounded pool.
+     *
+     * @param task The planner computation
+     * @return Future completed with the task's result or exception
+     * @throws PlannerOverloadedException if all workers are busy and the queue is full
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        long enqueuedAt = System.nanoTime();
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                queueWait.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+                execution.record(() -> {
+                    try {
+                        future.complete(task.get());
+                    } catch (Throwable t) {
+                        future.completeExceptionally(t);
+                    }
+                });
+            });
+        } catch (RejectedExecutionException e) {
+            rejections.increment();
+            log.warn("Planner at capacity ({} active, {} queued) - rejecting request",
+                    executor.getActiveCount(), executor.getQueue().size());
+            throw new PlannerOverloadedException(retryAfterSeconds);
+        }
+        return future;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,30 @@
+package com.pauloneill.arcraidersplanner.service;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Thrown when the planner executor is saturated and cannot accept more work.
+ * WHY: Fast-failing with 503 + Retry-After lets clients back off instead of piling up requests.
+ */
+public class PlannerOverloadedException extends ResponseStatusException {
+
+    private final long retryAfterSeconds;
+
+    public PlannerOverloadedException(long retryAfterSeconds) {
+        super(HttpStatus.SERVICE_UNAVAILABLE, "Planner is at capacity, retry later");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        return headers;
+    }
+}
@@ -2,8 +2,11 @@ package com.pauloneill.arcraidersplanner.service;
 
 import com.pauloneill.arcraidersplanner.dto.AreaDto;
 import com.pauloneill.arcraidersplanner.dto.EnemySpawnDto;
+import com.pauloneill.arcraidersplanner.dto.EnemySpawnSummaryDto;
 import com.pauloneill.arcraidersplanner.dto.PlannerRequestDto;
 import com.pauloneill.arcraidersplanner.dto.PlannerResponseDto;
+import com.pauloneill.arcraidersplanner.dto.SquadMemberRouteDto;
+import com.pauloneill.arcraidersplanner.dto.SquadPlanResponseDto;
 import com.pauloneill.arcraidersplanner.dto.WaypointDto;
 import com.pauloneill.arcraidersplanner.model.*;
 import com.pauloneill.arcraidersplanner.repository.GameMapRepository;
@@ -14,31 +17,181 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 public class PlannerService {
 
+    private static final double PROXIMITY_THRESHOLD = 400.0; // Units for considering a spawn "on route"
+    private static final double SPAWN_CLUSTER_CELL_SIZE = 800.0; // Grid cell size for off-route spawn summaries
+
     private final GameMapRepository gameMapRepository;
     private final MapMarkerRepository mapMarkerRepository;
     private final EnemyService enemyService;
     private final TargetResolutionService targetResolutionService;
     private final GeometryService geometryService;
+    private final RouteOptimizationService routeOptimizationService;
+    private final EnemyDensityIndex enemyDensityIndex;
 
     public PlannerService(GameMapRepository gameMapRepository,
                           MapMarkerRepository mapMarkerRepository,
                           EnemyService enemyService,
                           TargetResolutionService targetResolutionService,
-                          GeometryService geometryService) {
+                          GeometryService geometryService,
+                          RouteOptimizationService routeOptimizationService,
+                          EnemyDensityIndex enemyDensityIndex) {
         this.gameMapRepository = gameMapRepository;
         this.mapMarkerRepository = mapMarkerRepository;
         this.enemyService = enemyService;
         this.targetResolutionService = targetResolutionService;
         this.geometryService = geometryService;
+        this.routeOptimizationService = routeOptimizationService;
+        this.enemyDensityIndex = enemyDensityIndex;
+    }
+
+    /**
+     * Maps and map markers, each loaded on first use and then shared by every plan made with them.
+     * WHY: Planning many requests in a row (the recommendation table plans every catalogue item per data
+     * version) would otherwise reload the same maps and markers for each one. Maps are fetched with their
+     * areas and loot types and only read, so plans on different threads can share them.
+     */
+    public final class SharedMapData {
+
+        private final Map<Long, List<MapMarker>> markersByMapId = new ConcurrentHashMap<>();
+        private List<GameMap> maps;
+
+        private SharedMapData() {
+        }
+
+        private synchronized List<GameMap> maps() {
+            if (maps == null) {
+                maps = gameMapRepository.findAllWithAreas();
+            }
+            return maps;
+        }
+
+        private List<MapMarker> markers(Long mapId) {
+            return markersByMapId.computeIfAbsent(mapId, mapMarkerRepository::findByGameMapId);
+        }
+    }
+
+    /**
+     * @return Empty map data to pass to {@link #generateRoute(PlannerRequestDto, SharedMapData)} for a batch of plans
+     */
+    public SharedMapData newSharedMapData() {
+        return new SharedMapData();
     }
 
     public List<PlannerResponseDto> generateRoute(PlannerRequestDto request) {
+        return generateRoute(request, newSharedMapData());
+    }
+
+    /**
+     * @param request Planner request
+     * @param mapData Map data shared with other plans in the same batch
+     * @return Routes per map, best score first
+     */
+    public List<PlannerResponseDto> generateRoute(PlannerRequestDto request, SharedMapData mapData) {
+        List<PlannerResponseDto> results = planMaps(request, mapData, plan -> {
+            RouteResult route = plan.route();
+            return new PlannerResponseDto(
+                    plan.map().getId(),
+                    plan.map().getName(),
+                    route.score(),
+                    route.path().stream().map(plan.toWaypoint()).toList(),
+                    route.extractionPoint(),
+                    route.extractionLat(),
+                    route.extractionLng(),
+                    route.enemySpawns(),
+                    route.offRouteEnemySummary()
+            );
+        });
+
+        results.sort(Comparator.comparingDouble(PlannerResponseDto::score).reversed());
+        return results;
+    }
+
+    /**
+     * Plans a shared target list for a squad: each map's route is split into one balanced sub-tour
+     * per player, all ending at a common extraction.
+     * WHY: Squads cover more ground by splitting up; minimising the longest tour means nobody
+     * is left waiting at extraction.
+     *
+     * @param request Planner request with the squad's shared targets
+     * @param players Number of players in the squad
+     * @return Squad plans per map, best score first (shortest longest-tour breaks ties)
+     */
+    public List<SquadPlanResponseDto> generateSquadRoute(PlannerRequestDto request, int players) {
+        List<SquadPlanResponseDto> results = planMaps(request, newSharedMapData(), plan -> {
+            RouteResult route = plan.route();
+            String extractionPoint = route.extractionPoint();
+            Double extractionLat = route.extractionLat();
+            Double extractionLng = route.extractionLng();
+            List<List<RoutablePoint>> tours = Collections.nCopies(players, Collections.emptyList());
+            double longestTour = 0;
+            RoutablePoint commonExtraction = null;
+
+            if (!route.path().isEmpty()) {
+                // PURE_SCAVENGER paths are unordered, so order them before splitting
+                List<? extends RoutablePoint> giantTour = request.routingProfile() == PlannerRequestDto.RoutingProfile.PURE_SCAVENGER
+                        ? routeOptimizationService.findOptimalRoute(route.path())
+                        : route.path();
+                RouteOptimizationService.SquadSplit split =
+                        routeOptimizationService.splitIntoSquadTours(giantTour, players, plan.extractionMarkers());
+                tours = split.tours();
+                longestTour = split.longestTour();
+                commonExtraction = split.extraction();
+                if (split.extraction() instanceof MapMarker extraction) {
+                    extractionPoint = extractionName(extraction);
+                    extractionLat = extraction.getLat();
+                    extractionLng = extraction.getLng();
+                }
+            }
+
+            List<SquadMemberRouteDto> members = new ArrayList<>();
+            for (int player = 0; player < tours.size(); player++) {
+                List<RoutablePoint> tour = tours.get(player);
+                members.add(new SquadMemberRouteDto(
+                        player + 1,
+                        tour.stream().map(plan.toWaypoint()).toList(),
+                        routeOptimizationService.tourLength(tour, commonExtraction)));
+            }
+
+            return new SquadPlanResponseDto(
+                    plan.map().getId(),
+                    plan.map().getName(),
+                    route.score(),
+                    extractionPoint,
+                    extractionLat,
+                    extractionLng,
+                    longestTour,
+                    members,
+                    route.enemySpawns(),
+                    route.offRouteEnemySummary()
+            );
+        });
+
+        results.sort(Comparator.comparingDouble(SquadPlanResponseDto::score).reversed()
+                .thenComparingDouble(SquadPlanResponseDto::longestTourDistance));
+        return results;
+    }
+
+    /**
+     * A scored route on one map, with what callers need to shape their own response.
+     */
+    private record MapPlan(GameMap map, RouteResult route, List<MapMarker> extractionMarkers,
+                           Function<RoutablePoint, WaypointDto> toWaypoint) {
+    }
+
+    /**
+     * Resolves targets once, then builds and scores a route on every map with viable points.
+     * WHY: Single-player and squad planning share target resolution and per-map scoring and only
+     * differ in how the scored route is turned into a response.
+     */
+    private <T> List<T> planMaps(PlannerRequestDto request, SharedMapData mapData, Function<MapPlan, T> toResult) {
         // Step 1: Resolve target item information (loot types and dropped-by enemies)
         TargetItemInfo targetItemInfo = targetResolutionService.resolveTargetItems(request.targetItemNames());
 
@@ -52,14 +205,15 @@ public class PlannerService {
         requiredLootTypes.addAll(ingredientInfo.targetLootTypes());
 
         Set<String> targetDroppedByEnemies = targetItemInfo.targetDroppedByEnemies();
-        Map<String, List<String>> lootTypeToItemNames = targetItemInfo.lootTypeToItemNames();
         Map<String, List<String>> enemyTypeToItemNames = targetItemInfo.enemyTypeToItemNames();
+        // Waypoints list what can be picked up there, recipe ingredients included
+        Map<String, List<String>> waypointLootTypeToItemNames =
+                mergeItemNames(targetItemInfo.lootTypeToItemNames(), ingredientInfo.lootTypeToItemNames());
+        Map<String, List<String>> waypointEnemyTypeToItemNames =
+                mergeItemNames(enemyTypeToItemNames, ingredientInfo.enemyTypeToItemNames());
 
-        // Step 1d: Resolve target container types to marker groups
-        TargetResolutionService.ContainerTargetInfo containerInfo = targetResolutionService.resolveTargetContainers(
-                request.targetContainerTypes(),
-                null // Pass null for mapId here, filtering will happen inside the loop
-        );
+        // Step 1d: Container types are resolved per map inside the loop (served from the in-memory index)
+        boolean hasContainerTargets = request.targetContainerTypes() != null && !request.targetContainerTypes().isEmpty();
 
         // Step 2: Combine explicitly requested enemy types with those derived from item drops
         Set<String> allTargetEnemyTypes = new HashSet<>();
@@ -78,13 +232,18 @@ public class PlannerService {
         }
 
         // Require either items OR enemies OR recipes OR containers to be specified
-        if (requiredLootTypes.isEmpty() && allTargetEnemyTypes.isEmpty() && recipeInfo.recipeIds().isEmpty() && containerInfo.markerGroups().isEmpty()) {
+        if (requiredLootTypes.isEmpty() && allTargetEnemyTypes.isEmpty() && recipeInfo.recipeIds().isEmpty() && !hasContainerTargets) {
             log.warn("No loot types, enemy types, recipes, or container types specified for route generation.");
             return Collections.emptyList();
         }
 
-        List<GameMap> maps = gameMapRepository.findAllWithAreas();
-        List<PlannerResponseDto> results = new ArrayList<>();
+        List<GameMap> maps = mapData.maps();
+        List<T> results = new ArrayList<>();
+
+        // Resolve Ongoing Items Map: LootType Name -> List of Item Names
+        Map<String, List<String>> ongoingLootMap = targetResolutionService.resolveOngoingItems(request.ongoingItemNames());
+        Function<RoutablePoint, WaypointDto> toWaypoint =
+                point -> convertToWaypointDto(point, ongoingLootMap, waypointLootTypeToItemNames, waypointEnemyTypeToItemNames);
 
         for (GameMap map : maps) {
             // Filter enemy spawns for this map
@@ -104,9 +263,9 @@ public class PlannerService {
                     .toList();
 
             // 3. Identify Target Container Groups for this map
-            List<MarkerGroup> targetContainerGroupsOnMap = containerInfo.markerGroups().stream()
-                    .filter(group -> group.getGameMap().getId().equals(map.getId()))
-                    .toList();
+            List<MarkerGroup> targetContainerGroupsOnMap = hasContainerTargets
+                    ? targetResolutionService.resolveTargetContainers(request.targetContainerTypes(), map.getId()).markerGroups()
+                    : Collections.emptyList();
 
 
             // Combine relevant areas, exclusive enemy markers, and container groups into the list of viable points for routing
@@ -130,12 +289,12 @@ public class PlannerService {
             List<MapMarker> extractionMarkers;
             if (request.hasRaiderKey() && (request.routingProfile() == PlannerRequestDto.RoutingProfile.EASY_EXFIL
                     || request.routingProfile() == PlannerRequestDto.RoutingProfile.SAFE_EXFIL)) {
-                extractionMarkers = mapMarkerRepository.findByGameMapId(map.getId()).stream()
+                extractionMarkers = mapData.markers(map.getId()).stream()
                         .filter(m -> "hatch".equalsIgnoreCase(m.getSubcategory()))
                         .toList();
                 log.debug("Using Raider Hatches: found {} hatches for map {}", extractionMarkers.size(), map.getName());
             } else {
-                extractionMarkers = mapMarkerRepository.findByGameMapId(map.getId()).stream()
+                extractionMarkers = mapData.markers(map.getId()).stream()
                         .filter(m -> "extraction".equalsIgnoreCase(m.getSubcategory()))
                         .toList();
                 log.debug("Using extraction markers: found {} extraction points for map {}", extractionMarkers.size(),
@@ -153,32 +312,39 @@ public class PlannerService {
                     enemySpawnsOnMap, // All enemies for proximity scoring
                     map,
                     enemyTypeToItemNames,
-                    ingredientInfo); // Pass ingredient info for bonus scoring
+                    ingredientInfo, // Pass ingredient info for bonus scoring
+                    request.isCompactEnemySpawns());
 
-            // Resolve Ongoing Items Map: LootType Name -> List of Item Names
-            Map<String, List<String>> ongoingLootMap = targetResolutionService.resolveOngoingItems(request.ongoingItemNames());
-
-            PlannerResponseDto response = new PlannerResponseDto(
-                    map.getId(),
-                    map.getName(),
-                    route.score(),
-                    route.path().stream().map(point -> convertToWaypointDto(point, ongoingLootMap, lootTypeToItemNames, enemyTypeToItemNames)).toList(),
-                    route.extractionPoint(),
-                    route.extractionLat(),
-                    route.extractionLng(),
-                    route.enemySpawns()
-            );
             log.debug("Route for {}: extraction={}, coords=[{}, {}]", map.getName(), route.extractionPoint(),
                     route.extractionLat(), route.extractionLng());
-            results.add(response);
+            results.add(toResult.apply(new MapPlan(map, route, extractionMarkers, toWaypoint)));
         }
-
-        results.sort(Comparator.comparingDouble(PlannerResponseDto::score).reversed());
         return results;
     }
 
+    /**
+     * Merges two key -> item names maps, keeping each item name once per key.
+     * WHY: Waypoints must list recipe ingredients next to directly targeted items, or a recipe-only
+     * request shows (and simulates) nothing to pick up along its route.
+     */
+    private static Map<String, List<String>> mergeItemNames(Map<String, List<String>> first,
+                                                            Map<String, List<String>> second) {
+        if (second.isEmpty()) {
+            return first;
+        }
+        Map<String, Set<String>> merged = new HashMap<>();
+        first.forEach((key, names) -> merged.computeIfAbsent(key, k -> new LinkedHashSet<>()).addAll(names));
+        second.forEach((key, names) -> merged.computeIfAbsent(key, k -> new LinkedHashSet<>()).addAll(names));
+        return merged.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> List.copyOf(entry.getValue())));
+    }
+
     private record RouteResult(double score, List<? extends RoutablePoint> path, String extractionPoint, Double extractionLat,
-                               Double extractionLng, List<EnemySpawnDto> enemySpawns) {
+                               Double extractionLng, List<EnemySpawnDto> enemySpawns,
+                               List<EnemySpawnSummaryDto> offRouteEnemySummary) {
+    }
+
+    private record SpawnReport(List<EnemySpawnDto> spawns, List<EnemySpawnSummaryDto> offRouteSummary) {
     }
 
     private RouteResult calculateRouteAndScore(
@@ -191,14 +357,17 @@ public class PlannerService {
             List<MapMarker> allTargetEnemiesOnMap, // All enemies for proximity scoring
             GameMap map,
             Map<String, List<String>> enemyTypeToItemNames,
-            TargetItemInfo ingredientInfo) {
+            TargetItemInfo ingredientInfo,
+            boolean compactEnemySpawns) {
 
         // --- MODE 1: PURE SCAVENGER ---
         // Logic: Simple count of matching areas. Distance is irrelevant.
         if (profile == PlannerRequestDto.RoutingProfile.PURE_SCAVENGER) {
-            List<EnemySpawnDto> enemySpawnDtos = convertToEnemySpawnDtos(allTargetEnemiesOnMap, viablePoints, enemyTypeToItemNames);
+            double[] spawnDistances = measureSpawnDistances(allTargetEnemiesOnMap, viablePoints);
+            SpawnReport spawnReport = buildSpawnReport(allTargetEnemiesOnMap, spawnDistances, enemyTypeToItemNames, compactEnemySpawns);
             // In PURE_SCAVENGER, we return all viablePoints (Area or Marker)
-            return new RouteResult(viablePoints.size() * 100.0, viablePoints, null, null, null, enemySpawnDtos);
+            return new RouteResult(viablePoints.size() * 100.0, viablePoints, null, null, null,
+                    spawnReport.spawns(), spawnReport.offRouteSummary());
         }
 
         // --- BASE SCORING (Used for all other modes) ---
@@ -245,7 +414,8 @@ public class PlannerService {
 
         if (routablePointsForTSP.isEmpty()) {
             log.debug("No viable points found - returning fallback extraction point if available");
-            List<EnemySpawnDto> emptySpawns = convertToEnemySpawnDtos(allTargetEnemiesOnMap, Collections.emptyList(), enemyTypeToItemNames);
+            double[] spawnDistances = measureSpawnDistances(allTargetEnemiesOnMap, Collections.emptyList());
+            SpawnReport spawnReport = buildSpawnReport(allTargetEnemiesOnMap, spawnDistances, enemyTypeToItemNames, compactEnemySpawns);
 
             // Still calculate extraction point even with no route
             String bestExit = null;
@@ -260,9 +430,7 @@ public class PlannerService {
                             .min(Comparator.comparingDouble(m -> geometryService.distance(referenceArea, m)))
                             .orElse(null);
                     if (nearestExtraction != null) {
-                        bestExit = (nearestExtraction.getName() != null && !nearestExtraction.getName().isBlank())
-                                ? nearestExtraction.getName()
-                                : "Extraction Point";
+                        bestExit = extractionName(nearestExtraction);
                         extractionLat = nearestExtraction.getLat();
                         extractionLng = nearestExtraction.getLng();
                         log.debug("Fallback extraction: {} at [{}, {}]", bestExit, extractionLat, extractionLng);
@@ -271,11 +439,12 @@ public class PlannerService {
                     log.warn("Map {} has no areas to use as reference for extraction calculation", map.getName());
                 }
             }
-            return new RouteResult(-1000, Collections.emptyList(), bestExit, extractionLat, extractionLng, emptySpawns);
+            return new RouteResult(-1000, Collections.emptyList(), bestExit, extractionLat, extractionLng,
+                    spawnReport.spawns(), spawnReport.offRouteSummary());
         }
 
-        // --- ROUTE GENERATION (Multi-Start Nearest Neighbor + 2-Opt) ---
-        List<? extends RoutablePoint> path = findOptimalRoute(routablePointsForTSP);
+        // --- ROUTE GENERATION (Multi-Start Nearest Neighbor + 2-Opt, hierarchical for large point sets) ---
+        List<? extends RoutablePoint> path = routeOptimizationService.findOptimalRoute(routablePointsForTSP);
         log.debug("Generated route with {} points", path.size());
 
         // Calculate score for the optimized path
@@ -325,9 +494,7 @@ public class PlannerService {
                     totalScore += Math.max(0, 25 - (distToExit / 20.0));
                 }
 
-                bestExit = (nearestExtraction.getName() != null && !nearestExtraction.getName().isBlank())
-                        ? nearestExtraction.getName()
-                        : "Extraction Point";
+                bestExit = extractionName(nearestExtraction);
                 extractionLat = nearestExtraction.getLat();
                 extractionLng = nearestExtraction.getLng();
                 log.debug("Selected extraction: {} at [{}, {}], distance: {}", bestExit, extractionLat, extractionLng,
@@ -337,154 +504,113 @@ public class PlannerService {
 
         // --- ENEMY PROXIMITY SCORING ---
         // Bonus points if route naturally passes near target enemy spawn points
-        if (!allTargetEnemiesOnMap.isEmpty()) {
-            double enemyScore = scoreEnemyProximity(path, allTargetEnemiesOnMap);
-            totalScore += enemyScore;
-        }
+        double[] spawnDistances = measureSpawnDistances(allTargetEnemiesOnMap, path);
+        totalScore += scoreEnemyProximity(map, allTargetEnemiesOnMap, path, spawnDistances);
 
-        // Convert enemy spawns to DTOs with proximity info
-        List<EnemySpawnDto> enemySpawnDtos = convertToEnemySpawnDtos(allTargetEnemiesOnMap, path, enemyTypeToItemNames);
-        return new RouteResult(totalScore, path, bestExit, extractionLat, extractionLng, enemySpawnDtos);
+        SpawnReport spawnReport = buildSpawnReport(allTargetEnemiesOnMap, spawnDistances, enemyTypeToItemNames, compactEnemySpawns);
+        return new RouteResult(totalScore, path, bestExit, extractionLat, extractionLng,
+                spawnReport.spawns(), spawnReport.offRouteSummary());
     }
 
-    // --- ROUTE OPTIMIZATION HELPERS ---
-
     /**
-     * Finds the optimal route using multi-start nearest-neighbor followed by 2-opt
-     * improvement.
-     * Tries starting from each point and picks the route with minimum total
-     * distance.
+     * Display name of an extraction marker, falling back to a generic label for unnamed markers.
      */
-    private List<? extends RoutablePoint> findOptimalRoute(List<? extends RoutablePoint> points) {
-        if (points.size() <= 2)
-            return new ArrayList<>(points);
-
-        List<? extends RoutablePoint> bestRoute = null;
-        double bestDistance = Double.MAX_VALUE;
-
-        // Try starting from each point
-        for (RoutablePoint startPoint : points) {
-            List<? extends RoutablePoint> route = nearestNeighborRoute(startPoint, points);
-            double totalDistance = calculateTotalDistance(route);
-
-            if (totalDistance < bestDistance) {
-                bestDistance = totalDistance;
-                bestRoute = route;
-            }
-        }
-
-        // Apply 2-opt optimization to eliminate crossings
-        return twoOptImprove(bestRoute);
+    private String extractionName(MapMarker extraction) {
+        return (extraction.getName() != null && !extraction.getName().isBlank())
+                ? extraction.getName()
+                : "Extraction Point";
     }
 
     /**
-     * Constructs a route using nearest-neighbor heuristic starting from a specific
-     * point.
+     * Measures each spawn's distance to the route, evaluating only spawns inside the proximity corridor.
+     * WHY: Most spawns are far from the route; a bounding-box test rejects them, and the remaining
+     * spawns are measured against every segment in one batch kernel call.
+     *
+     * @param enemies Target enemy spawn markers
+     * @param path    Route waypoints (RoutablePoints)
+     * @return Distance per spawn (same order as {@code enemies}), or infinity when outside the corridor
      */
-    private List<? extends RoutablePoint> nearestNeighborRoute(RoutablePoint start, List<? extends RoutablePoint> allPoints) {
-        List<RoutablePoint> route = new ArrayList<>();
-        Set<RoutablePoint> unvisited = new HashSet<>(allPoints);
-
-        RoutablePoint current = start;
-        route.add(current);
-        unvisited.remove(current);
-
-        while (!unvisited.isEmpty()) {
-            final RoutablePoint from = current;
-            RoutablePoint nearest = unvisited.stream()
-                    .min(Comparator.comparingDouble(a -> geometryService.distance(from, a)))
-                    .orElseThrow();
-
-            route.add(nearest);
-            unvisited.remove(nearest);
-            current = nearest;
+    private double[] measureSpawnDistances(List<MapMarker> enemies, List<? extends RoutablePoint> path) {
+        double[] distances = new double[enemies.size()];
+        Arrays.fill(distances, Double.POSITIVE_INFINITY);
+        if (path.isEmpty()) {
+            return distances;
         }
 
-        return route;
-    }
-
-    /**
-     * Calculates total Euclidean distance for a route.
-     */
-    private double calculateTotalDistance(List<? extends RoutablePoint> route) {
-        double total = 0;
-        for (int i = 0; i < route.size() - 1; i++) {
-            total += geometryService.distance(route.get(i), route.get(i + 1));
+        // Path bounding box padded by the corridor width - cheap reject before touching segments
+        double[] pathXs = new double[path.size()];
+        double[] pathYs = new double[path.size()];
+        double minX = Double.POSITIVE_INFINITY, maxX = Double.NEGATIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < path.size(); i++) {
+            RoutablePoint point = path.get(i);
+            pathXs[i] = point.getX();
+            pathYs[i] = point.getY();
+            minX = Math.min(minX, pathXs[i]);
+            maxX = Math.max(maxX, pathXs[i]);
+            minY = Math.min(minY, pathYs[i]);
+            maxY = Math.max(maxY, pathYs[i]);
         }
-        return total;
-    }
-
-    /**
-     * Improves route using 2-opt algorithm to eliminate edge crossings.
-     * Iteratively swaps edge pairs if it reduces total distance.
-     * WHY: Ensures routes don't zigzag unnecessarily (e.g., A→B→C when A→C→B is
-     * shorter)
-     */
-    private List<? extends RoutablePoint> twoOptImprove(List<? extends RoutablePoint> route) {
-        if (route.size() < 3)
-            return route;
-
-        List<RoutablePoint> improved = new ArrayList<>(route);
-        boolean foundImprovement = true;
-
-        while (foundImprovement) {
-            foundImprovement = false;
-
-            for (int i = 0; i < improved.size() - 2; i++) {
-                for (int j = i + 2; j < improved.size(); j++) {
-                    // Calculate current distance: i→(i+1) and j→(j+1)
-                    double currentDist = geometryService.distance(improved.get(i), improved.get(i + 1));
-                    if (j < improved.size() - 1) {
-                        currentDist += geometryService.distance(improved.get(j), improved.get(j + 1));
-                    }
-
-                    // Calculate swapped distance: i→j and (i+1)→(j+1)
-                    double swappedDist = geometryService.distance(improved.get(i), improved.get(j));
-                    if (j < improved.size() - 1) {
-                        swappedDist += geometryService.distance(improved.get(i + 1), improved.get(j + 1));
-                    }
-
-                    // If swap reduces distance, reverse the segment
-                    if (swappedDist < currentDist) {
-                        // Reverse segment from (i+1) to j
-                        List<RoutablePoint> newRoute = new ArrayList<>(improved.subList(0, i + 1));
-                        List<RoutablePoint> reversed = new ArrayList<>(improved.subList(i + 1, j + 1));
-                        Collections.reverse(reversed);
-                        newRoute.addAll(reversed);
-                        if (j + 1 < improved.size()) {
-                            newRoute.addAll(improved.subList(j + 1, improved.size()));
-                        }
-
-                        improved = newRoute;
-                        foundImprovement = true;
-                        break;
-                    }
-                }
-                if (foundImprovement)
-                    break;
+        minX -= PROXIMITY_THRESHOLD;
+        maxX += PROXIMITY_THRESHOLD;
+        minY -= PROXIMITY_THRESHOLD;
+        maxY += PROXIMITY_THRESHOLD;
+
+        // Pack spawns inside the corridor box into flat coordinate arrays for the batch kernel
+        int[] indices = new int[enemies.size()];
+        double[] xs = new double[enemies.size()];
+        double[] ys = new double[enemies.size()];
+        int candidates = 0;
+        for (int i = 0; i < enemies.size(); i++) {
+            MapMarker enemy = enemies.get(i);
+            double x = enemy.getX();
+            double y = enemy.getY();
+            if (x >= minX && x <= maxX && y >= minY && y <= maxY) {
+                indices[candidates] = i;
+                xs[candidates] = x;
+                ys[candidates] = y;
+                candidates++;
             }
         }
 
-        return improved;
+        double[] candidateDistances = new double[candidates];
+        GeometryKernels.minDistancesToPolyline(xs, ys, candidates, pathXs, pathYs, path.size(), candidateDistances);
+        for (int c = 0; c < candidates; c++) {
+            if (candidateDistances[c] <= PROXIMITY_THRESHOLD) {
+                distances[indices[c]] = candidateDistances[c];
+            }
+        }
+        return distances;
     }
 
     /**
      * Scores how well a route passes near target enemy spawn points.
      * WHY: Routes that naturally pass enemies are more efficient for combined
-     * loot+hunt missions
+     * loot+hunt missions. Uses the precomputed density grids when available,
+     * otherwise falls back to the exact per-spawn distances.
      *
-     * @param path    Route waypoints (RoutablePoints)
-     * @param enemies Target enemy spawn markers
+     * @param map            The map being planned
+     * @param enemies        Target enemy spawn markers on this map
+     * @param path           Route waypoints (RoutablePoints)
+     * @param spawnDistances Distances from {@link #measureSpawnDistances}
      * @return Proximity score bonus
      */
-    private double scoreEnemyProximity(List<? extends RoutablePoint> path, List<MapMarker> enemies) {
-        double score = 0;
-        final double PROXIMITY_THRESHOLD = 400.0; // Match the threshold used for onRoute detection
-
-        for (MapMarker enemy : enemies) {
-            // Calculate minimum distance to route path segments
-            double minDist = geometryService.distanceToRoutePath(enemy, path);
+    private double scoreEnemyProximity(GameMap map, List<MapMarker> enemies, List<? extends RoutablePoint> path,
+                                       double[] spawnDistances) {
+        if (enemies.isEmpty()) {
+            return 0;
+        }
+        Set<String> enemyTypes = enemies.stream()
+                .map(MapMarker::getSubcategory)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        OptionalDouble gridScore = enemyDensityIndex.scoreRouteExposure(map.getId(), enemyTypes, path);
+        if (gridScore.isPresent()) {
+            return gridScore.getAsDouble();
+        }
 
+        double score = 0;
+        for (double minDist : spawnDistances) {
             // Within proximity threshold = full points, drops off linearly
             if (minDist < PROXIMITY_THRESHOLD) {
                 score += PROXIMITY_THRESHOLD - minDist;
@@ -495,42 +621,70 @@ public class PlannerService {
 
     /**
      * Converts enemy spawn markers to DTOs with route proximity information.
-     * WHY: Frontend needs to display all spawns with highlighting for those near
-     * the route
+     * WHY: Frontend needs to display spawns with highlighting for those near the route.
+     * In compact mode only on-route spawns are returned in full; the rest are aggregated per type.
      *
-     * @param enemies All enemy spawns of selected types on this map
-     * @param path    The optimized loot route (List of RoutablePoints)
-     * @return List of EnemySpawnDto with onRoute status and distances
+     * @param enemies        All enemy spawns of selected types on this map
+     * @param spawnDistances Distances from {@link #measureSpawnDistances}
+     * @param compact        Whether to aggregate off-route spawns
+     * @return Spawn DTOs plus the off-route summary (empty unless compact)
      */
-    private List<EnemySpawnDto> convertToEnemySpawnDtos(List<MapMarker> enemies, List<? extends RoutablePoint> path, Map<String, List<String>> enemyTypeToItemNames) {
+    private SpawnReport buildSpawnReport(List<MapMarker> enemies, double[] spawnDistances,
+                                         Map<String, List<String>> enemyTypeToItemNames, boolean compact) {
         if (enemies.isEmpty()) {
-            return Collections.emptyList();
+            return new SpawnReport(Collections.emptyList(), Collections.emptyList());
         }
 
-        final double PROXIMITY_THRESHOLD = 400.0; // Units for considering a spawn "on route"
+        List<EnemySpawnDto> spawns = new ArrayList<>();
+        Map<String, List<MapMarker>> offRouteByType = new LinkedHashMap<>();
+        for (int i = 0; i < enemies.size(); i++) {
+            MapMarker enemy = enemies.get(i);
+            double distance = spawnDistances[i];
+            boolean onRoute = distance < PROXIMITY_THRESHOLD;
 
-        return enemies.stream()
-                .map(enemy -> {
-                    Double distanceToRoute = null;
-                    Boolean onRoute = false;
+            if (compact && !onRoute) {
+                offRouteByType.computeIfAbsent(enemy.getSubcategory(), k -> new ArrayList<>()).add(enemy);
+                continue;
+            }
 
-                    if (!path.isEmpty()) {
-                        // Calculate minimum distance from this spawn to the route path segments
-                        distanceToRoute = geometryService.distanceToRoutePath(enemy, path);
+            spawns.add(new EnemySpawnDto(
+                    enemy.getId(),
+                    enemy.getSubcategory(), // Enemy type (e.g., "sentinel")
+                    enemy.getGameMap().getName(),
+                    enemy.getLat(),
+                    enemy.getLng(),
+                    onRoute,
+                    Double.isFinite(distance) ? distance : null, // Only measured inside the corridor
+                    enemyTypeToItemNames.getOrDefault(enemy.getSubcategory(), Collections.emptyList())));
+        }
 
-                        onRoute = distanceToRoute < PROXIMITY_THRESHOLD;
-                    }
+        List<EnemySpawnSummaryDto> summary = offRouteByType.entrySet().stream()
+                .map(entry -> new EnemySpawnSummaryDto(
+                        entry.getKey(),
+                        entry.getValue().size(),
+                        clusterSpawns(entry.getValue()),
+                        enemyTypeToItemNames.getOrDefault(entry.getKey(), Collections.emptyList())))
+                .toList();
+        return new SpawnReport(spawns, summary);
+    }
 
-                    return new EnemySpawnDto(
-                            enemy.getId(),
-                            enemy.getSubcategory(), // Enemy type (e.g., "sentinel")
-                            enemy.getGameMap().getName(),
-                            enemy.getLat(),
-                            enemy.getLng(),
-                            onRoute,
-                            distanceToRoute,
-                            enemyTypeToItemNames.getOrDefault(enemy.getSubcategory(), Collections.emptyList()));
-                })
+    /**
+     * Buckets spawns into a coarse grid and returns one centroid per occupied cell.
+     * WHY: Linear-time approximation of spawn clusters - good enough to show where off-route enemies are.
+     */
+    private List<EnemySpawnSummaryDto.SpawnClusterDto> clusterSpawns(List<MapMarker> spawns) {
+        Map<Long, double[]> cells = new LinkedHashMap<>(); // cell key -> [sumLat, sumLng, count]
+        for (MapMarker spawn : spawns) {
+            long cellX = (long) Math.floor(spawn.getX() / SPAWN_CLUSTER_CELL_SIZE);
+            long cellY = (long) Math.floor(spawn.getY() / SPAWN_CLUSTER_CELL_SIZE);
+            double[] acc = cells.computeIfAbsent((cellX << 32) ^ (cellY & 0xffffffffL), k -> new double[3]);
+            acc[0] += spawn.getLat();
+            acc[1] += spawn.getLng();
+            acc[2]++;
+        }
+        return cells.values().stream()
+                .map(acc -> new EnemySpawnSummaryDto.SpawnClusterDto(acc[0] / acc[2], acc[1] / acc[2], (int) acc[2]))
+                .sorted(Comparator.comparingInt(EnemySpawnSummaryDto.SpawnClusterDto::count).reversed())
                 .toList();
     }
 
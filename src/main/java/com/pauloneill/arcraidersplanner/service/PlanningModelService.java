@@ -0,0 +1,156 @@
+package com.pauloneill.arcraidersplanner.service;
+
+import com.pauloneill.arcraidersplanner.dto.PlanningModelDto;
+import com.pauloneill.arcraidersplanner.model.Area;
+import com.pauloneill.arcraidersplanner.model.GameMap;
+import com.pauloneill.arcraidersplanner.model.LootType;
+import com.pauloneill.arcraidersplanner.model.MapMarker;
+import com.pauloneill.arcraidersplanner.repository.GameMapRepository;
+import com.pauloneill.arcraidersplanner.repository.MapMarkerRepository;
+import com.pauloneill.arcraidersplanner.service.DataVersionService.DataVersionChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * Compiles each map into a {@link PlanningModelDto} once per data version.
+ * WHY: Clients can cache the model (keyed by {@link #entityTag}) and re-plan locally;
+ * compiling it once per version keeps the endpoint cheap to serve.
+ */
+@Slf4j
+@Service
+public class PlanningModelService {
+
+    private static final int MAX_DISTANCE_STEP = 0xFFFF;
+
+    private final GameMapRepository gameMapRepository;
+    private final MapMarkerRepository mapMarkerRepository;
+    private final DataVersionService dataVersionService;
+    private final VersionedSnapshot<Map<Long, PlanningModelDto>> snapshot;
+
+    // Data versions restart at 1 on every boot, so tags also carry the boot time
+    private final String instanceTag = Long.toString(System.currentTimeMillis(), 36);
+
+    public PlanningModelService(GameMapRepository gameMapRepository, MapMarkerRepository mapMarkerRepository,
+                                DataVersionService dataVersionService) {
+        this.gameMapRepository = gameMapRepository;
+        this.mapMarkerRepository = mapMarkerRepository;
+        this.dataVersionService = dataVersionService;
+        this.snapshot = new VersionedSnapshot<>(dataVersionService, this::load);
+    }
+
+    /**
+     * @param mapId The map ID
+     * @return The compiled model for the current data version, or empty if the map does not exist
+     */
+    public Optional<PlanningModelDto> getModel(Long mapId) {
+        return Optional.ofNullable(snapshot.get().get(mapId));
+    }
+
+    /**
+     * @param model A model returned by {@link #getModel}
+     * @return Strong entity tag (without quotes) that changes whenever the model's data version does
+     */
+    public String entityTag(PlanningModelDto model) {
+        return "pm-" + model.mapId() + "-v" + model.dataVersion() + "-" + instanceTag;
+    }
+
+    @EventListener
+    public void onDataVersionChanged(DataVersionChangedEvent event) {
+        snapshot.get();
+    }
+
+    private Map<Long, PlanningModelDto> load() {
+        long version = dataVersionService.currentVersion();
+        Map<Long, PlanningModelDto> models = new HashMap<>();
+        for (GameMap map : gameMapRepository.findAllWithAreas()) {
+            models.put(map.getId(), compile(map, version));
+        }
+        log.info("Compiled planning models for {} maps (data version {})", models.size(), version);
+        return Map.copyOf(models);
+    }
+
+    private PlanningModelDto compile(GameMap map, long version) {
+        List<Area> areas = new ArrayList<>(map.getAreas());
+        areas.sort(Comparator.comparing(Area::getId, Comparator.nullsLast(Comparator.naturalOrder())));
+        List<MapMarker> exits = mapMarkerRepository.findByGameMapId(map.getId()).stream()
+                .filter(m -> "extraction".equalsIgnoreCase(m.getSubcategory()) || "hatch".equalsIgnoreCase(m.getSubcategory()))
+                .sorted(Comparator.comparing(MapMarker::getId))
+                .toList();
+
+        List<String> lootTypes = areas.stream()
+                .flatMap(area -> area.getLootTypes().stream())
+                .map(LootType::getName)
+                .distinct()
+                .sorted()
+                .toList();
+        Map<String, Integer> lootTypeBits = new HashMap<>();
+        lootTypes.forEach(name -> lootTypeBits.put(name, lootTypeBits.size()));
+        int words = Math.max(1, (lootTypes.size() + 31) / 32);
+
+        int n = areas.size() + exits.size();
+        List<String> ids = new ArrayList<>(n);
+        List<String> names = new ArrayList<>(n);
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        int[] masks = new int[n * words];
+        int[] flags = new int[n];
+
+        for (int i = 0; i < areas.size(); i++) {
+            Area area = areas.get(i);
+            ids.add("area:" + area.getId());
+            names.add(area.getName());
+            xs[i] = area.getX();
+            ys[i] = area.getY();
+            for (LootType lootType : area.getLootTypes()) {
+                int bit = lootTypeBits.get(lootType.getName());
+                masks[i * words + (bit >>> 5)] |= 1 << bit;
+            }
+            if (area.getLootAbundance() != null && area.getLootAbundance() == 1) {
+                flags[i] |= PlanningModelDto.FLAG_DANGER;
+            }
+        }
+        for (int e = 0; e < exits.size(); e++) {
+            MapMarker exit = exits.get(e);
+            int i = areas.size() + e;
+            boolean hatch = "hatch".equalsIgnoreCase(exit.getSubcategory());
+            ids.add((hatch ? "hatch:" : "extraction:") + exit.getId());
+            names.add(exit.getName());
+            xs[i] = exit.getX();
+            ys[i] = exit.getY();
+            flags[i] = hatch ? PlanningModelDto.FLAG_RAIDER_HATCH : PlanningModelDto.FLAG_EXTRACTION;
+        }
+
+        // Full distance matrix, one row per point via the batch kernel
+        double[] matrix = new double[n * n];
+        double[] row = new double[n];
+        double maxDistance = 0;
+        for (int i = 0; i < n; i++) {
+            GeometryKernels.distancesFrom(xs[i], ys[i], xs, ys, n, row);
+            System.arraycopy(row, 0, matrix, i * n, n);
+            for (double d : row) {
+                maxDistance = Math.max(maxDistance, d);
+            }
+        }
+        double scale = maxDistance > 0 ? maxDistance / MAX_DISTANCE_STEP : 1.0;
+        byte[] distances = new byte[n * n * 2];
+        for (int k = 0; k < matrix.length; k++) {
+            int step = (int) Math.min(MAX_DISTANCE_STEP, Math.round(matrix[k] / scale));
+            distances[2 * k] = (byte) step;
+            distances[2 * k + 1] = (byte) (step >>> 8);
+        }
+
+        return new PlanningModelDto(version, map.getId(), map.getName(), List.copyOf(ids), Collections.unmodifiableList(names),
+                toFloats(xs), toFloats(ys), lootTypes, words, masks, flags, scale, distances);
+    }
+
+    private static float[] toFloats(double[] values) {
+        float[] floats = new float[values.length];
+        for (int i = 0; i < values.length; i++) {
+            floats[i] = (float) values[i];
+        }
+        return floats;
+    }
+}
@@ -0,0 +1,458 @@
+package com.pauloneill.arcraidersplanner.service;
+
+import com.pauloneill.arcraidersplanner.dto.BillOfMaterialsDto;
+import com.pauloneill.arcraidersplanner.dto.BillOfMaterialsDto.BomLineDto;
+import com.pauloneill.arcraidersplanner.dto.CraftableRecipeDto;
+import com.pauloneill.arcraidersplanner.dto.CraftableRecipeDto.MissingIngredientDto;
+import com.pauloneill.arcraidersplanner.model.RecipeType;
+import com.pauloneill.arcraidersplanner.service.DataVersionService.DataVersionChangedEvent;
+import com.pauloneill.arcraidersplanner.service.ItemCatalogueIndex.CatalogueIngredient;
+import com.pauloneill.arcraidersplanner.service.ItemCatalogueIndex.CatalogueItem;
+import com.pauloneill.arcraidersplanner.service.ItemCatalogueIndex.CatalogueRecipe;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * Recipe dependency graph (Recipe → ingredient Item → that item's own Recipe) compiled into
+ * int-indexed arrays once per data version, with every recipe's full bill of materials memoised.
+ * WHY: Expanding a crafting tree used to cost one repository lookup per ingredient per level.
+ * Compiling the graph at sync time makes a full recursive expansion a handful of array additions.
+ * The same arrays carry an inverted item → recipes index for "what can I craft" queries.
+ */
+@Slf4j
+@Component
+public class RecipeGraph {
+
+    private final ItemCatalogueIndex itemCatalogueIndex;
+    private final VersionedSnapshot<Compiled> snapshot;
+
+    public RecipeGraph(ItemCatalogueIndex itemCatalogueIndex, DataVersionService dataVersionService) {
+        this.itemCatalogueIndex = itemCatalogueIndex;
+        this.snapshot = new VersionedSnapshot<>(dataVersionService, this::compile);
+    }
+
+    /**
+     * Sparse item → quantity vector, in item index order.
+     */
+    private record Sparse(int[] items, long[] quantities) {
+    }
+
+    /**
+     * Memoised expansion of one recipe.
+     *
+     * @param raw           Non-craftable leaves per single craft
+     * @param intermediates Craftable components made along the way per single craft
+     * @param cyclicCuts    Indexes of cyclic recipes whose items were counted as raw instead of expanded
+     */
+    private record Expansion(Sparse raw, Sparse intermediates, int[] cyclicCuts) {
+    }
+
+    /**
+     * @param itemRecipe        Item index → index of the recipe producing it, or -1
+     * @param ingredientStart   Recipe r's ingredients occupy [ingredientStart[r], ingredientStart[r + 1]),
+     *                          with at most one entry per item
+     * @param requiredQuantity  Recipe index → sum of its ingredient quantities
+     * @param useStart          Item i's uses occupy [useStart[i], useStart[i + 1]) of useRecipe/useQuantity
+     * @param buildOrder        Recipe indexes with every dependency before its dependants
+     */
+    record Compiled(Long[] itemIds, String[] itemNames, Map<Long, Integer> itemIndexById,
+                    Long[] recipeIds, String[] recipeMetaforgeIds, String[] recipeNames,
+                    RecipeType[] recipeTypes, Map<Long, Integer> recipeIndexById,
+                    int[] itemRecipe,
+                    int[] ingredientStart, int[] ingredientItem, int[] ingredientQuantity,
+                    long[] requiredQuantity, int[] useStart, int[] useRecipe, int[] useQuantity,
+                    boolean[] cyclic, int[] buildOrder, Expansion[] expansions) {
+    }
+
+    /**
+     * Aggregates the fully expanded bill of materials for a set of target recipes.
+     *
+     * @param recipeIds Target recipe IDs; repeating an ID counts it as another craft
+     * @return Raw materials and intermediates summed over all targets
+     */
+    public BillOfMaterialsDto billOfMaterials(List<Long> recipeIds) {
+        Compiled graph = snapshot.get();
+        Accumulator raw = new Accumulator(graph.itemIds().length);
+        Accumulator intermediates = new Accumulator(graph.itemIds().length);
+        SortedSet<Long> cyclicRecipeIds = new TreeSet<>();
+        List<Long> expanded = new ArrayList<>();
+        Set<Long> unknown = new LinkedHashSet<>();
+
+        for (Long recipeId : recipeIds) {
+            Integer r = recipeId != null ? graph.recipeIndexById().get(recipeId) : null;
+            if (r == null) {
+                unknown.add(recipeId);
+                continue;
+            }
+            expanded.add(recipeId);
+            Expansion expansion = graph.expansions()[r];
+            raw.addAll(expansion.raw(), 1);
+            intermediates.addAll(expansion.intermediates(), 1);
+            if (graph.cyclic()[r]) {
+                cyclicRecipeIds.add(recipeId);
+            }
+            for (int cut : expansion.cyclicCuts()) {
+                cyclicRecipeIds.add(graph.recipeIds()[cut]);
+            }
+        }
+
+        return new BillOfMaterialsDto(expanded, toLines(graph, raw.drain()), toLines(graph, intermediates.drain()),
+                List.copyOf(unknown), List.copyOf(cyclicRecipeIds));
+    }
+
+    /**
+     * Finds the recipes an inventory completes or nearly completes.
+     * Only recipes sharing at least one ingredient with the inventory are considered, found via the
+     * inverted index, so cost scales with the inventory size rather than the recipe count.
+     *
+     * @param inventory  Item ID → quantity held; unknown items and non-positive quantities are ignored
+     * @param maxMissing Largest total missing quantity a recipe may have and still be returned
+     * @param limit      Maximum recipes returned
+     * @return Recipes ranked by missing quantity, then by name
+     */
+    public List<CraftableRecipeDto> craftable(Map<Long, Integer> inventory, long maxMissing, int limit) {
+        Compiled graph = snapshot.get();
+        int[] held = new int[graph.itemIds().length];
+        int[] heldItems = new int[Math.min(inventory.size(), held.length)];
+        int heldCount = 0;
+        for (Map.Entry<Long, Integer> entry : inventory.entrySet()) {
+            Integer item = entry.getKey() != null ? graph.itemIndexById().get(entry.getKey()) : null;
+            if (item == null || entry.getValue() == null || entry.getValue() <= 0) {
+                continue;
+            }
+            if (held[item] == 0) {
+                heldItems[heldCount++] = item;
+            }
+            held[item] = entry.getValue();
+        }
+
+        // Scatter each held item's contribution into the recipes that use it
+        long[] covered = new long[graph.recipeIds().length];
+        int[] touched = new int[covered.length];
+        int touchedCount = 0;
+        for (int k = 0; k < heldCount; k++) {
+            int item = heldItems[k];
+            for (int u = graph.useStart()[item]; u < graph.useStart()[item + 1]; u++) {
+                int recipe = graph.useRecipe()[u];
+                if (covered[recipe] == 0) {
+                    touched[touchedCount++] = recipe;
+                }
+                covered[recipe] += Math.min(held[item], graph.useQuantity()[u]);
+            }
+        }
+
+        List<Integer> candidates = new ArrayList<>();
+        for (int k = 0; k < touchedCount; k++) {
+            int recipe = touched[k];
+            if (graph.requiredQuantity()[recipe] - covered[recipe] <= maxMissing) {
+                candidates.add(recipe);
+            }
+        }
+        candidates.sort(Comparator.<Integer>comparingLong(r -> graph.requiredQuantity()[r] - covered[r])
+                .thenComparing(r -> graph.recipeNames()[r], Comparator.nullsLast(Comparator.naturalOrder())));
+
+        List<CraftableRecipeDto> results = new ArrayList<>(Math.min(limit, candidates.size()));
+        for (int recipe : candidates.subList(0, Math.min(limit, candidates.size()))) {
+            List<MissingIngredientDto> missing = new ArrayList<>();
+            for (int e = graph.ingredientStart()[recipe]; e < graph.ingredientStart()[recipe + 1]; e++) {
+                int item = graph.ingredientItem()[e];
+                int shortfall = graph.ingredientQuantity()[e] - held[item];
+                if (shortfall > 0) {
+                    missing.add(new MissingIngredientDto(graph.itemIds()[item], graph.itemNames()[item], shortfall));
+                }
+            }
+            missing.sort(Comparator.comparing(MissingIngredientDto::itemName, Comparator.nullsLast(Comparator.naturalOrder())));
+            long missingQuantity = graph.requiredQuantity()[recipe] - covered[recipe];
+            results.add(new CraftableRecipeDto(graph.recipeIds()[recipe], graph.recipeMetaforgeIds()[recipe],
+                    graph.recipeNames()[recipe], graph.recipeTypes()[recipe], missingQuantity == 0,
+                    missingQuantity, graph.requiredQuantity()[recipe], missing));
+        }
+        return results;
+    }
+
+    /**
+     * @return The compiled arrays for the current data version, for solvers that walk the graph directly
+     */
+    Compiled compiled() {
+        return snapshot.get();
+    }
+
+    /**
+     * @return Recipe IDs ordered so that every recipe comes after the recipes of its ingredients
+     */
+    public List<Long> buildOrder() {
+        Compiled graph = snapshot.get();
+        List<Long> order = new ArrayList<>(graph.buildOrder().length);
+        for (int r : graph.buildOrder()) {
+            order.add(graph.recipeIds()[r]);
+        }
+        return order;
+    }
+
+    @EventListener
+    public void onDataVersionChanged(DataVersionChangedEvent event) {
+        snapshot.get();
+    }
+
+    private List<BomLineDto> toLines(Compiled graph, Sparse vector) {
+        List<BomLineDto> lines = new ArrayList<>(vector.items().length);
+        for (int k = 0; k < vector.items().length; k++) {
+            int item = vector.items()[k];
+            lines.add(new BomLineDto(graph.itemIds()[item], graph.itemNames()[item], vector.quantities()[k]));
+        }
+        lines.sort(Comparator.comparing(BomLineDto::itemName, Comparator.nullsLast(Comparator.naturalOrder())));
+        return lines;
+    }
+
+    private Compiled compile() {
+        // Dense item indexes: catalogue items first, then any ingredient the catalogue dropped (duplicate names)
+        List<Long> itemIds = new ArrayList<>();
+        List<String> itemNames = new ArrayList<>();
+        Map<Long, Integer> itemIndexById = new HashMap<>();
+        Map<String, Integer> itemIndexByMetaforgeId = new HashMap<>();
+        for (CatalogueItem item : itemCatalogueIndex.getItems()) {
+            int index = itemIds.size();
+            itemIds.add(item.id());
+            itemNames.add(item.name());
+            itemIndexById.put(item.id(), index);
+            if (item.metaforgeId() != null) {
+                itemIndexByMetaforgeId.putIfAbsent(item.metaforgeId(), index);
+            }
+        }
+
+        List<CatalogueRecipe> recipes = List.copyOf(itemCatalogueIndex.getRecipes());
+        int recipeCount = recipes.size();
+        Long[] recipeIds = new Long[recipeCount];
+        String[] recipeMetaforgeIds = new String[recipeCount];
+        String[] recipeNames = new String[recipeCount];
+        RecipeType[] recipeTypes = new RecipeType[recipeCount];
+        Map<Long, Integer> recipeIndexById = new HashMap<>();
+        List<Map<Integer, Integer>> mergedIngredients = new ArrayList<>(recipeCount);
+        int[] ingredientStart = new int[recipeCount + 1];
+        for (int r = 0; r < recipeCount; r++) {
+            CatalogueRecipe recipe = recipes.get(r);
+            recipeIds[r] = recipe.id();
+            recipeMetaforgeIds[r] = recipe.metaforgeItemId();
+            recipeNames[r] = recipe.name();
+            recipeTypes[r] = recipe.type();
+            recipeIndexById.put(recipe.id(), r);
+            // Merge repeated items and drop zero quantities so each (recipe, item) pair is one edge
+            Map<Integer, Integer> merged = new LinkedHashMap<>();
+            for (CatalogueIngredient ingredient : recipe.ingredients()) {
+                if (!itemIndexById.containsKey(ingredient.itemId())) {
+                    itemIndexById.put(ingredient.itemId(), itemIds.size());
+                    itemIds.add(ingredient.itemId());
+                    itemNames.add(ingredient.itemName());
+                }
+                if (ingredient.quantity() > 0) {
+                    merged.merge(itemIndexById.get(ingredient.itemId()), ingredient.quantity(), Integer::sum);
+                }
+            }
+            mergedIngredients.add(merged);
+            ingredientStart[r + 1] = ingredientStart[r] + merged.size();
+        }
+
+        int itemCount = itemIds.size();
+        int edgeCount = ingredientStart[recipeCount];
+        int[] ingredientItem = new int[edgeCount];
+        int[] ingredientQuantity = new int[edgeCount];
+        long[] requiredQuantity = new long[recipeCount];
+        int[] useStart = new int[itemCount + 1];
+        int[] itemRecipe = new int[itemCount];
+        Arrays.fill(itemRecipe, -1);
+        for (int r = 0; r < recipeCount; r++) {
+            int e = ingredientStart[r];
+            for (Map.Entry<Integer, Integer> ingredient : mergedIngredients.get(r).entrySet()) {
+                ingredientItem[e] = ingredient.getKey();
+                ingredientQuantity[e] = ingredient.getValue();
+                requiredQuantity[r] += ingredient.getValue();
+                useStart[ingredient.getKey() + 1]++;
+                e++;
+            }
+            // API-created recipes have no Metaforge ID, so they can be expanded by ID but never craft an ingredient
+            Integer output = itemIndexByMetaforgeId.get(recipes.get(r).metaforgeItemId());
+            if (output != null) {
+                itemRecipe[output] = r;
+            }
+        }
+
+        // Transpose the ingredient CSR into the item → recipes inverted index
+        for (int i = 0; i < itemCount; i++) {
+            useStart[i + 1] += useStart[i];
+        }
+        int[] useRecipe = new int[edgeCount];
+        int[] useQuantity = new int[edgeCount];
+        int[] fill = Arrays.copyOf(useStart, itemCount);
+        for (int r = 0; r < recipeCount; r++) {
+            for (int e = ingredientStart[r]; e < ingredientStart[r + 1]; e++) {
+                int slot = fill[ingredientItem[e]]++;
+                useRecipe[slot] = r;
+                useQuantity[slot] = ingredientQuantity[e];
+            }
+        }
+
+        Tarjan tarjan = new Tarjan(recipeCount, itemRecipe, ingredientStart, ingredientItem);
+        for (int r = 0; r < recipeCount; r++) {
+            if (tarjan.index[r] < 0) {
+                tarjan.strongConnect(r);
+            }
+        }
+
+        // Children-first order means every expandable ingredient's expansion already exists
+        Expansion[] expansions = new Expansion[recipeCount];
+        Accumulator raw = new Accumulator(itemCount);
+        Accumulator intermediates = new Accumulator(itemCount);
+        BitSet cuts = new BitSet(recipeCount);
+        int cyclicCount = 0;
+        for (int r : tarjan.order) {
+            if (tarjan.cyclic[r]) {
+                cyclicCount++;
+            }
+            for (int e = ingredientStart[r]; e < ingredientStart[r + 1]; e++) {
+                int item = ingredientItem[e];
+                long quantity = ingredientQuantity[e];
+                int sub = itemRecipe[item];
+                if (sub >= 0 && !tarjan.cyclic[sub]) {
+                    Expansion child = expansions[sub];
+                    intermediates.add(item, quantity);
+                    raw.addAll(child.raw(), quantity);
+                    intermediates.addAll(child.intermediates(), quantity);
+                    for (int cut : child.cyclicCuts()) {
+                        cuts.set(cut);
+                    }
+                } else {
+                    // Non-craftable, or expanding it would re-enter a cycle
+                    raw.add(item, quantity);
+                    if (sub >= 0) {
+                        cuts.set(sub);
+                    }
+                }
+            }
+            expansions[r] = new Expansion(raw.drain(), intermediates.drain(), cuts.stream().toArray());
+            cuts.clear();
+        }
+
+        log.info("Compiled recipe graph: {} recipes, {} items, {} ingredient edges, {} recipes on cycles",
+                recipeCount, itemCount, edgeCount, cyclicCount);
+        return new Compiled(itemIds.toArray(Long[]::new), itemNames.toArray(String[]::new), Map.copyOf(itemIndexById),
+                recipeIds, recipeMetaforgeIds, recipeNames, recipeTypes, Map.copyOf(recipeIndexById), itemRecipe,
+                ingredientStart, ingredientItem, ingredientQuantity,
+                requiredQuantity, useStart, useRecipe, useQuantity,
+                tarjan.cyclic, tarjan.order, expansions);
+    }
+
+    /**
+     * Tarjan's strongly connected components over recipe → ingredient recipe edges.
+     * Components are emitted dependencies-first, which doubles as the topological build order.
+     */
+    private static final class Tarjan {
+        private final int[] itemRecipe;
+        private final int[] ingredientStart;
+        private final int[] ingredientItem;
+        private final int[] index;
+        private final int[] low;
+        private final boolean[] onStack;
+        private final int[] stack;
+        private final boolean[] cyclic;
+        private final int[] order;
+        private int stackSize;
+        private int orderSize;
+        private int counter;
+
+        Tarjan(int recipeCount, int[] itemRecipe, int[] ingredientStart, int[] ingredientItem) {
+            this.itemRecipe = itemRecipe;
+            this.ingredientStart = ingredientStart;
+            this.ingredientItem = ingredientItem;
+            this.index = new int[recipeCount];
+            this.low = new int[recipeCount];
+            this.onStack = new boolean[recipeCount];
+            this.stack = new int[recipeCount];
+            this.cyclic = new boolean[recipeCount];
+            this.order = new int[recipeCount];
+            Arrays.fill(index, -1);
+        }
+
+        void strongConnect(int v) {
+            index[v] = counter;
+            low[v] = counter;
+            counter++;
+            stack[stackSize++] = v;
+            onStack[v] = true;
+
+            boolean selfLoop = false;
+            for (int e = ingredientStart[v]; e < ingredientStart[v + 1]; e++) {
+                int w = itemRecipe[ingredientItem[e]];
+                if (w < 0) {
+                    continue;
+                }
+                if (w == v) {
+                    selfLoop = true;
+                } else if (index[w] < 0) {
+                    strongConnect(w);
+                    low[v] = Math.min(low[v], low[w]);
+                } else if (onStack[w]) {
+                    low[v] = Math.min(low[v], index[w]);
+                }
+            }
+
+            if (low[v] == index[v]) {
+                int top = stackSize;
+                int w;
+                do {
+                    w = stack[--stackSize];
+                    onStack[w] = false;
+                } while (w != v);
+                boolean onCycle = top - stackSize > 1 || selfLoop;
+                for (int k = stackSize; k < top; k++) {
+                    cyclic[stack[k]] = onCycle;
+                    order[orderSize++] = stack[k];
+                }
+            }
+        }
+    }
+
+    /**
+     * Dense accumulator that remembers which slots it touched so draining stays proportional to the result.
+     */
+    private static final class Accumulator {
+        private final long[] totals;
+        private final int[] touched;
+        private int touchedCount;
+
+        Accumulator(int size) {
+            this.totals = new long[size];
+            this.touched = new int[size];
+        }
+
+        void add(int item, long quantity) {
+            if (quantity <= 0) {
+                return;
+            }
+            if (totals[item] == 0) {
+                touched[touchedCount++] = item;
+            }
+            totals[item] += quantity;
+        }
+
+        void addAll(Sparse vector, long multiplier) {
+            for (int k = 0; k < vector.items().length; k++) {
+                add(vector.items()[k], vector.quantities()[k] * multiplier);
+            }
+        }
+
+        Sparse drain() {
+            int[] items = Arrays.copyOf(touched, touchedCount);
+            Arrays.sort(items);
+            long[] quantities = new long[items.length];
+            for (int k = 0; k < items.length; k++) {
+                quantities[k] = totals[items[k]];
+                totals[items[k]] = 0;
+            }
+            touchedCount = 0;
+            return new Sparse(items, quantities);
+        }
+    }
+}
@@ -0,0 +1,528 @@
+package com.pauloneill.arcraidersplanner.service;
+
+import com.pauloneill.arcraidersplanner.model.RoutablePoint;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * Service for ordering routable points into a short visiting path (open TSP).
+ * WHY: Extracted from PlannerService so routing algorithms can grow (hierarchical mode,
+ * multi-player splitting) without bloating the scoring logic.
+ * <p>
+ * Small point sets use multi-start nearest-neighbor + 2-opt. Large sets (many container
+ * groups, enemies and areas) switch to cluster-first, route-second planning, which keeps
+ * latency near-linear in the number of points.
+ */
+@Slf4j
+@Service
+public class RouteOptimizationService {
+
+    private static final int KMEANS_ITERATIONS = 10;
+    private static final int SEAM_WINDOW = 6; // Points on each side of a cluster seam re-optimised after stitching
+
+    private final GeometryService geometryService;
+    private final int clusterThreshold;
+    private final int targetClusterSize;
+
+    public RouteOptimizationService(GeometryService geometryService,
+                                    @Value("${app.planner.cluster-threshold:40}") int clusterThreshold,
+                                    @Value("${app.planner.cluster-size:12}") int targetClusterSize) {
+        this.geometryService = geometryService;
+        this.clusterThreshold = clusterThreshold;
+        this.targetClusterSize = Math.max(2, targetClusterSize);
+    }
+
+    /**
+     * Finds a short route through all points.
+     * WHY: Chooses the flat solver for small inputs (best quality) and the hierarchical
+     * solver once the O(n³) multi-start search becomes the planner bottleneck.
+     *
+     * @param points Points to visit
+     * @return The points in visiting order
+     */
+    public List<RoutablePoint> findOptimalRoute(List<? extends RoutablePoint> points) {
+        if (points.size() > clusterThreshold) {
+            return findHierarchicalRoute(points);
+        }
+        return findFlatRoute(points);
+    }
+
+    /**
+     * Finds the optimal route using multi-start nearest-neighbor followed by 2-opt
+     * improvement.
+     * Tries starting from each point and picks the route with minimum total
+     * distance.
+     */
+    public List<RoutablePoint> findFlatRoute(List<? extends RoutablePoint> points) {
+        if (points.size() <= 2)
+            return new ArrayList<>(points);
+
+        List<RoutablePoint> bestRoute = null;
+        double bestDistance = Double.MAX_VALUE;
+
+        // Try starting from each point
+        for (RoutablePoint startPoint : points) {
+            List<RoutablePoint> route = nearestNeighborRoute(startPoint, points);
+            double totalDistance = calculateTotalDistance(route);
+
+            if (totalDistance < bestDistance) {
+                bestDistance = totalDistance;
+                bestRoute = route;
+            }
+        }
+
+        // Apply 2-opt optimization to eliminate crossings
+        return twoOptImprove(bestRoute, 0, bestRoute.size());
+    }
+
+    /**
+     * Cluster-first, route-second planning.
+     * 1. Partition points into spatial super-clusters (k-means).
+     * 2. Solve the tour over cluster centroids.
+     * 3. Solve each cluster independently (in parallel), entering from the previous cluster.
+     * 4. Stitch the sub-routes and re-optimise a window around each seam.
+     * WHY: Each sub-problem stays small, so total cost grows roughly linearly with point count.
+     */
+    public List<RoutablePoint> findHierarchicalRoute(List<? extends RoutablePoint> points) {
+        int clusterCount = (int) Math.ceil(points.size() / (double) targetClusterSize);
+        if (clusterCount < 2) {
+            return findFlatRoute(points);
+        }
+
+        List<List<RoutablePoint>> clusters = partition(points, clusterCount);
+
+        // Solve the inter-cluster tour over centroids
+        List<Centroid> centroids = new ArrayList<>();
+        for (int i = 0; i < clusters.size(); i++) {
+            centroids.add(Centroid.of(i, clusters.get(i)));
+        }
+        List<RoutablePoint> clusterOrder = findFlatRoute(centroids);
+
+        // Solve each cluster in parallel, entering from the side facing the previous cluster
+        List<List<RoutablePoint>> subRoutes = IntStream.range(0, clusterOrder.size())
+                .parallel()
+                .mapToObj(position -> {
+                    Centroid current = (Centroid) clusterOrder.get(position);
+                    RoutablePoint previous = position > 0 ? clusterOrder.get(position - 1) : null;
+                    RoutablePoint next = position < clusterOrder.size() - 1 ? clusterOrder.get(position + 1) : null;
+                    return solveCluster(clusters.get(current.index()), previous, next);
+                })
+                .toList();
+
+        List<RoutablePoint> stitched = new ArrayList<>(points.size());
+        List<Integer> seams = new ArrayList<>();
+        for (List<RoutablePoint> subRoute : subRoutes) {
+            if (!stitched.isEmpty()) {
+                seams.add(stitched.size());
+            }
+            stitched.addAll(subRoute);
+        }
+
+        // Boundary optimisation: local 2-opt around each seam
+        List<RoutablePoint> result = stitched;
+        for (int seam : seams) {
+            result = twoOptImprove(result, Math.max(0, seam - SEAM_WINDOW), Math.min(result.size(), seam + SEAM_WINDOW));
+        }
+
+        log.debug("Hierarchical route: {} points in {} clusters", points.size(), clusters.size());
+        return result;
+    }
+
+    /**
+     * Result of splitting a route across a squad.
+     *
+     * @param tours       One visiting order per player (extraction not included)
+     * @param extraction  Common extraction all tours end at, or null if none was available
+     * @param longestTour Length of the longest tour including the final leg to extraction
+     */
+    public record SquadSplit(List<List<RoutablePoint>> tours, RoutablePoint extraction, double longestTour) {
+    }
+
+    /**
+     * Splits a giant tour into one sub-tour per player, minimising the longest sub-tour, with all
+     * sub-tours ending at a common extraction (route-first, cluster-second).
+     * WHY: Cutting an already-short giant tour into contiguous segments keeps each player's points
+     * spatially coherent; an exact min-max DP over cut positions balances the workload.
+     *
+     * @param giantTour   All points in a good single-player visiting order
+     * @param players     Number of players
+     * @param extractions Candidate extraction points (the best one for the split is chosen)
+     * @return Per-player tours, each re-solved in parallel, and the chosen extraction
+     */
+    public SquadSplit splitIntoSquadTours(List<? extends RoutablePoint> giantTour, int players,
+                                          List<? extends RoutablePoint> extractions) {
+        List<RoutablePoint> tour = List.copyOf(giantTour);
+        List<RoutablePoint> candidates = extractions.isEmpty()
+                ? Collections.singletonList(null)
+                : new ArrayList<>(extractions);
+
+        RoutablePoint bestExtraction = null;
+        int[] bestCuts = null;
+        double bestLongest = Double.MAX_VALUE;
+        for (RoutablePoint extraction : candidates) {
+            int[] cuts = new int[players + 1];
+            double longest = splitMinMax(tour, players, extraction, cuts);
+            if (longest < bestLongest) {
+                bestLongest = longest;
+                bestCuts = cuts;
+                bestExtraction = extraction;
+            }
+        }
+
+        // Re-solve each segment independently now that its end point is fixed
+        final int[] cuts = bestCuts;
+        final RoutablePoint extraction = bestExtraction;
+        List<List<RoutablePoint>> tours = IntStream.range(0, players)
+                .parallel()
+                .mapToObj(k -> solveTourEndingAt(tour.subList(cuts[k], cuts[k + 1]), extraction))
+                .toList();
+
+        double longest = tours.stream().mapToDouble(t -> tourLength(t, extraction)).max().orElse(0);
+        log.debug("Squad split: {} points across {} players, longest tour {}", tour.size(), players, longest);
+        return new SquadSplit(tours, extraction, longest);
+    }
+
+    /**
+     * Length of a tour plus its final leg to the extraction.
+     */
+    public double tourLength(List<? extends RoutablePoint> tour, RoutablePoint extraction) {
+        double length = calculateTotalDistance(tour);
+        if (extraction != null && !tour.isEmpty()) {
+            length += geometryService.distance(tour.getLast(), extraction);
+        }
+        return length;
+    }
+
+    /**
+     * Min-max partition of a tour into {@code players} contiguous (possibly empty) segments.
+     * A segment's cost is its path length plus the leg from whichever end is closer to the extraction.
+     *
+     * @param cuts Output: segment k covers tour indices [cuts[k], cuts[k+1])
+     * @return The longest segment cost
+     */
+    private double splitMinMax(List<RoutablePoint> tour, int players, RoutablePoint extraction, int[] cuts) {
+        int n = tour.size();
+        double[] prefix = new double[n];
+        for (int i = 1; i < n; i++) {
+            prefix[i] = prefix[i - 1] + geometryService.distance(tour.get(i - 1), tour.get(i));
+        }
+        double[] toExit = new double[n];
+        for (int i = 0; i < n; i++) {
+            toExit[i] = extraction != null ? geometryService.distance(tour.get(i), extraction) : 0;
+        }
+
+        // best[k][j]: minimal longest segment when k players cover the first j points
+        double[][] best = new double[players + 1][n + 1];
+        int[][] choice = new int[players + 1][n + 1];
+        for (double[] row : best) {
+            Arrays.fill(row, Double.MAX_VALUE);
+        }
+        best[0][0] = 0;
+        for (int k = 1; k <= players; k++) {
+            for (int j = 0; j <= n; j++) {
+                for (int i = 0; i <= j; i++) {
+                    if (best[k - 1][i] == Double.MAX_VALUE) {
+                        continue;
+                    }
+                    double segment = i == j ? 0 : prefix[j - 1] - prefix[i] + Math.min(toExit[i], toExit[j - 1]);
+                    double longest = Math.max(best[k - 1][i], segment);
+                    if (longest < best[k][j]) {
+                        best[k][j] = longest;
+                        choice[k][j] = i;
+                    }
+                }
+            }
+        }
+
+        cuts[players] = n;
+        for (int k = players; k > 0; k--) {
+            cuts[k - 1] = choice[k][cuts[k]];
+        }
+        return best[players][n];
+    }
+
+    /**
+     * Routes a segment so that it finishes next to the extraction.
+     */
+    private List<RoutablePoint> solveTourEndingAt(List<RoutablePoint> points, RoutablePoint extraction) {
+        if (points.isEmpty()) {
+            return Collections.emptyList();
+        }
+        if (extraction == null) {
+            return findOptimalRoute(points);
+        }
+        if (points.size() > clusterThreshold) {
+            List<RoutablePoint> route = new ArrayList<>(findOptimalRoute(points));
+            if (geometryService.distance(route.getFirst(), extraction) < geometryService.distance(route.getLast(), extraction)) {
+                Collections.reverse(route);
+            }
+            return route;
+        }
+
+        // Build backwards from the extraction; 2-opt never moves index 0, so the extraction stays fixed
+        List<RoutablePoint> withExit = new ArrayList<>(points.size() + 1);
+        withExit.add(extraction);
+        withExit.addAll(points);
+        List<RoutablePoint> route = twoOptImprove(nearestNeighborRoute(extraction, withExit), 0, withExit.size());
+        Collections.reverse(route);
+        route.removeLast();
+        return route;
+    }
+
+    /**
+     * Calculates total Euclidean distance for a route.
+     */
+    public double calculateTotalDistance(List<? extends RoutablePoint> route) {
+        double total = 0;
+        for (int i = 0; i < route.size() - 1; i++) {
+            total += geometryService.distance(route.get(i), route.get(i + 1));
+        }
+        return total;
+    }
+
+    /**
+     * Routes one cluster. Later clusters start at the point closest to the previous cluster;
+     * the first cluster has no entry constraint and is oriented to end facing the next one.
+     */
+    private List<RoutablePoint> solveCluster(List<RoutablePoint> cluster, RoutablePoint previous, RoutablePoint next) {
+        if (cluster.size() <= 1) {
+            return cluster;
+        }
+
+        List<RoutablePoint> route;
+        if (previous == null) {
+            route = findFlatRoute(cluster);
+        } else {
+            RoutablePoint entry = cluster.stream()
+                    .min(Comparator.comparingDouble(p -> geometryService.distance(previous, p)))
+                    .orElseThrow();
+            // 2-opt never moves index 0, so the entry point stays fixed
+            route = twoOptImprove(nearestNeighborRoute(entry, cluster), 0, cluster.size());
+        }
+
+        if (next != null && previous == null) {
+            // First cluster: free orientation, end at the side facing the next cluster
+            double forward = geometryService.distance(route.getLast(), next);
+            double backward = geometryService.distance(route.getFirst(), next);
+            if (backward < forward) {
+                route = new ArrayList<>(route);
+                Collections.reverse(route);
+            }
+        }
+        return route;
+    }
+
+    /**
+     * Partitions points into spatial clusters with a deterministic k-means.
+     * WHY: Farthest-point seeding keeps results reproducible between requests.
+     */
+    private List<List<RoutablePoint>> partition(List<? extends RoutablePoint> points, int k) {
+        int n = points.size();
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        for (int i = 0; i < n; i++) {
+            xs[i] = points.get(i).getX();
+            ys[i] = points.get(i).getY();
+        }
+
+        // Farthest-point seeding
+        double[] cx = new double[k];
+        double[] cy = new double[k];
+        double[] nearestSeedDist = new double[n];
+        Arrays.fill(nearestSeedDist, Double.MAX_VALUE);
+        int seed = 0;
+        for (int c = 0; c < k; c++) {
+            cx[c] = xs[seed];
+            cy[c] = ys[seed];
+            int farthest = 0;
+            for (int i = 0; i < n; i++) {
+                double d = squared(xs[i] - cx[c], ys[i] - cy[c]);
+                if (d < nearestSeedDist[i]) {
+                    nearestSeedDist[i] = d;
+                }
+                if (nearestSeedDist[i] > nearestSeedDist[farthest]) {
+                    farthest = i;
+                }
+            }
+            seed = farthest;
+        }
+
+        // Lloyd iterations
+        int[] assignment = new int[n];
+        for (int iteration = 0; iteration < KMEANS_ITERATIONS; iteration++) {
+            boolean changed = false;
+            for (int i = 0; i < n; i++) {
+                int best = 0;
+                double bestDist = Double.MAX_VALUE;
+                for (int c = 0; c < k; c++) {
+                    double d = squared(xs[i] - cx[c], ys[i] - cy[c]);
+                    if (d < bestDist) {
+                        bestDist = d;
+                        best = c;
+                    }
+                }
+                if (iteration == 0 || assignment[i] != best) {
+                    changed = true;
+                    assignment[i] = best;
+                }
+            }
+            double[] sumX = new double[k];
+            double[] sumY = new double[k];
+            int[] counts = new int[k];
+            for (int i = 0; i < n; i++) {
+                sumX[assignment[i]] += xs[i];
+                sumY[assignment[i]] += ys[i];
+                counts[assignment[i]]++;
+            }
+            for (int c = 0; c < k; c++) {
+                if (counts[c] > 0) {
+                    cx[c] = sumX[c] / counts[c];
+                    cy[c] = sumY[c] / counts[c];
+                }
+            }
+            if (!changed) {
+                break;
+            }
+        }
+
+        List<List<RoutablePoint>> clusters = new ArrayList<>();
+        for (int c = 0; c < k; c++) {
+            clusters.add(new ArrayList<>());
+        }
+        for (int i = 0; i < n; i++) {
+            clusters.get(assignment[i]).add(points.get(i));
+        }
+        clusters.removeIf(List::isEmpty);
+        return clusters;
+    }
+
+    /**
+     * Constructs a route using nearest-neighbor heuristic starting from a specific
+     * point.
+     * Unvisited coordinates are kept in flat arrays and visited points are swap-removed,
+     * so each step is a single {@link GeometryKernels#argminSquaredDistance} scan.
+     */
+    private List<RoutablePoint> nearestNeighborRoute(RoutablePoint start, List<? extends RoutablePoint> allPoints) {
+        List<RoutablePoint> route = new ArrayList<>();
+        Set<RoutablePoint> unique = new LinkedHashSet<>(allPoints);
+        unique.remove(start);
+
+        List<RoutablePoint> unvisited = new ArrayList<>(unique);
+        int remaining = unvisited.size();
+        double[] xs = new double[remaining];
+        double[] ys = new double[remaining];
+        for (int i = 0; i < remaining; i++) {
+            xs[i] = unvisited.get(i).getX();
+            ys[i] = unvisited.get(i).getY();
+        }
+
+        RoutablePoint current = start;
+        route.add(current);
+
+        while (remaining > 0) {
+            int nearest = GeometryKernels.argminSquaredDistance(current.getX(), current.getY(), xs, ys, remaining);
+            current = unvisited.get(nearest);
+            route.add(current);
+
+            // Swap-remove: move the last unvisited point into the freed slot
+            remaining--;
+            unvisited.set(nearest, unvisited.get(remaining));
+            xs[nearest] = xs[remaining];
+            ys[nearest] = ys[remaining];
+        }
+
+        return route;
+    }
+
+    /**
+     * Improves route using 2-opt algorithm to eliminate edge crossings.
+     * Iteratively swaps edge pairs if it reduces total distance.
+     * Only edges starting inside [from, to) are considered, which lets the hierarchical
+     * solver re-optimise cluster seams without touching the rest of the route.
+     * WHY: Ensures routes don't zigzag unnecessarily (e.g., A→B→C when A→C→B is
+     * shorter)
+     */
+    private List<RoutablePoint> twoOptImprove(List<? extends RoutablePoint> route, int from, int to) {
+        if (route.size() < 3)
+            return new ArrayList<>(route);
+
+        List<RoutablePoint> improved = new ArrayList<>(route);
+        int end = Math.min(to, improved.size());
+        boolean foundImprovement = true;
+
+        while (foundImprovement) {
+            foundImprovement = false;
+
+            for (int i = from; i < end - 2; i++) {
+                for (int j = i + 2; j < end; j++) {
+                    // Calculate current distance: i→(i+1) and j→(j+1)
+                    double currentDist = geometryService.distance(improved.get(i), improved.get(i + 1));
+                    if (j < improved.size() - 1) {
+                        currentDist += geometryService.distance(improved.get(j), improved.get(j + 1));
+                    }
+
+                    // Calculate swapped distance: i→j and (i+1)→(j+1)
+                    double swappedDist = geometryService.distance(improved.get(i), improved.get(j));
+                    if (j < improved.size() - 1) {
+                        swappedDist += geometryService.distance(improved.get(i + 1), improved.get(j + 1));
+                    }
+
+                    // If swap reduces distance, reverse the segment from (i+1) to j in place
+                    if (swappedDist < currentDist - 1e-9) {
+                        Collections.reverse(improved.subList(i + 1, j + 1));
+                        foundImprovement = true;
+                        break;
+                    }
+                }
+                if (foundImprovement)
+                    break;
+            }
+        }
+
+        return improved;
+    }
+
+    private static double squared(double dx, double dy) {
+        return dx * dx + dy * dy;
+    }
+
+    /**
+     * Lightweight routable point standing in for a whole cluster during the inter-cluster tour.
+     */
+    private record Centroid(int index, double x, double y) implements RoutablePoint {
+
+        static Centroid of(int index, List<RoutablePoint> members) {
+            double sumX = 0;
+            double sumY = 0;
+            for (RoutablePoint p : members) {
+                sumX += p.getX();
+                sumY += p.getY();
+            }
+            return new Centroid(index, sumX / members.size(), sumY / members.size());
+        }
+
+        @Override
+        public String getId() {
+            return "cluster_" + index;
+        }
+
+        @Override
+        public double getX() {
+            return x;
+        }
+
+        @Override
+        public double getY() {
+            return y;
+        }
+
+        @Override
+        public String getName() {
+            return getId();
+        }
+    }
+}
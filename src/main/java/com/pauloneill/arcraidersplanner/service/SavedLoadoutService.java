@@ -0,0 +1,276 @@
+package com.pauloneill.arcraidersplanner.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pauloneill.arcraidersplanner.dto.LoadoutPlanDto;
+import com.pauloneill.arcraidersplanner.dto.PlannerRequestDto;
+import com.pauloneill.arcraidersplanner.dto.PlannerResponseDto;
+import com.pauloneill.arcraidersplanner.dto.SavedLoadoutDto;
+import com.pauloneill.arcraidersplanner.dto.SavedLoadoutRequestDto;
+import com.pauloneill.arcraidersplanner.model.SavedLoadout;
+import com.pauloneill.arcraidersplanner.repository.SavedLoadoutRepository;
+import com.pauloneill.arcraidersplanner.service.DataVersionService.DataVersionChangedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Stores planner requests as named loadouts and keeps their computed plans materialised.
+ * WHY: Reading a saved loadout is one row read instead of a full route plan. After a sync only the
+ * loadouts whose inputs appear in the {@link DataChangeSet} are flagged PENDING and recomputed on a
+ * small bounded pool, so a sync never triggers a planning storm across every stored loadout.
+ */
+@Slf4j
+@Service
+public class SavedLoadoutService {
+
+    private static final TypeReference<List<PlannerResponseDto>> PLAN_TYPE = new TypeReference<>() {
+    };
+
+    private final SavedLoadoutRepository savedLoadoutRepository;
+    private final PlannerService plannerService;
+    private final ItemCatalogueIndex itemCatalogueIndex;
+    private final ObjectMapper objectMapper;
+    private final ExecutorService coordinator;
+    private final ExecutorService refreshPool;
+    // Loadouts queued but not yet started; a change arriving meanwhile is picked up by the queued run
+    private final Set<Long> queued = ConcurrentHashMap.newKeySet();
+
+    public SavedLoadoutService(SavedLoadoutRepository savedLoadoutRepository, PlannerService plannerService,
+                               ItemCatalogueIndex itemCatalogueIndex, ObjectMapper objectMapper,
+                               @Value("${app.loadouts.refresh-concurrency:2}") int refreshConcurrency) {
+        this.savedLoadoutRepository = savedLoadoutRepository;
+        this.plannerService = plannerService;
+        this.itemCatalogueIndex = itemCatalogueIndex;
+        this.objectMapper = objectMapper;
+        this.coordinator = Executors.newSingleThreadExecutor(daemonThreads("loadout-invalidation"));
+        this.refreshPool = Executors.newFixedThreadPool(Math.max(1, refreshConcurrency), daemonThreads("loadout-refresh"));
+    }
+
+    public List<SavedLoadoutDto> getLoadouts() {
+        return savedLoadoutRepository.findAllByOrderByNameAsc().stream().map(this::toDto).toList();
+    }
+
+    public SavedLoadoutDto getLoadout(Long id) {
+        return toDto(findLoadout(id));
+    }
+
+    /**
+     * Saves a loadout and schedules its first plan computation.
+     *
+     * @param request Name and planner request
+     * @return The saved loadout, PENDING until its plan is computed
+     */
+    public SavedLoadoutDto createLoadout(SavedLoadoutRequestDto request) {
+        if (request.name() == null || request.name().isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Loadout name is required");
+        }
+        if (request.request() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Planner request is required");
+        }
+        SavedLoadout loadout = new SavedLoadout();
+        loadout.setName(request.name().trim());
+        loadout.setRequestJson(write(request.request()));
+        SavedLoadout saved = savedLoadoutRepository.save(loadout);
+        scheduleRecompute(List.of(saved.getId()));
+        return toDto(saved);
+    }
+
+    public void deleteLoadout(Long id) {
+        if (!savedLoadoutRepository.existsById(id)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Loadout not found: " + id);
+        }
+        savedLoadoutRepository.deleteById(id);
+    }
+
+    /**
+     * @param id Loadout ID
+     * @return The stored plan; the previous plan (if any) while a recomputation is pending
+     */
+    public LoadoutPlanDto getPlan(Long id) {
+        SavedLoadout loadout = findLoadout(id);
+        List<PlannerResponseDto> routes = loadout.getPlanJson() == null ? null : readPlan(loadout.getPlanJson());
+        return new LoadoutPlanDto(loadout.getId(), loadout.getPlanStatus(), loadout.getPlanComputedAt(), routes);
+    }
+
+    @EventListener
+    public void onDataVersionChanged(DataVersionChangedEvent event) {
+        if (event.changes().isEmpty()) {
+            return;
+        }
+        // Published after the sync commits; scanning loadouts is moved off the sync thread
+        coordinator.execute(() -> {
+            List<Long> affected = affectedLoadoutIds(event.changes());
+            if (affected.isEmpty()) {
+                return;
+            }
+            savedLoadoutRepository.markPending(affected);
+            log.info("Data version {} ({}) invalidated {} saved loadout plan(s)", event.version(), event.reason(), affected.size());
+            scheduleRecompute(affected);
+        });
+    }
+
+    /**
+     * Finds the loadouts whose plans may depend on the changed data.
+     *
+     * @param changes What the data change touched
+     * @return IDs of loadouts to recompute
+     */
+    List<Long> affectedLoadoutIds(DataChangeSet changes) {
+        List<Long> affected = new ArrayList<>();
+        for (SavedLoadout loadout : savedLoadoutRepository.findAll()) {
+            if (changes.global() || loadout.getPlanJson() == null || isAffected(loadout, changes)) {
+                affected.add(loadout.getId());
+            }
+        }
+        return affected;
+    }
+
+    private boolean isAffected(SavedLoadout loadout, DataChangeSet changes) {
+        PlannerRequestDto request = read(loadout.getRequestJson());
+        Set<String> usedItemNames = usedItemNames(request);
+        if (!changes.itemNames().isEmpty() && intersects(usedItemNames, changes.itemNames())) {
+            return true;
+        }
+        if (intersects(request.targetRecipeIds(), changes.recipeIds())) {
+            return true;
+        }
+        if (changes.mapIds().isEmpty()) {
+            return false;
+        }
+        // Enemy and container targets can become reachable on any map whose markers changed, and so can
+        // items dropped by enemies: new spawns make a map viable that the stored plan does not contain
+        if (!isEmpty(request.targetEnemyTypes()) || !isEmpty(request.targetContainerTypes())
+                || dropsFromEnemies(usedItemNames)) {
+            return true;
+        }
+        return readPlan(loadout.getPlanJson()).stream().anyMatch(route -> changes.mapIds().contains(route.mapId()));
+    }
+
+    private Set<String> usedItemNames(PlannerRequestDto request) {
+        Set<String> names = new HashSet<>();
+        if (request.targetItemNames() != null) {
+            names.addAll(request.targetItemNames());
+        }
+        if (request.ongoingItemNames() != null) {
+            names.addAll(request.ongoingItemNames());
+        }
+        if (request.targetRecipeIds() != null) {
+            for (String recipeId : request.targetRecipeIds()) {
+                itemCatalogueIndex.findRecipe(recipeId).ifPresent(recipe -> names.addAll(recipe.ingredientNames()));
+            }
+        }
+        return names;
+    }
+
+    private boolean dropsFromEnemies(Set<String> itemNames) {
+        return itemNames.stream()
+                .map(itemCatalogueIndex::findItem)
+                .anyMatch(item -> item.isPresent() && !item.get().droppedBy().isEmpty());
+    }
+
+    private void scheduleRecompute(Collection<Long> ids) {
+        for (Long id : ids) {
+            if (queued.add(id)) {
+                refreshPool.execute(() -> {
+                    queued.remove(id);
+                    recompute(id);
+                });
+            }
+        }
+    }
+
+    /**
+     * Plans one loadout and stores the result, marking it FAILED (keeping the previous plan) on error.
+     * Only the plan columns are written, so a loadout deleted meanwhile stays deleted.
+     *
+     * @param id Loadout ID; ignored if the loadout was deleted meanwhile
+     */
+    void recompute(Long id) {
+        Optional<SavedLoadout> found = savedLoadoutRepository.findById(id);
+        if (found.isEmpty()) {
+            return;
+        }
+        int updated;
+        try {
+            List<PlannerResponseDto> routes = plannerService.generateRoute(read(found.get().getRequestJson()));
+            updated = savedLoadoutRepository.storePlan(id, write(routes), Instant.now());
+        } catch (RuntimeException e) {
+            log.warn("Could not compute plan for saved loadout {}: {}", id, e.getMessage());
+            updated = savedLoadoutRepository.markFailed(id);
+        }
+        if (updated == 0) {
+            log.debug("Saved loadout {} was deleted while its plan was computed", id);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        coordinator.shutdownNow();
+        refreshPool.shutdownNow();
+    }
+
+    private SavedLoadout findLoadout(Long id) {
+        return savedLoadoutRepository.findById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Loadout not found: " + id));
+    }
+
+    private SavedLoadoutDto toDto(SavedLoadout loadout) {
+        return new SavedLoadoutDto(loadout.getId(), loadout.getName(), read(loadout.getRequestJson()),
+                loadout.getPlanStatus(), loadout.getPlanComputedAt());
+    }
+
+    private PlannerRequestDto read(String json) {
+        try {
+            return objectMapper.readValue(json, PlannerRequestDto.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored loadout request is not valid JSON", e);
+        }
+    }
+
+    private List<PlannerResponseDto> readPlan(String json) {
+        try {
+            return objectMapper.readValue(json, PLAN_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored loadout plan is not valid JSON", e);
+        }
+    }
+
+    private String write(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialise loadout", e);
+        }
+    }
+
+    private static boolean intersects(Collection<String> values, Set<String> changed) {
+        return values != null && !changed.isEmpty() && values.stream().anyMatch(changed::contains);
+    }
+
+    private static boolean isEmpty(List<String> values) {
+        return values == null || values.isEmpty();
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,300 @@
+package com.pauloneill.arcraidersplanner.service;
+
+import com.pauloneill.arcraidersplanner.dto.SessionPlanDto;
+import com.pauloneill.arcraidersplanner.dto.SessionPlanRequestDto;
+import com.pauloneill.arcraidersplanner.service.MapCoverageIndex.MapCoverage;
+import com.pauloneill.arcraidersplanner.service.TargetResolutionService.RecipeTargetInfo;
+import com.pauloneill.arcraidersplanner.service.TargetResolutionService.TargetItemInfo;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * Plans a multi-raid session that collects every goal item in the fewest raids.
+ * WHY: Large upgrade goals span many loot types; picking maps one at a time wastes raids.
+ * <p>
+ * Each map's coverage of the goal items is a bitmask (from {@link MapCoverageIndex}), which makes this
+ * a set-cover problem. A greedy pass gives an upper bound; branch-and-bound then searches for a smaller
+ * cover, pruning with a lower bound of ceil(uncovered / best single-raid gain).
+ */
+@Slf4j
+@Service
+public class SessionPlannerService {
+
+    private static final long MAX_SEARCH_NODES = 1_000_000;
+
+    private final TargetResolutionService targetResolutionService;
+    private final MapCoverageIndex mapCoverageIndex;
+
+    public SessionPlannerService(TargetResolutionService targetResolutionService, MapCoverageIndex mapCoverageIndex) {
+        this.targetResolutionService = targetResolutionService;
+        this.mapCoverageIndex = mapCoverageIndex;
+    }
+
+    /**
+     * Plans the raids needed to collect all ingredients of the target recipes plus any extra items.
+     *
+     * @param request Target recipes and items
+     * @return Ordered raids, plus items no map can provide
+     */
+    public SessionPlanDto planSession(SessionPlanRequestDto request) {
+        RecipeTargetInfo recipeInfo = targetResolutionService.resolveRecipes(request.targetRecipeIds());
+        SortedSet<String> goalItems = new TreeSet<>(recipeInfo.allIngredientNames());
+        if (request.targetItemNames() != null) {
+            goalItems.addAll(request.targetItemNames());
+        }
+        if (goalItems.isEmpty()) {
+            return new SessionPlanDto(0, Collections.emptyList(), Collections.emptyList(), true, 0);
+        }
+
+        List<String> items = new ArrayList<>(goalItems);
+        TargetItemInfo itemInfo = targetResolutionService.resolveTargetItems(items);
+        List<MapCoverage> maps = mapCoverageIndex.getMaps();
+        long[][] coverage = buildCoverage(items, itemInfo, maps);
+
+        // Items no map covers can never be collected by raiding - report and drop them
+        long[] coverable = new long[words(items.size())];
+        for (long[] mapMask : coverage) {
+            or(coverable, mapMask);
+        }
+        List<String> uncoverable = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            if (!test(coverable, i)) {
+                uncoverable.add(items.get(i));
+            }
+        }
+
+        Search search = new Search(coverage, items.size());
+        search.solve(coverable);
+
+        List<SessionPlanDto.SessionRaidDto> raids = orderRaids(search.best, coverage, items, maps);
+        log.debug("Session plan: {} goal items in {} raids ({} uncoverable, {} nodes, optimal={})",
+                items.size(), raids.size(), uncoverable.size(), search.nodes, search.complete);
+        return new SessionPlanDto(raids.size(), raids, uncoverable, search.complete, search.nodes);
+    }
+
+    /**
+     * Builds one goal-item bitmask per map: an item is covered if the map has an area of its loot type
+     * or spawns an enemy that drops it.
+     */
+    private long[][] buildCoverage(List<String> items, TargetItemInfo itemInfo, List<MapCoverage> maps) {
+        Map<String, Integer> itemLootTypeBit = new HashMap<>();
+        itemInfo.lootTypeToItemNames().forEach((lootType, names) -> {
+            int bit = mapCoverageIndex.lootTypeBit(lootType);
+            names.forEach(name -> itemLootTypeBit.put(name, bit));
+        });
+        Map<String, List<String>> itemEnemyTypes = new HashMap<>();
+        itemInfo.enemyTypeToItemNames().forEach((enemyType, names) ->
+                names.forEach(name -> itemEnemyTypes.computeIfAbsent(name, k -> new ArrayList<>()).add(enemyType)));
+
+        long[][] coverage = new long[maps.size()][words(items.size())];
+        for (int m = 0; m < maps.size(); m++) {
+            MapCoverage map = maps.get(m);
+            for (int i = 0; i < items.size(); i++) {
+                String item = items.get(i);
+                boolean covered = map.hasLootType(itemLootTypeBit.getOrDefault(item, -1))
+                        || itemEnemyTypes.getOrDefault(item, Collections.emptyList()).stream().anyMatch(map::hasEnemyType);
+                if (covered) {
+                    coverage[m][i >>> 6] |= 1L << i;
+                }
+            }
+        }
+        return coverage;
+    }
+
+    /**
+     * Orders the chosen maps so each raid adds as many new items as possible.
+     */
+    private List<SessionPlanDto.SessionRaidDto> orderRaids(List<Integer> chosen, long[][] coverage, List<String> items,
+                                                          List<MapCoverage> maps) {
+        List<Integer> remaining = new ArrayList<>(chosen);
+        long[] covered = new long[words(items.size())];
+        List<SessionPlanDto.SessionRaidDto> raids = new ArrayList<>();
+        while (!remaining.isEmpty()) {
+            int next = remaining.stream()
+                    .max(Comparator.comparingInt((Integer m) -> gain(coverage[m], covered)).thenComparing(m -> -m))
+                    .orElseThrow();
+            remaining.remove(Integer.valueOf(next));
+
+            List<String> newItems = new ArrayList<>();
+            for (int i = 0; i < items.size(); i++) {
+                if (test(coverage[next], i) && !test(covered, i)) {
+                    newItems.add(items.get(i));
+                }
+            }
+            or(covered, coverage[next]);
+            MapCoverage map = maps.get(next);
+            raids.add(new SessionPlanDto.SessionRaidDto(raids.size() + 1, map.mapId(), map.mapName(), newItems));
+        }
+        return raids;
+    }
+
+    /**
+     * Greedy upper bound followed by depth-first branch-and-bound.
+     */
+    private static final class Search {
+        private final long[][] sets;
+        private final List<List<Integer>> coverersOf;
+        private List<Integer> best = new ArrayList<>();
+        private long nodes;
+        private boolean complete = true;
+
+        Search(long[][] sets, int itemCount) {
+            this.sets = sets;
+            this.coverersOf = new ArrayList<>(itemCount);
+            for (int i = 0; i < itemCount; i++) {
+                List<Integer> coverers = new ArrayList<>();
+                for (int m = 0; m < sets.length; m++) {
+                    if (test(sets[m], i)) {
+                        coverers.add(m);
+                    }
+                }
+                coverersOf.add(coverers);
+            }
+        }
+
+        void solve(long[] target) {
+            if (isEmpty(target)) {
+                return;
+            }
+            best = greedy(target);
+            branch(target.clone(), new ArrayDeque<>());
+        }
+
+        private List<Integer> greedy(long[] target) {
+            long[] uncovered = target.clone();
+            List<Integer> chosen = new ArrayList<>();
+            while (!isEmpty(uncovered)) {
+                int bestSet = -1;
+                int bestGain = 0;
+                for (int m = 0; m < sets.length; m++) {
+                    int gain = intersectionCount(sets[m], uncovered);
+                    if (gain > bestGain) {
+                        bestGain = gain;
+                        bestSet = m;
+                    }
+                }
+                chosen.add(bestSet);
+                andNot(uncovered, sets[bestSet]);
+            }
+            return chosen;
+        }
+
+        private void branch(long[] uncovered, Deque<Integer> chosen) {
+            if (++nodes > MAX_SEARCH_NODES) {
+                complete = false;
+                return;
+            }
+            if (isEmpty(uncovered)) {
+                if (chosen.size() < best.size()) {
+                    best = new ArrayList<>(chosen);
+                }
+                return;
+            }
+
+            // Lower bound: even the best remaining raid can only cover maxGain items
+            int maxGain = 0;
+            for (long[] set : sets) {
+                maxGain = Math.max(maxGain, intersectionCount(set, uncovered));
+            }
+            int lowerBound = (cardinality(uncovered) + maxGain - 1) / maxGain;
+            if (chosen.size() + lowerBound >= best.size()) {
+                return;
+            }
+
+            // Branch on the uncovered item with the fewest covering maps; one of them must be chosen
+            int pivot = -1;
+            for (int i = nextSetBit(uncovered, 0); i >= 0; i = nextSetBit(uncovered, i + 1)) {
+                if (pivot < 0 || coverersOf.get(i).size() < coverersOf.get(pivot).size()) {
+                    pivot = i;
+                }
+            }
+            List<Integer> candidates = new ArrayList<>(coverersOf.get(pivot));
+            candidates.sort(Comparator.comparingInt((Integer m) -> intersectionCount(sets[m], uncovered)).reversed());
+
+            for (int m : candidates) {
+                long[] next = uncovered.clone();
+                andNot(next, sets[m]);
+                chosen.addLast(m);
+                branch(next, chosen);
+                chosen.removeLast();
+                if (!complete) {
+                    return;
+                }
+            }
+        }
+    }
+
+    // --- Bitmask helpers over long[] words ---
+
+    private static int words(int bits) {
+        return Math.max(1, (bits + 63) >>> 6);
+    }
+
+    private static boolean test(long[] mask, int bit) {
+        return (mask[bit >>> 6] & (1L << bit)) != 0;
+    }
+
+    private static void or(long[] target, long[] other) {
+        for (int w = 0; w < target.length; w++) {
+            target[w] |= other[w];
+        }
+    }
+
+    private static void andNot(long[] target, long[] other) {
+        for (int w = 0; w < target.length; w++) {
+            target[w] &= ~other[w];
+        }
+    }
+
+    private static boolean isEmpty(long[] mask) {
+        for (long word : mask) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int cardinality(long[] mask) {
+        int count = 0;
+        for (long word : mask) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    private static int intersectionCount(long[] a, long[] b) {
+        int count = 0;
+        for (int w = 0; w < a.length; w++) {
+            count += Long.bitCount(a[w] & b[w]);
+        }
+        return count;
+    }
+
+    private static int gain(long[] set, long[] covered) {
+        int count = 0;
+        for (int w = 0; w < set.length; w++) {
+            count += Long.bitCount(set[w] & ~covered[w]);
+        }
+        return count;
+    }
+
+    private static int nextSetBit(long[] mask, int from) {
+        int w = from >>> 6;
+        if (w >= mask.length) {
+            return -1;
+        }
+        long word = mask[w] & (-1L << from);
+        while (true) {
+            if (word != 0) {
+                return (w << 6) + Long.numberOfTrailingZeros(word);
+            }
+            if (++w == mask.length) {
+                return -1;
+            }
+            word = mask[w];
+        }
+    }
+}
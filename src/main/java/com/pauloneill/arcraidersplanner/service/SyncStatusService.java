@@ -0,0 +1,117 @@
+package com.pauloneill.arcraidersplanner.service;
+
+import com.pauloneill.arcraidersplanner.repository.ItemRepository;
+import com.pauloneill.arcraidersplanner.service.DataVersionService.DataVersionChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Tracks the state of the background Metaforge sync and reports it as the "syncStatus" health component.
+ * WHY: Sync runs after the application is ready, serving the data already in the database meanwhile.
+ * The instance is only reported out of service while it has no data at all and the sync has not
+ * (successfully) produced any yet. Whether there is data is counted once and re-counted only after a sync
+ * finishes or the data version changes, so frequent probes never query the database.
+ */
+@Slf4j
+@Service
+public class SyncStatusService implements HealthIndicator {
+
+    public enum State {
+        IDLE,       // No sync has run (e.g. app.sync-on-startup=false)
+        RUNNING,
+        SUCCEEDED,
+        FAILED
+    }
+
+    /**
+     * Snapshot of the sync state.
+     *
+     * @param lastSucceededAt When a sync last completed, kept across later runs
+     * @param lastErrorType   Exception type that ended the last run, if it failed; the message is only logged
+     */
+    public record SyncStatus(State state, Instant startedAt, Instant finishedAt, Instant lastSucceededAt,
+                             String lastErrorType) {
+    }
+
+    private final ItemRepository itemRepository;
+    private final AtomicReference<SyncStatus> status = new AtomicReference<>(new SyncStatus(State.IDLE, null, null, null, null));
+    private volatile Boolean hasData; // Null until counted, and again once a sync or data change may have altered it
+
+    public SyncStatusService(ItemRepository itemRepository) {
+        this.itemRepository = itemRepository;
+    }
+
+    public SyncStatus current() {
+        return status.get();
+    }
+
+    /**
+     * Marks a sync as started, unless one is already running.
+     *
+     * @return False if a sync is already running
+     */
+    public boolean tryStart() {
+        SyncStatus previous = status.get();
+        if (previous.state() == State.RUNNING) {
+            return false;
+        }
+        return status.compareAndSet(previous,
+                new SyncStatus(State.RUNNING, Instant.now(), null, previous.lastSucceededAt(), null));
+    }
+
+    public void succeeded() {
+        Instant now = Instant.now();
+        status.updateAndGet(previous -> new SyncStatus(State.SUCCEEDED, previous.startedAt(), now, now, null));
+        hasData = null;
+    }
+
+    public void failed(Exception error) {
+        status.updateAndGet(previous -> new SyncStatus(State.FAILED, previous.startedAt(), Instant.now(),
+                previous.lastSucceededAt(), error.getClass().getSimpleName()));
+        hasData = null; // Batches committed before the failure stay live
+    }
+
+    @EventListener
+    public void onDataVersionChanged(DataVersionChangedEvent event) {
+        hasData = null;
+    }
+
+    @Override
+    public Health health() {
+        SyncStatus current = status.get();
+        boolean hasData = hasData();
+        boolean waitingForData = !hasData && (current.state() == State.RUNNING || current.state() == State.FAILED);
+
+        Health.Builder builder = waitingForData ? Health.outOfService() : Health.up();
+        builder.withDetail("state", current.state())
+                .withDetail("hasData", hasData);
+        if (current.startedAt() != null) {
+            builder.withDetail("startedAt", current.startedAt());
+        }
+        if (current.finishedAt() != null) {
+            builder.withDetail("finishedAt", current.finishedAt());
+        }
+        if (current.lastSucceededAt() != null) {
+            builder.withDetail("lastSucceededAt", current.lastSucceededAt());
+        }
+        if (current.lastErrorType() != null) {
+            builder.withDetail("lastErrorType", current.lastErrorType());
+        }
+        return builder.build();
+    }
+
+    private boolean hasData() {
+        Boolean known = hasData;
+        if (known == null) {
+            known = itemRepository.count() > 0;
+            hasData = known;
+        }
+        return known;
+    }
+}
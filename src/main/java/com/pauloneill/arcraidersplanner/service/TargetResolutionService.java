@@ -1,44 +1,32 @@
 package com.pauloneill.arcraidersplanner.service;
 
-import com.pauloneill.arcraidersplanner.model.Item;
 import com.pauloneill.arcraidersplanner.model.MarkerGroup;
-import com.pauloneill.arcraidersplanner.model.Recipe;
-import com.pauloneill.arcraidersplanner.repository.ContainerTypeRepository;
-import com.pauloneill.arcraidersplanner.repository.ItemRepository;
-import com.pauloneill.arcraidersplanner.repository.MarkerGroupRepository;
-import com.pauloneill.arcraidersplanner.repository.RecipeRepository;
+import com.pauloneill.arcraidersplanner.service.ItemCatalogueIndex.CatalogueRecipe;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * Service for resolving target entities (items, recipes, and future containers) to their requirements.
  * WHY: Extracted from PlannerService to separate target resolution logic from routing algorithms.
  * Named "TargetResolutionService" (not "ItemResolutionService") because it will be extended
  * to support container targeting in future phases.
+ * All lookups are served from the in-memory ItemCatalogueIndex and ContainerGroupIndex,
+ * so resolution never touches the database.
  */
 @Service
-@Transactional(readOnly = true)
 public class TargetResolutionService {
 
     private static final Logger log = LoggerFactory.getLogger(TargetResolutionService.class);
 
-    private final ItemRepository itemRepository;
-    private final RecipeRepository recipeRepository;
-    private final ContainerTypeRepository containerTypeRepository; // NEW
-    private final MarkerGroupRepository markerGroupRepository;     // NEW
-
-    public TargetResolutionService(ItemRepository itemRepository, RecipeRepository recipeRepository,
-                                   ContainerTypeRepository containerTypeRepository,
-                                   MarkerGroupRepository markerGroupRepository) { // NEW
-        this.itemRepository = itemRepository;
-        this.recipeRepository = recipeRepository;
-        this.containerTypeRepository = containerTypeRepository;
-        this.markerGroupRepository = markerGroupRepository;
+    private final ItemCatalogueIndex itemCatalogueIndex;
+    private final ContainerGroupIndex containerGroupIndex;
+
+    public TargetResolutionService(ItemCatalogueIndex itemCatalogueIndex, ContainerGroupIndex containerGroupIndex) {
+        this.itemCatalogueIndex = itemCatalogueIndex;
+        this.containerGroupIndex = containerGroupIndex;
     }
 
     /**
@@ -57,22 +45,22 @@ public class TargetResolutionService {
 
         if (itemNames != null && !itemNames.isEmpty()) {
             for (String name : itemNames) {
-                itemRepository.findByName(name)
+                itemCatalogueIndex.findItem(name)
                         .ifPresent(item -> {
-                            boolean hasLootType = item.getLootType() != null;
-                            boolean hasDroppedBy = item.getDroppedBy() != null && !item.getDroppedBy().isEmpty();
+                            boolean hasLootType = item.hasLootType();
+                            boolean hasDroppedBy = !item.droppedBy().isEmpty();
 
                             if (hasLootType) {
-                                targetLootTypes.add(item.getLootType().getName());
-                                lootTypeToItemNames.computeIfAbsent(item.getLootType().getName(), k -> new ArrayList<>()).add(name);
+                                targetLootTypes.add(item.lootTypeName());
+                                lootTypeToItemNames.computeIfAbsent(item.lootTypeName(), k -> new ArrayList<>()).add(name);
                             }
                             if (hasDroppedBy) {
-                                targetDroppedByEnemies.addAll(item.getDroppedBy());
-                                item.getDroppedBy().forEach(enemyType ->
+                                targetDroppedByEnemies.addAll(item.droppedBy());
+                                item.droppedBy().forEach(enemyType ->
                                         enemyTypeToItemNames.computeIfAbsent(enemyType, k -> new ArrayList<>()).add(name));
 
                                 if (!hasLootType) { // If item ONLY drops from enemy
-                                    exclusiveDroppedByEnemies.addAll(item.getDroppedBy());
+                                    exclusiveDroppedByEnemies.addAll(item.droppedBy());
                                 }
                             }
                         });
@@ -103,20 +91,18 @@ public class TargetResolutionService {
         Set<String> allIngredients = new HashSet<>();
 
         for (String recipeId : recipeIds) {
-            Optional<Recipe> recipe = recipeRepository.findByMetaforgeItemId(recipeId);
+            Optional<CatalogueRecipe> recipe = itemCatalogueIndex.findRecipe(recipeId);
 
             if (recipe.isEmpty()) {
                 log.warn("Recipe not found: {}", recipeId);
                 continue;
             }
 
-            Recipe targetRecipe = recipe.get();
-            Set<String> ingredients = targetRecipe.getIngredients().stream()
-                    .map(ing -> ing.getItem().getName())
-                    .collect(Collectors.toSet());
+            CatalogueRecipe targetRecipe = recipe.get();
+            Set<String> ingredients = targetRecipe.ingredientNames();
 
             recipeToIngredients.put(recipeId, ingredients);
-            recipeToDisplayName.put(recipeId, targetRecipe.getName());
+            recipeToDisplayName.put(recipeId, targetRecipe.name());
             allIngredients.addAll(ingredients);
         }
 
@@ -141,10 +127,10 @@ public class TargetResolutionService {
         }
         Map<String, List<String>> map = new HashMap<>();
         for (String name : itemNames) {
-            itemRepository.findByName(name)
+            itemCatalogueIndex.findItem(name)
                     .ifPresent(item -> {
-                        if (item.getLootType() != null) {
-                            map.computeIfAbsent(item.getLootType().getName(), k -> new ArrayList<>()).add(name);
+                        if (item.hasLootType()) {
+                            map.computeIfAbsent(item.lootTypeName(), k -> new ArrayList<>()).add(name);
                         }
                     });
         }
@@ -162,9 +148,9 @@ public class TargetResolutionService {
         Set<String> lootTypes = new HashSet<>();
         if (itemNames != null && !itemNames.isEmpty()) {
             for (String name : itemNames) {
-                itemRepository.findByName(name).ifPresent(item -> {
-                    if (item.getLootType() != null) {
-                        lootTypes.add(item.getLootType().getName());
+                itemCatalogueIndex.findItem(name).ifPresent(item -> {
+                    if (item.hasLootType()) {
+                        lootTypes.add(item.lootTypeName());
                     }
                 });
             }
@@ -174,7 +160,8 @@ public class TargetResolutionService {
 
     /**
      * Resolves target containers to their marker groups for a specific map.
-     * WHY: Planner needs to route through container spawn zones.
+     * WHY: Planner needs to route through container spawn zones. Served from the in-memory
+     * ContainerGroupIndex, so calling this once per map costs no database round trips.
      *
      * @param containerSubcategories List of container type subcategories (e.g., "red-locker", "raider-cache")
      * @param mapId The ID of the map to filter container groups by.
@@ -186,11 +173,8 @@ public class TargetResolutionService {
         }
 
         List<MarkerGroup> relevantGroups = new ArrayList<>();
-        for (String subcategory : containerSubcategories) {
-            containerTypeRepository.findBySubcategory(subcategory)
-                    .ifPresent(containerType -> {
-                        relevantGroups.addAll(markerGroupRepository.findByGameMapIdAndContainerType(mapId, containerType));
-                    });
+        for (String subcategory : new LinkedHashSet<>(containerSubcategories)) {
+            relevantGroups.addAll(containerGroupIndex.getGroups(mapId, subcategory));
         }
         return new ContainerTargetInfo(relevantGroups);
     }
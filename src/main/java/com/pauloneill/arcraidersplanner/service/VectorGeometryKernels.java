@@ -0,0 +1,103 @@
+package com.pauloneill.arcraidersplanner.service;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Vector API implementations behind {@link GeometryKernels}.
+ * Only loaded when the {@code jdk.incubator.vector} module is present; remainders that do not fill
+ * a vector fall through to the scalar loops.
+ */
+final class VectorGeometryKernels {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+    private static final DoubleVector LANE_INDEX = DoubleVector.zero(SPECIES).addIndex(1);
+
+    private VectorGeometryKernels() {
+    }
+
+    static void distancesFrom(double x, double y, double[] xs, double[] ys, int n, double[] out) {
+        int bound = SPECIES.loopBound(n);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            DoubleVector dx = DoubleVector.fromArray(SPECIES, xs, i).sub(x);
+            DoubleVector dy = DoubleVector.fromArray(SPECIES, ys, i).sub(y);
+            dx.mul(dx).add(dy.mul(dy)).sqrt().intoArray(out, i);
+        }
+        GeometryKernels.scalarDistancesFrom(x, y, xs, ys, i, n, out);
+    }
+
+    static void minDistancesToPolyline(double[] xs, double[] ys, int n,
+                                       double[] pathXs, double[] pathYs, int m, double[] out) {
+        int bound = SPECIES.loopBound(n);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            DoubleVector px = DoubleVector.fromArray(SPECIES, xs, i);
+            DoubleVector py = DoubleVector.fromArray(SPECIES, ys, i);
+            // Keep the running minimum in a register across all segments for this block of points
+            DoubleVector best = DoubleVector.broadcast(SPECIES, Double.POSITIVE_INFINITY);
+            if (m == 1) {
+                best = squaredDistanceToSegment(px, py, pathXs[0], pathYs[0], pathXs[0], pathYs[0]);
+            }
+            for (int s = 0; s < m - 1; s++) {
+                best = best.min(squaredDistanceToSegment(px, py, pathXs[s], pathYs[s], pathXs[s + 1], pathYs[s + 1]));
+            }
+            best.sqrt().intoArray(out, i);
+        }
+        GeometryKernels.scalarMinDistancesToPolyline(xs, ys, i, n, pathXs, pathYs, m, out);
+    }
+
+    static int argminSquaredDistance(double x, double y, double[] xs, double[] ys, int n) {
+        int bound = SPECIES.loopBound(n);
+        DoubleVector bestDistance = DoubleVector.broadcast(SPECIES, Double.POSITIVE_INFINITY);
+        DoubleVector bestIndex = DoubleVector.broadcast(SPECIES, -1);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            DoubleVector dx = DoubleVector.fromArray(SPECIES, xs, i).sub(x);
+            DoubleVector dy = DoubleVector.fromArray(SPECIES, ys, i).sub(y);
+            DoubleVector d2 = dx.mul(dx).add(dy.mul(dy));
+            // Strict comparison keeps the first occurrence within each lane
+            VectorMask<Double> closer = d2.lt(bestDistance);
+            bestDistance = bestDistance.blend(d2, closer);
+            bestIndex = bestIndex.blend(LANE_INDEX.add(i), closer);
+        }
+
+        int best = -1;
+        double min = Double.POSITIVE_INFINITY;
+        if (i > 0) {
+            min = bestDistance.reduceLanes(VectorOperators.MIN);
+            // Lowest index among lanes that hold the minimum, to match the scalar tie-break
+            VectorMask<Double> atMin = bestDistance.eq(min);
+            if (atMin.anyTrue()) {
+                best = (int) bestIndex.reduceLanes(VectorOperators.MIN, atMin);
+            }
+        }
+        for (; i < n; i++) {
+            double dx = xs[i] - x;
+            double dy = ys[i] - y;
+            double d2 = dx * dx + dy * dy;
+            if (d2 < min) {
+                min = d2;
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    private static DoubleVector squaredDistanceToSegment(DoubleVector px, DoubleVector py,
+                                                         double ax, double ay, double bx, double by) {
+        double ex = bx - ax;
+        double ey = by - ay;
+        double l2 = ex * ex + ey * ey;
+        DoubleVector rx = px.sub(ax);
+        DoubleVector ry = py.sub(ay);
+        DoubleVector t = l2 == 0
+                ? DoubleVector.zero(SPECIES)
+                : rx.mul(ex).add(ry.mul(ey)).div(l2).min(1).max(0);
+        DoubleVector dx = px.sub(t.mul(ex).add(ax));
+        DoubleVector dy = py.sub(t.mul(ey).add(ay));
+        return dx.mul(dx).add(dy.mul(dy));
+    }
+}
@@ -0,0 +1,52 @@
+package com.pauloneill.arcraidersplanner.service;
+
+import java.util.function.Supplier;
+
+/**
+ * Holds an immutable snapshot that is rebuilt at most once per data version.
+ * WHY: Shared building block for in-memory indexes - readers never block once a snapshot
+ * for the current version exists, and a rebuild swaps the reference atomically.
+ *
+ * @param <T> Snapshot type (should be immutable)
+ */
+public class VersionedSnapshot<T> {
+
+    private final DataVersionService dataVersionService;
+    private final Supplier<T> loader;
+    private volatile Entry<T> current;
+
+    public VersionedSnapshot(DataVersionService dataVersionService, Supplier<T> loader) {
+        this.dataVersionService = dataVersionService;
+        this.loader = loader;
+    }
+
+    /**
+     * @return The snapshot for the current data version, loading it if stale
+     */
+    public T get() {
+        long version = dataVersionService.currentVersion();
+        Entry<T> entry = current;
+        if (entry != null && entry.version() == version) {
+            return entry.value();
+        }
+        synchronized (this) {
+            entry = current;
+            if (entry == null || entry.version() != version) {
+                entry = new Entry<>(version, loader.get());
+                current = entry;
+            }
+            return entry.value();
+        }
+    }
+
+    /**
+     * @return The data version of the currently held snapshot, or -1 if nothing is loaded yet
+     */
+    public long loadedVersion() {
+        Entry<T> entry = current;
+        return entry != null ? entry.version() : -1;
+    }
+
+    private record Entry<T>(long version, T value) {
+    }
+}
@@ -0,0 +1,253 @@
+package com.pauloneill.arcraidersplanner.service;
+
+import com.pauloneill.arcraidersplanner.dto.PlannerRequestDto;
+import com.pauloneill.arcraidersplanner.dto.PlannerResponseDto;
+import com.pauloneill.arcraidersplanner.dto.WaypointDto;
+import com.pauloneill.arcraidersplanner.dto.YieldSimulationDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * Monte Carlo simulation of the items a planned route actually yields.
+ * WHY: The planner score does not model whether an item spawns, how rare it is, or how many containers
+ * a player actually opens. Simulating many randomised raids gives an expected item count with a
+ * confidence interval, which is a better basis for ranking maps.
+ * <p>
+ * Raids are simulated in fixed-size chunks, each with its own {@link SplittableRandom} split from a
+ * seeded root, so results are reproducible. Chunks run one after another on the calling planner
+ * bulkhead worker rather than a shared pool, so a simulation uses no more than its bulkhead slot.
+ */
+@Slf4j
+@Service
+public class YieldSimulationService {
+
+    /** Chance a target item is found in one looted container, by rarity. */
+    private static final Map<String, Double> DROP_CHANCE_BY_RARITY = Map.of(
+            "common", 0.30,
+            "uncommon", 0.18,
+            "rare", 0.08,
+            "epic", 0.03,
+            "legendary", 0.01);
+    private static final double DEFAULT_DROP_CHANCE = 0.15;
+
+    private static final double CONTAINER_LOOT_CHANCE = 0.7; // Players rarely open every container
+    private static final double ENEMY_KILL_CHANCE = 0.6;
+    private static final Map<Integer, Integer> CONTAINERS_BY_ABUNDANCE = Map.of(1, 6, 2, 4, 3, 2);
+    private static final int DEFAULT_CONTAINERS_PER_AREA = 3;
+
+    static final long MAX_ITERATIONS_CAP = 2_000_000;
+    private static final long MIN_ITERATIONS = 10_000;
+    private static final int CHUNK_SIZE = 2_000;
+    private static final int CHUNKS_PER_ROUND = 8; // Fixed so results do not depend on core count
+    private static final double CI_Z = 1.96;
+    private static final double CI_RELATIVE_TOLERANCE = 0.01;
+    private static final double CI_ABSOLUTE_TOLERANCE = 0.005;
+
+    private final PlannerService plannerService;
+    private final ItemCatalogueIndex itemCatalogueIndex;
+
+    public YieldSimulationService(PlannerService plannerService, ItemCatalogueIndex itemCatalogueIndex) {
+        this.plannerService = plannerService;
+        this.itemCatalogueIndex = itemCatalogueIndex;
+    }
+
+    /**
+     * Plans routes for the request and ranks maps by simulated expected yield.
+     *
+     * @param request       Planner request
+     * @param maxIterations Upper bound on simulated raids per map
+     * @param seed          Root seed for reproducible results
+     * @return Simulation results, highest expected yield first
+     */
+    public List<YieldSimulationDto> simulate(PlannerRequestDto request, long maxIterations, long seed) {
+        long iterationCap = Math.min(Math.max(maxIterations, 1), MAX_ITERATIONS_CAP);
+        List<PlannerResponseDto> routes = plannerService.generateRoute(request);
+
+        // Index target item names across all routes and resolve their drop chances from the catalogue
+        List<String> itemNames = routes.stream()
+                .flatMap(route -> route.path().stream())
+                .flatMap(waypoint -> waypoint.targetMatchItems().stream())
+                .distinct()
+                .sorted()
+                .toList();
+        Map<String, Double> dropChances = resolveDropChances(itemNames);
+        Map<String, Integer> itemIndex = new HashMap<>();
+        for (int i = 0; i < itemNames.size(); i++) {
+            itemIndex.put(itemNames.get(i), i);
+        }
+
+        SplittableRandom root = new SplittableRandom(seed);
+        List<YieldSimulationDto> results = new ArrayList<>();
+        for (PlannerResponseDto route : routes) {
+            List<LootSource> sources = compile(route.path(), itemIndex, dropChances);
+            results.add(run(route, sources, itemNames, root.split(), iterationCap));
+        }
+
+        results.sort(Comparator.comparingDouble(YieldSimulationDto::expectedItems).reversed()
+                .thenComparing(Comparator.comparingDouble(YieldSimulationDto::plannerScore).reversed()));
+        return results;
+    }
+
+    /**
+     * One place along the route where loot can be rolled.
+     *
+     * @param rolls      Containers (or kills) available
+     * @param openChance Chance each one is actually looted
+     * @param items      Indices of target items that can be found
+     * @param chances    Per-roll find chance for each item
+     * @param container  Whether this is a targeted container group (counted separately)
+     */
+    private record LootSource(int rolls, double openChance, int[] items, double[] chances, boolean container) {
+    }
+
+    private Map<String, Double> resolveDropChances(List<String> itemNames) {
+        Map<String, Double> chances = new HashMap<>();
+        for (String itemName : itemNames) {
+            itemCatalogueIndex.findItem(itemName).ifPresent(item -> {
+                String rarity = item.rarity() != null ? item.rarity().toLowerCase() : "";
+                chances.put(item.name(), DROP_CHANCE_BY_RARITY.getOrDefault(rarity, DEFAULT_DROP_CHANCE));
+            });
+        }
+        return chances;
+    }
+
+    private List<LootSource> compile(List<WaypointDto> path, Map<String, Integer> itemIndex, Map<String, Double> dropChances) {
+        List<LootSource> sources = new ArrayList<>();
+        for (WaypointDto waypoint : path) {
+            if ("MARKER_GROUP".equals(waypoint.type())) {
+                int markers = waypoint.markerCount() != null ? waypoint.markerCount() : 1;
+                sources.add(new LootSource(markers, CONTAINER_LOOT_CHANCE, new int[0], new double[0], true));
+                continue;
+            }
+            if (waypoint.targetMatchItems().isEmpty()) {
+                continue;
+            }
+
+            int[] items = waypoint.targetMatchItems().stream().mapToInt(itemIndex::get).toArray();
+            double[] chances = waypoint.targetMatchItems().stream()
+                    .mapToDouble(name -> dropChances.getOrDefault(name, DEFAULT_DROP_CHANCE))
+                    .toArray();
+            if ("AREA".equals(waypoint.type())) {
+                int containers = waypoint.lootAbundance() != null
+                        ? CONTAINERS_BY_ABUNDANCE.getOrDefault(waypoint.lootAbundance(), DEFAULT_CONTAINERS_PER_AREA)
+                        : DEFAULT_CONTAINERS_PER_AREA;
+                sources.add(new LootSource(containers, CONTAINER_LOOT_CHANCE, items, chances, false));
+            } else {
+                sources.add(new LootSource(1, ENEMY_KILL_CHANCE, items, chances, false));
+            }
+        }
+        return sources;
+    }
+
+    /**
+     * Running totals for a batch of simulated raids, merged chunk by chunk.
+     */
+    private static final class Tally {
+        long raids;
+        double sum;
+        double sumSquares;
+        long containers;
+        final long[] perItem;
+
+        Tally(int itemCount) {
+            this.perItem = new long[itemCount];
+        }
+
+        void merge(Tally other) {
+            raids += other.raids;
+            sum += other.sum;
+            sumSquares += other.sumSquares;
+            containers += other.containers;
+            for (int i = 0; i < perItem.length; i++) {
+                perItem[i] += other.perItem[i];
+            }
+        }
+
+        double mean() {
+            return raids > 0 ? sum / raids : 0;
+        }
+
+        double variance() {
+            return raids > 1 ? Math.max(0, (sumSquares - sum * sum / raids) / (raids - 1)) : 0;
+        }
+
+        double ciHalfWidth() {
+            return raids > 0 ? CI_Z * Math.sqrt(variance() / raids) : Double.POSITIVE_INFINITY;
+        }
+    }
+
+    private YieldSimulationDto run(PlannerResponseDto route, List<LootSource> sources, List<String> itemNames,
+                                   SplittableRandom rng, long iterationCap) {
+        Tally total = new Tally(itemNames.size());
+        boolean converged = false;
+
+        while (total.raids < iterationCap) {
+            // Convergence is checked once per round of chunks, each with its own split RNG
+            long remaining = iterationCap - total.raids;
+            int chunks = (int) Math.min(CHUNKS_PER_ROUND, (remaining + CHUNK_SIZE - 1) / CHUNK_SIZE);
+            for (int c = 0; c < chunks; c++) {
+                int chunkSize = (int) Math.min(CHUNK_SIZE, remaining - (long) c * CHUNK_SIZE);
+                total.merge(simulateChunk(sources, itemNames.size(), rng.split(), chunkSize));
+            }
+
+            if (total.raids >= MIN_ITERATIONS
+                    && total.ciHalfWidth() <= Math.max(CI_ABSOLUTE_TOLERANCE, CI_RELATIVE_TOLERANCE * total.mean())) {
+                converged = true;
+                break;
+            }
+        }
+
+        Map<String, Double> expectedPerItem = new LinkedHashMap<>();
+        for (int i = 0; i < itemNames.size(); i++) {
+            if (total.perItem[i] > 0) {
+                expectedPerItem.put(itemNames.get(i), (double) total.perItem[i] / total.raids);
+            }
+        }
+
+        double mean = total.mean();
+        double halfWidth = total.ciHalfWidth();
+        log.debug("Simulated {} raids on {}: mean={}, ci=±{}, converged={}",
+                total.raids, route.mapName(), mean, halfWidth, converged);
+        return new YieldSimulationDto(
+                route.mapId(),
+                route.mapName(),
+                route.score(),
+                mean,
+                total.variance(),
+                Math.max(0, mean - halfWidth),
+                mean + halfWidth,
+                total.raids > 0 ? (double) total.containers / total.raids : 0,
+                expectedPerItem,
+                total.raids,
+                converged);
+    }
+
+    private static Tally simulateChunk(List<LootSource> sources, int itemCount, SplittableRandom rng, int raids) {
+        Tally tally = new Tally(itemCount);
+        for (int raid = 0; raid < raids; raid++) {
+            long found = 0;
+            for (LootSource source : sources) {
+                for (int roll = 0; roll < source.rolls(); roll++) {
+                    if (rng.nextDouble() >= source.openChance()) {
+                        continue;
+                    }
+                    if (source.container()) {
+                        tally.containers++;
+                    }
+                    for (int i = 0; i < source.items().length; i++) {
+                        if (rng.nextDouble() < source.chances()[i]) {
+                            tally.perItem[source.items()[i]]++;
+                            found++;
+                        }
+                    }
+                }
+            }
+            tally.raids++;
+            tally.sum += found;
+            tally.sumSquares += (double) found * found;
+        }
+        return tally;
+    }
+}
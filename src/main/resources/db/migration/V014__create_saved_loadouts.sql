@@ -0,0 +1,15 @@
+-- V014__create_saved_loadouts.sql
+-- Saved planner requests with their materialised plans (recomputed in the background on data change)
+
+CREATE TABLE saved_loadouts (
+    id BIGSERIAL PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    request_json TEXT NOT NULL,               -- Serialised PlannerRequestDto
+    plan_json TEXT,                           -- Serialised planner response; NULL until first computed
+    plan_status VARCHAR(20) NOT NULL DEFAULT 'PENDING', -- PENDING, READY, FAILED
+    plan_computed_at TIMESTAMP WITH TIME ZONE,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW()
+);
+
+-- Rollback:
+-- DROP TABLE IF EXISTS saved_loadouts;
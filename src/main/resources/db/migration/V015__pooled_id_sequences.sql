@@ -0,0 +1,17 @@
+-- V015__pooled_id_sequences.sql
+-- Sync-written tables switch from IDENTITY to pooled sequence ids (allocationSize = 50) so Hibernate
+-- can batch their inserts. The BIGSERIAL sequences are kept; only their increment changes to match.
+-- Existing ids are unaffected: the next value handed out is current + 50, the top of a fresh block.
+
+ALTER SEQUENCE items_id_seq INCREMENT BY 50;
+ALTER SEQUENCE recipes_id_seq INCREMENT BY 50;
+ALTER SEQUENCE recipe_ingredients_id_seq INCREMENT BY 50;
+
+-- The sync resolves items (and recipe ingredients) by name, one IN query per batch
+CREATE INDEX idx_items_name ON items(name);
+
+-- Rollback:
+-- DROP INDEX IF EXISTS idx_items_name;
+-- ALTER SEQUENCE items_id_seq INCREMENT BY 1;
+-- ALTER SEQUENCE recipes_id_seq INCREMENT BY 1;
+-- ALTER SEQUENCE recipe_ingredients_id_seq INCREMENT BY 1;
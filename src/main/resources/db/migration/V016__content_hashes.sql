@@ -0,0 +1,13 @@
+-- V016__content_hashes.sql
+-- SHA-256 of the upstream fields each synced row was written from. A re-sync compares it with the
+-- hash of the incoming record and skips unchanged rows, so it neither writes them nor reports them.
+-- Existing rows start with NULL and are rewritten once by the next sync.
+
+ALTER TABLE items ADD COLUMN content_hash VARCHAR(64);
+ALTER TABLE recipes ADD COLUMN content_hash VARCHAR(64);
+ALTER TABLE map_markers ADD COLUMN content_hash VARCHAR(64);
+
+-- Rollback:
+-- ALTER TABLE map_markers DROP COLUMN content_hash;
+-- ALTER TABLE recipes DROP COLUMN content_hash;
+-- ALTER TABLE items DROP COLUMN content_hash;
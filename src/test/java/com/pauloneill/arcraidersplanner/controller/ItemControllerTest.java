@@ -0,0 +1,133 @@
+package com.pauloneill.arcraidersplanner.controller;
+
+import com.pauloneill.arcraidersplanner.dto.PlannerRequestDto;
+import com.pauloneill.arcraidersplanner.dto.PlannerResponseDto;
+import com.pauloneill.arcraidersplanner.service.AcquisitionPlannerService;
+import com.pauloneill.arcraidersplanner.service.DtoMapper;
+import com.pauloneill.arcraidersplanner.service.ItemBrowseIndex;
+import com.pauloneill.arcraidersplanner.service.ItemRecommendationTable;
+import com.pauloneill.arcraidersplanner.service.ItemRecommendationTable.Recommendation;
+import com.pauloneill.arcraidersplanner.service.ItemSearchIndex;
+import com.pauloneill.arcraidersplanner.service.ItemService;
+import com.pauloneill.arcraidersplanner.service.PlannerBulkhead;
+import com.pauloneill.arcraidersplanner.service.PlannerOverloadedException;
+import com.pauloneill.arcraidersplanner.service.PlannerService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests for the planning endpoints of ItemController.
+ * WHY: Planning must run on the planner bulkhead like /api/planner, never on request threads, and
+ * recommendations served from an outdated table must say so.
+ */
+@WebMvcTest(ItemController.class)
+class ItemControllerTest {
+
+    private static final String PLAN_REQUEST =
+            "{\"targetItemNames\":[\"Copper Wire\"],\"routingProfile\":\"PURE_SCAVENGER\"}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private PlannerService plannerService;
+
+    @MockBean
+    private PlannerBulkhead plannerBulkhead;
+
+    @MockBean
+    private ItemService itemService;
+
+    @MockBean
+    private DtoMapper dtoMapper;
+
+    @MockBean
+    private ItemSearchIndex itemSearchIndex;
+
+    @MockBean
+    private ItemBrowseIndex itemBrowseIndex;
+
+    @MockBean
+    private AcquisitionPlannerService acquisitionPlannerService;
+
+    @MockBean
+    private ItemRecommendationTable itemRecommendationTable;
+
+    @Test
+    @DisplayName("POST /api/items/plan - Should plan on the planner bulkhead")
+    void shouldPlanThroughBulkhead() throws Exception {
+        // Arrange
+        when(plannerBulkhead.submit(any())).thenAnswer(invocation ->
+                CompletableFuture.completedFuture(((Supplier<?>) invocation.getArgument(0)).get()));
+        when(plannerService.generateRoute(any(PlannerRequestDto.class))).thenReturn(List.of(
+                new PlannerResponseDto(1L, "Dam", 42.0, List.of(), null, null, null, List.of())));
+
+        // Act
+        MvcResult started = mockMvc.perform(post("/api/items/plan")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(PLAN_REQUEST))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].mapName").value("Dam"))
+                .andExpect(jsonPath("$[0].score").value(42.0));
+    }
+
+    @Test
+    @DisplayName("POST /api/items/plan - Should return 503 with Retry-After when the planner is at capacity")
+    void shouldRejectPlanWhenOverloaded() throws Exception {
+        // Arrange
+        when(plannerBulkhead.submit(any())).thenThrow(new PlannerOverloadedException(3));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/items/plan")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(PLAN_REQUEST))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "3"));
+
+        verifyNoInteractions(plannerService);
+    }
+
+    @Test
+    @DisplayName("GET /api/items/recommendation - Should report the data version and staleness of the answer")
+    void shouldReportRecommendationStaleness() throws Exception {
+        // Arrange
+        when(itemRecommendationTable.getRecommendation("Copper Wire")).thenReturn(CompletableFuture.completedFuture(
+                new Recommendation(List.of(new PlannerResponseDto(1L, "Dam", 5.0, List.of(), null, null, null, List.of())),
+                        4L, true)));
+
+        // Act
+        MvcResult started = mockMvc.perform(get("/api/items/recommendation").param("itemName", "Copper Wire"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Data-Version", "4"))
+                .andExpect(header().string("X-Data-Stale", "true"))
+                .andExpect(jsonPath("$[0].mapName").value("Dam"));
+    }
+}
@@ -0,0 +1,105 @@
+package com.pauloneill.arcraidersplanner.controller;
+
+import com.pauloneill.arcraidersplanner.dto.LoadoutPlanDto;
+import com.pauloneill.arcraidersplanner.dto.PlannerResponseDto;
+import com.pauloneill.arcraidersplanner.dto.SavedLoadoutDto;
+import com.pauloneill.arcraidersplanner.dto.SavedLoadoutRequestDto;
+import com.pauloneill.arcraidersplanner.model.SavedLoadout.PlanStatus;
+import com.pauloneill.arcraidersplanner.service.SavedLoadoutService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests for the saved loadout endpoints.
+ * WHY: Clients rely on the status codes (201 on save, 204 on delete, 404 for unknown loadouts) and on
+ * the plan status to know whether a stored plan is current.
+ */
+@WebMvcTest(LoadoutController.class)
+class LoadoutControllerTest {
+
+    private static final String LOADOUT_REQUEST =
+            "{\"name\":\"Copper run\",\"request\":{\"targetItemNames\":[\"Copper Wire\"],\"routingProfile\":\"PURE_SCAVENGER\"}}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private SavedLoadoutService savedLoadoutService;
+
+    @Test
+    @DisplayName("POST /api/loadouts - Should save the loadout and answer 201 with plan status PENDING")
+    void shouldCreateLoadout() throws Exception {
+        // Arrange
+        when(savedLoadoutService.createLoadout(any(SavedLoadoutRequestDto.class)))
+                .thenReturn(new SavedLoadoutDto(7L, "Copper run", null, PlanStatus.PENDING, null));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/loadouts")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(LOADOUT_REQUEST))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(7))
+                .andExpect(jsonPath("$.planStatus").value("PENDING"));
+    }
+
+    @Test
+    @DisplayName("GET /api/loadouts/{id}/plan - Should return the stored plan with its status")
+    void shouldGetPlan() throws Exception {
+        // Arrange
+        when(savedLoadoutService.getPlan(7L)).thenReturn(new LoadoutPlanDto(7L, PlanStatus.READY,
+                Instant.parse("2026-01-01T00:00:00Z"),
+                List.of(new PlannerResponseDto(1L, "Dam", 5.0, List.of(), null, null, null, List.of()))));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/loadouts/7/plan"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.planStatus").value("READY"))
+                .andExpect(jsonPath("$.routes[0].mapName").value("Dam"));
+    }
+
+    @Test
+    @DisplayName("GET /api/loadouts/{id} - Should answer 404 for an unknown loadout")
+    void shouldReturnNotFoundForUnknownLoadout() throws Exception {
+        // Arrange
+        when(savedLoadoutService.getLoadout(99L))
+                .thenThrow(new ResponseStatusException(HttpStatus.NOT_FOUND, "Loadout not found: 99"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/loadouts/99"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("DELETE /api/loadouts/{id} - Should answer 204, or 404 for an unknown loadout")
+    void shouldDeleteLoadout() throws Exception {
+        // Arrange
+        doThrow(new ResponseStatusException(HttpStatus.NOT_FOUND, "Loadout not found: 99"))
+                .when(savedLoadoutService).deleteLoadout(99L);
+
+        // Act & Assert
+        mockMvc.perform(delete("/api/loadouts/7"))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(delete("/api/loadouts/99"))
+                .andExpect(status().isNotFound());
+        verify(savedLoadoutService).deleteLoadout(7L);
+    }
+}
@@ -0,0 +1,83 @@
+package com.pauloneill.arcraidersplanner.controller;
+
+import com.pauloneill.arcraidersplanner.dto.PlanningModelDto;
+import com.pauloneill.arcraidersplanner.repository.GameMapRepository;
+import com.pauloneill.arcraidersplanner.repository.MapMarkerRepository;
+import com.pauloneill.arcraidersplanner.service.DtoMapper;
+import com.pauloneill.arcraidersplanner.service.EnemyDensityIndex;
+import com.pauloneill.arcraidersplanner.service.MapQuickRankService;
+import com.pauloneill.arcraidersplanner.service.PlanningModelService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests for the planning model endpoint's HTTP caching.
+ * WHY: Clients revalidate the cached model on every load; an unchanged data version must answer 304.
+ */
+@WebMvcTest(MapController.class)
+class MapControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private GameMapRepository gameMapRepository;
+
+    @MockBean
+    private MapMarkerRepository mapMarkerRepository;
+
+    @MockBean
+    private DtoMapper dtoMapper;
+
+    @MockBean
+    private EnemyDensityIndex enemyDensityIndex;
+
+    @MockBean
+    private PlanningModelService planningModelService;
+
+    @MockBean
+    private MapQuickRankService mapQuickRankService;
+
+    @Test
+    @DisplayName("GET /api/maps/{id}/planning-model - Should return the model with an ETag, then 304 on revalidation")
+    void shouldServePlanningModelWithETag() throws Exception {
+        // Arrange
+        PlanningModelDto model = new PlanningModelDto(3L, 1L, "Dam", List.of("area:10"), List.of("Area 10"),
+                new float[]{1f}, new float[]{2f}, List.of("Industrial"), 1, new int[]{1}, new int[]{0},
+                1.0, new byte[]{0, 0});
+        when(planningModelService.getModel(1L)).thenReturn(Optional.of(model));
+        when(planningModelService.entityTag(any())).thenReturn("pm-1-v3");
+
+        // Act & Assert
+        mockMvc.perform(get("/api/maps/1/planning-model"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"pm-1-v3\""))
+                .andExpect(jsonPath("$.dataVersion").value(3))
+                .andExpect(jsonPath("$.pointIds[0]").value("area:10"))
+                .andExpect(jsonPath("$.distances").value("AAA="));
+
+        mockMvc.perform(get("/api/maps/1/planning-model").header("If-None-Match", "\"pm-1-v3\""))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("GET /api/maps/{id}/planning-model - Should return 404 for unknown maps")
+    void shouldReturnNotFoundForUnknownMap() throws Exception {
+        when(planningModelService.getModel(99L)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/maps/99/planning-model"))
+                .andExpect(status().isNotFound());
+    }
+}
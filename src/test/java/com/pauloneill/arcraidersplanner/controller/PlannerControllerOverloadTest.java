@@ -0,0 +1,59 @@
+package com.pauloneill.arcraidersplanner.controller;
+
+import com.pauloneill.arcraidersplanner.service.PlannerBulkhead;
+import com.pauloneill.arcraidersplanner.service.PlannerOverloadedException;
+import com.pauloneill.arcraidersplanner.service.PlannerService;
+import com.pauloneill.arcraidersplanner.service.SessionPlannerService;
+import com.pauloneill.arcraidersplanner.service.YieldSimulationService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests for planner admission control at the HTTP layer.
+ * WHY: A saturated planner must fast-fail with 503 and Retry-After instead of queueing unboundedly.
+ */
+@WebMvcTest(PlannerController.class)
+class PlannerControllerOverloadTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private PlannerService plannerService;
+
+    @MockBean
+    private PlannerBulkhead plannerBulkhead;
+
+    @MockBean
+    private YieldSimulationService yieldSimulationService;
+
+    @MockBean
+    private SessionPlannerService sessionPlannerService;
+
+    @Test
+    @DisplayName("POST /api/planner - Should return 503 with Retry-After when the planner is at capacity")
+    void shouldRejectWhenOverloaded() throws Exception {
+        // Arrange
+        when(plannerBulkhead.submit(any())).thenThrow(new PlannerOverloadedException(5));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/planner")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"targetItemNames\":[\"Copper Wire\"],\"routingProfile\":\"PURE_SCAVENGER\"}"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "5"));
+
+        verifyNoInteractions(plannerService);
+    }
+}
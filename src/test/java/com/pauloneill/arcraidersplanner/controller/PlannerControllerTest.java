@@ -3,7 +3,9 @@ package com.pauloneill.arcraidersplanner.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.pauloneill.arcraidersplanner.dto.PlannerRequestDto;
 import com.pauloneill.arcraidersplanner.dto.PlannerResponseDto;
+import com.pauloneill.arcraidersplanner.dto.YieldSimulationDto;
 import com.pauloneill.arcraidersplanner.service.PlannerService;
+import com.pauloneill.arcraidersplanner.service.YieldSimulationService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,12 +14,16 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -39,6 +45,9 @@ class PlannerControllerTest {
     @MockBean
     private PlannerService plannerService;
 
+    @MockBean
+    private YieldSimulationService yieldSimulationService;
+
     @Test
     @DisplayName("POST /api/planner - Should return route recommendations for PURE_SCAVENGER")
     void shouldReturnRouteRecommendations() throws Exception {
@@ -68,9 +77,7 @@ class PlannerControllerTest {
                 .thenReturn(List.of(mockResponse));
 
         // Act & Assert
-        mockMvc.perform(post("/api/planner")
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(request)))
+        mockMvc.perform(asyncDispatch(startPlannerRequest(request)))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].mapName").value("The Spaceport"))
                 .andExpect(jsonPath("$[0].score").value(200.0))
@@ -106,9 +113,7 @@ class PlannerControllerTest {
                 .thenReturn(List.of(mockResponse));
 
         // Act & Assert
-        mockMvc.perform(post("/api/planner")
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(request)))
+        mockMvc.perform(asyncDispatch(startPlannerRequest(request)))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].mapName").value("The Spaceport"))
                 .andExpect(jsonPath("$[0].extractionPoint").value("Raider Hatch Alpha"));
@@ -143,9 +148,7 @@ class PlannerControllerTest {
                 .thenReturn(List.of(mockResponse));
 
         // Act & Assert
-        mockMvc.perform(post("/api/planner")
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(request)))
+        mockMvc.perform(asyncDispatch(startPlannerRequest(request)))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].mapName").value("Buried City"))
                 .andExpect(jsonPath("$[0].score").value(180.0));
@@ -180,9 +183,7 @@ class PlannerControllerTest {
                 .thenReturn(List.of(mockResponse));
 
         // Act & Assert
-        mockMvc.perform(post("/api/planner")
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(request)))
+        mockMvc.perform(asyncDispatch(startPlannerRequest(request)))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].mapName").value("Blue Gate"))
                 .andExpect(jsonPath("$[0].extractionPoint").value("Safe Hatch Beta"));
@@ -206,9 +207,7 @@ class PlannerControllerTest {
                 .thenReturn(Collections.emptyList());
 
         // Act & Assert
-        mockMvc.perform(post("/api/planner")
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(request)))
+        mockMvc.perform(asyncDispatch(startPlannerRequest(request)))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$").isEmpty());
@@ -236,9 +235,7 @@ class PlannerControllerTest {
                 .thenReturn(List.of(map1, map2, map3));
 
         // Act & Assert
-        mockMvc.perform(post("/api/planner")
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(request)))
+        mockMvc.perform(asyncDispatch(startPlannerRequest(request)))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$.length()").value(3))
@@ -281,9 +278,7 @@ class PlannerControllerTest {
                 .thenReturn(List.of(mockResponse));
 
         // Act & Assert
-        mockMvc.perform(post("/api/planner")
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(request)))
+        mockMvc.perform(asyncDispatch(startPlannerRequest(request)))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].mapName").value("The Spaceport"))
                 .andExpect(jsonPath("$[0].score").value(250.0));
@@ -318,9 +313,7 @@ class PlannerControllerTest {
                 .thenReturn(List.of(mockResponse));
 
         // Act & Assert
-        mockMvc.perform(post("/api/planner")
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(request)))
+        mockMvc.perform(asyncDispatch(startPlannerRequest(request)))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].mapName").value("Buried City"))
                 .andExpect(jsonPath("$[0].score").value(350.0));
@@ -344,9 +337,7 @@ class PlannerControllerTest {
                 .thenReturn(Collections.emptyList());
 
         // Act & Assert
-        mockMvc.perform(post("/api/planner")
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(request)))
+        mockMvc.perform(asyncDispatch(startPlannerRequest(request)))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$").isEmpty());
@@ -382,9 +373,7 @@ class PlannerControllerTest {
                 .thenReturn(List.of(map1, map2)); // Already sorted by score
 
         // Act & Assert
-        mockMvc.perform(post("/api/planner")
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(request)))
+        mockMvc.perform(asyncDispatch(startPlannerRequest(request)))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$.length()").value(2))
@@ -423,13 +412,66 @@ class PlannerControllerTest {
                 .thenReturn(List.of(mockResponse));
 
         // Act & Assert
-        mockMvc.perform(post("/api/planner")
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(request)))
+        mockMvc.perform(asyncDispatch(startPlannerRequest(request)))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].mapName").value("The Spaceport"))
                 .andExpect(jsonPath("$[0].extractionPoint").value("Raider Hatch Alpha"))
                 .andExpect(jsonPath("$[0].extractionLat").value(15.5))
                 .andExpect(jsonPath("$[0].extractionLng").value(25.3));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("POST /api/planner/simulate - Should return maps ranked by simulated yield")
+    void shouldReturnSimulatedYield() throws Exception {
+        // Arrange
+        PlannerRequestDto request = new PlannerRequestDto(
+                List.of("Copper Wire"), null, null, null, false,
+                PlannerRequestDto.RoutingProfile.PURE_SCAVENGER, Collections.emptyList());
+        YieldSimulationDto simulation = new YieldSimulationDto(1L, "The Spaceport", 200.0, 1.8, 0.9, 1.78, 1.82,
+                0.0, Map.of("Copper Wire", 1.8), 20000, true);
+        when(yieldSimulationService.simulate(any(PlannerRequestDto.class), eq(50000L), eq(7L)))
+                .thenReturn(List.of(simulation));
+
+        // Act
+        MvcResult result = mockMvc.perform(post("/api/planner/simulate")
+                        .param("maxIterations", "50000")
+                        .param("seed", "7")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].mapName").value("The Spaceport"))
+                .andExpect(jsonPath("$[0].expectedItems").value(1.8))
+                .andExpect(jsonPath("$[0].converged").value(true));
+    }
+
+    @Test
+    @DisplayName("POST /api/planner/squad - Should reject squad sizes outside 1-4")
+    void shouldRejectInvalidSquadSize() throws Exception {
+        PlannerRequestDto request = new PlannerRequestDto(
+                List.of("Copper Wire"), null, null, null, false,
+                PlannerRequestDto.RoutingProfile.PURE_SCAVENGER, Collections.emptyList());
+
+        mockMvc.perform(post("/api/planner/squad")
+                        .param("players", "0")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Posts a planner request and waits for the controller to hand it to the planner executor.
+     * WHY: The endpoint completes asynchronously, so assertions must run against the async dispatch.
+     */
+    private MvcResult startPlannerRequest(PlannerRequestDto plannerRequest) throws Exception {
+        return mockMvc.perform(post("/api/planner")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(plannerRequest)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+}
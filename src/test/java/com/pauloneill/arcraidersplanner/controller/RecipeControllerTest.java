@@ -8,7 +8,9 @@ import com.pauloneill.arcraidersplanner.model.Recipe;
 import com.pauloneill.arcraidersplanner.model.RecipeType;
 import com.pauloneill.arcraidersplanner.repository.ItemRepository;
 import com.pauloneill.arcraidersplanner.repository.RecipeRepository;
+import com.pauloneill.arcraidersplanner.service.DataVersionService;
 import com.pauloneill.arcraidersplanner.service.DtoMapper;
+import com.pauloneill.arcraidersplanner.service.RecipeGraph;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -42,6 +44,12 @@ public class RecipeControllerTest {
     @MockBean
     private DtoMapper dtoMapper;
 
+    @MockBean
+    private DataVersionService dataVersionService;
+
+    @MockBean
+    private RecipeGraph recipeGraph;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -90,4 +98,10 @@ public class RecipeControllerTest {
                 .andExpect(jsonPath("$.id").value(100))
                 .andExpect(jsonPath("$.name").value("New Recipe"));
     }
+
+    @Test
+    void testGetBillOfMaterialsRequiresRecipeIds() throws Exception {
+        mockMvc.perform(get("/api/recipes/bom"))
+                .andExpect(status().isBadRequest());
+    }
 }
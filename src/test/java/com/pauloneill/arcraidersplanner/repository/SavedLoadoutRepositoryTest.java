@@ -0,0 +1,61 @@
+package com.pauloneill.arcraidersplanner.repository;
+
+import com.pauloneill.arcraidersplanner.model.SavedLoadout;
+import com.pauloneill.arcraidersplanner.model.SavedLoadout.PlanStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+class SavedLoadoutRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private SavedLoadoutRepository savedLoadoutRepository;
+
+    @Test
+    void storePlanShouldOnlyWritePlanColumns() {
+        SavedLoadout loadout = persistLoadout("Copper run");
+        Instant computedAt = Instant.parse("2026-01-01T00:00:00Z");
+
+        int updated = savedLoadoutRepository.storePlan(loadout.getId(), "[]", computedAt);
+        entityManager.clear();
+
+        assertThat(updated).isEqualTo(1);
+        SavedLoadout stored = savedLoadoutRepository.findById(loadout.getId()).orElseThrow();
+        assertThat(stored.getPlanJson()).isEqualTo("[]");
+        assertThat(stored.getPlanStatus()).isEqualTo(PlanStatus.READY);
+        assertThat(stored.getPlanComputedAt()).isEqualTo(computedAt);
+        assertThat(stored.getName()).isEqualTo("Copper run");
+    }
+
+    @Test
+    void storePlanShouldNotRecreateDeletedLoadout() {
+        SavedLoadout loadout = persistLoadout("Deleted run");
+        savedLoadoutRepository.deleteById(loadout.getId());
+        entityManager.flush();
+
+        int stored = savedLoadoutRepository.storePlan(loadout.getId(), "[]", Instant.now());
+        int failed = savedLoadoutRepository.markFailed(loadout.getId());
+
+        assertThat(stored).isZero();
+        assertThat(failed).isZero();
+        assertThat(savedLoadoutRepository.count()).isZero();
+    }
+
+    private SavedLoadout persistLoadout(String name) {
+        SavedLoadout loadout = new SavedLoadout();
+        loadout.setName(name);
+        loadout.setRequestJson("{}");
+        entityManager.persist(loadout);
+        entityManager.flush();
+        return loadout;
+    }
+}
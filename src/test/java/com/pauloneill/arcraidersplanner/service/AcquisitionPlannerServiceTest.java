@@ -0,0 +1,143 @@
+package com.pauloneill.arcraidersplanner.service;
+
+import com.pauloneill.arcraidersplanner.dto.AcquisitionPlanDto;
+import com.pauloneill.arcraidersplanner.dto.AcquisitionPlanDto.Decision;
+import com.pauloneill.arcraidersplanner.service.ItemCatalogueIndex.CatalogueItem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+import static com.pauloneill.arcraidersplanner.service.CatalogueFixtures.ingredient;
+import static com.pauloneill.arcraidersplanner.service.CatalogueFixtures.item;
+import static com.pauloneill.arcraidersplanner.service.CatalogueFixtures.recipe;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for the cheapest-acquisition solver.
+ * WHY: Each item must pick the cheaper of its own value and its cheapest crafting route, and that
+ * choice must propagate up through multi-level recipes. Ties go to looting, and a crafting cycle
+ * must never make an item look cheaper than it is.
+ */
+@ExtendWith(MockitoExtension.class)
+class AcquisitionPlannerServiceTest {
+
+    @Mock
+    private ItemCatalogueIndex itemCatalogueIndex;
+
+    private AcquisitionPlannerService service;
+
+    @BeforeEach
+    void setUp() {
+        DataVersionService dataVersionService = new DataVersionService(event -> { });
+        service = new AcquisitionPlannerService(new RecipeGraph(itemCatalogueIndex, dataVersionService),
+                itemCatalogueIndex, dataVersionService);
+
+        // Plate = 2 Scrap costs exactly its value of 20, so the tie loots it;
+        // Engine = 3 Plate + 2 Spring costs 60 + 60 = 120 < 200, so craft it;
+        // Turbine = 2 Engine + 1 Scrap costs 240 + 10 = 250 < 400, so craft it through crafted Engines;
+        // Gear = 3 Spring costs 90 > 50, so loot it;
+        // Alpha and Beta require each other, so neither is ever crafted however cheap the cycle looks;
+        // Relic has a recipe using unpriced Dust, so it can only be looted (and has no value)
+        List<CatalogueItem> items = List.of(
+                item(1L, "Scrap").metaforgeId("scrap").value(10).build(),
+                item(2L, "Plate").metaforgeId("plate").value(20).build(),
+                item(3L, "Spring").metaforgeId("spring").value(30).build(),
+                item(4L, "Engine").metaforgeId("engine").value(200).build(),
+                item(5L, "Turbine").metaforgeId("turbine").value(400).build(),
+                item(6L, "Gear").metaforgeId("gear").value(50).build(),
+                item(7L, "Alpha").metaforgeId("alpha").value(300).build(),
+                item(8L, "Beta").metaforgeId("beta").value(40).build(),
+                item(9L, "Dust").metaforgeId("dust").build(),
+                item(10L, "Relic").metaforgeId("relic").build());
+        when(itemCatalogueIndex.getItems()).thenReturn(items);
+        when(itemCatalogueIndex.getRecipes()).thenReturn(List.of(
+                recipe(20L, "plate", ingredient(1L, "Scrap", 2)),
+                recipe(40L, "engine", ingredient(2L, "Plate", 3), ingredient(3L, "Spring", 2)),
+                recipe(50L, "turbine", ingredient(4L, "Engine", 2), ingredient(1L, "Scrap", 1)),
+                recipe(60L, "gear", ingredient(3L, "Spring", 3)),
+                recipe(70L, "alpha", ingredient(8L, "Beta", 1), ingredient(1L, "Scrap", 1)),
+                recipe(80L, "beta", ingredient(7L, "Alpha", 1)),
+                recipe(100L, "relic", ingredient(9L, "Dust", 1))));
+    }
+
+    @Test
+    @DisplayName("Should craft when components are cheaper and propagate crafted costs up through every level")
+    void shouldCraftWhenCheaper() {
+        // Act
+        AcquisitionPlanDto plan = service.getPlan(5L, 2);
+
+        // Assert
+        assertEquals(Decision.CRAFT, plan.decision());
+        assertEquals(250L, plan.unitCost());
+        assertEquals(500L, plan.totalCost());
+        assertEquals(50L, plan.recipeId());
+        assertEquals(List.of("Engine", "Scrap"), plan.components().stream().map(AcquisitionPlanDto::itemName).toList());
+
+        AcquisitionPlanDto engines = plan.components().getFirst();
+        assertEquals(Decision.CRAFT, engines.decision());
+        assertEquals(4L, engines.quantity());
+        assertEquals(List.of(12L, 8L), engines.components().stream().map(AcquisitionPlanDto::quantity).toList());
+    }
+
+    @Test
+    @DisplayName("Should loot when the item is cheaper than its cheapest crafting route")
+    void shouldLootWhenCheaper() {
+        // Act
+        AcquisitionPlanDto plan = service.getPlan(6L, 1);
+
+        // Assert
+        assertEquals(Decision.LOOT, plan.decision());
+        assertEquals(50L, plan.unitCost());
+        assertEquals(90L, plan.craftCost());
+        assertTrue(plan.components().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should loot when looting and crafting cost the same")
+    void shouldLootOnTie() {
+        // Act
+        AcquisitionPlanDto plan = service.getPlan(2L, 3);
+
+        // Assert
+        assertEquals(Decision.LOOT, plan.decision());
+        assertEquals(20L, plan.unitCost());
+        assertEquals(20L, plan.craftCost());
+        assertEquals(60L, plan.totalCost());
+        assertNull(plan.recipeId());
+        assertTrue(plan.components().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should never price an item through a crafting cycle")
+    void shouldNotCraftThroughCycles() {
+        // Act
+        AcquisitionPlanDto alpha = service.getPlan(7L, 1);
+        AcquisitionPlanDto beta = service.getPlan(8L, 1);
+
+        // Assert - Alpha's cycle would cost 40 + 10 = 50 against a value of 300, but is cut
+        assertEquals(Decision.LOOT, alpha.decision());
+        assertEquals(300L, alpha.unitCost());
+        assertNull(alpha.craftCost());
+        assertEquals(Decision.LOOT, beta.decision());
+        assertNull(beta.craftCost());
+    }
+
+    @Test
+    @DisplayName("Should report items with no value and no priced recipe as unavailable, and unknown items as 404")
+    void shouldHandleUnpricedAndUnknownItems() {
+        // Act
+        AcquisitionPlanDto plan = service.getPlan(10L, 1);
+
+        // Assert
+        assertEquals(Decision.UNAVAILABLE, plan.decision());
+        assertNull(plan.totalCost());
+        assertThrows(ResponseStatusException.class, () -> service.getPlan(99L, 1));
+    }
+}
@@ -0,0 +1,110 @@
+package com.pauloneill.arcraidersplanner.service;
+
+import com.pauloneill.arcraidersplanner.model.RecipeType;
+import com.pauloneill.arcraidersplanner.service.ItemCatalogueIndex.CatalogueIngredient;
+import com.pauloneill.arcraidersplanner.service.ItemCatalogueIndex.CatalogueItem;
+import com.pauloneill.arcraidersplanner.service.ItemCatalogueIndex.CatalogueRecipe;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Shared factories for catalogue test data.
+ * WHY: CatalogueItem has twelve positional components; tests name only the ones they care about and
+ * take neutral defaults (Common material, no loot type, no drops, unpriced) for the rest.
+ */
+final class CatalogueFixtures {
+
+    private CatalogueFixtures() {
+    }
+
+    static ItemBuilder item(Long id, String name) {
+        return new ItemBuilder(id, name);
+    }
+
+    /**
+     * Crafting recipe named after its Metaforge ID.
+     */
+    static CatalogueRecipe recipe(Long id, String metaforgeItemId, CatalogueIngredient... ingredients) {
+        return recipe(id, metaforgeItemId, metaforgeItemId, ingredients);
+    }
+
+    static CatalogueRecipe recipe(Long id, String metaforgeItemId, String name, CatalogueIngredient... ingredients) {
+        return new CatalogueRecipe(id, metaforgeItemId, name, RecipeType.CRAFTING, List.of(ingredients));
+    }
+
+    static CatalogueIngredient ingredient(Long itemId, String itemName, int quantity) {
+        return new CatalogueIngredient(itemId, itemName, quantity);
+    }
+
+    static final class ItemBuilder {
+
+        private final Long id;
+        private final String name;
+        private String metaforgeId;
+        private String rarity = "Common";
+        private String itemType = "Material";
+        private Long lootTypeId;
+        private String lootTypeName;
+        private Set<String> droppedBy = Set.of();
+        private Integer value;
+        private Double weight;
+        private Integer stackSize;
+
+        private ItemBuilder(Long id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+
+        ItemBuilder metaforgeId(String metaforgeId) {
+            this.metaforgeId = metaforgeId;
+            return this;
+        }
+
+        ItemBuilder rarity(String rarity) {
+            this.rarity = rarity;
+            return this;
+        }
+
+        ItemBuilder itemType(String itemType) {
+            this.itemType = itemType;
+            return this;
+        }
+
+        ItemBuilder lootType(String lootTypeName) {
+            this.lootTypeName = lootTypeName;
+            return this;
+        }
+
+        ItemBuilder lootType(Long lootTypeId, String lootTypeName) {
+            this.lootTypeId = lootTypeId;
+            this.lootTypeName = lootTypeName;
+            return this;
+        }
+
+        ItemBuilder droppedBy(String... enemyTypes) {
+            this.droppedBy = Set.of(enemyTypes);
+            return this;
+        }
+
+        ItemBuilder value(Integer value) {
+            this.value = value;
+            return this;
+        }
+
+        ItemBuilder weight(Double weight) {
+            this.weight = weight;
+            return this;
+        }
+
+        ItemBuilder stackSize(Integer stackSize) {
+            this.stackSize = stackSize;
+            return this;
+        }
+
+        CatalogueItem build() {
+            return new CatalogueItem(id, name, metaforgeId, rarity, itemType, lootTypeId, lootTypeName, droppedBy,
+                    value, weight, stackSize, null);
+        }
+    }
+}
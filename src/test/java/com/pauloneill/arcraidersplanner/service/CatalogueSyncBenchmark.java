@@ -0,0 +1,200 @@
+package com.pauloneill.arcraidersplanner.service;
+
+import com.pauloneill.arcraidersplanner.model.GameMap;
+import com.pauloneill.arcraidersplanner.repository.GameMapRepository;
+import com.pauloneill.arcraidersplanner.repository.ItemRepository;
+import com.pauloneill.arcraidersplanner.repository.MapMarkerRepository;
+import com.pauloneill.arcraidersplanner.repository.RecipeRepository;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.StringJoiner;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Rows/second and peak heap of a full catalogue sync (items, recipes, markers) against a local stub
+ * Metaforge server and the test database.
+ * Not run by Surefire (name does not match its includes); start it explicitly:
+ * <pre>
+ * mvn test -Dtest=CatalogueSyncBenchmark -Dsurefire.failIfNoSpecifiedTests=false
+ * </pre>
+ */
+@SpringBootTest(properties = {
+        "app.ingestion.requests-per-second=0",
+        "app.ingestion.max-in-flight=8",
+        // The test profile logs every statement and bind parameter, which would dominate the timing
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql=WARN",
+        "spring.jpa.show-sql=false"
+})
+class CatalogueSyncBenchmark {
+
+    private static final int ITEMS = 10_000;
+    private static final int ITEMS_PER_PAGE = 100;
+    private static final int MAPS = 4;
+    private static final int MARKERS_PER_MAP = 5_000;
+
+    private static final HttpServer SERVER = startServer();
+
+    @Autowired
+    private MetaforgeSyncService syncService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private MapMarkerRepository markerRepository;
+
+    @Autowired
+    private GameMapRepository gameMapRepository;
+
+    // Grouping is not part of the write path being measured
+    @MockBean
+    private MarkerGroupingService markerGroupingService;
+
+    @DynamicPropertySource
+    static void stubMetaforge(DynamicPropertyRegistry registry) {
+        registry.add("metaforge.api.url", () -> "http://127.0.0.1:" + SERVER.getAddress().getPort());
+    }
+
+    @AfterAll
+    static void stopServer() {
+        SERVER.stop(0);
+    }
+
+    @Test
+    void fullCatalogueSync() {
+        for (int m = 0; m < MAPS; m++) {
+            GameMap map = new GameMap();
+            map.setName("Bench Map " + m);
+            map.setDescription("bench-" + m);
+            map.setCalibrationScaleX(1.0);
+            map.setCalibrationScaleY(1.0);
+            map.setCalibrationOffsetX(0.0);
+            map.setCalibrationOffsetY(0.0);
+            gameMapRepository.save(map);
+        }
+
+        resetHeapPeaks();
+        long startedAt = System.nanoTime();
+        syncService.syncItems();
+        long itemNanos = System.nanoTime() - startedAt;
+        long itemPeakHeap = heapPeakBytes();
+
+        resetHeapPeaks();
+        startedAt = System.nanoTime();
+        syncService.syncMarkers();
+        long markerNanos = System.nanoTime() - startedAt;
+        long markerPeakHeap = heapPeakBytes();
+
+        long items = itemRepository.count();
+        long recipes = recipeRepository.count();
+        long markers = markerRepository.count();
+        report("items + recipes", items + recipes, itemNanos, itemPeakHeap);
+        report("markers", markers, markerNanos, markerPeakHeap);
+
+        assertEquals(ITEMS, items);
+        assertEquals(ITEMS / 5 - 1, recipes, "Every fifth item from Item 5 on should have a recipe");
+        assertEquals((long) MAPS * MARKERS_PER_MAP, markers);
+    }
+
+    private static void report(String label, long rows, long nanos, long peakHeapBytes) {
+        System.out.printf("%-16s %8d rows in %6d ms = %8.0f rows/s, peak heap %5d MiB%n",
+                label, rows, nanos / 1_000_000, rows * 1e9 / nanos, peakHeapBytes / (1024 * 1024));
+    }
+
+    private static void resetHeapPeaks() {
+        System.gc();
+        ManagementFactory.getMemoryPoolMXBeans().forEach(MemoryPoolMXBean::resetPeakUsage);
+    }
+
+    // Sum of per-pool peaks: an upper bound on the true peak, comparable across runs
+    private static long heapPeakBytes() {
+        return ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .mapToLong(pool -> pool.getPeakUsage().getUsed())
+                .sum();
+    }
+
+    private static HttpServer startServer() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+            server.setExecutor(Executors.newFixedThreadPool(8));
+            server.createContext("/arc-raiders/items", exchange -> respond(exchange, itemPage(pageParam(exchange))));
+            server.createContext("/game-map-data", exchange -> respond(exchange, markers(mapParam(exchange))));
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void respond(HttpExchange exchange, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static int pageParam(HttpExchange exchange) {
+        return Integer.parseInt(exchange.getRequestURI().getQuery().replaceAll(".*page=(\\d+).*", "$1"));
+    }
+
+    private static String mapParam(HttpExchange exchange) {
+        return exchange.getRequestURI().getQuery().replaceAll(".*mapID=([^&]+).*", "$1");
+    }
+
+    private static String itemPage(int page) {
+        int totalPages = ITEMS / ITEMS_PER_PAGE;
+        StringJoiner items = new StringJoiner(",");
+        for (int i = (page - 1) * ITEMS_PER_PAGE; i < page * ITEMS_PER_PAGE; i++) {
+            String components = "[]";
+            if (i % 5 == 0 && i >= 2) {
+                components = "[" + component(i - 1, 2) + "," + component(i - 2, 3) + "]";
+            }
+            items.add("{\"id\":\"item-" + i + "\",\"name\":\"Item " + i + "\",\"description\":\"Benchmark item\","
+                    + "\"rarity\":\"Common\",\"value\":" + i + ",\"loot_area\":\"Area " + (i % 10) + "\","
+                    + "\"item_type\":\"Material\",\"stat_block\":{\"weight\":0.5,\"stackSize\":10},"
+                    + "\"components\":" + components + ","
+                    + "\"dropped_by\":[{\"id\":\"d" + i + "\",\"arc\":{\"id\":\"arc-" + (i % 7) + "\",\"name\":\"Arc\"}}]}");
+        }
+        return "{\"data\":[" + items + "],\"pagination\":{\"page\":" + page + ",\"per_page\":" + ITEMS_PER_PAGE
+                + ",\"totalPages\":" + totalPages + "}}";
+    }
+
+    private static String component(int item, int quantity) {
+        return "{\"quantity\":" + quantity + ",\"component\":{\"id\":\"item-" + item + "\",\"name\":\"Item " + item + "\"}}";
+    }
+
+    private static String markers(String mapCode) {
+        StringJoiner markers = new StringJoiner(",");
+        for (int i = 0; i < MARKERS_PER_MAP; i++) {
+            markers.add("{\"id\":\"" + mapCode + "-marker-" + i + "\",\"lat\":" + (i % 1000) + ",\"lng\":" + (i / 1000)
+                    + ",\"mapID\":\"" + mapCode + "\",\"category\":\"container\",\"subcategory\":\"crate\"}");
+        }
+        return "{\"allData\":[" + markers + "]}";
+    }
+}
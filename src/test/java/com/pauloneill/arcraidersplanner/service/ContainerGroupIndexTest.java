@@ -0,0 +1,106 @@
+package com.pauloneill.arcraidersplanner.service;
+
+import com.pauloneill.arcraidersplanner.model.ContainerType;
+import com.pauloneill.arcraidersplanner.model.GameMap;
+import com.pauloneill.arcraidersplanner.model.MarkerGroup;
+import com.pauloneill.arcraidersplanner.repository.MarkerGroupRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ContainerGroupIndexTest {
+
+    @Mock
+    private MarkerGroupRepository markerGroupRepository;
+
+    private DataVersionService dataVersionService;
+    private ContainerGroupIndex index;
+
+    private GameMap dam;
+    private GameMap spaceport;
+    private ContainerType redLocker;
+    private ContainerType raiderCache;
+
+    @BeforeEach
+    void setUp() {
+        dataVersionService = new DataVersionService(event -> { });
+        index = new ContainerGroupIndex(markerGroupRepository, dataVersionService);
+
+        dam = new GameMap();
+        dam.setId(1L);
+        dam.setName("Dam");
+
+        spaceport = new GameMap();
+        spaceport.setId(2L);
+        spaceport.setName("Spaceport");
+
+        redLocker = new ContainerType();
+        redLocker.setId(10L);
+        redLocker.setName("Red Locker");
+        redLocker.setSubcategory("red-locker");
+
+        raiderCache = new ContainerType();
+        raiderCache.setId(11L);
+        raiderCache.setName("Raider Cache");
+        raiderCache.setSubcategory("raider-cache");
+    }
+
+    @Test
+    @DisplayName("Should index groups by map and container type with a single query")
+    void shouldIndexGroupsByMapAndType() {
+        MarkerGroup damLocker = createGroup(100L, dam, redLocker);
+        MarkerGroup damCache = createGroup(101L, dam, raiderCache);
+        MarkerGroup spaceportLocker = createGroup(102L, spaceport, redLocker);
+        when(markerGroupRepository.findAllWithMapAndContainerType())
+                .thenReturn(List.of(damLocker, damCache, spaceportLocker));
+
+        assertEquals(List.of(damLocker), index.getGroups(1L, "red-locker"));
+        assertEquals(List.of(damCache), index.getGroups(1L, "raider-cache"));
+        assertEquals(List.of(spaceportLocker), index.getGroups(2L, "red-locker"));
+        assertTrue(index.getGroups(2L, "raider-cache").isEmpty());
+        assertTrue(index.getGroups(99L, "red-locker").isEmpty());
+
+        verify(markerGroupRepository, times(1)).findAllWithMapAndContainerType();
+    }
+
+    @Test
+    @DisplayName("Should reload once the data version changes")
+    void shouldReloadOnNewDataVersion() {
+        MarkerGroup damLocker = createGroup(100L, dam, redLocker);
+        MarkerGroup newDamLocker = createGroup(103L, dam, redLocker);
+        when(markerGroupRepository.findAllWithMapAndContainerType())
+                .thenReturn(List.of(damLocker))
+                .thenReturn(List.of(damLocker, newDamLocker));
+
+        assertEquals(1, index.getGroups(1L, "red-locker").size());
+
+        dataVersionService.markChanged("test");
+
+        assertEquals(2, index.getGroups(1L, "red-locker").size());
+        verify(markerGroupRepository, times(2)).findAllWithMapAndContainerType();
+    }
+
+    private MarkerGroup createGroup(Long id, GameMap map, ContainerType type) {
+        MarkerGroup group = new MarkerGroup();
+        group.setId(id);
+        group.setName(map.getName() + " - " + type.getName() + " Zone " + id);
+        group.setGameMap(map);
+        group.setContainerType(type);
+        group.setCenterLat(0.0);
+        group.setCenterLng(0.0);
+        group.setMarkerCount(3);
+        return group;
+    }
+}
@@ -0,0 +1,128 @@
+package com.pauloneill.arcraidersplanner.service;
+
+import com.pauloneill.arcraidersplanner.model.GameMap;
+import com.pauloneill.arcraidersplanner.model.MapMarker;
+import com.pauloneill.arcraidersplanner.model.RoutablePoint;
+import com.pauloneill.arcraidersplanner.repository.MapMarkerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.OptionalDouble;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EnemyDensityIndexTest {
+
+    @Mock
+    private MapMarkerRepository mapMarkerRepository;
+
+    private DataVersionService dataVersionService;
+    private EnemyDensityIndex index;
+    private GameMap dam;
+
+    @BeforeEach
+    void setUp() {
+        dataVersionService = new DataVersionService(event -> { });
+        index = new EnemyDensityIndex(mapMarkerRepository, dataVersionService);
+
+        dam = new GameMap();
+        dam.setId(1L);
+        dam.setName("Dam");
+    }
+
+    @Test
+    @DisplayName("Grid: Should peak at a spawn and fall to zero beyond the kernel radius")
+    void shouldRasteriseSpawnsWithConeKernel() {
+        // Arrange
+        when(mapMarkerRepository.findByCategoryIgnoreCase("arc")).thenReturn(List.of(spawn("s1", "sentinel", 0, 0)));
+
+        // Act
+        DensityGrid grid = index.getGrid(1L, "Sentinel").orElseThrow();
+
+        // Assert
+        assertEquals(EnemyDensityIndex.KERNEL_RADIUS, grid.valueAt(0, 0), grid.cellSize());
+        assertEquals(EnemyDensityIndex.KERNEL_RADIUS / 2, grid.valueAt(200, 0), grid.cellSize());
+        assertEquals(0f, grid.valueAt(1000, 1000));
+        assertTrue(index.getGrid(1L, "bastion").isEmpty());
+        assertTrue(index.getGrid(2L, null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Route exposure: Should approximate the exact proximity score for a straight pass")
+    void shouldIntegrateExposureAlongPath() {
+        // Arrange
+        when(mapMarkerRepository.findByCategoryIgnoreCase("arc")).thenReturn(List.of(spawn("s1", "sentinel", 0, 0)));
+        List<RoutablePoint> throughSpawn = List.of(point(-2000, 0), point(2000, 0));
+        List<RoutablePoint> farAway = List.of(point(-2000, 3000), point(2000, 3000));
+
+        // Act
+        OptionalDouble onRoute = index.scoreRouteExposure(1L, Set.of("sentinel"), throughSpawn);
+        OptionalDouble offRoute = index.scoreRouteExposure(1L, Set.of("sentinel"), farAway);
+        OptionalDouble unknownType = index.scoreRouteExposure(1L, Set.of("bastion"), throughSpawn);
+
+        // Assert - exact score for a spawn on the route is R - 0 = R
+        assertEquals(EnemyDensityIndex.KERNEL_RADIUS, onRoute.orElseThrow(), EnemyDensityIndex.KERNEL_RADIUS * 0.1);
+        assertEquals(0.0, offRoute.orElseThrow(), 0.001);
+        assertTrue(unknownType.isEmpty(), "Missing grids should signal a fallback to exact scoring");
+    }
+
+    @Test
+    @DisplayName("Threat level: Should rate spawns in dense clusters higher than isolated spawns")
+    void shouldClassifyThreatByLocalDensity() {
+        // Arrange
+        MapMarker clustered = spawn("s1", "sentinel", 0, 0);
+        MapMarker isolated = spawn("s4", "leaper", 5000, 5000);
+        when(mapMarkerRepository.findByCategoryIgnoreCase("arc")).thenReturn(List.of(
+                clustered, spawn("s2", "sentinel", 50, 0), spawn("s3", "leaper", 0, 50),
+                spawn("s5", "leaper", -50, 0), spawn("s6", "sentinel", 0, -50), isolated));
+
+        // Act & Assert
+        assertEquals(3, index.getThreatLevel(clustered));
+        assertEquals(1, index.getThreatLevel(isolated));
+    }
+
+    @Test
+    @DisplayName("Should rebuild grids once the data version changes")
+    void shouldRebuildOnNewDataVersion() {
+        // Arrange
+        when(mapMarkerRepository.findByCategoryIgnoreCase("arc"))
+                .thenReturn(List.of(spawn("s1", "sentinel", 0, 0)))
+                .thenReturn(List.of(spawn("s1", "sentinel", 0, 0), spawn("s2", "bastion", 100, 100)));
+
+        // Act & Assert
+        assertTrue(index.getGrid(1L, "bastion").isEmpty());
+        index.getGrid(1L, "sentinel");
+        dataVersionService.markChanged("test");
+        assertTrue(index.getGrid(1L, "bastion").isPresent());
+        verify(mapMarkerRepository, times(2)).findByCategoryIgnoreCase("arc");
+    }
+
+    private MapMarker spawn(String id, String type, double x, double y) {
+        MapMarker marker = new MapMarker();
+        marker.setId(id);
+        marker.setCategory("arc");
+        marker.setSubcategory(type);
+        marker.setGameMap(dam);
+        marker.setLng(x);
+        marker.setLat(y);
+        return marker;
+    }
+
+    private RoutablePoint point(double x, double y) {
+        MapMarker marker = new MapMarker();
+        marker.setId("p" + x + "_" + y);
+        marker.setLng(x);
+        marker.setLat(y);
+        return marker;
+    }
+}
@@ -0,0 +1,111 @@
+package com.pauloneill.arcraidersplanner.service;
+
+import com.pauloneill.arcraidersplanner.model.MapMarker;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH comparison of the batch geometry kernels against the per-pair GeometryService methods.
+ * Not run by Surefire; start it manually after {@code mvn test-compile}:
+ * <pre>
+ * mvn dependency:build-classpath -Dmdep.outputFile=target/cp.txt -Dmdep.includeScope=test
+ * java --add-modules jdk.incubator.vector -cp target/test-classes:target/classes:$(cat target/cp.txt) \
+ *     com.pauloneill.arcraidersplanner.service.GeometryKernelsBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class GeometryKernelsBenchmark {
+
+    @Param({"64", "512"})
+    private int spawnCount;
+
+    private final GeometryService geometryService = new GeometryService();
+    private List<MapMarker> spawns;
+    private List<MapMarker> path;
+    private double[] xs;
+    private double[] ys;
+    private double[] pathXs;
+    private double[] pathYs;
+    private double[] out;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42L);
+        spawns = new ArrayList<>();
+        for (int i = 0; i < spawnCount; i++) {
+            spawns.add(marker(random.nextDouble() * 4000, random.nextDouble() * 4000));
+        }
+        path = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            path.add(marker(random.nextDouble() * 4000, random.nextDouble() * 4000));
+        }
+        xs = spawns.stream().mapToDouble(MapMarker::getX).toArray();
+        ys = spawns.stream().mapToDouble(MapMarker::getY).toArray();
+        pathXs = path.stream().mapToDouble(MapMarker::getX).toArray();
+        pathYs = path.stream().mapToDouble(MapMarker::getY).toArray();
+        out = new double[spawnCount];
+    }
+
+    @Benchmark
+    public double polylineDistancePerMarker() {
+        double sum = 0;
+        for (MapMarker spawn : spawns) {
+            sum += geometryService.distanceToRoutePath(spawn, path);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double[] polylineDistanceScalarKernel() {
+        GeometryKernels.scalarMinDistancesToPolyline(xs, ys, spawnCount, pathXs, pathYs, pathXs.length, out);
+        return out;
+    }
+
+    @Benchmark
+    public double[] polylineDistanceKernel() {
+        GeometryKernels.minDistancesToPolyline(xs, ys, spawnCount, pathXs, pathYs, pathXs.length, out);
+        return out;
+    }
+
+    @Benchmark
+    public MapMarker nearestPerMarker() {
+        MapMarker from = path.get(0);
+        return spawns.stream()
+                .min(Comparator.comparingDouble(a -> geometryService.distance(from, a)))
+                .orElseThrow();
+    }
+
+    @Benchmark
+    public int nearestScalarKernel() {
+        return GeometryKernels.scalarArgminSquaredDistance(pathXs[0], pathYs[0], xs, ys, spawnCount);
+    }
+
+    @Benchmark
+    public int nearestKernel() {
+        return GeometryKernels.argminSquaredDistance(pathXs[0], pathYs[0], xs, ys, spawnCount);
+    }
+
+    private static MapMarker marker(double x, double y) {
+        MapMarker marker = new MapMarker();
+        marker.setLng(x);
+        marker.setLat(y);
+        return marker;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(GeometryKernelsBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,115 @@
+package com.pauloneill.arcraidersplanner.service;
+
+import com.pauloneill.arcraidersplanner.model.MapMarker;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the batch geometry kernels.
+ * WHY: The vector and scalar paths must agree exactly with each other and with the
+ * per-pair GeometryService methods they replace. Sizes are chosen to leave vector tails.
+ */
+class GeometryKernelsTest {
+
+    private final GeometryService geometryService = new GeometryService();
+
+    @Test
+    @DisplayName("Tests should run with the Vector API module enabled")
+    void shouldRunVectorised() {
+        assertTrue(GeometryKernels.isVectorised(), "Surefire passes --add-modules jdk.incubator.vector");
+    }
+
+    @Test
+    @DisplayName("One-to-many distance: Should match the scalar kernel and per-pair distance")
+    void shouldMatchScalarDistances() {
+        double[][] points = randomCoordinates(37, 1L);
+        double[] vector = new double[37];
+        double[] scalar = new double[37];
+
+        GeometryKernels.distancesFrom(12.5, -40.0, points[0], points[1], 37, vector);
+        GeometryKernels.scalarDistancesFrom(12.5, -40.0, points[0], points[1], 37, scalar);
+
+        assertArrayEquals(scalar, vector);
+        for (int i = 0; i < 37; i++) {
+            assertEquals(geometryService.pointToPointDistance(12.5, -40.0, points[0][i], points[1][i]), vector[i]);
+        }
+    }
+
+    @Test
+    @DisplayName("Polyline distance: Should match GeometryService.distanceToRoutePath for every point")
+    void shouldMatchRoutePathDistance() {
+        double[][] points = randomCoordinates(53, 2L);
+        List<MapMarker> path = new ArrayList<>();
+        double[][] vertices = randomCoordinates(9, 3L);
+        for (int v = 0; v < 9; v++) {
+            path.add(marker(vertices[0][v], vertices[1][v]));
+        }
+        // Repeat a vertex to exercise the zero-length segment branch
+        path.add(marker(vertices[0][8], vertices[1][8]));
+        double[] pathXs = path.stream().mapToDouble(MapMarker::getX).toArray();
+        double[] pathYs = path.stream().mapToDouble(MapMarker::getY).toArray();
+        double[] vector = new double[53];
+        double[] scalar = new double[53];
+
+        GeometryKernels.minDistancesToPolyline(points[0], points[1], 53, pathXs, pathYs, path.size(), vector);
+        GeometryKernels.scalarMinDistancesToPolyline(points[0], points[1], 53, pathXs, pathYs, path.size(), scalar);
+
+        assertArrayEquals(scalar, vector);
+        for (int i = 0; i < 53; i++) {
+            assertEquals(geometryService.distanceToRoutePath(marker(points[0][i], points[1][i]), path), vector[i]);
+        }
+    }
+
+    @Test
+    @DisplayName("Polyline distance: Should treat a single vertex as a point and an empty path as infinitely far")
+    void shouldHandleDegeneratePolylines() {
+        double[] out = new double[1];
+
+        GeometryKernels.minDistancesToPolyline(new double[]{3}, new double[]{4}, 1, new double[]{0}, new double[]{0}, 1, out);
+        assertEquals(5.0, out[0]);
+
+        GeometryKernels.minDistancesToPolyline(new double[]{3}, new double[]{4}, 1, new double[0], new double[0], 0, out);
+        assertEquals(Double.POSITIVE_INFINITY, out[0]);
+    }
+
+    @Test
+    @DisplayName("Argmin: Should return the lowest index among the closest points")
+    void shouldReturnFirstClosestIndex() {
+        double[][] points = randomCoordinates(41, 4L);
+        for (int n = 0; n <= 41; n++) {
+            assertEquals(GeometryKernels.scalarArgminSquaredDistance(5, 5, points[0], points[1], n),
+                    GeometryKernels.argminSquaredDistance(5, 5, points[0], points[1], n), "n=" + n);
+        }
+
+        // Equidistant points: the first one wins regardless of which lane it lands in
+        double[] xs = {10, 10, 0, 0, 0, 0, 0, 0, -10, 10};
+        double[] ys = {0, 0, 50, 50, 50, 50, 50, 50, 0, 0};
+        xs[5] = -10;
+        ys[5] = 0;
+        assertEquals(0, GeometryKernels.argminSquaredDistance(0, 0, xs, ys, xs.length));
+        assertEquals(-1, GeometryKernels.argminSquaredDistance(0, 0, xs, ys, 0));
+    }
+
+    private double[][] randomCoordinates(int count, long seed) {
+        Random random = new Random(seed);
+        double[][] coordinates = new double[2][count];
+        for (int i = 0; i < count; i++) {
+            coordinates[0][i] = random.nextDouble() * 4000 - 2000;
+            coordinates[1][i] = random.nextDouble() * 4000 - 2000;
+        }
+        return coordinates;
+    }
+
+    private MapMarker marker(double x, double y) {
+        MapMarker marker = new MapMarker();
+        marker.setLng(x);
+        marker.setLat(y);
+        return marker;
+    }
+}
@@ -0,0 +1,99 @@
+package com.pauloneill.arcraidersplanner.service;
+
+import com.pauloneill.arcraidersplanner.dto.ItemBrowseDto;
+import com.pauloneill.arcraidersplanner.dto.ItemDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.*;
+
+import static com.pauloneill.arcraidersplanner.service.CatalogueFixtures.item;
+import static com.pauloneill.arcraidersplanner.service.CatalogueFixtures.recipe;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ItemBrowseIndexTest {
+
+    @Mock
+    private ItemCatalogueIndex itemCatalogueIndex;
+
+    private ItemBrowseIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ItemBrowseIndex(itemCatalogueIndex, new DtoMapper(), new DataVersionService(event -> { }));
+
+        when(itemCatalogueIndex.getItems()).thenReturn(List.of(
+                item(1L, "Copper Wire").metaforgeId("copper wire").rarity("Common").lootType("Industrial").droppedBy("Sentinel").build(),
+                item(2L, "Battery").metaforgeId("battery").rarity("Uncommon").lootType("Electrical").build(),
+                item(3L, "Rocketeer Driver").metaforgeId("rocketeer driver").rarity("Rare").droppedBy("Rocketeer", "Sentinel").build(),
+                item(4L, "Adrenaline Shot").metaforgeId("adrenaline shot").rarity("Common").lootType("Medical").build(),
+                item(5L, "Duct Tape").metaforgeId("duct tape").rarity("Common").lootType("Industrial").build()));
+        when(itemCatalogueIndex.findRecipe(anyString())).thenReturn(Optional.empty());
+        when(itemCatalogueIndex.findRecipe("battery")).thenReturn(Optional.of(
+                recipe(1L, "battery", "Battery")));
+    }
+
+    @Test
+    @DisplayName("Should AND filters across dimensions and count facets ignoring each dimension's own filter")
+    void shouldFilterAndCountFacets() {
+        // Act
+        ItemBrowseDto result = index.browse(Map.of(
+                ItemBrowseIndex.RARITY, List.of("Common"),
+                ItemBrowseIndex.LOOT_TYPE, List.of("Industrial")), null, 50);
+
+        // Assert
+        assertEquals(2, result.total());
+        assertEquals(List.of("Copper Wire", "Duct Tape"), result.items().stream().map(ItemDto::getName).toList());
+        assertNull(result.nextCursor());
+
+        // Rarity counts only apply the loot type filter; loot type counts only apply the rarity filter
+        assertEquals(Map.of("Common", 2, "Uncommon", 0, "Rare", 0), result.facets().get(ItemBrowseIndex.RARITY));
+        assertEquals(Map.of("Industrial", 2, "Electrical", 0, "Medical", 1), result.facets().get(ItemBrowseIndex.LOOT_TYPE));
+        assertEquals(1, result.facets().get(ItemBrowseIndex.DROPPED_BY).get("Sentinel"));
+    }
+
+    @Test
+    @DisplayName("Should OR values within a dimension and filter on craftability")
+    void shouldOrValuesWithinDimension() {
+        ItemBrowseDto drops = index.browse(Map.of(ItemBrowseIndex.DROPPED_BY, List.of("Rocketeer", "Sentinel")), null, 50);
+        assertEquals(List.of("Copper Wire", "Rocketeer Driver"), drops.items().stream().map(ItemDto::getName).toList());
+
+        ItemBrowseDto craftable = index.browse(Map.of(ItemBrowseIndex.HAS_RECIPE, List.of("true")), null, 50);
+        assertEquals(List.of("Battery"), craftable.items().stream().map(ItemDto::getName).toList());
+        assertTrue(craftable.items().get(0).isHasRecipe());
+    }
+
+    @Test
+    @DisplayName("Should page through all matches with keyset cursors")
+    void shouldPaginateWithCursors() {
+        // Act
+        List<String> names = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            ItemBrowseDto page = index.browse(Map.of(), cursor, 2);
+            page.items().forEach(item -> names.add(item.getName()));
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        // Assert
+        assertEquals(3, pages);
+        assertEquals(List.of("Adrenaline Shot", "Battery", "Copper Wire", "Duct Tape", "Rocketeer Driver"), names);
+    }
+
+    @Test
+    @DisplayName("Should reject malformed cursors and unknown facets")
+    void shouldRejectInvalidInput() {
+        assertThrows(ResponseStatusException.class, () -> index.browse(Map.of(), "not-a-cursor", 10));
+        assertThrows(ResponseStatusException.class, () -> index.browse(Map.of("colour", List.of("red")), null, 10));
+    }
+}
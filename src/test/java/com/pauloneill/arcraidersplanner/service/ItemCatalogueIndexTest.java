@@ -0,0 +1,145 @@
+package com.pauloneill.arcraidersplanner.service;
+
+import com.pauloneill.arcraidersplanner.model.*;
+import com.pauloneill.arcraidersplanner.repository.ItemRepository;
+import com.pauloneill.arcraidersplanner.repository.RecipeRepository;
+import com.pauloneill.arcraidersplanner.service.ItemCatalogueIndex.CatalogueItem;
+import com.pauloneill.arcraidersplanner.service.ItemCatalogueIndex.CatalogueRecipe;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ItemCatalogueIndexTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private RecipeRepository recipeRepository;
+
+    private DataVersionService dataVersionService;
+    private ItemCatalogueIndex index;
+
+    private Item copperWire;
+    private Item rocketeerDriver;
+
+    @BeforeEach
+    void setUp() {
+        dataVersionService = new DataVersionService(event -> { });
+        index = new ItemCatalogueIndex(itemRepository, recipeRepository, dataVersionService);
+
+        LootType industrial = new LootType();
+        industrial.setId(5L);
+        industrial.setName("Industrial");
+
+        copperWire = new Item();
+        copperWire.setId(1L);
+        copperWire.setName("Copper Wire");
+        copperWire.setLootType(industrial);
+        copperWire.setDroppedBy(Set.of("Sentinel"));
+
+        rocketeerDriver = new Item();
+        rocketeerDriver.setId(2L);
+        rocketeerDriver.setName("Rocketeer Driver");
+        rocketeerDriver.setDroppedBy(Set.of("Rocketeer", "Sentinel"));
+    }
+
+    @Test
+    @DisplayName("Should index items, recipes and enemy drops from two bulk queries")
+    void shouldIndexCatalogue() {
+        // Arrange
+        Recipe battery = new Recipe();
+        battery.setId(100L);
+        battery.setMetaforgeItemId("battery");
+        battery.setName("Battery");
+        battery.setType(RecipeType.CRAFTING);
+        battery.addIngredient(ingredient(rocketeerDriver, 1));
+        battery.addIngredient(ingredient(copperWire, 3));
+        when(itemRepository.findAllWithLootTypeAndDroppedBy()).thenReturn(List.of(rocketeerDriver, copperWire));
+        when(recipeRepository.findAllWithIngredients()).thenReturn(List.of(battery));
+
+        // Act
+        CatalogueItem wire = index.findItem("Copper Wire").orElseThrow();
+        CatalogueRecipe recipe = index.findRecipe("battery").orElseThrow();
+
+        // Assert
+        assertEquals("Industrial", wire.lootTypeName());
+        assertEquals(5L, wire.lootTypeId());
+        assertFalse(index.findItem("Rocketeer Driver").orElseThrow().hasLootType());
+        assertEquals(wire, index.findItemById(1L).orElseThrow());
+        assertTrue(index.findItem("Unknown").isEmpty());
+
+        assertEquals("Battery", recipe.name());
+        assertEquals(List.of("Copper Wire", "Rocketeer Driver"), List.copyOf(recipe.ingredientNames()));
+        assertEquals(3, recipe.ingredients().get(0).quantity());
+
+        assertEquals(List.of("Copper Wire", "Rocketeer Driver"), index.itemsDroppedBy("Sentinel"));
+        assertEquals(List.of("Rocketeer Driver"), index.itemsDroppedBy("Rocketeer"));
+        assertEquals(List.of("Copper Wire", "Rocketeer Driver"),
+                index.getItems().stream().map(CatalogueItem::name).toList());
+
+        verify(itemRepository, times(1)).findAllWithLootTypeAndDroppedBy();
+        verify(recipeRepository, times(1)).findAllWithIngredients();
+    }
+
+    @Test
+    @DisplayName("Should list API-created recipes after synced ones even though they have no Metaforge ID")
+    void shouldIncludeApiCreatedRecipes() {
+        // Arrange
+        Recipe battery = new Recipe();
+        battery.setId(100L);
+        battery.setMetaforgeItemId("battery");
+        battery.setName("Battery");
+        battery.setType(RecipeType.CRAFTING);
+        battery.addIngredient(ingredient(copperWire, 3));
+        Recipe customKit = new Recipe();
+        customKit.setId(7L);
+        customKit.setName("Custom Kit");
+        customKit.setType(RecipeType.CRAFTING);
+        customKit.addIngredient(ingredient(copperWire, 1));
+        when(itemRepository.findAllWithLootTypeAndDroppedBy()).thenReturn(List.of(copperWire));
+        when(recipeRepository.findAllWithIngredients()).thenReturn(List.of(customKit, battery));
+
+        // Act
+        List<CatalogueRecipe> recipes = List.copyOf(index.getRecipes());
+
+        // Assert
+        assertEquals(List.of(100L, 7L), recipes.stream().map(CatalogueRecipe::id).toList());
+        assertNull(recipes.get(1).metaforgeItemId());
+        assertTrue(index.findRecipe(null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should reload once the data version changes")
+    void shouldReloadOnNewDataVersion() {
+        // Arrange
+        when(itemRepository.findAllWithLootTypeAndDroppedBy())
+                .thenReturn(List.of(copperWire))
+                .thenReturn(List.of(copperWire, rocketeerDriver));
+        when(recipeRepository.findAllWithIngredients()).thenReturn(List.of());
+
+        // Act
+        assertTrue(index.findItem("Rocketeer Driver").isEmpty());
+        dataVersionService.markChanged("test");
+
+        // Assert
+        assertTrue(index.findItem("Rocketeer Driver").isPresent());
+    }
+
+    private RecipeIngredient ingredient(Item item, int quantity) {
+        RecipeIngredient ingredient = new RecipeIngredient();
+        ingredient.setItem(item);
+        ingredient.setQuantity(quantity);
+        return ingredient;
+    }
+}
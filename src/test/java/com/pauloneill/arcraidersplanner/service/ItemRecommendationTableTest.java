@@ -0,0 +1,128 @@
+package com.pauloneill.arcraidersplanner.service;
+
+import com.pauloneill.arcraidersplanner.dto.PlannerResponseDto;
+import com.pauloneill.arcraidersplanner.service.ItemRecommendationTable.Recommendation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import static com.pauloneill.arcraidersplanner.service.CatalogueFixtures.item;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ItemRecommendationTableTest {
+
+    @Mock
+    private PlannerService plannerService;
+
+    @Mock
+    private PlannerBulkhead plannerBulkhead;
+
+    @Mock
+    private ItemCatalogueIndex itemCatalogueIndex;
+
+    private DataVersionService dataVersionService;
+    private ItemRecommendationTable table;
+
+    private final PlannerResponseDto damResult =
+            new PlannerResponseDto(1L, "Dam", 5.0, List.of(), null, null, null, List.of(), null);
+
+    @BeforeEach
+    void setUp() {
+        dataVersionService = new DataVersionService(event -> { });
+        table = new ItemRecommendationTable(plannerService, plannerBulkhead, itemCatalogueIndex, dataVersionService, false, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        table.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should serve precomputed recommendations without planning again")
+    void shouldServeFromTable() {
+        // Arrange
+        when(itemCatalogueIndex.getItems()).thenReturn(List.of(item(1L, "Wires").build(), item(2L, "Copper").build()));
+        when(plannerService.generateRoute(any(), any())).thenReturn(List.of(damResult));
+
+        // Act
+        table.rebuild();
+        Recommendation result = table.getRecommendation("Wires").join();
+
+        // Assert
+        assertEquals(List.of(damResult), result.maps());
+        assertFalse(result.stale());
+        verify(plannerService, times(2)).generateRoute(any(), any());
+        verify(plannerService, times(1)).newSharedMapData(); // One load of maps and markers per rebuild
+        verifyNoInteractions(plannerBulkhead);
+    }
+
+    @Test
+    @DisplayName("Should keep serving the previous table, flagged stale, once the data version moves on")
+    void shouldServeStaleTableUntilRebuilt() {
+        // Arrange
+        when(itemCatalogueIndex.getItems()).thenReturn(List.of(item(1L, "Wires").build()));
+        when(plannerService.generateRoute(any(), any())).thenReturn(List.of(damResult));
+        table.rebuild();
+        long builtAt = dataVersionService.currentVersion();
+
+        // Act
+        dataVersionService.markChanged("test");
+        Recommendation result = table.getRecommendation("Wires").join();
+
+        // Assert
+        assertEquals(List.of(damResult), result.maps());
+        assertEquals(builtAt, result.dataVersion());
+        assertTrue(result.stale());
+        verify(plannerService, times(1)).generateRoute(any(), any());
+        verifyNoInteractions(plannerBulkhead);
+    }
+
+    @Test
+    @DisplayName("Should answer names missing from the table as unknown without planning")
+    void shouldAnswerUnknownNamesFromTable() {
+        // Arrange
+        when(itemCatalogueIndex.getItems()).thenReturn(List.of(item(1L, "Wires").build()));
+        when(plannerService.generateRoute(any(), any())).thenReturn(List.of(damResult));
+        table.rebuild();
+
+        // Act
+        Recommendation first = table.getRecommendation("No Such Item").join();
+        Recommendation second = table.getRecommendation("No Such Item").join();
+
+        // Assert
+        assertTrue(first.maps().isEmpty());
+        assertTrue(second.maps().isEmpty());
+        verify(plannerService, times(1)).generateRoute(any(), any());
+        verifyNoInteractions(plannerBulkhead);
+    }
+
+    @Test
+    @DisplayName("Should plan live on the planner bulkhead before the first table is built")
+    void shouldPlanLiveOnBulkheadBeforeFirstBuild() {
+        // Arrange
+        when(plannerBulkhead.submit(any())).thenAnswer(invocation ->
+                CompletableFuture.completedFuture(((Supplier<?>) invocation.getArgument(0)).get()));
+        when(plannerService.generateRoute(any())).thenReturn(List.of(damResult));
+
+        // Act
+        Recommendation result = table.getRecommendation("Wires").join();
+
+        // Assert
+        assertTrue(table.lookup("Wires").isEmpty());
+        assertEquals(List.of(damResult), result.maps());
+        assertFalse(result.stale());
+        verify(plannerBulkhead).submit(any());
+        verify(plannerService).generateRoute(argThat(request -> request.targetItemNames().equals(List.of("Wires"))));
+    }
+}
@@ -0,0 +1,105 @@
+package com.pauloneill.arcraidersplanner.service;
+
+import com.pauloneill.arcraidersplanner.dto.ItemSuggestionDto;
+import com.pauloneill.arcraidersplanner.dto.ItemSuggestionDto.MatchType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static com.pauloneill.arcraidersplanner.service.CatalogueFixtures.ingredient;
+import static com.pauloneill.arcraidersplanner.service.CatalogueFixtures.item;
+import static com.pauloneill.arcraidersplanner.service.CatalogueFixtures.recipe;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ItemSearchIndexTest {
+
+    @Mock
+    private ItemCatalogueIndex itemCatalogueIndex;
+
+    private DataVersionService dataVersionService;
+    private ItemSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        dataVersionService = new DataVersionService(event -> { });
+        index = new ItemSearchIndex(itemCatalogueIndex, dataVersionService);
+
+        when(itemCatalogueIndex.getItems()).thenReturn(List.of(
+                item(1L, "Copper Wire").rarity("Common").lootType("Industrial").build(),
+                item(2L, "Copper Plate").rarity("Rare").lootType("Industrial").build(),
+                item(3L, "Advanced Copper Coil").rarity("Epic").lootType("Industrial").build(),
+                item(4L, "Wires").rarity("Common").lootType("Industrial").build(),
+                item(5L, "Battery").rarity("Uncommon").lootType("Industrial").build(),
+                item(6L, "Gear Relic").rarity("Legendary").build(),
+                item(7L, "Gear Spring").rarity("Common").build()));
+        // Copper Wire is needed by two recipes, so it outranks the rarer Copper Plate;
+        // Gear Spring is needed by one, so it outranks the unused Legendary Gear Relic
+        when(itemCatalogueIndex.getRecipes()).thenReturn(List.of(
+                recipe(null, "battery", ingredient(1L, "Copper Wire", 1)),
+                recipe(null, "motor", ingredient(1L, "Copper Wire", 1)),
+                recipe(null, "clock", ingredient(7L, "Gear Spring", 1))));
+    }
+
+    @Test
+    @DisplayName("Should rank name prefix matches before word prefix matches, each by popularity then rarity")
+    void shouldRankPrefixMatches() {
+        // Act
+        List<ItemSuggestionDto> suggestions = index.suggest("cop", 10);
+
+        // Assert
+        assertEquals(List.of("Copper Wire", "Copper Plate", "Advanced Copper Coil"),
+                suggestions.stream().map(ItemSuggestionDto::name).toList());
+        assertEquals(MatchType.PREFIX, suggestions.get(0).matchType());
+        assertEquals(MatchType.WORD_PREFIX, suggestions.get(2).matchType());
+    }
+
+    @Test
+    @DisplayName("Should rank any recipe usage above rarity, however rare the unused item is")
+    void shouldRankUsageBeforeRarity() {
+        assertEquals(List.of("Gear Spring", "Gear Relic"), index.suggest("gear", 10).stream()
+                .map(ItemSuggestionDto::name)
+                .toList());
+    }
+
+    @Test
+    @DisplayName("Should match multi-word queries on word prefixes in any order and respect the limit")
+    void shouldMatchWordPrefixes() {
+        assertEquals(List.of("Copper Wire"), index.suggest("wire cop", 10).stream()
+                .filter(suggestion -> suggestion.matchType() == MatchType.WORD_PREFIX)
+                .map(ItemSuggestionDto::name)
+                .toList());
+        assertEquals(1, index.suggest("copper", 1).size());
+    }
+
+    @Test
+    @DisplayName("Should tolerate typos with trigram matching")
+    void shouldMatchTypos() {
+        // Act
+        List<ItemSuggestionDto> suggestions = index.suggest("batery", 5);
+
+        // Assert
+        assertEquals("Battery", suggestions.get(0).name());
+        assertEquals(MatchType.FUZZY, suggestions.get(0).matchType());
+        assertTrue(index.suggest("   ", 5).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should rebuild from the catalogue once the data version changes")
+    void shouldRebuildOnNewDataVersion() {
+        index.suggest("cop", 10);
+        index.suggest("wir", 10);
+        verify(itemCatalogueIndex, times(1)).getItems();
+
+        dataVersionService.markChanged("test");
+        index.suggest("cop", 10);
+
+        verify(itemCatalogueIndex, times(2)).getItems();
+    }
+}
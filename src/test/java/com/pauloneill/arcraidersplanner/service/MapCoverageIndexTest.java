@@ -0,0 +1,114 @@
+package com.pauloneill.arcraidersplanner.service;
+
+import com.pauloneill.arcraidersplanner.model.Area;
+import com.pauloneill.arcraidersplanner.model.ContainerType;
+import com.pauloneill.arcraidersplanner.model.GameMap;
+import com.pauloneill.arcraidersplanner.model.LootType;
+import com.pauloneill.arcraidersplanner.model.MapMarker;
+import com.pauloneill.arcraidersplanner.model.MarkerGroup;
+import com.pauloneill.arcraidersplanner.repository.GameMapRepository;
+import com.pauloneill.arcraidersplanner.repository.MapMarkerRepository;
+import com.pauloneill.arcraidersplanner.repository.MarkerGroupRepository;
+import com.pauloneill.arcraidersplanner.service.MapCoverageIndex.MapCoverage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MapCoverageIndexTest {
+
+    @Mock
+    private GameMapRepository gameMapRepository;
+
+    @Mock
+    private MapMarkerRepository mapMarkerRepository;
+
+    @Mock
+    private MarkerGroupRepository markerGroupRepository;
+
+    private MapCoverageIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new MapCoverageIndex(gameMapRepository, mapMarkerRepository, markerGroupRepository, new DataVersionService(event -> { }));
+    }
+
+    @Test
+    @DisplayName("Should build loot type bitmasks and count vectors per map")
+    void shouldBuildCoverage() {
+        // Arrange
+        LootType industrial = lootType("Industrial");
+        LootType medical = lootType("Medical");
+        GameMap dam = map(1L, "Dam", Set.of(area(10L, industrial), area(11L, industrial, medical)));
+        GameMap spaceport = map(2L, "Spaceport", Set.of(area(20L, medical)));
+        when(gameMapRepository.findAllWithAreas()).thenReturn(List.of(spaceport, dam));
+
+        MapMarker rocketeer = new MapMarker();
+        rocketeer.setSubcategory("Rocketeer");
+        rocketeer.setGameMap(spaceport);
+        when(mapMarkerRepository.findByCategoryIgnoreCase("arc")).thenReturn(List.of(rocketeer, rocketeer));
+
+        ContainerType redLocker = new ContainerType();
+        redLocker.setSubcategory("red-locker");
+        MarkerGroup lockers = new MarkerGroup();
+        lockers.setGameMap(dam);
+        lockers.setContainerType(redLocker);
+        when(markerGroupRepository.findAllWithMapAndContainerType()).thenReturn(List.of(lockers));
+
+        // Act
+        List<MapCoverage> maps = index.getMaps();
+
+        // Assert
+        int industrialBit = index.lootTypeBit("Industrial");
+        int medicalBit = index.lootTypeBit("Medical");
+        assertEquals(-1, index.lootTypeBit("Nature"));
+
+        MapCoverage damCoverage = maps.get(0);
+        assertEquals("Dam", damCoverage.mapName());
+        assertTrue(damCoverage.hasLootType(industrialBit));
+        assertTrue(damCoverage.hasLootType(medicalBit));
+        assertEquals(2, damCoverage.areaCount(industrialBit));
+        assertFalse(damCoverage.hasEnemyType("rocketeer"));
+
+        MapCoverage spaceportCoverage = maps.get(1);
+        assertFalse(spaceportCoverage.hasLootType(industrialBit));
+        assertEquals(1, spaceportCoverage.areaCount(medicalBit));
+        assertTrue(spaceportCoverage.hasEnemyType("ROCKETEER"));
+        assertEquals(2, spaceportCoverage.spawnCount(index.enemyTypeIndex("Rocketeer")));
+        assertEquals(0, damCoverage.spawnCount(index.enemyTypeIndex("Rocketeer")));
+        assertEquals(1, damCoverage.groupCount(index.containerTypeIndex("red-locker")));
+        assertEquals(0, spaceportCoverage.groupCount(index.containerTypeIndex("red-locker")));
+        assertEquals(-1, index.containerTypeIndex("raider-cache"));
+    }
+
+    private LootType lootType(String name) {
+        LootType lootType = new LootType();
+        lootType.setName(name);
+        return lootType;
+    }
+
+    private Area area(Long id, LootType... lootTypes) {
+        Area area = new Area();
+        area.setId(id);
+        area.setName("Area " + id);
+        area.setLootTypes(Set.of(lootTypes));
+        return area;
+    }
+
+    private GameMap map(Long id, String name, Set<Area> areas) {
+        GameMap map = new GameMap();
+        map.setId(id);
+        map.setName(name);
+        map.setAreas(areas);
+        return map;
+    }
+}
@@ -0,0 +1,57 @@
+package com.pauloneill.arcraidersplanner.service;
+
+import com.pauloneill.arcraidersplanner.dto.QuickRankDto;
+import com.pauloneill.arcraidersplanner.service.ItemCatalogueIndex.CatalogueItem;
+import com.pauloneill.arcraidersplanner.service.MapCoverageIndex.MapCoverage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static com.pauloneill.arcraidersplanner.service.CatalogueFixtures.item;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MapQuickRankServiceTest {
+
+    @Mock
+    private MapCoverageIndex mapCoverageIndex;
+
+    @Mock
+    private ItemCatalogueIndex itemCatalogueIndex;
+
+    @InjectMocks
+    private MapQuickRankService mapQuickRankService;
+
+    @Test
+    @DisplayName("Should rank maps by covered targets, break ties by relative density and report unknown targets")
+    void shouldRankMapsFromCoverageVectors() {
+        // Arrange - Dam has 2 Industrial areas and 3 Sentinel spawns; Spaceport has 1 Industrial area only
+        CatalogueItem wires = item(1L, "Wires").metaforgeId("wires").lootType(5L, "Industrial").build();
+        when(itemCatalogueIndex.findItem("Wires")).thenReturn(Optional.of(wires));
+        when(itemCatalogueIndex.findItem("Nope")).thenReturn(Optional.empty());
+        when(mapCoverageIndex.lootTypeBit("Industrial")).thenReturn(0);
+        when(mapCoverageIndex.enemyTypeIndex("sentinel")).thenReturn(0);
+        when(mapCoverageIndex.getMaps()).thenReturn(List.of(
+                new MapCoverage(2L, "Spaceport", new long[]{1L}, new int[]{1}, Set.of(), new int[]{0}, new int[0]),
+                new MapCoverage(1L, "Dam", new long[]{1L}, new int[]{2}, Set.of("sentinel"), new int[]{3}, new int[0])));
+
+        // Act
+        QuickRankDto result = mapQuickRankService.rank(List.of("Wires", "Nope"), null, List.of("sentinel"), null);
+
+        // Assert
+        assertEquals(2, result.totalTargets());
+        assertEquals(List.of("Nope"), result.unresolvedTargets());
+        assertEquals(List.of("Dam", "Spaceport"), result.maps().stream().map(QuickRankDto.MapRankDto::mapName).toList());
+        assertEquals(4.0, result.maps().get(0).score(), 1e-9);
+        assertEquals(1.5, result.maps().get(1).score(), 1e-9);
+        assertEquals(List.of("sentinel"), result.maps().get(1).missingTargets());
+    }
+}
@@ -0,0 +1,156 @@
+package com.pauloneill.arcraidersplanner.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pauloneill.arcraidersplanner.service.MetaforgeIngestionPipeline.Fetched;
+import com.pauloneill.arcraidersplanner.service.MetaforgeIngestionPipeline.IngestionStats;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the Metaforge ingestion pipeline against a local stub HTTP server.
+ * WHY: Concurrency limits and streaming parsing only show up over real HTTP connections.
+ */
+class MetaforgeIngestionPipelineTest {
+
+    private static final int TOTAL_PAGES = 6;
+    private static final int ITEMS_PER_PAGE = 25;
+
+    private HttpServer server;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxObservedInFlight = new AtomicInteger();
+    private final Set<Integer> failingPages = ConcurrentHashMap.newKeySet();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newFixedThreadPool(16));
+        server.createContext("/arc-raiders/items", this::servePage);
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("Should stream every item of every page in batches while honouring the in-flight limit")
+    void shouldStreamAllPagesWithinInFlightLimit() {
+        // Arrange
+        MetaforgeIngestionPipeline pipeline = pipeline(2);
+        List<String> names = new ArrayList<>();
+        List<Integer> batchSizes = new ArrayList<>();
+
+        // Act
+        IngestionStats stats = pipeline.streamItems(40, batch -> {
+            batchSizes.add(batch.size());
+            batch.forEach(dto -> names.add(dto.name()));
+        });
+
+        // Assert
+        assertEquals(TOTAL_PAGES * ITEMS_PER_PAGE, names.size());
+        assertEquals(TOTAL_PAGES * ITEMS_PER_PAGE, new HashSet<>(names).size(), "No item should be delivered twice");
+        assertTrue(batchSizes.stream().allMatch(size -> size <= 40));
+        assertTrue(maxObservedInFlight.get() <= 2, "At most 2 pages should be fetched at once");
+        assertTrue(maxObservedInFlight.get() > 1, "Pages after the first should be fetched concurrently");
+        assertEquals(TOTAL_PAGES, stats.pages());
+        assertEquals(TOTAL_PAGES * ITEMS_PER_PAGE, stats.rows());
+        assertTrue(stats.rowsPerSecond() > 0);
+        assertEquals(TOTAL_PAGES * ITEMS_PER_PAGE, meterRegistry.counter("metaforge.ingestion.rows").count());
+    }
+
+    @Test
+    @DisplayName("Should fail the run when a page cannot be fetched")
+    void shouldFailOnPageError() {
+        // Arrange
+        failingPages.add(4);
+        MetaforgeIngestionPipeline pipeline = pipeline(3);
+
+        // Act & Assert
+        IllegalStateException error = assertThrows(IllegalStateException.class,
+                () -> pipeline.streamItems(10, batch -> { }));
+        assertTrue(error.getMessage().contains("page 4"), error.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should deliver per-source failures to the writer without aborting other sources")
+    void shouldDeliverPerSourceFailures() {
+        // Arrange
+        MetaforgeIngestionPipeline pipeline = pipeline(2);
+        Map<String, Fetched<Integer>> results = new HashMap<>();
+
+        // Act
+        IngestionStats stats = pipeline.fetchEach(List.of("dam", "broken", "spaceport"), source -> {
+            if (source.equals("broken")) {
+                throw new IllegalStateException("boom");
+            }
+            return source.length();
+        }, results::put);
+
+        // Assert
+        assertEquals(3, stats.rows());
+        assertEquals(3, results.get("dam").value());
+        assertEquals(9, results.get("spaceport").value());
+        assertEquals("boom", results.get("broken").error().getMessage());
+    }
+
+    private MetaforgeIngestionPipeline pipeline(int maxInFlight) {
+        String baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+        return new MetaforgeIngestionPipeline(new HttpMetaforgeSource(RestClient.create(), baseUrl, ""),
+                new ObjectMapper(), meterRegistry, maxInFlight, 0, 16);
+    }
+
+    private void servePage(HttpExchange exchange) throws IOException {
+        int current = inFlight.incrementAndGet();
+        maxObservedInFlight.accumulateAndGet(current, Math::max);
+        try {
+            int page = Integer.parseInt(exchange.getRequestURI().getQuery().replaceAll(".*page=(\\d+).*", "$1"));
+            if (failingPages.contains(page)) {
+                exchange.sendResponseHeaders(500, -1);
+                return;
+            }
+            Thread.sleep(30); // Simulated network latency so concurrent fetches overlap
+            byte[] body = pageJson(page).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlight.decrementAndGet();
+            exchange.close();
+        }
+    }
+
+    private String pageJson(int page) {
+        StringJoiner items = new StringJoiner(",");
+        for (int i = 0; i < ITEMS_PER_PAGE; i++) {
+            items.add("{\"id\":\"item-" + page + "-" + i + "\",\"name\":\"Item " + page + "-" + i
+                    + "\",\"rarity\":\"Common\",\"unknown_field\":{\"nested\":[1,2]},\"value\":" + i + "}");
+        }
+        // Data first and pagination last, as Metaforge sends it, so parsing must stream past the array
+        return "{\"data\":[" + items + "],\"meta\":{\"source\":\"stub\"},"
+                + "\"pagination\":{\"page\":" + page + ",\"per_page\":" + ITEMS_PER_PAGE
+                + ",\"totalPages\":" + TOTAL_PAGES + "}}";
+    }
+}
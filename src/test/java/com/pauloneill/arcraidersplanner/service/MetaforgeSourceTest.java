@@ -0,0 +1,125 @@
+package com.pauloneill.arcraidersplanner.service;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the live (cached) and recorded Metaforge sources against a local stub HTTP server.
+ */
+class MetaforgeSourceTest {
+
+    private static final String REQUEST = "/arc-raiders/items?includeComponents=true&page=1";
+    private static final String PAGE = "{\"data\":[],\"pagination\":{\"page\":1,\"totalPages\":1}}";
+    private static final String ETAG = "\"page-1-v1\"";
+
+    @TempDir
+    Path cacheDir;
+
+    private HttpServer server;
+    private final List<Integer> statuses = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/arc-raiders/items", this::serve);
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("Live source should cache responses and serve them from disk after a 304 revalidation")
+    void shouldRevalidateCachedResponse() throws IOException {
+        // Arrange
+        HttpMetaforgeSource source = new HttpMetaforgeSource(RestClient.create(),
+                "http://127.0.0.1:" + server.getAddress().getPort(), cacheDir.toString());
+
+        // Act
+        String first = source.read(REQUEST, MetaforgeSourceTest::text);
+        String second = source.read(REQUEST, MetaforgeSourceTest::text);
+
+        // Assert
+        assertEquals(PAGE, first);
+        assertEquals(PAGE, second);
+        assertEquals(List.of(200, 304), statuses);
+        assertTrue(MetaforgeSource.recordingPath(cacheDir, REQUEST).toFile().isFile());
+    }
+
+    @Test
+    @DisplayName("File source should replay a live cache directory without the network")
+    void shouldReplayRecordedResponses() throws IOException {
+        // Arrange
+        new HttpMetaforgeSource(RestClient.create(), "http://127.0.0.1:" + server.getAddress().getPort(),
+                cacheDir.toString()).read(REQUEST, MetaforgeSourceTest::text);
+        server.stop(0);
+        FileMetaforgeSource source = new FileMetaforgeSource(cacheDir.toString());
+
+        // Act
+        String replayed = source.read(REQUEST, MetaforgeSourceTest::text);
+
+        // Assert
+        assertEquals(PAGE, replayed);
+        assertFalse(source.isRemote());
+        assertThrows(NoSuchFileException.class,
+                () -> source.read("/arc-raiders/items?includeComponents=true&page=2", MetaforgeSourceTest::text));
+    }
+
+    @Test
+    @DisplayName("Recording paths should be readable and never escape the root")
+    void shouldMapRequestsToRecordingPaths() {
+        // Act
+        Path items = MetaforgeSource.recordingPath(cacheDir, REQUEST);
+        Path markers = MetaforgeSource.recordingPath(cacheDir, "/game-map-data?tableID=arc_map_data&mapID=dam");
+        Path hostile = MetaforgeSource.recordingPath(cacheDir, "/../../etc/passwd?x=/../y");
+
+        // Assert
+        assertEquals(cacheDir.resolve("arc-raiders/items/includeComponents=true&page=1.json"), items);
+        assertEquals(cacheDir.resolve("game-map-data/tableID=arc_map_data&mapID=dam.json"), markers);
+        assertTrue(hostile.normalize().startsWith(cacheDir), hostile.toString());
+    }
+
+    private static String text(InputStream body) throws IOException {
+        return new String(body.readAllBytes(), StandardCharsets.UTF_8);
+    }
+
+    private void serve(HttpExchange exchange) throws IOException {
+        try {
+            if (ETAG.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                statuses.add(304);
+                exchange.sendResponseHeaders(304, -1);
+                return;
+            }
+            statuses.add(200);
+            byte[] body = PAGE.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.getResponseHeaders().add("ETag", ETAG);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+}
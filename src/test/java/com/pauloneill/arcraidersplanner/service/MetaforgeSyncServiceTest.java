@@ -1,11 +1,15 @@
 package com.pauloneill.arcraidersplanner.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.pauloneill.arcraidersplanner.dto.MetaforgeMapDataResponse;
 import com.pauloneill.arcraidersplanner.dto.MetaforgeMarkerDto;
 import com.pauloneill.arcraidersplanner.model.GameMap;
 import com.pauloneill.arcraidersplanner.model.MapMarker;
+import com.pauloneill.arcraidersplanner.model.Recipe;
+import com.pauloneill.arcraidersplanner.model.RecipeType;
 import com.pauloneill.arcraidersplanner.repository.GameMapRepository;
 import com.pauloneill.arcraidersplanner.repository.MapMarkerRepository;
+import com.pauloneill.arcraidersplanner.repository.RecipeRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,16 +17,21 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.web.client.MockRestServiceServer;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.RestClient;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @SpringBootTest
@@ -38,18 +47,20 @@ class MetaforgeSyncServiceTest {
     @Autowired
     private GameMapRepository gameMapRepository;
 
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @MockBean
-    private RestClient restClient;
+    private MetaforgeSource metaforgeSource;
 
     @MockBean
     private MarkerGroupingService markerGroupingService;
 
     private GameMap testMap;
 
-    private RestClient.Builder restClientBuilderMock;
-    private RestClient.RequestHeadersUriSpec requestHeadersUriSpecMock;
-    private RestClient.ResponseSpec responseSpecMock;
-
     @BeforeEach
     void setUp() {
         testMap = new GameMap();
@@ -60,26 +71,26 @@ class MetaforgeSyncServiceTest {
         testMap.setCalibrationOffsetX(0.0);
         testMap.setCalibrationOffsetY(0.0);
         gameMapRepository.save(testMap);
+    }
 
-        // Mock the RestClient's behavior
-        restClientBuilderMock = mock(RestClient.Builder.class);
-        requestHeadersUriSpecMock = mock(RestClient.RequestHeadersUriSpec.class);
-        responseSpecMock = mock(RestClient.ResponseSpec.class);
-
-        when(restClient.get()).thenReturn(requestHeadersUriSpecMock);
-        when(requestHeadersUriSpecMock.uri(any(java.util.function.Function.class))).thenReturn(requestHeadersUriSpecMock);
-        when(requestHeadersUriSpecMock.retrieve()).thenReturn(responseSpecMock);
+    // Serves the given map data responses, one per marker fetch, as the source would
+    private void respondWith(MetaforgeMapDataResponse... responses) throws IOException {
+        Iterator<MetaforgeMapDataResponse> next = List.of(responses).iterator();
+        when(metaforgeSource.read(anyString(), any())).thenAnswer(invocation -> {
+            MetaforgeSource.BodyReader<?> reader = invocation.getArgument(1);
+            return reader.read(new ByteArrayInputStream(objectMapper.writeValueAsBytes(next.next())));
+        });
     }
 
     @Test
-    void testMarkersStoreCalibratedCoordinates() {
+    void testMarkersStoreCalibratedCoordinates() throws IOException {
         // Mock Metaforge API response for markers
         MetaforgeMarkerDto dummyMarker = new MetaforgeMarkerDto(
                 "marker-1", 100.0, 200.0, testMap.getDescription(), "arc", "sentinel", "Sentinel Prime"
         );
         MetaforgeMapDataResponse mockResponse = new MetaforgeMapDataResponse(List.of(dummyMarker));
 
-        when(responseSpecMock.body(MetaforgeMapDataResponse.class)).thenReturn(mockResponse);
+        respondWith(mockResponse);
 
         // Run marker sync
         syncService.syncMarkers();
@@ -99,7 +110,7 @@ class MetaforgeSyncServiceTest {
     }
 
     @Test
-    void testCalibratedCoordinatesDifferFromRaw() {
+    void testCalibratedCoordinatesDifferFromRaw() throws IOException {
         // Mock Metaforge API response for markers with non-identity calibration
         testMap.setCalibrationScaleX(2.0);
         testMap.setCalibrationScaleY(0.5);
@@ -112,7 +123,7 @@ class MetaforgeSyncServiceTest {
         );
         MetaforgeMapDataResponse mockResponse = new MetaforgeMapDataResponse(List.of(rawMarker));
 
-        when(responseSpecMock.body(MetaforgeMapDataResponse.class)).thenReturn(mockResponse);
+        respondWith(mockResponse);
 
         syncService.syncMarkers();
 
@@ -126,4 +137,148 @@ class MetaforgeSyncServiceTest {
         assertEquals(20.0, calibratedMarker.getLat(), 0.001); // lat is Y
         assertEquals(210.0, calibratedMarker.getLng(), 0.001); // lng is X
     }
+
+    @Test
+    void testResyncSkipsUnchangedMarkersAndRewritesChangedOnes() throws IOException {
+        MetaforgeMarkerDto original = new MetaforgeMarkerDto(
+                "marker-hashed", 10.0, 20.0, testMap.getDescription(), "arc", "sentinel", "Sentinel"
+        );
+        MetaforgeMarkerDto moved = new MetaforgeMarkerDto(
+                "marker-hashed", 30.0, 40.0, testMap.getDescription(), "arc", "sentinel", "Sentinel"
+        );
+        respondWith(
+                new MetaforgeMapDataResponse(List.of(original)),
+                new MetaforgeMapDataResponse(List.of(original)),
+                new MetaforgeMapDataResponse(List.of(moved)));
+
+        syncService.syncMarkers();
+        MapMarker stored = markerRepository.findById("marker-hashed").orElseThrow();
+        String firstHash = stored.getContentHash();
+        // A local edit the sync would overwrite if it rewrote the row
+        stored.setName("Locally renamed");
+        markerRepository.save(stored);
+
+        // Identical upstream record: content hash matches, row left alone
+        syncService.syncMarkers();
+        MapMarker unchanged = markerRepository.findById("marker-hashed").orElseThrow();
+        assertNotNull(firstHash);
+        assertEquals("Locally renamed", unchanged.getName());
+        assertEquals(firstHash, unchanged.getContentHash());
+
+        // Moved upstream: hash differs, row rewritten
+        syncService.syncMarkers();
+        MapMarker rewritten = markerRepository.findById("marker-hashed").orElseThrow();
+        assertEquals(30.0, rewritten.getLat());
+        assertEquals(40.0, rewritten.getLng());
+        assertEquals("Sentinel", rewritten.getName());
+        assertNotEquals(firstHash, rewritten.getContentHash());
+    }
+
+    @Test
+    void testResyncReconcilesMarkersAndRegroupsOnlyChangedMaps() throws IOException {
+        MetaforgeMarkerDto kept = new MetaforgeMarkerDto(
+                "marker-kept", 1.0, 1.0, testMap.getDescription(), "container", "crate", null
+        );
+        MetaforgeMarkerDto vanishing = new MetaforgeMarkerDto(
+                "marker-vanishing", 2.0, 2.0, testMap.getDescription(), "container", "crate", null
+        );
+        MetaforgeMarkerDto renamed = new MetaforgeMarkerDto(
+                "marker-kept", 1.0, 1.0, testMap.getDescription(), "container", "crate", "Renamed Crate"
+        );
+        MetaforgeMarkerDto added = new MetaforgeMarkerDto(
+                "marker-added", 3.0, 3.0, testMap.getDescription(), "container", "crate", null
+        );
+        respondWith(
+                new MetaforgeMapDataResponse(List.of(kept, vanishing)),
+                new MetaforgeMapDataResponse(List.of(renamed, added)),
+                new MetaforgeMapDataResponse(List.of(renamed, added)));
+
+        Map<Long, MetaforgeSyncService.MarkerDiff> first = syncService.syncMarkers();
+        Map<Long, MetaforgeSyncService.MarkerDiff> second = syncService.syncMarkers();
+        Map<Long, MetaforgeSyncService.MarkerDiff> third = syncService.syncMarkers();
+
+        assertEquals(new MetaforgeSyncService.MarkerDiff(2, 0, 0, 0), first.get(testMap.getId()));
+        assertEquals(new MetaforgeSyncService.MarkerDiff(1, 1, 1, 0), second.get(testMap.getId()));
+        assertEquals(new MetaforgeSyncService.MarkerDiff(0, 0, 0, 2), third.get(testMap.getId()));
+        assertTrue(markerRepository.findById("marker-vanishing").isEmpty());
+        assertEquals("Renamed Crate", markerRepository.findById("marker-kept").orElseThrow().getName());
+        // Regrouped after the first two syncs only; the unchanged third sync leaves groups alone
+        verify(markerGroupingService, times(2)).groupMarkersByContainer(testMap.getId());
+    }
+
+    @Test
+    void testMarkerMovedToAnotherMapRegroupsTheMapItLeft() throws IOException {
+        GameMap otherMap = new GameMap();
+        otherMap.setName("Other Map");
+        otherMap.setDescription("other-map");
+        otherMap.setCalibrationScaleX(1.0);
+        otherMap.setCalibrationScaleY(1.0);
+        otherMap.setCalibrationOffsetX(0.0);
+        otherMap.setCalibrationOffsetY(0.0);
+        gameMapRepository.save(otherMap);
+        MetaforgeMarkerDto crate = new MetaforgeMarkerDto(
+                "marker-crate", 1.0, 1.0, testMap.getDescription(), "container", "crate", null
+        );
+        MetaforgeMarkerDto movedCrate = new MetaforgeMarkerDto(
+                "marker-crate", 1.0, 1.0, otherMap.getDescription(), "container", "crate", null
+        );
+        MetaforgeMarkerDto otherCrate = new MetaforgeMarkerDto(
+                "marker-other", 2.0, 2.0, otherMap.getDescription(), "container", "crate", null
+        );
+        // Maps are fetched concurrently, so responses are keyed by map; the first map's second fetch
+        // comes back empty so only the other map's reconciliation can notice the move
+        Iterator<MetaforgeMapDataResponse> testMapResponses = List.of(
+                new MetaforgeMapDataResponse(List.of(crate)),
+                new MetaforgeMapDataResponse(List.of())).iterator();
+        Iterator<MetaforgeMapDataResponse> otherMapResponses = List.of(
+                new MetaforgeMapDataResponse(List.of(otherCrate)),
+                new MetaforgeMapDataResponse(List.of(otherCrate, movedCrate))).iterator();
+        when(metaforgeSource.read(anyString(), any())).thenAnswer(invocation -> {
+            String request = invocation.getArgument(0);
+            MetaforgeMapDataResponse response = request.endsWith("mapID=" + otherMap.getDescription())
+                    ? otherMapResponses.next() : testMapResponses.next();
+            MetaforgeSource.BodyReader<?> reader = invocation.getArgument(1);
+            return reader.read(new ByteArrayInputStream(objectMapper.writeValueAsBytes(response)));
+        });
+
+        syncService.syncMarkers();
+        syncService.syncMarkers();
+
+        assertEquals(otherMap.getId(), markerRepository.findById("marker-crate").orElseThrow().getGameMap().getId());
+        // Regrouped after the first sync's insert and again once the crate moved away
+        verify(markerGroupingService, times(2)).groupMarkersByContainer(testMap.getId());
+        verify(markerGroupingService, times(2)).groupMarkersByContainer(otherMap.getId());
+    }
+
+    @Test
+    void testItemSyncDeletesOnlyVanishedSyncedRecipes() throws IOException {
+        Recipe manual = new Recipe();
+        manual.setName("House Special");
+        manual.setType(RecipeType.CRAFTING); // Created through POST /api/recipes: no Metaforge ID
+        recipeRepository.save(manual);
+        Recipe retired = new Recipe();
+        retired.setName("Retired Gadget");
+        retired.setType(RecipeType.CRAFTING);
+        retired.setMetaforgeItemId("retired-gadget");
+        recipeRepository.save(retired);
+
+        String itemsPage = """
+                {"data": [
+                  {"id": "wires", "name": "Wires", "rarity": "Common", "item_type": "Material"},
+                  {"id": "gadget", "name": "Gadget", "rarity": "Rare", "item_type": "Material",
+                   "components": [{"quantity": 2, "component": {"id": "wires", "name": "Wires"}}]}
+                ],
+                "pagination": {"page": 1, "per_page": 2, "totalPages": 1}}
+                """;
+        when(metaforgeSource.read(anyString(), any())).thenAnswer(invocation -> {
+            MetaforgeSource.BodyReader<?> reader = invocation.getArgument(1);
+            return reader.read(new ByteArrayInputStream(itemsPage.getBytes(StandardCharsets.UTF_8)));
+        });
+
+        syncService.syncItems();
+
+        assertTrue(recipeRepository.findById(manual.getId()).isPresent(), "API-created recipes must survive a sync");
+        assertTrue(recipeRepository.findByMetaforgeItemId("retired-gadget").isEmpty());
+        assertTrue(recipeRepository.findByMetaforgeItemId("gadget").isPresent());
+    }
 }
@@ -0,0 +1,88 @@
+package com.pauloneill.arcraidersplanner.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlannerBulkheadTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private PlannerBulkhead bulkhead;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        bulkhead = new PlannerBulkhead(meterRegistry, 1, 1, 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        bulkhead.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should run work off the caller thread and complete the future")
+    void shouldCompleteOnWorkerThread() throws Exception {
+        CompletableFuture<String> result = bulkhead.submit(() -> Thread.currentThread().getName());
+
+        assertTrue(result.get(5, TimeUnit.SECONDS).startsWith("planner-"));
+        assertEquals(1, meterRegistry.get("planner.execution").timer().count());
+        assertEquals(1, meterRegistry.get("planner.queue.wait").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should reject work once workers and queue are full")
+    void shouldRejectWhenSaturated() throws Exception {
+        // Arrange - one running task and one queued task fill a 1-worker, 1-slot bulkhead
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Integer> running = bulkhead.submit(() -> {
+            started.countDown();
+            await(release);
+            return 1;
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Integer> queued = bulkhead.submit(() -> 2);
+        assertEquals(1.0, meterRegistry.get("planner.queue.depth").gauge().value());
+
+        // Act
+        PlannerOverloadedException ex = assertThrows(PlannerOverloadedException.class, () -> bulkhead.submit(() -> 3));
+
+        // Assert
+        assertEquals(503, ex.getStatusCode().value());
+        assertEquals("3", ex.getHeaders().getFirst("Retry-After"));
+        assertEquals(1.0, meterRegistry.get("planner.rejections").counter().count());
+
+        release.countDown();
+        assertEquals(1, running.get(5, TimeUnit.SECONDS));
+        assertEquals(2, queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Should propagate task failures through the future")
+    void shouldPropagateFailures() {
+        CompletableFuture<Object> result = bulkhead.submit(() -> {
+            throw new IllegalStateException("boom");
+        });
+
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, ex.getCause());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -38,6 +38,8 @@ class PlannerServiceOngoingItemsTest {
     private EnemyService enemyService;
     @Mock
     private TargetResolutionService targetResolutionService;
+    @Mock
+    private EnemyDensityIndex enemyDensityIndex;
 
     private GeometryService geometryService;
     private PlannerService plannerService;
@@ -50,7 +52,8 @@ class PlannerServiceOngoingItemsTest {
     @BeforeEach
     void setUp() {
         geometryService = new GeometryService();
-        plannerService = new PlannerService(gameMapRepository, mapMarkerRepository, enemyService, targetResolutionService, geometryService);
+        plannerService = new PlannerService(gameMapRepository, mapMarkerRepository, enemyService, targetResolutionService, geometryService,
+                new RouteOptimizationService(geometryService, 40, 12), enemyDensityIndex);
 
         industrial = new LootType();
         industrial.setName("Industrial");
@@ -134,9 +137,6 @@ class PlannerServiceOngoingItemsTest {
                 Collections.<String>emptySet(), Collections.<String, Set<String>>emptyMap(), Collections.<String, String>emptyMap(), Collections.<String>emptySet()));
         when(targetResolutionService.resolveTargetItems(eq(new ArrayList<>()))).thenReturn(new TargetItemInfo(
                 Collections.<String>emptySet(), Collections.<String>emptySet(), Collections.<String>emptySet(), Collections.<String, List<String>>emptyMap(), Collections.<String, List<String>>emptyMap()));
-        
-        // Mock container resolution to empty
-        when(targetResolutionService.resolveTargetContainers(anyList(), eq(null))).thenReturn(new TargetResolutionService.ContainerTargetInfo(Collections.emptyList()));
     }
 
     private void mockOngoingItems(String itemName, String lootType) {
@@ -1,7 +1,10 @@
 package com.pauloneill.arcraidersplanner.service;
 
+import com.pauloneill.arcraidersplanner.dto.EnemySpawnSummaryDto;
 import com.pauloneill.arcraidersplanner.dto.PlannerRequestDto;
 import com.pauloneill.arcraidersplanner.dto.PlannerResponseDto;
+import com.pauloneill.arcraidersplanner.dto.SquadMemberRouteDto;
+import com.pauloneill.arcraidersplanner.dto.SquadPlanResponseDto;
 import com.pauloneill.arcraidersplanner.dto.WaypointDto;
 import com.pauloneill.arcraidersplanner.model.*;
 import com.pauloneill.arcraidersplanner.repository.GameMapRepository;
@@ -20,10 +23,13 @@ import java.util.*;
 import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -37,6 +43,8 @@ class PlannerServiceTest {
     private EnemyService enemyService;
     @Mock
     private TargetResolutionService targetResolutionService;
+    @Mock
+    private EnemyDensityIndex enemyDensityIndex;
 
     private GeometryService geometryService;
     private PlannerService plannerService;
@@ -48,7 +56,8 @@ class PlannerServiceTest {
     @BeforeEach
     void setUp() {
         geometryService = new GeometryService();
-        plannerService = new PlannerService(gameMapRepository, mapMarkerRepository, enemyService, targetResolutionService, geometryService);
+        plannerService = new PlannerService(gameMapRepository, mapMarkerRepository, enemyService, targetResolutionService, geometryService,
+                new RouteOptimizationService(geometryService, 40, 12), enemyDensityIndex);
 
         industrial = new LootType();
         industrial.setName("Industrial");
@@ -95,6 +104,33 @@ class PlannerServiceTest {
         assertEquals(2, response.getFirst().path().size());
     }
 
+    @Test
+    @DisplayName("SHARED MAP DATA: Should load maps and markers once across every plan that shares them")
+    void testSharedMapData_LoadsOncePerBatch() {
+        // Arrange
+        mockTargetResolution("Copper Wire", "Industrial");
+        GameMap map = new GameMap();
+        map.setId(1L);
+        map.setName("Dam");
+        map.setAreas(new HashSet<>(List.of(createArea(10L, 0, 0, 2, Set.of(industrial)))));
+        when(gameMapRepository.findAllWithAreas()).thenReturn(List.of(map));
+        when(mapMarkerRepository.findByGameMapId(1L)).thenReturn(List.of());
+        PlannerRequestDto request = new PlannerRequestDto(
+                List.of("Copper Wire"), null, Collections.emptyList(), Collections.emptyList(), false, PlannerRequestDto.RoutingProfile.PURE_SCAVENGER,
+                Collections.emptyList()
+        );
+
+        // Act
+        PlannerService.SharedMapData mapData = plannerService.newSharedMapData();
+        List<PlannerResponseDto> first = plannerService.generateRoute(request, mapData);
+        List<PlannerResponseDto> second = plannerService.generateRoute(request, mapData);
+
+        // Assert
+        assertEquals(first, second);
+        verify(gameMapRepository, times(1)).findAllWithAreas();
+        verify(mapMarkerRepository, times(1)).findByGameMapId(1L);
+    }
+
     @Test
     @DisplayName("AVOID PVP: Should penalize routes that cross High Tier (Abundance=1) zones")
     void testAvoidPvP_PenalizesDanger() {
@@ -240,6 +276,229 @@ class PlannerServiceTest {
         assertEquals("Safe Hatch", response.get(0).extractionPoint());
     }
 
+    @Test
+    @DisplayName("RECIPE ONLY: Waypoints should list the recipe ingredients found there as target matches")
+    void testRecipeOnly_WaypointsListIngredients() {
+        // Arrange
+        TargetItemInfo emptyItems = new TargetItemInfo(Collections.emptySet(), Collections.emptySet(),
+                Collections.emptySet(), Collections.emptyMap(), Collections.emptyMap());
+        when(targetResolutionService.resolveTargetItems(eq(List.of()))).thenReturn(emptyItems);
+        when(targetResolutionService.resolveRecipes(anyList())).thenReturn(new RecipeTargetInfo(
+                Set.of("battery"), Map.of("battery", Set.of("Copper Wire")), Map.of("battery", "Battery"),
+                Set.of("Copper Wire")));
+        when(targetResolutionService.resolveTargetItems(eq(List.of("Copper Wire")))).thenReturn(new TargetItemInfo(
+                Set.of("Industrial"), Collections.emptySet(), Collections.emptySet(),
+                Map.of("Industrial", List.of("Copper Wire")), Collections.emptyMap()));
+
+        GameMap map = new GameMap();
+        map.setId(1L);
+        map.setName("Factory Map");
+        map.setAreas(new HashSet<>(List.of(createArea(10L, 0, 0, 2, Set.of(industrial)))));
+        when(gameMapRepository.findAllWithAreas()).thenReturn(List.of(map));
+
+        PlannerRequestDto request = new PlannerRequestDto(
+                Collections.emptyList(), null, List.of("battery"), Collections.emptyList(), false,
+                PlannerRequestDto.RoutingProfile.PURE_SCAVENGER, Collections.emptyList()
+        );
+
+        // Act
+        List<PlannerResponseDto> response = plannerService.generateRoute(request);
+
+        // Assert
+        assertEquals(1, response.size());
+        WaypointDto waypoint = response.getFirst().path().getFirst();
+        assertEquals(List.of("Copper Wire"), waypoint.targetMatchItems(),
+                "Ingredients should be matched like directly targeted items");
+    }
+
+    @Test
+    @DisplayName("CONTAINER TARGETING: Should route through marker groups of the targeted container type on each map")
+    void testContainerTargeting_AddsMarkerGroupsPerMap() {
+        // Arrange
+        TargetItemInfo emptyItems = new TargetItemInfo(Collections.emptySet(), Collections.emptySet(),
+                Collections.emptySet(), Collections.emptyMap(), Collections.emptyMap());
+        when(targetResolutionService.resolveTargetItems(anyList())).thenReturn(emptyItems);
+        when(targetResolutionService.resolveRecipes(anyList())).thenReturn(new RecipeTargetInfo(
+                Collections.emptySet(), Collections.emptyMap(), Collections.emptyMap(), Collections.emptySet()));
+
+        GameMap mapA = new GameMap();
+        mapA.setId(1L);
+        mapA.setName("Locker Map");
+        mapA.setAreas(new HashSet<>());
+
+        GameMap mapB = new GameMap();
+        mapB.setId(2L);
+        mapB.setName("Empty Map");
+        mapB.setAreas(new HashSet<>());
+
+        ContainerType redLocker = new ContainerType();
+        redLocker.setName("Red Locker");
+        redLocker.setSubcategory("red-locker");
+
+        MarkerGroup group = new MarkerGroup();
+        group.setId(7L);
+        group.setName("Locker Map - Red Locker Zone 1");
+        group.setGameMap(mapA);
+        group.setContainerType(redLocker);
+        group.setCenterLat(10.0);
+        group.setCenterLng(20.0);
+        group.setMarkerCount(4);
+
+        when(gameMapRepository.findAllWithAreas()).thenReturn(List.of(mapA, mapB));
+        when(targetResolutionService.resolveTargetContainers(List.of("red-locker"), 1L))
+                .thenReturn(new ContainerTargetInfo(List.of(group)));
+        when(targetResolutionService.resolveTargetContainers(List.of("red-locker"), 2L))
+                .thenReturn(new ContainerTargetInfo(Collections.emptyList()));
+
+        PlannerRequestDto request = new PlannerRequestDto(
+                Collections.emptyList(), null, Collections.emptyList(), List.of("red-locker"), false,
+                PlannerRequestDto.RoutingProfile.PURE_SCAVENGER, Collections.emptyList()
+        );
+
+        // Act
+        List<PlannerResponseDto> response = plannerService.generateRoute(request);
+
+        // Assert
+        assertEquals(1, response.size(), "Only the map with red locker groups should be returned");
+        assertEquals("Locker Map", response.getFirst().mapName());
+        WaypointDto waypoint = response.getFirst().path().getFirst();
+        assertEquals("MARKER_GROUP", waypoint.type());
+        assertEquals("Red Locker", waypoint.containerType());
+        assertEquals(4, waypoint.markerCount());
+    }
+
+    @Test
+    @DisplayName("COMPACT SPAWNS: Should return on-route spawns in full and aggregate the rest per type")
+    void testCompactEnemySpawns_AggregatesOffRouteSpawns() {
+        // Arrange
+        mockTargetResolution("Copper Wire", "Industrial");
+
+        GameMap map = new GameMap();
+        map.setId(1L);
+        map.setName("Spawn Map");
+        Area a1 = createArea(10L, 0, 0, 2, Set.of(industrial));
+        Area a2 = createArea(11L, 1000, 0, 2, Set.of(industrial));
+        map.setAreas(new HashSet<>(Arrays.asList(a1, a2)));
+
+        MapMarker onRoute = createEnemy("e1", map, 500, 100);
+        MapMarker farA = createEnemy("e2", map, 5000, 5000);
+        MapMarker farB = createEnemy("e3", map, 5100, 5000);
+        MapMarker farC = createEnemy("e4", map, 9000, 9000);
+
+        when(gameMapRepository.findAllWithAreas()).thenReturn(List.of(map));
+        when(enemyService.getSpawnsByTypes(anyList())).thenReturn(List.of(onRoute, farA, farB, farC));
+
+        PlannerRequestDto request = new PlannerRequestDto(
+                List.of("Copper Wire"), List.of("sentinel"), Collections.emptyList(), Collections.emptyList(), false,
+                PlannerRequestDto.RoutingProfile.EASY_EXFIL, Collections.emptyList(), true
+        );
+
+        // Act
+        PlannerResponseDto response = plannerService.generateRoute(request).getFirst();
+
+        // Assert
+        assertEquals(1, response.nearbyEnemySpawns().size(), "Only the on-route spawn should be returned in full");
+        assertEquals("e1", response.nearbyEnemySpawns().getFirst().id());
+        assertTrue(response.nearbyEnemySpawns().getFirst().onRoute());
+        assertEquals(100.0, response.nearbyEnemySpawns().getFirst().distanceToRoute(), 0.001);
+
+        assertEquals(1, response.offRouteEnemySummary().size());
+        EnemySpawnSummaryDto summary = response.offRouteEnemySummary().getFirst();
+        assertEquals("sentinel", summary.type());
+        assertEquals(3, summary.count());
+        assertEquals(2, summary.clusters().size(), "Nearby far spawns should share a cluster");
+        assertEquals(2, summary.clusters().getFirst().count());
+        assertEquals(5050.0, summary.clusters().getFirst().lng(), 0.001);
+    }
+
+    @Test
+    @DisplayName("SPAWNS: Should only measure distance for spawns inside the route corridor")
+    void testEnemySpawns_DistanceOnlyInsideCorridor() {
+        // Arrange
+        mockTargetResolution("Copper Wire", "Industrial");
+
+        GameMap map = new GameMap();
+        map.setId(1L);
+        map.setName("Spawn Map");
+        Area a1 = createArea(10L, 0, 0, 2, Set.of(industrial));
+        Area a2 = createArea(11L, 1000, 0, 2, Set.of(industrial));
+        map.setAreas(new HashSet<>(Arrays.asList(a1, a2)));
+
+        MapMarker onRoute = createEnemy("e1", map, 500, 100);
+        MapMarker far = createEnemy("e2", map, 5000, 5000);
+
+        when(gameMapRepository.findAllWithAreas()).thenReturn(List.of(map));
+        when(enemyService.getSpawnsByTypes(anyList())).thenReturn(List.of(onRoute, far));
+
+        PlannerRequestDto request = new PlannerRequestDto(
+                List.of("Copper Wire"), List.of("sentinel"), Collections.emptyList(), Collections.emptyList(), false,
+                PlannerRequestDto.RoutingProfile.EASY_EXFIL, Collections.emptyList()
+        );
+
+        // Act
+        PlannerResponseDto response = plannerService.generateRoute(request).getFirst();
+
+        // Assert
+        assertEquals(2, response.nearbyEnemySpawns().size(), "Non-compact mode should return every spawn");
+        assertTrue(response.offRouteEnemySummary().isEmpty());
+        assertTrue(response.nearbyEnemySpawns().get(0).onRoute());
+        assertEquals(false, response.nearbyEnemySpawns().get(1).onRoute());
+        assertNull(response.nearbyEnemySpawns().get(1).distanceToRoute());
+    }
+
+    @Test
+    @DisplayName("SQUAD: Should give each player one side of the map and end all routes at a common extraction")
+    void testSquadRoute_SplitsTargetsAcrossPlayers() {
+        // Arrange
+        mockTargetResolution("Copper Wire", "Industrial");
+
+        GameMap map = new GameMap();
+        map.setId(1L);
+        map.setName("Squad Map");
+        map.setAreas(new HashSet<>(Arrays.asList(
+                createArea(1L, -1000, 0, 2, Set.of(industrial)),
+                createArea(2L, -1100, 100, 2, Set.of(industrial)),
+                createArea(3L, 1000, 0, 2, Set.of(industrial)),
+                createArea(4L, 1100, 100, 2, Set.of(industrial)))));
+        when(gameMapRepository.findAllWithAreas()).thenReturn(List.of(map));
+
+        MapMarker centreExit = new MapMarker();
+        centreExit.setId("x1");
+        centreExit.setSubcategory("extraction");
+        centreExit.setName("Centre Exit");
+        centreExit.setLat(0.0);
+        centreExit.setLng(0.0);
+        MapMarker farExit = new MapMarker();
+        farExit.setId("x2");
+        farExit.setSubcategory("extraction");
+        farExit.setName("Far Exit");
+        farExit.setLat(5000.0);
+        farExit.setLng(5000.0);
+        when(mapMarkerRepository.findByGameMapId(1L)).thenReturn(List.of(centreExit, farExit));
+
+        PlannerRequestDto request = new PlannerRequestDto(
+                List.of("Copper Wire"), null, Collections.emptyList(), Collections.emptyList(), false,
+                PlannerRequestDto.RoutingProfile.EASY_EXFIL, Collections.emptyList());
+
+        // Act
+        SquadPlanResponseDto plan = plannerService.generateSquadRoute(request, 2).getFirst();
+
+        // Assert
+        assertEquals("Centre Exit", plan.extractionPoint());
+        assertEquals(2, plan.players().size());
+        Set<String> visited = new HashSet<>();
+        for (SquadMemberRouteDto member : plan.players()) {
+            assertEquals(2, member.path().size(), "Each player should take one side of the map");
+            double side = Math.signum(member.path().get(0).x());
+            assertTrue(member.path().stream().allMatch(w -> Math.signum(w.x()) == side));
+            // The last stop is the one closest to the extraction
+            assertEquals(1000.0, Math.abs(member.path().getLast().x()), 0.001);
+            member.path().forEach(w -> visited.add(w.id()));
+        }
+        assertEquals(4, visited.size(), "Every target should be covered exactly once");
+        assertTrue(plan.longestTourDistance() < 1200, "Longest tour should be one side plus the walk to the centre");
+    }
+
     // --- Helpers ---
     private void mockTargetResolution(String itemName, String lootType) {
         TargetItemInfo info = new TargetItemInfo(
@@ -261,9 +520,6 @@ class PlannerServiceTest {
         when(targetResolutionService.resolveRecipes(anyList())).thenReturn(emptyRecipeInfo);
         // And ingredient resolution (empty)
         when(targetResolutionService.resolveTargetItems(eq(new ArrayList<>()))).thenReturn(new TargetItemInfo(Collections.<String>emptySet(), Collections.<String>emptySet(), Collections.<String>emptySet(), Collections.<String, List<String>>emptyMap(), Collections.<String, List<String>>emptyMap()));
-        
-        // Mock container resolution to empty
-        when(targetResolutionService.resolveTargetContainers(anyList(), eq(null))).thenReturn(new ContainerTargetInfo(Collections.emptyList()));
     }
 
     private Area createArea(Long id, int x, int y, int abundance, Set<LootType> lootTypes) {
@@ -277,4 +533,15 @@ class PlannerServiceTest {
         area.setCoordinates(String.format("[[%d,%d],[%d,%d]]", y - 5, x - 5, y + 5, x + 5));
         return area;
     }
+
+    private MapMarker createEnemy(String id, GameMap map, double x, double y) {
+        MapMarker marker = new MapMarker();
+        marker.setId(id);
+        marker.setCategory("arc");
+        marker.setSubcategory("sentinel");
+        marker.setGameMap(map);
+        marker.setLng(x);
+        marker.setLat(y);
+        return marker;
+    }
 }
@@ -0,0 +1,134 @@
+package com.pauloneill.arcraidersplanner.service;
+
+import com.pauloneill.arcraidersplanner.dto.PlanningModelDto;
+import com.pauloneill.arcraidersplanner.model.Area;
+import com.pauloneill.arcraidersplanner.model.GameMap;
+import com.pauloneill.arcraidersplanner.model.LootType;
+import com.pauloneill.arcraidersplanner.model.MapMarker;
+import com.pauloneill.arcraidersplanner.repository.GameMapRepository;
+import com.pauloneill.arcraidersplanner.repository.MapMarkerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PlanningModelServiceTest {
+
+    @Mock
+    private GameMapRepository gameMapRepository;
+
+    @Mock
+    private MapMarkerRepository mapMarkerRepository;
+
+    private DataVersionService dataVersionService;
+    private PlanningModelService planningModelService;
+
+    @BeforeEach
+    void setUp() {
+        dataVersionService = new DataVersionService(event -> { });
+        planningModelService = new PlanningModelService(gameMapRepository, mapMarkerRepository, dataVersionService);
+    }
+
+    @Test
+    @DisplayName("Should compile points, loot masks, flags and a quantised distance matrix")
+    void shouldCompileModel() {
+        // Arrange
+        LootType industrial = lootType("Industrial");
+        LootType medical = lootType("Medical");
+        GameMap dam = map(1L, "Dam", Set.of(
+                area(10L, 0, 0, null, industrial),
+                area(11L, 300, 400, 1, industrial, medical)));
+        when(gameMapRepository.findAllWithAreas()).thenReturn(List.of(dam));
+        when(mapMarkerRepository.findByGameMapId(1L)).thenReturn(List.of(
+                marker("exit-1", "extraction", 0, 800),
+                marker("hatch-1", "hatch", 600, 800),
+                marker("arc-1", "sentinel", 50, 50)));
+
+        // Act
+        PlanningModelDto model = planningModelService.getModel(1L).orElseThrow();
+
+        // Assert
+        assertEquals(List.of("area:10", "area:11", "extraction:exit-1", "hatch:hatch-1"), model.pointIds());
+        assertArrayEquals(new float[]{0, 300, 0, 600}, model.xs());
+        assertEquals(List.of("Industrial", "Medical"), model.lootTypes());
+        assertEquals(1, model.lootMaskWords());
+        assertArrayEquals(new int[]{0b01, 0b11, 0, 0}, model.lootTypeMasks());
+        assertArrayEquals(new int[]{0, PlanningModelDto.FLAG_DANGER, PlanningModelDto.FLAG_EXTRACTION,
+                PlanningModelDto.FLAG_RAIDER_HATCH}, model.flags());
+
+        // Area 10 -> area 11 is 500 units; quantisation error is at most half a step
+        assertEquals(500.0, decodeDistance(model, 0, 1), model.distanceScale() / 2);
+        assertEquals(decodeDistance(model, 1, 0), decodeDistance(model, 0, 1));
+        assertEquals(0.0, decodeDistance(model, 2, 2));
+        assertTrue(planningModelService.getModel(99L).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should recompile and change the entity tag when the data version changes")
+    void shouldRecompileOnNewDataVersion() {
+        // Arrange
+        GameMap dam = map(1L, "Dam", Set.of(area(10L, 0, 0, null)));
+        when(gameMapRepository.findAllWithAreas()).thenReturn(List.of(dam));
+        when(mapMarkerRepository.findByGameMapId(1L)).thenReturn(List.of());
+        String firstTag = planningModelService.entityTag(planningModelService.getModel(1L).orElseThrow());
+
+        // Act
+        String sameVersionTag = planningModelService.entityTag(planningModelService.getModel(1L).orElseThrow());
+        dataVersionService.markChanged("test");
+        String newVersionTag = planningModelService.entityTag(planningModelService.getModel(1L).orElseThrow());
+
+        // Assert
+        assertEquals(firstTag, sameVersionTag);
+        assertNotEquals(firstTag, newVersionTag);
+        verify(gameMapRepository, times(2)).findAllWithAreas();
+    }
+
+    private double decodeDistance(PlanningModelDto model, int from, int to) {
+        int k = from * model.pointIds().size() + to;
+        int step = (model.distances()[2 * k] & 0xFF) | (model.distances()[2 * k + 1] & 0xFF) << 8;
+        return step * model.distanceScale();
+    }
+
+    private LootType lootType(String name) {
+        LootType lootType = new LootType();
+        lootType.setName(name);
+        return lootType;
+    }
+
+    private Area area(Long id, int x, int y, Integer lootAbundance, LootType... lootTypes) {
+        Area area = new Area();
+        area.setId(id);
+        area.setName("Area " + id);
+        area.setMapX(x);
+        area.setMapY(y);
+        area.setLootAbundance(lootAbundance);
+        area.setLootTypes(Set.of(lootTypes));
+        return area;
+    }
+
+    private MapMarker marker(String id, String subcategory, double x, double y) {
+        MapMarker marker = new MapMarker();
+        marker.setId(id);
+        marker.setSubcategory(subcategory);
+        marker.setLng(x);
+        marker.setLat(y);
+        return marker;
+    }
+
+    private GameMap map(Long id, String name, Set<Area> areas) {
+        GameMap map = new GameMap();
+        map.setId(id);
+        map.setName(name);
+        map.setAreas(areas);
+        return map;
+    }
+}
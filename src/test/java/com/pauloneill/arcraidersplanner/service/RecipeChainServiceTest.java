@@ -9,7 +9,6 @@ import com.pauloneill.arcraidersplanner.repository.RecipeRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
@@ -18,16 +17,15 @@ import org.springframework.web.server.ResponseStatusException;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.when;
 
 /**
  * Tests for Recipe Chain functionality in ItemServiceImpl
  * WHY: Validates prerequisite detection for crafting upgrades (e.g., Anvil III → Anvil IV)
+ * against the in-memory catalogue that now backs the lookup.
  */
 @ExtendWith(MockitoExtension.class)
 class RecipeChainServiceTest {
@@ -38,7 +36,6 @@ class RecipeChainServiceTest {
     @Mock
     private RecipeRepository recipeRepository;
 
-    @InjectMocks
     private ItemServiceImpl itemService;
 
     private Item anvilIV;
@@ -50,6 +47,10 @@ class RecipeChainServiceTest {
 
     @BeforeEach
     void setUp() {
+        ItemCatalogueIndex catalogue = new ItemCatalogueIndex(itemRepository, recipeRepository,
+                new DataVersionService(event -> { }));
+        itemService = new ItemServiceImpl(itemRepository, recipeRepository, null, catalogue);
+
         // Anvil IV (target item)
         anvilIV = new Item();
         anvilIV.setId(1L);
@@ -106,13 +107,7 @@ class RecipeChainServiceTest {
     @Test
     void shouldDetectPrerequisiteWhenSameItemTypeAndHasRecipe() {
         // Given
-        when(itemRepository.findById(1L)).thenReturn(Optional.of(anvilIV));
-        when(recipeRepository.findByMetaforgeItemId(anyString())).thenAnswer(invocation -> {
-            String metaforgeId = invocation.getArgument(0);
-            if ("anvil-iv".equals(metaforgeId)) return Optional.of(anvilIVRecipe);
-            if ("anvil-iii".equals(metaforgeId)) return Optional.of(anvilIIIRecipe);
-            return Optional.empty();
-        });
+        givenCatalogue(List.of(anvilIV, anvilIII, steelPlate, mechanicalParts), List.of(anvilIVRecipe, anvilIIIRecipe));
 
         // When
         RecipeChainDto result = itemService.getRecipeChain(1L);
@@ -136,13 +131,7 @@ class RecipeChainServiceTest {
     @Test
     void shouldNotMarkMaterialsAsPrerequisites() {
         // Given
-        when(itemRepository.findById(1L)).thenReturn(Optional.of(anvilIV));
-        when(recipeRepository.findByMetaforgeItemId(anyString())).thenAnswer(invocation -> {
-            String metaforgeId = invocation.getArgument(0);
-            if ("anvil-iv".equals(metaforgeId)) return Optional.of(anvilIVRecipe);
-            if ("anvil-iii".equals(metaforgeId)) return Optional.of(anvilIIIRecipe);
-            return Optional.empty();
-        });
+        givenCatalogue(List.of(anvilIV, anvilIII, steelPlate, mechanicalParts), List.of(anvilIVRecipe, anvilIIIRecipe));
 
         // When
         RecipeChainDto result = itemService.getRecipeChain(1L);
@@ -168,7 +157,7 @@ class RecipeChainServiceTest {
         itemWithoutMetaforgeId.setName("Custom Item");
         itemWithoutMetaforgeId.setMetaforgeId(null);
 
-        when(itemRepository.findById(5L)).thenReturn(Optional.of(itemWithoutMetaforgeId));
+        givenCatalogue(List.of(itemWithoutMetaforgeId), List.of());
 
         // When
         RecipeChainDto result = itemService.getRecipeChain(5L);
@@ -180,8 +169,7 @@ class RecipeChainServiceTest {
     @Test
     void shouldReturnNullWhenItemHasNoRecipe() {
         // Given
-        when(itemRepository.findById(1L)).thenReturn(Optional.of(anvilIV));
-        when(recipeRepository.findByMetaforgeItemId("anvil-iv")).thenReturn(Optional.empty());
+        givenCatalogue(List.of(anvilIV), List.of(anvilIIIRecipe));
 
         // When
         RecipeChainDto result = itemService.getRecipeChain(1L);
@@ -193,7 +181,7 @@ class RecipeChainServiceTest {
     @Test
     void shouldThrowExceptionWhenItemNotFound() {
         // Given
-        when(itemRepository.findById(999L)).thenReturn(Optional.empty());
+        givenCatalogue(List.of(anvilIV), List.of());
 
         // When & Then
         assertThatThrownBy(() -> itemService.getRecipeChain(999L))
@@ -246,13 +234,7 @@ class RecipeChainServiceTest {
         workbenchIIIRecipe.setId(11L);
         workbenchIIIRecipe.setMetaforgeItemId("workbench-iii");
 
-        when(itemRepository.findById(10L)).thenReturn(Optional.of(workbenchIV));
-        when(recipeRepository.findByMetaforgeItemId(anyString())).thenAnswer(invocation -> {
-            String metaforgeId = invocation.getArgument(0);
-            if ("workbench-iv".equals(metaforgeId)) return Optional.of(workbenchIVRecipe);
-            if ("workbench-iii".equals(metaforgeId)) return Optional.of(workbenchIIIRecipe);
-            return Optional.empty();
-        });
+        givenCatalogue(List.of(workbenchIV, workbenchIII), List.of(workbenchIVRecipe, workbenchIIIRecipe));
 
         // When
         RecipeChainDto result = itemService.getRecipeChain(10L);
@@ -266,4 +248,9 @@ class RecipeChainServiceTest {
         assertThat(prerequisite.getItemName()).isEqualTo("Workbench III");
         assertThat(prerequisite.getRecipeId()).isEqualTo(11L);
     }
+
+    private void givenCatalogue(List<Item> items, List<Recipe> recipes) {
+        when(itemRepository.findAllWithLootTypeAndDroppedBy()).thenReturn(items);
+        when(recipeRepository.findAllWithIngredients()).thenReturn(recipes);
+    }
 }
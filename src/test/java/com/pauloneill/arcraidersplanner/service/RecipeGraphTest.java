@@ -0,0 +1,122 @@
+package com.pauloneill.arcraidersplanner.service;
+
+import com.pauloneill.arcraidersplanner.dto.BillOfMaterialsDto;
+import com.pauloneill.arcraidersplanner.dto.BillOfMaterialsDto.BomLineDto;
+import com.pauloneill.arcraidersplanner.dto.CraftableRecipeDto;
+import com.pauloneill.arcraidersplanner.dto.CraftableRecipeDto.MissingIngredientDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+
+import static com.pauloneill.arcraidersplanner.service.CatalogueFixtures.ingredient;
+import static com.pauloneill.arcraidersplanner.service.CatalogueFixtures.item;
+import static com.pauloneill.arcraidersplanner.service.CatalogueFixtures.recipe;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for the compiled recipe graph.
+ * WHY: Bill-of-materials totals must multiply correctly through every level, and crafting cycles
+ * in synced data must not send the expansion into an infinite loop.
+ */
+@ExtendWith(MockitoExtension.class)
+class RecipeGraphTest {
+
+    @Mock
+    private ItemCatalogueIndex itemCatalogueIndex;
+
+    private RecipeGraph recipeGraph;
+
+    @BeforeEach
+    void setUp() {
+        recipeGraph = new RecipeGraph(itemCatalogueIndex, new DataVersionService(event -> { }));
+
+        // Wires and Copper are raw; Circuit = 2 Wires + 1 Copper; Gadget = 3 Circuit + 2 Wires;
+        // Alpha and Beta require each other; Custom Kit was created through the API = 1 Circuit + 5 Copper
+        when(itemCatalogueIndex.getItems()).thenReturn(List.of(
+                item(1L, "Wires").metaforgeId("wires").build(),
+                item(2L, "Copper").metaforgeId("copper").build(),
+                item(3L, "Circuit").metaforgeId("circuit").build(),
+                item(4L, "Gadget").metaforgeId("gadget").build(),
+                item(5L, "Alpha").metaforgeId("alpha").build(),
+                item(6L, "Beta").metaforgeId("beta").build()));
+        when(itemCatalogueIndex.getRecipes()).thenReturn(List.of(
+                recipe(40L, "gadget", ingredient(3L, "Circuit", 3), ingredient(1L, "Wires", 2)),
+                recipe(30L, "circuit", ingredient(1L, "Wires", 2), ingredient(2L, "Copper", 1)),
+                recipe(50L, "alpha", ingredient(6L, "Beta", 1), ingredient(2L, "Copper", 4)),
+                recipe(60L, "beta", ingredient(5L, "Alpha", 1)),
+                recipe(70L, null, "Custom Kit", ingredient(3L, "Circuit", 1), ingredient(2L, "Copper", 5))));
+    }
+
+    @Test
+    @DisplayName("Should multiply raw materials through every crafting level and aggregate repeated targets")
+    void shouldExpandMultiLevelRecipes() {
+        // Act
+        BillOfMaterialsDto bom = recipeGraph.billOfMaterials(List.of(40L, 40L, 99L));
+
+        // Assert - 2 Gadgets = 6 Circuits (12 Wires + 6 Copper) + 4 Wires
+        assertEquals(List.of(new BomLineDto(2L, "Copper", 6), new BomLineDto(1L, "Wires", 16)), bom.rawMaterials());
+        assertEquals(List.of(new BomLineDto(3L, "Circuit", 6)), bom.intermediates());
+        assertEquals(List.of(40L, 40L), bom.recipeIds());
+        assertEquals(List.of(99L), bom.unknownRecipeIds());
+        assertTrue(bom.cyclicRecipeIds().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should expand a recipe created through the API by its database ID")
+    void shouldExpandApiCreatedRecipes() {
+        // Act
+        BillOfMaterialsDto bom = recipeGraph.billOfMaterials(List.of(70L));
+
+        // Assert - 1 Circuit (2 Wires + 1 Copper) + 5 Copper
+        assertEquals(List.of(new BomLineDto(2L, "Copper", 6), new BomLineDto(1L, "Wires", 2)), bom.rawMaterials());
+        assertEquals(List.of(new BomLineDto(3L, "Circuit", 1)), bom.intermediates());
+        assertEquals(List.of(70L), bom.recipeIds());
+        assertTrue(bom.unknownRecipeIds().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should stop expanding at a crafting cycle and report the recipes on it")
+    void shouldCutCycles() {
+        // Act
+        BillOfMaterialsDto bom = recipeGraph.billOfMaterials(List.of(50L));
+
+        // Assert
+        assertEquals(List.of(new BomLineDto(6L, "Beta", 1), new BomLineDto(2L, "Copper", 4)), bom.rawMaterials());
+        assertTrue(bom.intermediates().isEmpty());
+        assertEquals(List.of(50L, 60L), bom.cyclicRecipeIds());
+    }
+
+    @Test
+    @DisplayName("Should order every recipe after the recipes of its ingredients")
+    void shouldBuildDependenciesFirst() {
+        // Act
+        List<Long> order = recipeGraph.buildOrder();
+
+        // Assert
+        assertEquals(5, order.size());
+        assertTrue(order.indexOf(30L) < order.indexOf(40L), "Circuit must be built before Gadget");
+        assertTrue(order.indexOf(30L) < order.indexOf(70L), "Circuit must be built before Custom Kit");
+    }
+
+    @Test
+    @DisplayName("Should rank completable recipes ahead of near-complete ones and list what is missing")
+    void shouldFindCraftableRecipesFromInventory() {
+        // Act - 2 Wires + 1 Copper completes Circuit, leaves Gadget 3 short and Alpha 4 short
+        List<CraftableRecipeDto> craftable = recipeGraph.craftable(Map.of(1L, 2, 2L, 1, 999L, 5), 3, 10);
+
+        // Assert
+        assertEquals(List.of(30L, 40L), craftable.stream().map(CraftableRecipeDto::recipeId).toList());
+        assertTrue(craftable.get(0).completable());
+        assertTrue(craftable.get(0).missing().isEmpty());
+        assertEquals(3, craftable.get(1).missingQuantity());
+        assertEquals(List.of(new MissingIngredientDto(3L, "Circuit", 3)), craftable.get(1).missing());
+    }
+}
@@ -0,0 +1,159 @@
+package com.pauloneill.arcraidersplanner.service;
+
+import com.pauloneill.arcraidersplanner.model.MapMarker;
+import com.pauloneill.arcraidersplanner.model.RoutablePoint;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for flat and hierarchical route optimisation.
+ * WHY: The hierarchical mode must visit every point exactly once and stay close to the flat
+ * solver's route length while scaling to hundreds of points.
+ */
+class RouteOptimizationServiceTest {
+
+    private GeometryService geometryService;
+    private RouteOptimizationService routeOptimizationService;
+
+    @BeforeEach
+    void setUp() {
+        geometryService = new GeometryService();
+        routeOptimizationService = new RouteOptimizationService(geometryService, 40, 12);
+    }
+
+    @Test
+    @DisplayName("Flat route: Should visit points along a line in order")
+    void testFlatRoute_Line() {
+        List<MapMarker> points = List.of(marker("c", 200, 0), marker("a", 0, 0), marker("d", 300, 0), marker("b", 100, 0));
+
+        List<RoutablePoint> route = routeOptimizationService.findOptimalRoute(points);
+
+        assertEquals(300.0, routeOptimizationService.calculateTotalDistance(route), 0.001);
+    }
+
+    @Test
+    @DisplayName("Hierarchical route: Should visit every point exactly once")
+    void testHierarchicalRoute_IsPermutation() {
+        List<MapMarker> points = randomPoints(300, 42L);
+
+        List<RoutablePoint> route = routeOptimizationService.findOptimalRoute(points);
+
+        assertEquals(points.size(), route.size());
+        Set<String> ids = new HashSet<>();
+        route.forEach(p -> ids.add(p.getId()));
+        assertEquals(points.size(), ids.size(), "No point should be visited twice");
+    }
+
+    @Test
+    @DisplayName("Hierarchical route: Should stay within 25% of the flat solver's route length")
+    void testHierarchicalRoute_QualityCloseToFlat() {
+        List<MapMarker> points = randomPoints(120, 7L);
+
+        double flat = routeOptimizationService.calculateTotalDistance(routeOptimizationService.findFlatRoute(points));
+        double hierarchical = routeOptimizationService.calculateTotalDistance(routeOptimizationService.findHierarchicalRoute(points));
+
+        assertTrue(hierarchical <= flat * 1.25,
+                "Hierarchical length " + hierarchical + " should be close to flat length " + flat);
+    }
+
+    @Test
+    @DisplayName("Hierarchical route: Should finish one spatial cluster before moving to the next")
+    void testHierarchicalRoute_VisitsClustersContiguously() {
+        List<MapMarker> points = new ArrayList<>();
+        double[][] centers = {{0, 0}, {5000, 0}, {5000, 5000}, {0, 5000}};
+        Random random = new Random(3L);
+        for (int c = 0; c < centers.length; c++) {
+            for (int i = 0; i < 15; i++) {
+                points.add(marker("c" + c + "_" + i,
+                        centers[c][0] + random.nextDouble() * 100,
+                        centers[c][1] + random.nextDouble() * 100));
+            }
+        }
+
+        List<RoutablePoint> route = routeOptimizationService.findOptimalRoute(points);
+
+        int clusterSwitches = 0;
+        for (int i = 1; i < route.size(); i++) {
+            String previousCluster = route.get(i - 1).getId().split("_")[0];
+            String currentCluster = route.get(i).getId().split("_")[0];
+            if (!previousCluster.equals(currentCluster)) {
+                clusterSwitches++;
+            }
+        }
+        assertEquals(centers.length - 1, clusterSwitches, "Each cluster should be entered exactly once");
+    }
+
+    @Test
+    @DisplayName("Squad split: Should balance tours and end every tour at the chosen extraction")
+    void testSquadSplit_BalancesToursToCommonExtraction() {
+        // Three spatial groups around a central extraction; a second extraction far away should be ignored
+        List<MapMarker> points = new ArrayList<>();
+        double[][] centers = {{-3000, 0}, {3000, 0}, {0, 3000}};
+        Random random = new Random(5L);
+        for (int c = 0; c < centers.length; c++) {
+            for (int i = 0; i < 8; i++) {
+                points.add(marker("c" + c + "_" + i,
+                        centers[c][0] + random.nextDouble() * 200,
+                        centers[c][1] + random.nextDouble() * 200));
+            }
+        }
+        MapMarker centre = marker("exit_centre", 0, 0);
+        MapMarker far = marker("exit_far", 20000, 20000);
+        List<RoutablePoint> giantTour = routeOptimizationService.findOptimalRoute(points);
+
+        RouteOptimizationService.SquadSplit split =
+                routeOptimizationService.splitIntoSquadTours(giantTour, 3, List.of(far, centre));
+
+        assertEquals(centre, split.extraction());
+        assertEquals(3, split.tours().size());
+        Set<String> ids = new HashSet<>();
+        for (List<RoutablePoint> tour : split.tours()) {
+            assertEquals(8, tour.size(), "Each player should take exactly one group");
+            Set<String> groups = new HashSet<>();
+            tour.forEach(p -> groups.add(p.getId().split("_")[0]));
+            assertEquals(1, groups.size());
+            tour.forEach(p -> ids.add(p.getId()));
+        }
+        assertEquals(points.size(), ids.size());
+
+        double giantLength = routeOptimizationService.tourLength(giantTour, centre);
+        assertTrue(split.longestTour() < giantLength / 2, "Splitting should cut the bottleneck tour substantially");
+    }
+
+    @Test
+    @DisplayName("Squad split: Should give spare players empty tours when there are fewer points than players")
+    void testSquadSplit_MorePlayersThanPoints() {
+        List<MapMarker> points = List.of(marker("a", 100, 0));
+
+        RouteOptimizationService.SquadSplit split =
+                routeOptimizationService.splitIntoSquadTours(points, 3, List.of(marker("exit", 0, 0)));
+
+        assertEquals(3, split.tours().size());
+        assertEquals(1, split.tours().stream().mapToInt(List::size).sum());
+        assertEquals(100.0, split.longestTour(), 0.001);
+    }
+
+    private List<MapMarker> randomPoints(int count, long seed) {
+        Random random = new Random(seed);
+        List<MapMarker> points = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            points.add(marker("p" + i, random.nextDouble() * 4000 - 2000, random.nextDouble() * 4000 - 2000));
+        }
+        return points;
+    }
+
+    private MapMarker marker(String id, double x, double y) {
+        MapMarker marker = new MapMarker();
+        marker.setId(id);
+        marker.setLng(x);
+        marker.setLat(y);
+        marker.setCategory("container");
+        return marker;
+    }
+}
@@ -0,0 +1,178 @@
+package com.pauloneill.arcraidersplanner.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pauloneill.arcraidersplanner.dto.PlannerRequestDto;
+import com.pauloneill.arcraidersplanner.dto.PlannerResponseDto;
+import com.pauloneill.arcraidersplanner.model.SavedLoadout;
+import com.pauloneill.arcraidersplanner.model.SavedLoadout.PlanStatus;
+import com.pauloneill.arcraidersplanner.repository.SavedLoadoutRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static com.pauloneill.arcraidersplanner.service.CatalogueFixtures.ingredient;
+import static com.pauloneill.arcraidersplanner.service.CatalogueFixtures.item;
+import static com.pauloneill.arcraidersplanner.service.CatalogueFixtures.recipe;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SavedLoadoutServiceTest {
+
+    @Mock
+    private SavedLoadoutRepository savedLoadoutRepository;
+
+    @Mock
+    private PlannerService plannerService;
+
+    @Mock
+    private ItemCatalogueIndex itemCatalogueIndex;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private SavedLoadoutService service;
+
+    private final PlannerResponseDto damResult =
+            new PlannerResponseDto(1L, "Dam", 5.0, List.of(), "North Hatch", 10.0, 20.0, List.of());
+    private final PlannerResponseDto spaceportResult =
+            new PlannerResponseDto(2L, "Spaceport", 3.0, List.of(), null, null, null, List.of());
+
+    @BeforeEach
+    void setUp() {
+        service = new SavedLoadoutService(savedLoadoutRepository, plannerService, itemCatalogueIndex, objectMapper, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    @DisplayName("Item changes should only invalidate loadouts that target, track or craft from the item")
+    void shouldInvalidateLoadoutsUsingChangedItems() throws Exception {
+        // Arrange
+        SavedLoadout targetsWires = loadout(1L, request(List.of("Wires"), List.of(), List.of(), List.of()), List.of(damResult));
+        SavedLoadout tracksWires = loadout(2L, new PlannerRequestDto(List.of(), List.of(), List.of(), List.of(), false,
+                PlannerRequestDto.RoutingProfile.PURE_SCAVENGER, List.of("Wires")), List.of(damResult));
+        SavedLoadout craftsFromWires = loadout(3L, request(List.of(), List.of(), List.of("stitcher"), List.of()), List.of(damResult));
+        SavedLoadout unrelated = loadout(4L, request(List.of("Copper"), List.of(), List.of(), List.of()), List.of(damResult));
+        when(savedLoadoutRepository.findAll()).thenReturn(List.of(targetsWires, tracksWires, craftsFromWires, unrelated));
+        when(itemCatalogueIndex.findRecipe("stitcher")).thenReturn(Optional.of(
+                recipe(10L, "stitcher", "Stitcher", ingredient(7L, "Wires", 2))));
+
+        // Act
+        List<Long> affected = service.affectedLoadoutIds(DataChangeSet.items(Set.of("Wires"), Set.of()));
+
+        // Assert
+        assertEquals(List.of(1L, 2L, 3L), affected);
+    }
+
+    @Test
+    @DisplayName("Map changes should invalidate loadouts whose plan uses the map or that target spawns")
+    void shouldInvalidateLoadoutsUsingChangedMaps() throws Exception {
+        // Arrange
+        SavedLoadout onDam = loadout(1L, request(List.of("Wires"), List.of(), List.of(), List.of()), List.of(damResult));
+        SavedLoadout onSpaceport = loadout(2L, request(List.of("Copper"), List.of(), List.of(), List.of()), List.of(spaceportResult));
+        SavedLoadout huntsEnemies = loadout(3L, request(List.of(), List.of("sentinel"), List.of(), List.of()), List.of(spaceportResult));
+        SavedLoadout neverComputed = loadout(4L, request(List.of("Copper"), List.of(), List.of(), List.of()), null);
+        when(savedLoadoutRepository.findAll()).thenReturn(List.of(onDam, onSpaceport, huntsEnemies, neverComputed));
+
+        // Act
+        List<Long> affected = service.affectedLoadoutIds(DataChangeSet.maps(Set.of(1L)));
+
+        // Assert
+        assertEquals(List.of(1L, 3L, 4L), affected);
+    }
+
+    @Test
+    @DisplayName("Map changes should invalidate loadouts using enemy-dropped items even if the plan skips the map")
+    void shouldInvalidateLoadoutsUsingEnemyDropsOnNewMaps() throws Exception {
+        // Arrange - a new Sentinel spawn on Spaceport can make it viable for Copper Wire
+        SavedLoadout copperWire = loadout(1L, request(List.of("Copper Wire"), List.of(), List.of(), List.of()), List.of(damResult));
+        SavedLoadout battery = loadout(2L, request(List.of("Battery"), List.of(), List.of(), List.of()), List.of(damResult));
+        when(savedLoadoutRepository.findAll()).thenReturn(List.of(copperWire, battery));
+        when(itemCatalogueIndex.findItem("Copper Wire")).thenReturn(Optional.of(
+                item(1L, "Copper Wire").lootType("Industrial").droppedBy("sentinel").build()));
+        when(itemCatalogueIndex.findItem("Battery")).thenReturn(Optional.of(
+                item(2L, "Battery").lootType("Electrical").build()));
+
+        // Act
+        List<Long> affected = service.affectedLoadoutIds(DataChangeSet.maps(Set.of(spaceportResult.mapId())));
+
+        // Assert
+        assertEquals(List.of(1L), affected);
+    }
+
+    @Test
+    @DisplayName("Recompute should store the plan as READY, and only flag it FAILED when planning throws")
+    void shouldMaterialisePlan() throws Exception {
+        // Arrange
+        SavedLoadout saved = loadout(1L, request(List.of("Wires"), List.of(), List.of(), List.of()), null);
+        when(savedLoadoutRepository.findById(1L)).thenReturn(Optional.of(saved));
+        when(plannerService.generateRoute(any()))
+                .thenReturn(List.of(damResult))
+                .thenThrow(new IllegalStateException("planner down"));
+        when(savedLoadoutRepository.storePlan(eq(1L), anyString(), any(Instant.class))).thenReturn(1);
+        when(savedLoadoutRepository.markFailed(1L)).thenReturn(1);
+
+        // Act
+        service.recompute(1L);
+        service.recompute(1L);
+
+        // Assert
+        ArgumentCaptor<String> planJson = ArgumentCaptor.forClass(String.class);
+        verify(savedLoadoutRepository).storePlan(eq(1L), planJson.capture(), any(Instant.class));
+        assertEquals(List.of(damResult), objectMapper.readValue(planJson.getValue(),
+                new TypeReference<List<PlannerResponseDto>>() { }));
+        verify(savedLoadoutRepository).markFailed(1L);
+        verify(savedLoadoutRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Recompute should not write back a loadout deleted while its plan was computed")
+    void shouldNotResurrectDeletedLoadout() throws Exception {
+        // Arrange - the row is gone by the time the plan is stored
+        SavedLoadout saved = loadout(1L, request(List.of("Wires"), List.of(), List.of(), List.of()), null);
+        when(savedLoadoutRepository.findById(1L)).thenReturn(Optional.of(saved));
+        when(plannerService.generateRoute(any())).thenReturn(List.of(damResult));
+        when(savedLoadoutRepository.storePlan(eq(1L), anyString(), any(Instant.class))).thenReturn(0);
+
+        // Act
+        service.recompute(1L);
+
+        // Assert
+        verify(savedLoadoutRepository, never()).save(any());
+    }
+
+    private PlannerRequestDto request(List<String> items, List<String> enemies, List<String> recipes, List<String> containers) {
+        return new PlannerRequestDto(items, enemies, recipes, containers, false,
+                PlannerRequestDto.RoutingProfile.PURE_SCAVENGER, List.of());
+    }
+
+    private SavedLoadout loadout(Long id, PlannerRequestDto request, List<PlannerResponseDto> plan) throws Exception {
+        SavedLoadout loadout = new SavedLoadout();
+        loadout.setId(id);
+        loadout.setName("Loadout " + id);
+        loadout.setRequestJson(objectMapper.writeValueAsString(request));
+        if (plan != null) {
+            loadout.setPlanJson(objectMapper.writeValueAsString(plan));
+            loadout.setPlanStatus(PlanStatus.READY);
+        }
+        return loadout;
+    }
+}
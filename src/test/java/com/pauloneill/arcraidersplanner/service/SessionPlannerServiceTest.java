@@ -0,0 +1,135 @@
+package com.pauloneill.arcraidersplanner.service;
+
+import com.pauloneill.arcraidersplanner.dto.SessionPlanDto;
+import com.pauloneill.arcraidersplanner.dto.SessionPlanRequestDto;
+import com.pauloneill.arcraidersplanner.service.MapCoverageIndex.MapCoverage;
+import com.pauloneill.arcraidersplanner.service.TargetResolutionService.RecipeTargetInfo;
+import com.pauloneill.arcraidersplanner.service.TargetResolutionService.TargetItemInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for multi-raid session planning.
+ * WHY: The session planner must find the true minimum number of raids, not just the greedy answer.
+ */
+@ExtendWith(MockitoExtension.class)
+class SessionPlannerServiceTest {
+
+    @Mock
+    private TargetResolutionService targetResolutionService;
+
+    @Mock
+    private MapCoverageIndex mapCoverageIndex;
+
+    private SessionPlannerService sessionPlannerService;
+
+    @BeforeEach
+    void setUp() {
+        sessionPlannerService = new SessionPlannerService(targetResolutionService, mapCoverageIndex);
+        // Loot type "L<n>" lives at bit n
+        lenient().when(mapCoverageIndex.lootTypeBit(anyString()))
+                .thenAnswer(invocation -> Integer.parseInt(invocation.<String>getArgument(0).substring(1)));
+    }
+
+    @Test
+    @DisplayName("Should find a two-raid session where greedy selection needs three")
+    void shouldBeatGreedyCover() {
+        // Arrange: A covers the most items but B + C cover everything
+        stubRecipe("workbench_2", "Item0", "Item1", "Item2", "Item3", "Item4", "Item5");
+        stubItemsToOwnLootTypes("Item0", "Item1", "Item2", "Item3", "Item4", "Item5");
+        when(mapCoverageIndex.getMaps()).thenReturn(List.of(
+                coverage(1L, "A", Set.of(), 0, 1, 2, 3),
+                coverage(2L, "B", Set.of(), 0, 1, 4),
+                coverage(3L, "C", Set.of(), 2, 3, 5)));
+
+        // Act
+        SessionPlanDto plan = sessionPlannerService.planSession(
+                new SessionPlanRequestDto(List.of("workbench_2"), null));
+
+        // Assert
+        assertEquals(2, plan.raidCount());
+        assertTrue(plan.optimal());
+        assertEquals(Set.of("B", "C"),
+                new HashSet<>(plan.raids().stream().map(SessionPlanDto.SessionRaidDto::mapName).toList()));
+        assertEquals(1, plan.raids().get(0).raid());
+        assertEquals(3, plan.raids().get(0).newItems().size());
+        assertTrue(plan.uncoverableItems().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should cover enemy-dropped items and report items no map provides")
+    void shouldCoverEnemyDropsAndReportUncoverable() {
+        // Arrange
+        when(targetResolutionService.resolveRecipes(null)).thenReturn(new RecipeTargetInfo(
+                Collections.emptySet(), Collections.emptyMap(), Collections.emptyMap(), Collections.emptySet()));
+        when(targetResolutionService.resolveTargetItems(anyList())).thenReturn(new TargetItemInfo(
+                Set.of("L0"), Set.of("Rocketeer"), Set.of("Rocketeer"),
+                Map.of("L0", List.of("Copper Wire")),
+                Map.of("Rocketeer", List.of("Rocketeer Driver"))));
+        when(mapCoverageIndex.getMaps()).thenReturn(List.of(
+                coverage(1L, "Dam", Set.of(), 0),
+                coverage(2L, "Spaceport", Set.of("rocketeer"))));
+
+        // Act
+        SessionPlanDto plan = sessionPlannerService.planSession(new SessionPlanRequestDto(
+                null, List.of("Copper Wire", "Rocketeer Driver", "Vendor Token")));
+
+        // Assert
+        assertEquals(2, plan.raidCount());
+        assertEquals(List.of("Vendor Token"), plan.uncoverableItems());
+        assertEquals(List.of("Rocketeer Driver"), plan.raids().stream()
+                .filter(raid -> raid.mapName().equals("Spaceport")).findFirst().orElseThrow().newItems());
+    }
+
+    @Test
+    @DisplayName("Should return an empty plan when there are no goals")
+    void shouldReturnEmptyPlanWithoutGoals() {
+        // Arrange
+        when(targetResolutionService.resolveRecipes(null)).thenReturn(new RecipeTargetInfo(
+                Collections.emptySet(), Collections.emptyMap(), Collections.emptyMap(), Collections.emptySet()));
+
+        // Act
+        SessionPlanDto plan = sessionPlannerService.planSession(new SessionPlanRequestDto(null, null));
+
+        // Assert
+        assertEquals(0, plan.raidCount());
+        assertTrue(plan.raids().isEmpty());
+    }
+
+    private void stubRecipe(String recipeId, String... ingredients) {
+        Set<String> names = new LinkedHashSet<>(Arrays.asList(ingredients));
+        when(targetResolutionService.resolveRecipes(List.of(recipeId))).thenReturn(new RecipeTargetInfo(
+                Set.of(recipeId), Map.of(recipeId, names), Map.of(recipeId, recipeId), names));
+    }
+
+    private void stubItemsToOwnLootTypes(String... items) {
+        Map<String, List<String>> lootTypeToItemNames = new HashMap<>();
+        for (int i = 0; i < items.length; i++) {
+            lootTypeToItemNames.put("L" + i, List.of(items[i]));
+        }
+        when(targetResolutionService.resolveTargetItems(anyList())).thenReturn(new TargetItemInfo(
+                lootTypeToItemNames.keySet(), Set.of(), Set.of(), lootTypeToItemNames, Map.of()));
+    }
+
+    private MapCoverage coverage(Long id, String name, Set<String> enemyTypes, int... lootTypeBits) {
+        long[] mask = new long[1];
+        int[] areaCounts = new int[8];
+        for (int bit : lootTypeBits) {
+            mask[0] |= 1L << bit;
+            areaCounts[bit] = 1;
+        }
+        return new MapCoverage(id, name, mask, areaCounts, enemyTypes, new int[0], new int[0]);
+    }
+}
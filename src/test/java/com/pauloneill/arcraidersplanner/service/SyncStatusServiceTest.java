@@ -0,0 +1,95 @@
+package com.pauloneill.arcraidersplanner.service;
+
+import com.pauloneill.arcraidersplanner.repository.ItemRepository;
+import com.pauloneill.arcraidersplanner.service.DataVersionService.DataVersionChangedEvent;
+import com.pauloneill.arcraidersplanner.service.SyncStatusService.State;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SyncStatusServiceTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    private SyncStatusService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new SyncStatusService(itemRepository);
+    }
+
+    @Test
+    @DisplayName("Should report out of service while the first sync runs on an empty database")
+    void shouldBeOutOfServiceUntilFirstDataArrives() {
+        // Arrange
+        when(itemRepository.count()).thenReturn(0L, 120L);
+
+        // Act
+        Health idle = service.health();
+        boolean started = service.tryStart();
+        Health running = service.health();
+        service.succeeded();
+        Health synced = service.health();
+
+        // Assert
+        assertEquals(Status.UP, idle.getStatus(), "With sync disabled there is nothing to wait for");
+        assertTrue(started);
+        assertEquals(Status.OUT_OF_SERVICE, running.getStatus());
+        assertEquals(State.RUNNING, running.getDetails().get("state"));
+        assertEquals(Status.UP, synced.getStatus());
+        assertNotNull(synced.getDetails().get("lastSucceededAt"));
+        verify(itemRepository, times(2)).count(); // Counted once, then again only after the sync finished
+    }
+
+    @Test
+    @DisplayName("Should stay up with existing data when a sync fails, and refuse overlapping runs")
+    void shouldServeExistingDataWhenSyncFails() {
+        // Arrange
+        when(itemRepository.count()).thenReturn(50L);
+        service.tryStart();
+
+        // Act
+        boolean overlapping = service.tryStart();
+        service.failed(new IllegalStateException("Metaforge timed out"));
+        Health health = service.health();
+
+        // Assert
+        assertFalse(overlapping);
+        assertEquals(Status.UP, health.getStatus());
+        assertEquals(State.FAILED, health.getDetails().get("state"));
+        assertEquals("IllegalStateException", health.getDetails().get("lastErrorType"));
+        assertFalse(health.getDetails().containsValue("Metaforge timed out"), "Raw error messages must not be exposed");
+        assertTrue(service.tryStart(), "A failed run should not block the next one");
+    }
+
+    @Test
+    @DisplayName("Should count items once across probes and again after a data version change")
+    void shouldCacheHasDataUntilDataChanges() {
+        // Arrange
+        when(itemRepository.count()).thenReturn(0L, 30L);
+
+        // Act
+        Health before = service.health();
+        service.health();
+        service.onDataVersionChanged(new DataVersionChangedEvent(2, "recipe created"));
+        Health after = service.health();
+        service.health();
+
+        // Assert
+        assertEquals(false, before.getDetails().get("hasData"));
+        assertEquals(true, after.getDetails().get("hasData"));
+        verify(itemRepository, times(2)).count();
+    }
+}
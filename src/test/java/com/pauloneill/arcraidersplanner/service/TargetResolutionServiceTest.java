@@ -1,10 +1,8 @@
 package com.pauloneill.arcraidersplanner.service;
 
 import com.pauloneill.arcraidersplanner.model.*;
-import com.pauloneill.arcraidersplanner.repository.ContainerTypeRepository;
-import com.pauloneill.arcraidersplanner.repository.ItemRepository;
-import com.pauloneill.arcraidersplanner.repository.MarkerGroupRepository;
-import com.pauloneill.arcraidersplanner.repository.RecipeRepository;
+import com.pauloneill.arcraidersplanner.service.ItemCatalogueIndex.CatalogueItem;
+import com.pauloneill.arcraidersplanner.service.ItemCatalogueIndex.CatalogueRecipe;
 import com.pauloneill.arcraidersplanner.service.TargetResolutionService.ContainerTargetInfo;
 import com.pauloneill.arcraidersplanner.service.TargetResolutionService.RecipeTargetInfo;
 import com.pauloneill.arcraidersplanner.service.TargetResolutionService.TargetItemInfo;
@@ -18,31 +16,27 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.*;
 
+import static com.pauloneill.arcraidersplanner.service.CatalogueFixtures.ingredient;
+import static com.pauloneill.arcraidersplanner.service.CatalogueFixtures.item;
+import static com.pauloneill.arcraidersplanner.service.CatalogueFixtures.recipe;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
-import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class TargetResolutionServiceTest {
 
     @Mock
-    private ItemRepository itemRepository;
+    private ItemCatalogueIndex itemCatalogueIndex;
     @Mock
-    private RecipeRepository recipeRepository;
-    @Mock
-    private ContainerTypeRepository containerTypeRepository;
-    @Mock
-    private MarkerGroupRepository markerGroupRepository;
+    private ContainerGroupIndex containerGroupIndex;
 
     @InjectMocks
     private TargetResolutionService targetResolutionService;
 
-    private LootType industrial;
-    private Item copperWire;
-    private Item mechanicalParts;
-    private Item plastic;
-    private Recipe basicTool;
+    private CatalogueItem copperWire;
+    private CatalogueItem mechanicalParts;
+    private CatalogueRecipe basicTool;
     private GameMap testMap;
     private ContainerType redLockerType;
     private ContainerType raiderCacheType;
@@ -51,34 +45,11 @@ class TargetResolutionServiceTest {
 
     @BeforeEach
     void setUp() {
-        industrial = new LootType();
-        industrial.setName("Industrial");
-
-        copperWire = new Item();
-        copperWire.setName("Copper Wire");
-        copperWire.setLootType(industrial);
-        copperWire.setDroppedBy(Set.of("Sentinel"));
-
-        mechanicalParts = new Item();
-        mechanicalParts.setName("Mechanical Parts");
-        mechanicalParts.setLootType(industrial);
-
-        plastic = new Item();
-        plastic.setName("Plastic");
-        plastic.setLootType(new LootType() {{ setName("Plastic"); }});
-
-        RecipeIngredient ing1 = new RecipeIngredient();
-        ing1.setItem(copperWire);
-        ing1.setQuantity(2);
-
-        RecipeIngredient ing2 = new RecipeIngredient();
-        ing2.setItem(plastic);
-        ing2.setQuantity(1);
+        copperWire = item(1L, "Copper Wire").lootType("Industrial").droppedBy("Sentinel").value(10).build();
+        mechanicalParts = item(2L, "Mechanical Parts").lootType("Industrial").value(10).build();
 
-        basicTool = new Recipe();
-        basicTool.setMetaforgeItemId("recipe_basic_tool");
-        basicTool.setName("Basic Tool");
-        basicTool.setIngredients(Set.of(ing1, ing2));
+        basicTool = recipe(100L, "recipe_basic_tool", "Basic Tool",
+                ingredient(1L, "Copper Wire", 2), ingredient(3L, "Plastic", 1));
 
         testMap = new GameMap();
         testMap.setId(1L);
@@ -108,8 +79,8 @@ class TargetResolutionServiceTest {
     @Test
     @DisplayName("resolveTargetItems: Should return correct info for valid item names")
     void testResolveTargetItems_Valid() {
-        when(itemRepository.findByName("Copper Wire")).thenReturn(Optional.of(copperWire));
-        when(itemRepository.findByName("Mechanical Parts")).thenReturn(Optional.of(mechanicalParts));
+        when(itemCatalogueIndex.findItem("Copper Wire")).thenReturn(Optional.of(copperWire));
+        when(itemCatalogueIndex.findItem("Mechanical Parts")).thenReturn(Optional.of(mechanicalParts));
 
         List<String> itemNames = List.of("Copper Wire", "Mechanical Parts");
         TargetItemInfo info = targetResolutionService.resolveTargetItems(itemNames);
@@ -136,9 +107,7 @@ class TargetResolutionServiceTest {
     @Test
     @DisplayName("resolveRecipes: Should return correct info for valid recipe IDs")
     void testResolveRecipes_Valid() {
-        when(recipeRepository.findByMetaforgeItemId("recipe_basic_tool")).thenReturn(Optional.of(basicTool));
-        lenient().when(itemRepository.findByName("Copper Wire")).thenReturn(Optional.of(copperWire)); // For ingredients
-        lenient().when(itemRepository.findByName("Plastic")).thenReturn(Optional.of(plastic)); // For ingredients
+        when(itemCatalogueIndex.findRecipe("recipe_basic_tool")).thenReturn(Optional.of(basicTool));
 
         List<String> recipeIds = List.of("recipe_basic_tool");
         RecipeTargetInfo info = targetResolutionService.resolveRecipes(recipeIds);
@@ -162,8 +131,8 @@ class TargetResolutionServiceTest {
     @Test
     @DisplayName("resolveOngoingItems: Should return correct loot type map for ongoing items")
     void testResolveOngoingItems() {
-        when(itemRepository.findByName("Copper Wire")).thenReturn(Optional.of(copperWire));
-        when(itemRepository.findByName("Mechanical Parts")).thenReturn(Optional.of(mechanicalParts));
+        when(itemCatalogueIndex.findItem("Copper Wire")).thenReturn(Optional.of(copperWire));
+        when(itemCatalogueIndex.findItem("Mechanical Parts")).thenReturn(Optional.of(mechanicalParts));
 
         List<String> ongoingItems = List.of("Copper Wire", "Mechanical Parts");
         Map<String, List<String>> result = targetResolutionService.resolveOngoingItems(ongoingItems);
@@ -178,8 +147,8 @@ class TargetResolutionServiceTest {
     @Test
     @DisplayName("getLootTypesForItems: Should return correct loot types for a set of items")
     void testGetLootTypesForItems() {
-        when(itemRepository.findByName("Copper Wire")).thenReturn(Optional.of(copperWire));
-        when(itemRepository.findByName("Mechanical Parts")).thenReturn(Optional.of(mechanicalParts));
+        when(itemCatalogueIndex.findItem("Copper Wire")).thenReturn(Optional.of(copperWire));
+        when(itemCatalogueIndex.findItem("Mechanical Parts")).thenReturn(Optional.of(mechanicalParts));
         
         Set<String> itemNames = Set.of("Copper Wire", "Mechanical Parts");
         Set<String> result = targetResolutionService.getLootTypesForItems(itemNames);
@@ -191,8 +160,7 @@ class TargetResolutionServiceTest {
     @Test
     @DisplayName("resolveTargetContainers: Should return correct marker groups for valid subcategories and map ID")
     void testResolveTargetContainers_Valid() {
-        when(containerTypeRepository.findBySubcategory("red-locker")).thenReturn(Optional.of(redLockerType));
-        when(markerGroupRepository.findByGameMapIdAndContainerType(testMap.getId(), redLockerType))
+        when(containerGroupIndex.getGroups(testMap.getId(), "red-locker"))
                 .thenReturn(List.of(redLockerGroup1, redLockerGroup2));
 
         List<String> subcategories = List.of("red-locker");
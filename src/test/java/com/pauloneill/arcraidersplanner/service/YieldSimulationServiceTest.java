@@ -0,0 +1,113 @@
+package com.pauloneill.arcraidersplanner.service;
+
+import com.pauloneill.arcraidersplanner.dto.PlannerRequestDto;
+import com.pauloneill.arcraidersplanner.dto.PlannerResponseDto;
+import com.pauloneill.arcraidersplanner.dto.WaypointDto;
+import com.pauloneill.arcraidersplanner.dto.YieldSimulationDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static com.pauloneill.arcraidersplanner.service.CatalogueFixtures.item;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class YieldSimulationServiceTest {
+
+    @Mock
+    private PlannerService plannerService;
+    @Mock
+    private ItemCatalogueIndex itemCatalogueIndex;
+
+    private YieldSimulationService yieldSimulationService;
+    private PlannerRequestDto request;
+
+    @BeforeEach
+    void setUp() {
+        yieldSimulationService = new YieldSimulationService(plannerService, itemCatalogueIndex);
+        request = new PlannerRequestDto(List.of("Copper Wire", "Magnet"), null, null, null, false,
+                PlannerRequestDto.RoutingProfile.EASY_EXFIL, Collections.emptyList());
+
+        // Not every test routes through both items
+        lenient().when(itemCatalogueIndex.findItem("Copper Wire"))
+                .thenReturn(Optional.of(item(1L, "Copper Wire").rarity("Uncommon").build()));
+        lenient().when(itemCatalogueIndex.findItem("Magnet"))
+                .thenReturn(Optional.of(item(2L, "Magnet").rarity("Epic").build()));
+    }
+
+    @Test
+    @DisplayName("Should match the analytical expectation and converge before the iteration cap")
+    void shouldEstimateExpectedYield() {
+        // Arrange - one abundance-2 area (4 containers x 0.7 looted) with an Uncommon item (0.18 per container)
+        when(plannerService.generateRoute(any())).thenReturn(List.of(
+                route(1L, "Dam", 100.0, List.of(area("a1", 2, List.of("Copper Wire"))))));
+
+        // Act
+        YieldSimulationDto result = yieldSimulationService.simulate(request, 500_000, 1L).getFirst();
+
+        // Assert
+        double expected = 4 * 0.7 * 0.18;
+        assertEquals(expected, result.expectedItems(), 0.02);
+        assertTrue(result.ci95Low() <= expected && expected <= result.ci95High() + 0.01);
+        assertTrue(result.converged());
+        assertTrue(result.iterations() < 500_000, "Should stop early once the interval is tight");
+        assertEquals(expected, result.expectedPerItem().get("Copper Wire"), 0.02);
+    }
+
+    @Test
+    @DisplayName("Should rank maps by expected yield rather than planner score")
+    void shouldRankByExpectedYield() {
+        // Arrange - Dam has the higher heuristic score but only an Epic item; Spaceport has two Uncommon areas
+        when(plannerService.generateRoute(any())).thenReturn(List.of(
+                route(1L, "Dam", 300.0, List.of(area("a1", 2, List.of("Magnet")))),
+                route(2L, "Spaceport", 200.0, List.of(
+                        area("b1", 2, List.of("Copper Wire")), area("b2", 3, List.of("Copper Wire"))))));
+
+        // Act
+        List<YieldSimulationDto> results = yieldSimulationService.simulate(request, 100_000, 1L);
+
+        // Assert
+        assertEquals("Spaceport", results.get(0).mapName());
+        assertEquals("Dam", results.get(1).mapName());
+        assertTrue(results.get(0).expectedItems() > results.get(1).expectedItems());
+    }
+
+    @Test
+    @DisplayName("Should be reproducible for the same seed and count looted container groups")
+    void shouldBeDeterministicForSeed() {
+        // Arrange
+        WaypointDto lockers = new WaypointDto("g1", "Red Lockers", 0, 0, "MARKER_GROUP", Set.of(), null,
+                "Red Locker", 5, List.of(), List.of());
+        when(plannerService.generateRoute(any())).thenReturn(List.of(
+                route(1L, "Dam", 100.0, List.of(area("a1", 1, List.of("Copper Wire", "Magnet")), lockers))));
+
+        // Act
+        YieldSimulationDto first = yieldSimulationService.simulate(request, 30_000, 99L).getFirst();
+        YieldSimulationDto second = yieldSimulationService.simulate(request, 30_000, 99L).getFirst();
+
+        // Assert
+        assertEquals(first, second);
+        assertEquals(5 * 0.7, first.expectedContainersLooted(), 0.05);
+    }
+
+    private WaypointDto area(String id, int abundance, List<String> targetItems) {
+        return new WaypointDto(id, "Area " + id, 0, 0, "AREA", Set.of("Industrial"), abundance, null, null,
+                List.of(), targetItems);
+    }
+
+    private PlannerResponseDto route(Long mapId, String mapName, double score, List<WaypointDto> path) {
+        return new PlannerResponseDto(mapId, mapName, score, path, null, null, null, Collections.emptyList());
+    }
+}